@@ -0,0 +1,38 @@
+package se.ivankrizsan.monolithmicroservices.microservices;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Import;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.configuration.ResilienceConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration.ShoppingCartConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseProperties;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseRemoteClientConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseTransportBinding;
+
+/**
+ * Entry point of the shoppingcart module deployed as a microservice, which only boots the configuration
+ * of the shoppingcart module and accesses the warehouse through a client of the remote warehouse service.
+ * Not annotated as a component, so that it is not picked up by the component scan of the monolith.
+ *
+ * @author Ivan Krizsan
+ */
+@EnableAutoConfiguration
+@EnableConfigurationProperties(WarehouseProperties.class)
+@Import({ ShoppingCartConfiguration.class, WarehouseRemoteClientConfiguration.class, ResilienceConfiguration.class })
+public class ShoppingCartServiceApplication {
+
+    public static void main(final String[] inArguments) {
+        createApplicationBuilder().run(inArguments);
+    }
+
+    /**
+     * Creates a builder of the shoppingcart microservice application with the remote warehouse transport binding.
+     *
+     * @return Application builder.
+     */
+    public static SpringApplicationBuilder createApplicationBuilder() {
+        return new SpringApplicationBuilder(ShoppingCartServiceApplication.class)
+            .properties(WarehouseTransportBinding.PROPERTY_NAME + "=" + WarehouseTransportBinding.REMOTE);
+    }
+}
@@ -0,0 +1,37 @@
+package se.ivankrizsan.monolithmicroservices.microservices;
+
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.Import;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.configuration.ResilienceConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseProperties;
+
+/**
+ * Entry point of the warehouse module deployed as a microservice, which only boots the configuration
+ * of the warehouse module and exposes the warehouse service to remote clients.
+ * Not annotated as a component, so that it is not picked up by the component scan of the monolith.
+ *
+ * @author Ivan Krizsan
+ */
+@EnableAutoConfiguration
+@Import({ WarehouseConfiguration.class, ResilienceConfiguration.class })
+public class WarehouseServiceApplication {
+    /* Constant(s): */
+    /** Property enabling the server exposing the warehouse service to remote clients. */
+    public static final String REMOTE_SERVER_ENABLED_PROPERTY = WarehouseProperties.PREFIX + ".transport.server.enabled";
+
+    public static void main(final String[] inArguments) {
+        createApplicationBuilder().run(inArguments);
+    }
+
+    /**
+     * Creates a builder of the warehouse microservice application with the remote server enabled by default.
+     *
+     * @return Application builder.
+     */
+    public static SpringApplicationBuilder createApplicationBuilder() {
+        return new SpringApplicationBuilder(WarehouseServiceApplication.class)
+            .properties(REMOTE_SERVER_ENABLED_PROPERTY + "=true");
+    }
+}
@@ -0,0 +1,78 @@
+package se.ivankrizsan.monolithmicroservices.modules.diagnostics.api;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Scope in which the SQL statements executed by the thread that opened the scope are counted.
+ * Scopes are opened using {@link QueryCounting#openScope(String)} and must be closed by the same thread,
+ * preferably using try-with-resources. Scopes may be nested, in which case a statement is counted
+ * in all the scopes open on the thread.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@Accessors(fluent = true)
+public class QueryCountScope implements AutoCloseable {
+    /* Constant(s): */
+    /** Maximum number of statements retained in a scope, in order to bound the memory used by long scopes. */
+    public static final int MAX_RETAINED_STATEMENTS = 100;
+
+    /* Instance variable(s): */
+    /** Name of the use case, for example a module API invocation, which statements are counted. */
+    @Getter
+    protected final String name;
+    /** Number of statements executed in the scope. */
+    @Getter
+    protected int statementCount;
+    protected final List<String> mStatements = new ArrayList<>();
+    protected boolean mClosed;
+
+    /**
+     * Creates a scope counting the statements of the use case with the supplied name.
+     *
+     * @param inName Use case name.
+     */
+    QueryCountScope(final String inName) {
+        name = inName;
+    }
+
+    /**
+     * Retrieves the first {@link #MAX_RETAINED_STATEMENTS} statements executed in the scope,
+     * in the order they were executed.
+     *
+     * @return Executed statements.
+     */
+    public List<String> statements() {
+        return Collections.unmodifiableList(mStatements);
+    }
+
+    /**
+     * Counts the supplied statement as having been executed in the scope.
+     *
+     * @param inStatement SQL statement.
+     */
+    void recordStatement(final String inStatement) {
+        statementCount++;
+        if (mStatements.size() < MAX_RETAINED_STATEMENTS) {
+            mStatements.add(inStatement);
+        }
+    }
+
+    /**
+     * Closes the scope, after which no more statements are counted in the scope.
+     */
+    @Override
+    public void close() {
+        if (!mClosed) {
+            mClosed = true;
+            QueryCounting.closeScope(this);
+            log.debug("{} executed {} SQL statements", name, statementCount);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package se.ivankrizsan.monolithmicroservices.modules.diagnostics.api;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Counts the SQL statements executed per thread in query count scopes, for example per module API
+ * invocation, in order to detect N+1 query patterns.
+ * Statements are recorded by the statement inspector registered with Hibernate when query counting is
+ * enabled, thus only statements executed by Hibernate are counted. Statements executed in JDBC batches
+ * are counted once per batch.
+ * Recording a statement when no scope is open on the current thread only costs a thread-local lookup.
+ *
+ * @author Ivan Krizsan
+ */
+public final class QueryCounting {
+    /* Constant(s): */
+    /** Scopes open on each thread, innermost scope first. Null on threads without open scopes. */
+    private static final ThreadLocal<Deque<QueryCountScope>> OPEN_SCOPES = new ThreadLocal<>();
+
+    /**
+     * Hidden constructor; static methods only.
+     */
+    private QueryCounting() {
+    }
+
+    /**
+     * Opens a scope counting the SQL statements executed by the current thread until the scope is closed.
+     *
+     * @param inName Name of the use case which statements are counted.
+     * @return Open query count scope.
+     */
+    public static QueryCountScope openScope(final String inName) {
+        Assert.hasText(inName, "A scope name is required");
+        final QueryCountScope theScope = new QueryCountScope(inName);
+        Deque<QueryCountScope> theOpenScopes = OPEN_SCOPES.get();
+        if (theOpenScopes == null) {
+            theOpenScopes = new ArrayDeque<>();
+            OPEN_SCOPES.set(theOpenScopes);
+        }
+        theOpenScopes.push(theScope);
+        return theScope;
+    }
+
+    /**
+     * Records that the supplied SQL statement has been executed by the current thread, counting it in
+     * all the scopes open on the thread.
+     *
+     * @param inStatement SQL statement.
+     */
+    public static void recordStatement(final String inStatement) {
+        final Deque<QueryCountScope> theOpenScopes = OPEN_SCOPES.get();
+        if (theOpenScopes != null) {
+            for (QueryCountScope theScope : theOpenScopes) {
+                theScope.recordStatement(inStatement);
+            }
+        }
+    }
+
+    /**
+     * Removes the supplied scope from the scopes open on the current thread.
+     *
+     * @param inScope Scope to close.
+     */
+    static void closeScope(final QueryCountScope inScope) {
+        final Deque<QueryCountScope> theOpenScopes = OPEN_SCOPES.get();
+        if (theOpenScopes != null && theOpenScopes.remove(inScope) && theOpenScopes.isEmpty()) {
+            OPEN_SCOPES.remove();
+        }
+    }
+}
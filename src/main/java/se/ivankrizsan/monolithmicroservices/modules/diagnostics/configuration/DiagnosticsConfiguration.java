@@ -0,0 +1,35 @@
+package se.ivankrizsan.monolithmicroservices.modules.diagnostics.configuration;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.api.QueryCounting;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.implementation.QueryCountingStatementInspector;
+
+/**
+ * Configuration of the diagnostics facilities used to detect performance problems, such as the counting
+ * of SQL statements per use case using {@link QueryCounting}.
+ *
+ * @author Ivan Krizsan
+ */
+@Configuration
+public class DiagnosticsConfiguration {
+    /* Constant(s): */
+    /** Name of property that enables or disables the counting of SQL statements. */
+    public static final String QUERY_COUNTING_ENABLED_PROPERTY = "diagnostics.query-counting.enabled";
+
+    /**
+     * Registers the statement inspector recording SQL statements in query count scopes with Hibernate.
+     * Query counting is enabled by default.
+     *
+     * @return Hibernate properties customizer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = QUERY_COUNTING_ENABLED_PROPERTY, havingValue = "true", matchIfMissing = true)
+    protected HibernatePropertiesCustomizer queryCountingHibernatePropertiesCustomizer() {
+        return inHibernateProperties -> inHibernateProperties.put(
+            AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingStatementInspector());
+    }
+}
@@ -0,0 +1,19 @@
+package se.ivankrizsan.monolithmicroservices.modules.diagnostics.implementation;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.api.QueryCounting;
+
+/**
+ * Hibernate statement inspector that records each SQL statement prepared by Hibernate in
+ * the query count scopes open on the current thread. Statements are not modified.
+ *
+ * @author Ivan Krizsan
+ */
+public class QueryCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(final String inSql) {
+        QueryCounting.recordStatement(inSql);
+        return inSql;
+    }
+}
@@ -0,0 +1,77 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.api;
+
+import java.io.Closeable;
+
+/**
+ * In-process bus delivering events published by one module to the handlers subscribed by other modules.
+ * Events are published to partitions selected by a partition key, such as a product number. Events
+ * published with the same partition key are delivered to the handlers in the order in which they were
+ * published, while events with different partition keys may be delivered concurrently.
+ * Events are preallocated by the bus and reused, so publishing an event does not allocate any objects.
+ * An event is published by claiming the next event of the publisher of the partition, setting the
+ * values of the claimed event and publishing it:
+ * <pre>
+ * final EventPublisher&lt;E&gt; thePublisher = eventBus.publisherFor(partitionKey);
+ * final long theSequence = thePublisher.next();
+ * try {
+ *     thePublisher.get(theSequence).setValues(...);
+ * } finally {
+ *     thePublisher.publish(theSequence);
+ * }
+ * </pre>
+ *
+ * @param <E> Type of events delivered by the bus.
+ * @author Ivan Krizsan
+ */
+public interface EventBus<E> extends Closeable {
+
+    /**
+     * Retrieves the publisher of the partition selected by the supplied partition key.
+     *
+     * @param inPartitionKey Partition key.
+     * @return Event publisher.
+     */
+    EventPublisher<E> publisherFor(String inPartitionKey);
+
+    /**
+     * Publishes an event to the partition selected by the supplied partition key, using the supplied
+     * translator to set the values of the event.
+     *
+     * @param inPartitionKey Partition key.
+     * @param inTranslator Sets the values of the event from the supplied argument.
+     * @param inArgument Argument passed to the translator.
+     * @param <A> Argument type.
+     */
+    default <A> void publish(final String inPartitionKey,
+                             final EventTranslator<E, A> inTranslator,
+                             final A inArgument) {
+        final EventPublisher<E> thePublisher = publisherFor(inPartitionKey);
+        final long theSequence = thePublisher.next();
+        try {
+            inTranslator.translateTo(thePublisher.get(theSequence), inArgument);
+        } finally {
+            thePublisher.publish(theSequence);
+        }
+    }
+
+    /**
+     * Subscribes the supplied handler to all events published on the bus.
+     * Handlers are invoked concurrently for events in different partitions and thus must be thread-safe.
+     *
+     * @param inEventHandler Event handler.
+     */
+    void subscribe(EventHandler<E> inEventHandler);
+
+    /**
+     * Unsubscribes the supplied handler.
+     *
+     * @param inEventHandler Event handler.
+     */
+    void unsubscribe(EventHandler<E> inEventHandler);
+
+    /**
+     * Closes the bus after having delivered all events published before the bus was closed.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,27 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.api;
+
+import org.springframework.util.Assert;
+
+/**
+ * Settings of an {@link EventBus}.
+ *
+ * @param name Name of the bus, used in thread names.
+ * @param partitionCount Number of partitions, each delivering events on a thread of its own.
+ * @param partitionCapacity Number of preallocated events in each partition. Must be a power of two.
+ * @author Ivan Krizsan
+ */
+public record EventBusSettings(
+    String name,
+    int partitionCount,
+    int partitionCapacity) {
+
+    /**
+     * Validates the settings.
+     */
+    public EventBusSettings {
+        Assert.hasText(name, "A name is required");
+        Assert.isTrue(partitionCount > 0, "The partition count must be positive");
+        Assert.isTrue(partitionCapacity > 0 && Integer.bitCount(partitionCapacity) == 1,
+            "The partition capacity must be a power of two");
+    }
+}
@@ -0,0 +1,29 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.api;
+
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.implementation.RingBufferEventBus;
+
+import java.util.function.Supplier;
+
+/**
+ * Creates in-process event buses.
+ *
+ * @author Ivan Krizsan
+ */
+public final class EventBuses {
+
+    private EventBuses() {
+    }
+
+    /**
+     * Creates and starts an event bus with the supplied settings, in which each partition is a ring buffer
+     * of events preallocated using the supplied factory.
+     *
+     * @param inSettings Event bus settings.
+     * @param inEventFactory Creates the preallocated events.
+     * @param <E> Event type.
+     * @return Started event bus.
+     */
+    public static <E> EventBus<E> create(final EventBusSettings inSettings, final Supplier<E> inEventFactory) {
+        return new RingBufferEventBus<>(inSettings, inEventFactory);
+    }
+}
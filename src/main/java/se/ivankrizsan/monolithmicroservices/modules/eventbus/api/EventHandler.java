@@ -0,0 +1,23 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.api;
+
+/**
+ * Handles events delivered by an {@link EventBus}.
+ * Events are delivered in batches containing the events published to a partition since the previous batch.
+ * Delivered events are reused by the bus once handled and must not be retained by the handler.
+ *
+ * @param <E> Event type.
+ * @author Ivan Krizsan
+ */
+@FunctionalInterface
+public interface EventHandler<E> {
+
+    /**
+     * Handles the supplied event.
+     * Exceptions thrown by the handler are logged and do not prevent delivery of subsequent events.
+     *
+     * @param inEvent Event to handle.
+     * @param inSequence Sequence number of the event within its partition.
+     * @param inEndOfBatch True if the event is the last event of the batch being delivered.
+     */
+    void onEvent(E inEvent, long inSequence, boolean inEndOfBatch);
+}
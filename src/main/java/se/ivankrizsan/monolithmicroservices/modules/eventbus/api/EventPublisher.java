@@ -0,0 +1,46 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.api;
+
+/**
+ * Publishes events to one partition of an {@link EventBus}.
+ * Every sequence number claimed using {@link #next()} must be published using {@link #publish(long)}
+ * or skipped using {@link #skip(long)}, since later events in the partition are not delivered until it has been.
+ * Instances of this class are thread-safe.
+ *
+ * @param <E> Type of events published.
+ * @author Ivan Krizsan
+ */
+public interface EventPublisher<E> {
+
+    /**
+     * Claims the next event of the partition, waiting for room if the events of the partition
+     * have not yet been delivered.
+     *
+     * @return Sequence number of the claimed event.
+     */
+    long next();
+
+    /**
+     * Retrieves the event with the supplied claimed sequence number, which values are to be set
+     * before the event is published.
+     *
+     * @param inSequence Sequence number of claimed event.
+     * @return Event.
+     */
+    E get(long inSequence);
+
+    /**
+     * Publishes the event with the supplied claimed sequence number.
+     *
+     * @param inSequence Sequence number of claimed event.
+     */
+    void publish(long inSequence);
+
+    /**
+     * Skips the event with the supplied claimed sequence number, which is not delivered to the handlers.
+     * Used when the event claimed turns out not to be needed, for instance since the change it was to
+     * announce was rolled back.
+     *
+     * @param inSequence Sequence number of claimed event.
+     */
+    void skip(long inSequence);
+}
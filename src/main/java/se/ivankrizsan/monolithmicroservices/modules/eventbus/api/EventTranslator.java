@@ -0,0 +1,20 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.api;
+
+/**
+ * Sets the values of a preallocated event from an argument.
+ *
+ * @param <E> Event type.
+ * @param <A> Argument type.
+ * @author Ivan Krizsan
+ */
+@FunctionalInterface
+public interface EventTranslator<E, A> {
+
+    /**
+     * Sets the values of the supplied event from the supplied argument.
+     *
+     * @param inEvent Event to set values of.
+     * @param inArgument Argument.
+     */
+    void translateTo(E inEvent, A inArgument);
+}
@@ -0,0 +1,76 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.implementation;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBus;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBusSettings;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventHandler;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventPublisher;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * Event bus in which each partition is a ring buffer of preallocated events delivered by a consumer
+ * thread of its own.
+ * The partition of an event is selected using the hash code of its partition key, so that all
+ * events with the same partition key are delivered in order by the same thread.
+ *
+ * @param <E> Event type.
+ * @author Ivan Krizsan
+ */
+public class RingBufferEventBus<E> implements EventBus<E> {
+    /* Instance variable(s): */
+    protected final List<EventHandler<E>> mEventHandlers = new CopyOnWriteArrayList<>();
+    protected final RingBufferPartition<E>[] mPartitions;
+
+    /**
+     * Creates and starts an event bus with the supplied settings.
+     *
+     * @param inSettings Event bus settings.
+     * @param inEventFactory Creates the preallocated events.
+     */
+    @SuppressWarnings("unchecked")
+    public RingBufferEventBus(final EventBusSettings inSettings, final Supplier<E> inEventFactory) {
+        Assert.notNull(inSettings, "Event bus settings are required");
+        Assert.notNull(inEventFactory, "An event factory is required");
+
+        mPartitions = new RingBufferPartition[inSettings.partitionCount()];
+        for (int i = 0; i < mPartitions.length; i++) {
+            mPartitions[i] = new RingBufferPartition<>(
+                inSettings.name() + "-" + i, inSettings.partitionCapacity(), inEventFactory, mEventHandlers);
+        }
+        for (RingBufferPartition<E> thePartition : mPartitions) {
+            thePartition.start();
+        }
+    }
+
+    @Override
+    public EventPublisher<E> publisherFor(final String inPartitionKey) {
+        Assert.notNull(inPartitionKey, "A partition key is required");
+        final int theHashCode = inPartitionKey.hashCode();
+        return mPartitions[Math.floorMod(theHashCode ^ (theHashCode >>> 16), mPartitions.length)];
+    }
+
+    @Override
+    public void subscribe(final EventHandler<E> inEventHandler) {
+        Assert.notNull(inEventHandler, "An event handler is required");
+        mEventHandlers.add(inEventHandler);
+    }
+
+    @Override
+    public void unsubscribe(final EventHandler<E> inEventHandler) {
+        mEventHandlers.remove(inEventHandler);
+    }
+
+    @Override
+    public void close() {
+        try {
+            for (RingBufferPartition<E> thePartition : mPartitions) {
+                thePartition.close();
+            }
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventHandler;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventPublisher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Partition of a {@link RingBufferEventBus} consisting of a ring buffer of preallocated events
+ * and a consumer thread delivering the published events to the event handlers in batches.
+ * Publishers claim sequence numbers from a shared sequence and mark each event as published by
+ * recording the round of the ring buffer in which the event was published, so that no locks are
+ * needed and no objects are allocated when publishing.
+ * Skipped events are marked in the same way but are not delivered to the event handlers.
+ * A publisher that is about to overwrite an event that has not yet been delivered waits until
+ * the event has been delivered or the partition is closed.
+ *
+ * @param <E> Event type.
+ * @author Ivan Krizsan
+ */
+@Slf4j
+class RingBufferPartition<E> implements EventPublisher<E>, Runnable {
+    /* Constant(s): */
+    /** Time the consumer thread parks when there are no events to deliver. */
+    protected static final long CONSUMER_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    /** Time a publisher parks while waiting for room in the ring buffer. */
+    protected static final long PUBLISHER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    /* Instance variable(s): */
+    protected final Object[] mEvents;
+    protected final int mIndexMask;
+    protected final int mIndexShift;
+    /** Round of the ring buffer in which the event at each index was last published. */
+    protected final AtomicIntegerArray mPublishedRounds;
+    /**
+     * Whether the event at each index was skipped when last published.
+     * Written before and read after the round of the event, which makes the flag visible to the consumer thread.
+     */
+    protected final boolean[] mSkipped;
+    /** Last sequence number claimed by a publisher. */
+    protected final AtomicLong mClaimedSequence = new AtomicLong(-1);
+    /** Last sequence number of which the event has been delivered to the event handlers. */
+    protected final AtomicLong mDeliveredSequence = new AtomicLong(-1);
+    protected final List<EventHandler<E>> mEventHandlers;
+    protected final Thread mConsumerThread;
+    protected volatile boolean mConsumerWaiting;
+    protected volatile boolean mClosed;
+
+    /**
+     * Creates a partition with the supplied capacity, which must be a power of two, preallocating
+     * the events using the supplied factory.
+     * The consumer thread is created but not started.
+     *
+     * @param inThreadName Name of the consumer thread.
+     * @param inCapacity Number of events in the ring buffer.
+     * @param inEventFactory Creates the preallocated events.
+     * @param inEventHandlers Event handlers to which events are delivered.
+     */
+    RingBufferPartition(final String inThreadName,
+                        final int inCapacity,
+                        final Supplier<E> inEventFactory,
+                        final List<EventHandler<E>> inEventHandlers) {
+        mEvents = new Object[inCapacity];
+        for (int i = 0; i < inCapacity; i++) {
+            mEvents[i] = inEventFactory.get();
+        }
+        mIndexMask = inCapacity - 1;
+        mIndexShift = Integer.numberOfTrailingZeros(inCapacity);
+        mPublishedRounds = new AtomicIntegerArray(inCapacity);
+        for (int i = 0; i < inCapacity; i++) {
+            mPublishedRounds.set(i, -1);
+        }
+        mSkipped = new boolean[inCapacity];
+        mEventHandlers = inEventHandlers;
+        mConsumerThread = new Thread(this, inThreadName);
+        mConsumerThread.setDaemon(true);
+    }
+
+    /**
+     * Starts the consumer thread of the partition.
+     */
+    void start() {
+        mConsumerThread.start();
+    }
+
+    /**
+     * Closes the partition, waiting for the consumer thread to deliver the events published before
+     * the partition was closed.
+     *
+     * @throws InterruptedException If interrupted while waiting for the consumer thread.
+     */
+    void close() throws InterruptedException {
+        mClosed = true;
+        LockSupport.unpark(mConsumerThread);
+        mConsumerThread.join();
+    }
+
+    @Override
+    public long next() {
+        if (mClosed) {
+            throw new IllegalStateException("The event bus has been closed");
+        }
+        final long theSequence = mClaimedSequence.incrementAndGet();
+        final long theWrapSequence = theSequence - mEvents.length;
+        while (theWrapSequence > mDeliveredSequence.get()) {
+            /* The consumer thread does not deliver any more events once closed. */
+            if (mClosed && !mConsumerThread.isAlive()) {
+                throw new IllegalStateException("The event bus was closed while waiting for room");
+            }
+            LockSupport.unpark(mConsumerThread);
+            LockSupport.parkNanos(PUBLISHER_PARK_NANOS);
+        }
+        return theSequence;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(final long inSequence) {
+        return (E) mEvents[(int) inSequence & mIndexMask];
+    }
+
+    @Override
+    public void publish(final long inSequence) {
+        markPublished(inSequence, false);
+    }
+
+    @Override
+    public void skip(final long inSequence) {
+        markPublished(inSequence, true);
+    }
+
+    /**
+     * Marks the event with the supplied sequence number as published, waking the consumer thread if it waits.
+     *
+     * @param inSequence Sequence number of event.
+     * @param inSkipped True if the event is not to be delivered to the event handlers, false otherwise.
+     */
+    protected void markPublished(final long inSequence, final boolean inSkipped) {
+        final int theIndex = (int) inSequence & mIndexMask;
+        mSkipped[theIndex] = inSkipped;
+        mPublishedRounds.set(theIndex, (int) (inSequence >>> mIndexShift));
+        if (mConsumerWaiting) {
+            LockSupport.unpark(mConsumerThread);
+        }
+    }
+
+    /**
+     * Delivers published events to the event handlers until the partition is closed and
+     * all events published before closing have been delivered.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            final long theFirstSequence = mDeliveredSequence.get() + 1;
+            final long theLastSequence = findLastPublishedSequence(theFirstSequence);
+            if (theLastSequence >= theFirstSequence) {
+                deliver(theFirstSequence, theLastSequence);
+                mDeliveredSequence.set(theLastSequence);
+            } else if (mClosed) {
+                return;
+            } else {
+                mConsumerWaiting = true;
+                /* Check again after announcing the wait, since a publisher may not have seen the flag. */
+                if (!isPublished(theFirstSequence) && !mClosed) {
+                    LockSupport.parkNanos(this, CONSUMER_PARK_NANOS);
+                }
+                mConsumerWaiting = false;
+            }
+        }
+    }
+
+    /**
+     * Finds the last sequence number of the contiguous range of published events starting with
+     * the supplied sequence number.
+     *
+     * @param inFirstSequence First sequence number of range.
+     * @return Last published sequence number of range, or the sequence number preceding the first
+     * sequence number if the first event has not been published.
+     */
+    protected long findLastPublishedSequence(final long inFirstSequence) {
+        final long theClaimedSequence = mClaimedSequence.get();
+        long theSequence = inFirstSequence;
+        while (theSequence <= theClaimedSequence && isPublished(theSequence)) {
+            theSequence++;
+        }
+        return theSequence - 1;
+    }
+
+    /**
+     * Determines whether the event with the supplied sequence number has been published.
+     *
+     * @param inSequence Sequence number of event.
+     * @return True if the event has been published, false otherwise.
+     */
+    protected boolean isPublished(final long inSequence) {
+        return mPublishedRounds.get((int) inSequence & mIndexMask) == (int) (inSequence >>> mIndexShift);
+    }
+
+    /**
+     * Determines whether the published event with the supplied sequence number was skipped.
+     *
+     * @param inSequence Sequence number of published event.
+     * @return True if the event was skipped, false otherwise.
+     */
+    protected boolean isSkipped(final long inSequence) {
+        return mSkipped[(int) inSequence & mIndexMask];
+    }
+
+    /**
+     * Delivers the events with sequence numbers in the supplied range, except for skipped events,
+     * to the event handlers.
+     * The last event that is not skipped is flagged as end of batch.
+     *
+     * @param inFirstSequence Sequence number of first event to deliver.
+     * @param inLastSequence Sequence number of last event to deliver.
+     */
+    protected void deliver(final long inFirstSequence, final long inLastSequence) {
+        long theLastDeliveredSequence = inLastSequence;
+        while (theLastDeliveredSequence >= inFirstSequence && isSkipped(theLastDeliveredSequence)) {
+            theLastDeliveredSequence--;
+        }
+        for (long theSequence = inFirstSequence; theSequence <= theLastDeliveredSequence; theSequence++) {
+            if (isSkipped(theSequence)) {
+                continue;
+            }
+            final E theEvent = get(theSequence);
+            final boolean theEndOfBatchFlag = theSequence == theLastDeliveredSequence;
+            for (EventHandler<E> theEventHandler : mEventHandlers) {
+                try {
+                    theEventHandler.onEvent(theEvent, theSequence, theEndOfBatchFlag);
+                } catch (final Exception theException) {
+                    log.error("Event handler {} failed to handle event {}", theEventHandler, theEvent, theException);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+import java.util.function.Function;
+
+/**
+ * Mapping of an exception type that is transferred from the server to the client and re-thrown there
+ * when thrown by a remotely invoked method.
+ *
+ * @param code Code identifying the exception type in response messages. Must not be changed once
+ * clients and servers have been deployed.
+ * @param exceptionType Type of exceptions mapped. Exceptions of subtypes are also mapped.
+ * @param codec Codec writing the information needed to re-create an exception and re-creating it.
+ * @param <E> Type of exceptions mapped.
+ * @author Ivan Krizsan
+ */
+public record ExceptionMapping<E extends RuntimeException>(
+    int code,
+    Class<E> exceptionType,
+    ValueCodec<E> codec) {
+
+    /**
+     * Validates the exception mapping.
+     */
+    public ExceptionMapping {
+        Assert.isTrue(code >= 0, "The exception code must not be negative");
+        Assert.notNull(exceptionType, "An exception type is required");
+        Assert.notNull(codec, "A codec is required");
+    }
+
+    /**
+     * Creates an exception mapping transferring the message of exceptions, re-creating
+     * exceptions using the supplied factory.
+     *
+     * @param inCode Code identifying the exception type in response messages.
+     * @param inExceptionType Type of exceptions mapped.
+     * @param inExceptionFactory Creates an exception given the exception message, which may be null.
+     * @param <E> Type of exceptions mapped.
+     * @return Exception mapping.
+     */
+    public static <E extends RuntimeException> ExceptionMapping<E> withMessage(
+        final int inCode,
+        final Class<E> inExceptionType,
+        final Function<String, E> inExceptionFactory) {
+        return new ExceptionMapping<>(inCode, inExceptionType, ValueCodec.of(
+            (inWriter, inException) -> ValueCodecs.NULLABLE_STRING.write(inWriter, inException.getMessage()),
+            inReader -> inExceptionFactory.apply(ValueCodecs.NULLABLE_STRING.read(inReader))));
+    }
+
+    /**
+     * Writes the supplied exception.
+     *
+     * @param inWriter Writer to write the exception with.
+     * @param inException Exception to write. Must be of the mapped exception type.
+     */
+    public void writeException(final MessageWriter inWriter, final RuntimeException inException) {
+        codec.write(inWriter, exceptionType.cast(inException));
+    }
+}
@@ -0,0 +1,84 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pool of reusable buffers into which messages are encoded by {@link MessageWriter}s.
+ * Buffers are direct buffers, so that they can be written to connections without being copied.
+ * A buffer that is released when the pool already contains its maximum number of buffers, or
+ * which capacity differs from the buffer size of the pool, is left to the garbage collector.
+ * Instances of this class are thread-safe.
+ *
+ * @author Ivan Krizsan
+ */
+public class MessageBufferPool {
+    /* Constant(s): */
+    /** Default size of the buffers in a pool. */
+    public static final int DEFAULT_BUFFER_SIZE = 4 * 1024;
+    /** Default maximum number of buffers retained in a pool. */
+    public static final int DEFAULT_MAX_POOLED_BUFFERS = 256;
+
+    /* Instance variable(s): */
+    /** Size of the buffers in the pool. */
+    protected final int mBufferSize;
+    /** Buffers available for reuse. */
+    protected final BlockingQueue<ByteBuffer> mAvailableBuffers;
+
+    /**
+     * Creates a pool with the default buffer size and maximum number of pooled buffers.
+     */
+    public MessageBufferPool() {
+        this(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED_BUFFERS);
+    }
+
+    /**
+     * Creates a pool with the supplied buffer size and maximum number of pooled buffers.
+     *
+     * @param inBufferSize Size of the buffers in the pool.
+     * @param inMaxPooledBuffers Maximum number of buffers retained in the pool.
+     */
+    public MessageBufferPool(final int inBufferSize, final int inMaxPooledBuffers) {
+        Assert.isTrue(inBufferSize > 0, "The buffer size must be positive");
+        Assert.isTrue(inMaxPooledBuffers > 0, "The maximum number of pooled buffers must be positive");
+        mBufferSize = inBufferSize;
+        mAvailableBuffers = new ArrayBlockingQueue<>(inMaxPooledBuffers);
+    }
+
+    /**
+     * Acquires a writer encoding into a buffer from the pool.
+     * The buffer of the writer is returned to the pool by {@link MessageWriter#release()}.
+     *
+     * @return Message writer.
+     */
+    public MessageWriter acquireWriter() {
+        ByteBuffer theBuffer = mAvailableBuffers.poll();
+        if (theBuffer == null) {
+            theBuffer = ByteBuffer.allocateDirect(mBufferSize);
+        }
+        return new MessageWriter(theBuffer, this);
+    }
+
+    /**
+     * Returns the supplied buffer to the pool.
+     *
+     * @param inBuffer Buffer to return.
+     */
+    public void release(final ByteBuffer inBuffer) {
+        if (inBuffer.capacity() == mBufferSize && inBuffer.isDirect()) {
+            mAvailableBuffers.offer(inBuffer.clear());
+        }
+    }
+
+    /**
+     * Retrieves the number of buffers currently available for reuse in the pool.
+     *
+     * @return Number of available buffers.
+     */
+    public int availableBufferCount() {
+        return mAvailableBuffers.size();
+    }
+}
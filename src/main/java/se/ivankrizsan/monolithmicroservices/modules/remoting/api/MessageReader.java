@@ -0,0 +1,118 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Decodes the values of a message encoded by a {@link MessageWriter} from a buffer.
+ * Instances of this class are not thread-safe.
+ *
+ * @author Ivan Krizsan
+ */
+public class MessageReader {
+    /* Instance variable(s): */
+    /** Buffer containing the message between its position and limit. */
+    protected final ByteBuffer mBuffer;
+
+    /**
+     * Creates a reader decoding the message in the supplied buffer.
+     *
+     * @param inBuffer Buffer containing the message between its position and limit.
+     */
+    public MessageReader(final ByteBuffer inBuffer) {
+        mBuffer = inBuffer;
+    }
+
+    /**
+     * Reads a byte.
+     *
+     * @return Byte read.
+     */
+    public byte readByte() {
+        return mBuffer.get();
+    }
+
+    /**
+     * Reads a boolean.
+     *
+     * @return Boolean read.
+     */
+    public boolean readBoolean() {
+        return mBuffer.get() != 0;
+    }
+
+    /**
+     * Reads a double.
+     *
+     * @return Double read.
+     */
+    public double readDouble() {
+        return mBuffer.getDouble();
+    }
+
+    /**
+     * Reads a variable-length zig-zag integer as an int.
+     *
+     * @return Int read.
+     * @throws IllegalStateException If the value read does not fit in an int.
+     */
+    public int readVarInt() {
+        final long theValue = readVarLong();
+        if (theValue != (int) theValue) {
+            throw new IllegalStateException("Variable-length integer " + theValue + " does not fit in an int");
+        }
+        return (int) theValue;
+    }
+
+    /**
+     * Reads a variable-length zig-zag integer as a long.
+     *
+     * @return Long read.
+     * @throws IllegalStateException If the encoded integer is malformed.
+     */
+    public long readVarLong() {
+        long theValue = 0;
+        for (int theShift = 0; theShift < 64; theShift += 7) {
+            final byte theByte = mBuffer.get();
+            theValue |= (long) (theByte & 0x7F) << theShift;
+            if (theByte >= 0) {
+                return (theValue >>> 1) ^ -(theValue & 1);
+            }
+        }
+        throw new IllegalStateException("Malformed variable-length integer");
+    }
+
+    /**
+     * Reads a non-null string.
+     *
+     * @return String read.
+     */
+    public String readString() {
+        final int theLength = readVarInt();
+        if (theLength < 0 || theLength > mBuffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        final String theString;
+        if (mBuffer.hasArray()) {
+            theString = new String(
+                mBuffer.array(), mBuffer.arrayOffset() + mBuffer.position(), theLength, StandardCharsets.UTF_8);
+            mBuffer.position(mBuffer.position() + theLength);
+        } else {
+            final byte[] theBytes = new byte[theLength];
+            mBuffer.get(theBytes);
+            theString = new String(theBytes, StandardCharsets.UTF_8);
+        }
+        return theString;
+    }
+
+    /**
+     * Retrieves the number of bytes remaining to be read.
+     *
+     * @return Number of bytes remaining.
+     */
+    public int remaining() {
+        return mBuffer.remaining();
+    }
+}
@@ -0,0 +1,184 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes the values of a message into a buffer, enlarging the buffer as needed.
+ * Integers are encoded as variable-length zig-zag integers, so that small values, positive and negative,
+ * occupy few bytes. Strings are encoded as the length of their UTF-8 encoding followed by the UTF-8 bytes;
+ * strings consisting only of ASCII characters are encoded without intermediate copies.
+ * Instances of this class are not thread-safe.
+ *
+ * @author Ivan Krizsan
+ */
+public class MessageWriter {
+    /* Constant(s): */
+    /** Maximum number of bytes of an encoded variable-length long. */
+    protected static final int MAX_VAR_LONG_SIZE = 10;
+    /** Initial capacity of buffers of writers that do not use a pool. */
+    protected static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+    /* Instance variable(s): */
+    /** Pool to which the buffer of the writer is released or null if the buffer is not pooled. */
+    protected final MessageBufferPool mBufferPool;
+    /** Buffer into which values are encoded. */
+    protected ByteBuffer mBuffer;
+
+    /**
+     * Creates a writer encoding into a heap buffer that is not pooled.
+     */
+    public MessageWriter() {
+        this(ByteBuffer.allocate(DEFAULT_INITIAL_CAPACITY), null);
+    }
+
+    /**
+     * Creates a writer encoding into the supplied buffer.
+     *
+     * @param inBuffer Buffer to encode into.
+     * @param inBufferPool Pool to which the buffer is to be released or null if it is not pooled.
+     */
+    protected MessageWriter(final ByteBuffer inBuffer, final MessageBufferPool inBufferPool) {
+        mBuffer = inBuffer;
+        mBufferPool = inBufferPool;
+    }
+
+    /**
+     * Writes the supplied byte.
+     *
+     * @param inByte Byte to write.
+     * @return This writer.
+     */
+    public MessageWriter writeByte(final byte inByte) {
+        ensureRemaining(Byte.BYTES);
+        mBuffer.put(inByte);
+        return this;
+    }
+
+    /**
+     * Writes the supplied boolean as one byte.
+     *
+     * @param inBoolean Boolean to write.
+     * @return This writer.
+     */
+    public MessageWriter writeBoolean(final boolean inBoolean) {
+        return writeByte(inBoolean ? (byte) 1 : (byte) 0);
+    }
+
+    /**
+     * Writes the supplied double as eight bytes.
+     *
+     * @param inDouble Double to write.
+     * @return This writer.
+     */
+    public MessageWriter writeDouble(final double inDouble) {
+        ensureRemaining(Double.BYTES);
+        mBuffer.putDouble(inDouble);
+        return this;
+    }
+
+    /**
+     * Writes the supplied int as a variable-length zig-zag integer.
+     *
+     * @param inInt Int to write.
+     * @return This writer.
+     */
+    public MessageWriter writeVarInt(final int inInt) {
+        return writeVarLong(inInt);
+    }
+
+    /**
+     * Writes the supplied long as a variable-length zig-zag integer.
+     *
+     * @param inLong Long to write.
+     * @return This writer.
+     */
+    public MessageWriter writeVarLong(final long inLong) {
+        ensureRemaining(MAX_VAR_LONG_SIZE);
+        long theValue = (inLong << 1) ^ (inLong >> 63);
+        while ((theValue & ~0x7FL) != 0) {
+            mBuffer.put((byte) ((theValue & 0x7F) | 0x80));
+            theValue >>>= 7;
+        }
+        mBuffer.put((byte) theValue);
+        return this;
+    }
+
+    /**
+     * Writes the supplied non-null string.
+     *
+     * @param inString String to write.
+     * @return This writer.
+     */
+    public MessageWriter writeString(final String inString) {
+        final int theLength = inString.length();
+        boolean theAsciiFlag = true;
+        for (int i = 0; i < theLength && theAsciiFlag; i++) {
+            theAsciiFlag = inString.charAt(i) < 0x80;
+        }
+
+        if (theAsciiFlag) {
+            writeVarInt(theLength);
+            ensureRemaining(theLength);
+            for (int i = 0; i < theLength; i++) {
+                mBuffer.put((byte) inString.charAt(i));
+            }
+        } else {
+            final byte[] theBytes = inString.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(theBytes.length);
+            ensureRemaining(theBytes.length);
+            mBuffer.put(theBytes);
+        }
+        return this;
+    }
+
+    /**
+     * Retrieves the number of bytes written so far.
+     *
+     * @return Number of bytes written.
+     */
+    public int size() {
+        return mBuffer.position();
+    }
+
+    /**
+     * Finishes writing, returning the buffer containing the encoded message between its
+     * position and limit. No values may be written after the writer has been finished.
+     *
+     * @return Buffer containing the message.
+     */
+    public ByteBuffer finish() {
+        return mBuffer.flip();
+    }
+
+    /**
+     * Releases the buffer of the writer to the pool it was acquired from, if any.
+     * Neither the writer nor the buffer returned by {@link #finish()} may be used after the writer
+     * has been released.
+     */
+    public void release() {
+        if (mBufferPool != null) {
+            mBufferPool.release(mBuffer);
+        }
+    }
+
+    /**
+     * Ensures that the buffer has room for the supplied number of bytes, replacing it with a
+     * larger buffer of the same kind if it has not.
+     *
+     * @param inByteCount Number of bytes to make room for.
+     */
+    protected void ensureRemaining(final int inByteCount) {
+        if (mBuffer.remaining() >= inByteCount) {
+            return;
+        }
+
+        final int theNewCapacity = Math.max(mBuffer.capacity() * 2, mBuffer.position() + inByteCount);
+        final ByteBuffer theNewBuffer = mBuffer.isDirect()
+            ? ByteBuffer.allocateDirect(theNewCapacity)
+            : ByteBuffer.allocate(theNewCapacity);
+        theNewBuffer.put(mBuffer.flip());
+        release();
+        mBuffer = theNewBuffer;
+    }
+}
@@ -0,0 +1,80 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+import java.util.List;
+
+/**
+ * Schema of a remotely invokable method, specifying the codecs of its arguments and result.
+ * Arguments are encoded in the order of the argument codecs.
+ *
+ * @param id Id identifying the method in request messages. Must not be changed once clients and
+ * servers have been deployed.
+ * @param name Name of the method, used in error messages.
+ * @param argumentCodecs Codecs of the method arguments.
+ * @param resultCodec Codec of the method result.
+ * @param <R> Method result type.
+ * @author Ivan Krizsan
+ */
+public record MethodSchema<R>(
+    int id,
+    String name,
+    List<ValueCodec<?>> argumentCodecs,
+    ValueCodec<R> resultCodec) {
+
+    /**
+     * Validates the method schema.
+     */
+    public MethodSchema {
+        Assert.isTrue(id >= 0, "The method id must not be negative");
+        Assert.hasText(name, "A method name is required");
+        Assert.notNull(resultCodec, "A result codec is required");
+        argumentCodecs = List.copyOf(argumentCodecs);
+    }
+
+    /**
+     * Creates a method schema.
+     *
+     * @param inId Id identifying the method in request messages.
+     * @param inName Name of the method.
+     * @param inResultCodec Codec of the method result.
+     * @param inArgumentCodecs Codecs of the method arguments.
+     * @param <R> Method result type.
+     * @return Method schema.
+     */
+    public static <R> MethodSchema<R> of(final int inId,
+                                         final String inName,
+                                         final ValueCodec<R> inResultCodec,
+                                         final ValueCodec<?>... inArgumentCodecs) {
+        return new MethodSchema<>(inId, inName, List.of(inArgumentCodecs), inResultCodec);
+    }
+
+    /**
+     * Writes the supplied arguments of the method.
+     *
+     * @param inWriter Writer to write the arguments with.
+     * @param inArguments Method arguments, in the order of the argument codecs.
+     */
+    @SuppressWarnings("unchecked")
+    public void writeArguments(final MessageWriter inWriter, final Object... inArguments) {
+        Assert.isTrue(inArguments.length == argumentCodecs.size(),
+            () -> name + " takes " + argumentCodecs.size() + " arguments");
+        for (int i = 0; i < inArguments.length; i++) {
+            ((ValueCodec<Object>) argumentCodecs.get(i)).write(inWriter, inArguments[i]);
+        }
+    }
+
+    /**
+     * Reads the arguments of the method.
+     *
+     * @param inReader Reader to read the arguments with.
+     * @return Method arguments, in the order of the argument codecs.
+     */
+    public Object[] readArguments(final MessageReader inReader) {
+        final Object[] theArguments = new Object[argumentCodecs.size()];
+        for (int i = 0; i < theArguments.length; i++) {
+            theArguments[i] = argumentCodecs.get(i).read(inReader);
+        }
+        return theArguments;
+    }
+}
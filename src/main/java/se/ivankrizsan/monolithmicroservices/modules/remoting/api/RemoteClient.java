@@ -0,0 +1,46 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Client that sends requests to a remote server over persistent connections.
+ * Multiple requests may be outstanding on a connection at any time and requests sent concurrently
+ * are written to the connection together.
+ *
+ * @author Ivan Krizsan
+ */
+public interface RemoteClient extends Closeable {
+
+    /**
+     * Sends the supplied request to the remote server.
+     * The request is written to the connection directly from the supplied buffer, which thus must not
+     * be modified until the supplied release callback has been invoked.
+     *
+     * @param inRequest Buffer containing the request message between its position and limit.
+     * @param inRequestReleaseCallback Invoked when the request buffer is no longer used by the client.
+     * @return Future that is completed with the response message or, if the request fails or times out,
+     * completed exceptionally with a {@link RemoteInvocationException}.
+     */
+    CompletableFuture<ByteBuffer> invoke(ByteBuffer inRequest, Runnable inRequestReleaseCallback);
+
+    /**
+     * Sends the supplied request to the remote server.
+     * The supplied buffer must not be modified after having been passed to this method.
+     *
+     * @param inRequest Buffer containing the request message between its position and limit.
+     * @return Future that is completed with the response message or, if the request fails or times out,
+     * completed exceptionally with a {@link RemoteInvocationException}.
+     */
+    default CompletableFuture<ByteBuffer> invoke(final ByteBuffer inRequest) {
+        return invoke(inRequest, () -> {
+        });
+    }
+
+    /**
+     * Closes all connections of the client, failing outstanding requests.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,39 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link RemoteClient}.
+ *
+ * @param host Host name or address of the remote server.
+ * @param port Port of the remote server.
+ * @param connectionCount Number of persistent connections to the remote server.
+ * @param maxBatchSize Maximum number of requests written to a connection together.
+ * @param requestTimeout Maximum time to wait for the response to a request.
+ * @param connectTimeout Maximum time to wait for a connection to the remote server to be established.
+ * @author Ivan Krizsan
+ */
+public record RemoteClientSettings(
+    String host,
+    int port,
+    int connectionCount,
+    int maxBatchSize,
+    Duration requestTimeout,
+    Duration connectTimeout) {
+
+    /**
+     * Validates the settings.
+     */
+    public RemoteClientSettings {
+        Assert.hasText(host, "A host is required");
+        Assert.isTrue(port > 0, "The port must be positive");
+        Assert.isTrue(connectionCount > 0, "The connection count must be positive");
+        Assert.isTrue(maxBatchSize > 0, "The maximum batch size must be positive");
+        Assert.notNull(requestTimeout, "A request timeout is required");
+        Assert.notNull(connectTimeout, "A connect timeout is required");
+        Assert.isTrue(!connectTimeout.isNegative() && !connectTimeout.isZero(),
+            "The connect timeout must be positive");
+    }
+}
@@ -0,0 +1,29 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+/**
+ * Exception that indicates that a request to a remote server failed, because the connection failed,
+ * the request timed out or an unexpected error occurred on the server.
+ *
+ * @author Ivan Krizsan
+ */
+public class RemoteInvocationException extends RuntimeException {
+
+    /**
+     * Creates an exception with the supplied message.
+     *
+     * @param inMessage Exception message.
+     */
+    public RemoteInvocationException(final String inMessage) {
+        super(inMessage);
+    }
+
+    /**
+     * Creates an exception with the supplied message and cause.
+     *
+     * @param inMessage Exception message.
+     * @param inCause Cause of exception.
+     */
+    public RemoteInvocationException(final String inMessage, final Throwable inCause) {
+        super(inMessage, inCause);
+    }
+}
@@ -0,0 +1,34 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Handles requests received by a {@link RemoteServer}.
+ * Requests may be handled concurrently and handlers must thus be thread-safe.
+ *
+ * @author Ivan Krizsan
+ */
+@FunctionalInterface
+public interface RemoteRequestHandler {
+
+    /**
+     * Handles the supplied request.
+     * Errors that the client is expected to handle should be encoded in the response message.
+     *
+     * @param inRequest Buffer containing the request message between its position and limit.
+     * @return Buffer containing the response message between its position and limit. The response is
+     * written to the connection directly from the buffer.
+     * @throws Exception If an unexpected error occurs handling the request. The client will be
+     * notified with a {@link RemoteInvocationException}.
+     */
+    ByteBuffer handleRequest(ByteBuffer inRequest) throws Exception;
+
+    /**
+     * Invoked when a response buffer returned by {@link #handleRequest(ByteBuffer)} has been written
+     * and is no longer used by the server, allowing the buffer to be reused.
+     *
+     * @param inResponse Response buffer.
+     */
+    default void releaseResponse(final ByteBuffer inResponse) {
+    }
+}
@@ -0,0 +1,25 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.io.Closeable;
+
+/**
+ * Server that accepts persistent connections from remote clients and passes received requests
+ * to a {@link RemoteRequestHandler}.
+ *
+ * @author Ivan Krizsan
+ */
+public interface RemoteServer extends Closeable {
+
+    /**
+     * Retrieves the port on which the server accepts connections.
+     *
+     * @return Server port.
+     */
+    int port();
+
+    /**
+     * Stops accepting connections and closes all connections of the server.
+     */
+    @Override
+    void close();
+}
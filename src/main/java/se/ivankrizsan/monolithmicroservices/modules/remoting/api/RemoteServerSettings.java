@@ -0,0 +1,29 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+/**
+ * Settings of a {@link RemoteServer}.
+ *
+ * @param bindAddress Host name or address of the interface on which to accept connections.
+ * @param port Port on which to accept connections. Zero selects an ephemeral port.
+ * @param workerThreadCount Number of threads handling requests.
+ * @param maxBatchSize Maximum number of responses written to a connection together.
+ * @author Ivan Krizsan
+ */
+public record RemoteServerSettings(
+    String bindAddress,
+    int port,
+    int workerThreadCount,
+    int maxBatchSize) {
+
+    /**
+     * Validates the settings.
+     */
+    public RemoteServerSettings {
+        Assert.hasText(bindAddress, "A bind address is required");
+        Assert.isTrue(port >= 0, "The port may not be negative");
+        Assert.isTrue(workerThreadCount > 0, "The worker thread count must be positive");
+        Assert.isTrue(maxBatchSize > 0, "The maximum batch size must be positive");
+    }
+}
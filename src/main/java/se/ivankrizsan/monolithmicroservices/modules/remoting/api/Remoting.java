@@ -0,0 +1,43 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import se.ivankrizsan.monolithmicroservices.modules.remoting.implementation.SocketRemoteClient;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.implementation.SocketRemoteServer;
+
+import java.io.IOException;
+
+/**
+ * Creates remote clients and servers exchanging length-prefixed, correlated messages over TCP.
+ *
+ * @author Ivan Krizsan
+ */
+public final class Remoting {
+
+    private Remoting() {
+    }
+
+    /**
+     * Creates a client sending requests to the remote server specified by the supplied settings.
+     * Connections are established when the first request is sent on them and re-established
+     * if they fail.
+     *
+     * @param inClientSettings Client settings.
+     * @return Remote client.
+     */
+    public static RemoteClient createClient(final RemoteClientSettings inClientSettings) {
+        return new SocketRemoteClient(inClientSettings);
+    }
+
+    /**
+     * Starts a server accepting connections as specified by the supplied settings and passing received
+     * requests to the supplied request handler.
+     *
+     * @param inServerSettings Server settings.
+     * @param inRequestHandler Handler handling received requests.
+     * @return Started remote server.
+     * @throws IOException If an error occurs starting the server.
+     */
+    public static RemoteServer startServer(final RemoteServerSettings inServerSettings,
+                                           final RemoteRequestHandler inRequestHandler) throws IOException {
+        return new SocketRemoteServer(inServerSettings, inRequestHandler);
+    }
+}
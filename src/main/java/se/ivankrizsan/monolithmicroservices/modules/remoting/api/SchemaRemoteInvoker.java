@@ -0,0 +1,77 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Invokes methods of a remote service described by a {@link ServiceSchema} using a {@link RemoteClient}.
+ * Requests are encoded into buffers from a {@link MessageBufferPool}, which are returned to the pool
+ * when they have been written to the connection.
+ * Exceptions thrown by the remote method that are mapped in the service schema are re-created and
+ * re-thrown by the invoker.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class SchemaRemoteInvoker {
+    /* Dependencies: */
+    @NonNull
+    protected final RemoteClient mRemoteClient;
+    @NonNull
+    protected final ServiceSchema mServiceSchema;
+    @NonNull
+    protected final MessageBufferPool mBufferPool;
+
+    /**
+     * Invokes the supplied method of the remote service and waits for the result.
+     *
+     * @param inMethod Method to invoke.
+     * @param inArguments Method arguments.
+     * @param <R> Method result type.
+     * @return Method result.
+     * @throws RemoteInvocationException If the remote invocation fails.
+     */
+    public <R> R invoke(final MethodSchema<R> inMethod, final Object... inArguments) {
+        final MessageWriter theRequestWriter = mBufferPool.acquireWriter();
+        final ByteBuffer theRequest;
+        try {
+            theRequestWriter.writeVarInt(inMethod.id());
+            inMethod.writeArguments(theRequestWriter, inArguments);
+            theRequest = theRequestWriter.finish();
+        } catch (final RuntimeException theException) {
+            theRequestWriter.release();
+            throw new RemoteInvocationException(
+                "Error encoding request of " + mServiceSchema.name() + "." + inMethod.name(), theException);
+        }
+
+        final ByteBuffer theResponse;
+        try {
+            theResponse = mRemoteClient.invoke(theRequest, theRequestWriter::release).join();
+        } catch (final CompletionException theException) {
+            if (theException.getCause() instanceof RemoteInvocationException theRemoteInvocationException) {
+                throw theRemoteInvocationException;
+            }
+            throw new RemoteInvocationException(
+                "Error invoking " + mServiceSchema.name() + "." + inMethod.name(), theException.getCause());
+        }
+
+        final MessageReader theResponseReader = new MessageReader(theResponse);
+        final RuntimeException theMethodException;
+        try {
+            if (theResponseReader.readByte() == ServiceSchema.RESPONSE_RESULT) {
+                return inMethod.resultCodec().read(theResponseReader);
+            }
+            theMethodException = mServiceSchema
+                .findExceptionMapping(theResponseReader.readVarInt())
+                .codec()
+                .read(theResponseReader);
+        } catch (final RuntimeException theException) {
+            throw new RemoteInvocationException(
+                "Error decoding response of " + mServiceSchema.name() + "." + inMethod.name(), theException);
+        }
+        throw theMethodException;
+    }
+}
@@ -0,0 +1,133 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Remote request handler that decodes requests to a service described by a {@link ServiceSchema} and
+ * dispatches them to the method implementations bound to the method schemas.
+ * Responses are encoded into buffers from a {@link MessageBufferPool}, which are returned to the pool
+ * when they have been written to the connection.
+ * Exceptions thrown by method implementations that are mapped in the service schema are transferred
+ * to the client. Other exceptions cause the request to fail with a {@link RemoteInvocationException}
+ * on the client.
+ * All methods are to be bound before the dispatcher starts handling requests.
+ *
+ * @author Ivan Krizsan
+ */
+public class SchemaRequestDispatcher implements RemoteRequestHandler {
+    /* Instance variable(s): */
+    /** Schema of the service which requests are handled. */
+    protected final ServiceSchema mServiceSchema;
+    /** Pool of buffers into which responses are encoded. */
+    protected final MessageBufferPool mBufferPool;
+    /** Method implementations keyed by method id. */
+    protected final Map<Integer, MethodImplementation<?>> mMethodImplementations = new HashMap<>();
+
+    /**
+     * Creates a dispatcher handling requests to the service with the supplied schema.
+     *
+     * @param inServiceSchema Service schema.
+     * @param inBufferPool Pool of buffers into which responses are encoded.
+     */
+    public SchemaRequestDispatcher(final ServiceSchema inServiceSchema, final MessageBufferPool inBufferPool) {
+        Assert.notNull(inServiceSchema, "A service schema is required");
+        Assert.notNull(inBufferPool, "A buffer pool is required");
+        mServiceSchema = inServiceSchema;
+        mBufferPool = inBufferPool;
+    }
+
+    /**
+     * Binds the supplied implementation to the supplied method.
+     *
+     * @param inMethod Method schema.
+     * @param inMethodImplementation Implementation of the method.
+     * @param <R> Method result type.
+     * @return This dispatcher.
+     */
+    public <R> SchemaRequestDispatcher bind(final MethodSchema<R> inMethod,
+                                            final MethodImplementation<R> inMethodImplementation) {
+        Assert.isTrue(mServiceSchema.findMethod(inMethod.id()) == inMethod,
+            () -> inMethod.name() + " is not a method of " + mServiceSchema.name());
+        mMethodImplementations.put(inMethod.id(), inMethodImplementation);
+        return this;
+    }
+
+    @Override
+    public ByteBuffer handleRequest(final ByteBuffer inRequest) throws Exception {
+        final MessageReader theRequestReader = new MessageReader(inRequest);
+        final MethodSchema<?> theMethod = mServiceSchema.findMethod(theRequestReader.readVarInt());
+        final Object[] theArguments = theMethod.readArguments(theRequestReader);
+        return invokeMethod(theMethod, theArguments);
+    }
+
+    @Override
+    public void releaseResponse(final ByteBuffer inResponse) {
+        mBufferPool.release(inResponse);
+    }
+
+    /**
+     * Invokes the implementation of the supplied method with the supplied arguments and encodes
+     * the result or the mapped exception thrown.
+     *
+     * @param inMethod Method to invoke.
+     * @param inArguments Method arguments.
+     * @param <R> Method result type.
+     * @return Buffer containing the response message.
+     * @throws Exception If the method implementation throws an exception which is not mapped.
+     */
+    @SuppressWarnings("unchecked")
+    protected <R> ByteBuffer invokeMethod(final MethodSchema<R> inMethod, final Object[] inArguments)
+        throws Exception {
+        final MethodImplementation<R> theMethodImplementation =
+            (MethodImplementation<R>) mMethodImplementations.get(inMethod.id());
+        if (theMethodImplementation == null) {
+            throw new IllegalStateException(
+                "No implementation bound to " + mServiceSchema.name() + "." + inMethod.name());
+        }
+
+        final R theResult;
+        final MessageWriter theResponseWriter = mBufferPool.acquireWriter();
+        try {
+            try {
+                theResult = theMethodImplementation.invoke(inArguments);
+            } catch (final RuntimeException theException) {
+                final ExceptionMapping<?> theExceptionMapping = mServiceSchema.findExceptionMapping(theException);
+                if (theExceptionMapping == null) {
+                    throw theException;
+                }
+                theResponseWriter
+                    .writeByte(ServiceSchema.RESPONSE_EXCEPTION)
+                    .writeVarInt(theExceptionMapping.code());
+                theExceptionMapping.writeException(theResponseWriter, theException);
+                return theResponseWriter.finish();
+            }
+            theResponseWriter.writeByte(ServiceSchema.RESPONSE_RESULT);
+            inMethod.resultCodec().write(theResponseWriter, theResult);
+            return theResponseWriter.finish();
+        } catch (final Exception theException) {
+            theResponseWriter.release();
+            throw theException;
+        }
+    }
+
+    /**
+     * Implementation of a method bound to a method schema.
+     *
+     * @param <R> Method result type.
+     */
+    @FunctionalInterface
+    public interface MethodImplementation<R> {
+        /**
+         * Invokes the method with the supplied arguments.
+         *
+         * @param inArguments Method arguments, in the order of the argument codecs of the method schema.
+         * @return Method result.
+         * @throws Exception If an error occurs.
+         */
+        R invoke(Object[] inArguments) throws Exception;
+    }
+}
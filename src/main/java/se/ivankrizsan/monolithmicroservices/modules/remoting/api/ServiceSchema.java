@@ -0,0 +1,112 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.springframework.util.Assert;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Schema of a remotely invokable service, consisting of the schemas of its methods and the mappings of
+ * the exceptions its methods may throw.
+ * A request message consists of the method id followed by the method arguments.
+ * A response message consists of a response status followed by the method result, if the status is
+ * {@link #RESPONSE_RESULT}, or the exception code and the information needed to re-create the exception
+ * thrown by the method, if the status is {@link #RESPONSE_EXCEPTION}.
+ *
+ * @author Ivan Krizsan
+ */
+public final class ServiceSchema {
+    /* Constant(s): */
+    /** Response status of methods that completed normally. */
+    public static final byte RESPONSE_RESULT = 0;
+    /** Response status of methods that threw a mapped exception. */
+    public static final byte RESPONSE_EXCEPTION = 1;
+
+    /* Instance variable(s): */
+    /** Name of the service, used in error messages. */
+    private final String mName;
+    /** Method schemas indexed by method id. */
+    private final MethodSchema<?>[] mMethodsById;
+    /** Exception mappings, in the order in which they are matched against thrown exceptions. */
+    private final List<ExceptionMapping<?>> mExceptionMappings;
+
+    /**
+     * Creates a service schema.
+     *
+     * @param inName Name of the service.
+     * @param inMethods Schemas of the service methods. Method ids must be unique.
+     * @param inExceptionMappings Mappings of exceptions thrown by the service methods. Mappings of more
+     * specific exception types must precede mappings of more general exception types.
+     */
+    public ServiceSchema(final String inName,
+                         final List<MethodSchema<?>> inMethods,
+                         final List<ExceptionMapping<?>> inExceptionMappings) {
+        Assert.hasText(inName, "A service name is required");
+        mName = inName;
+        mMethodsById = new MethodSchema<?>[inMethods.stream().mapToInt(MethodSchema::id).max().orElse(-1) + 1];
+        for (MethodSchema<?> theMethod : inMethods) {
+            Assert.isNull(mMethodsById[theMethod.id()], () -> "Duplicate method id " + theMethod.id());
+            mMethodsById[theMethod.id()] = theMethod;
+        }
+        final Set<Integer> theExceptionCodes = new HashSet<>();
+        for (ExceptionMapping<?> theMapping : inExceptionMappings) {
+            Assert.isTrue(theExceptionCodes.add(theMapping.code()), () -> "Duplicate exception code " + theMapping.code());
+        }
+        mExceptionMappings = List.copyOf(inExceptionMappings);
+    }
+
+    /**
+     * Retrieves the name of the service.
+     *
+     * @return Service name.
+     */
+    public String name() {
+        return mName;
+    }
+
+    /**
+     * Finds the schema of the method with the supplied id.
+     *
+     * @param inMethodId Method id.
+     * @return Method schema.
+     * @throws IllegalStateException If the service has no method with the supplied id.
+     */
+    public MethodSchema<?> findMethod(final int inMethodId) {
+        if (inMethodId < 0 || inMethodId >= mMethodsById.length || mMethodsById[inMethodId] == null) {
+            throw new IllegalStateException("Unknown " + mName + " method id: " + inMethodId);
+        }
+        return mMethodsById[inMethodId];
+    }
+
+    /**
+     * Finds the mapping of the supplied exception.
+     *
+     * @param inException Exception thrown by a service method.
+     * @return Exception mapping or null if the exception is not mapped.
+     */
+    public ExceptionMapping<?> findExceptionMapping(final Throwable inException) {
+        for (ExceptionMapping<?> theMapping : mExceptionMappings) {
+            if (theMapping.exceptionType().isInstance(inException)) {
+                return theMapping;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the exception mapping with the supplied code.
+     *
+     * @param inExceptionCode Exception code.
+     * @return Exception mapping.
+     * @throws IllegalStateException If there is no exception mapping with the supplied code.
+     */
+    public ExceptionMapping<?> findExceptionMapping(final int inExceptionCode) {
+        for (ExceptionMapping<?> theMapping : mExceptionMappings) {
+            if (theMapping.code() == inExceptionCode) {
+                return theMapping;
+            }
+        }
+        throw new IllegalStateException("Unknown " + mName + " exception code: " + inExceptionCode);
+    }
+}
@@ -0,0 +1,54 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Encodes and decodes values of one type in messages.
+ * Codecs of composite values, such as records, are composed of the codecs of their components
+ * using plain accessor methods and constructors, so that no reflection is required.
+ *
+ * @param <T> Type of values encoded and decoded.
+ * @author Ivan Krizsan
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Writes the supplied value.
+     *
+     * @param inWriter Writer to write the value with.
+     * @param inValue Value to write.
+     */
+    void write(MessageWriter inWriter, T inValue);
+
+    /**
+     * Reads a value.
+     *
+     * @param inReader Reader to read the value with.
+     * @return Value read.
+     */
+    T read(MessageReader inReader);
+
+    /**
+     * Creates a codec using the supplied functions to write and read values.
+     *
+     * @param inValueWriter Writes a value.
+     * @param inValueReader Reads a value.
+     * @param <T> Type of values encoded and decoded.
+     * @return Value codec.
+     */
+    static <T> ValueCodec<T> of(final BiConsumer<MessageWriter, T> inValueWriter,
+                                final Function<MessageReader, T> inValueReader) {
+        return new ValueCodec<>() {
+            @Override
+            public void write(final MessageWriter inWriter, final T inValue) {
+                inValueWriter.accept(inWriter, inValue);
+            }
+
+            @Override
+            public T read(final MessageReader inReader) {
+                return inValueReader.apply(inReader);
+            }
+        };
+    }
+}
@@ -0,0 +1,143 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Codecs of common value types and factory methods composing codecs of nullable, optional,
+ * collection and map values.
+ * Nullable and optional values are encoded as a presence flag byte followed by the value, if present.
+ *
+ * @author Ivan Krizsan
+ */
+public final class ValueCodecs {
+    /* Constant(s): */
+    /** Codec of non-null strings. */
+    public static final ValueCodec<String> STRING =
+        ValueCodec.of(MessageWriter::writeString, MessageReader::readString);
+    /** Codec of nullable strings. */
+    public static final ValueCodec<String> NULLABLE_STRING = nullable(STRING);
+    /** Codec of non-null doubles. */
+    public static final ValueCodec<Double> DOUBLE =
+        ValueCodec.of(MessageWriter::writeDouble, MessageReader::readDouble);
+    /** Codec of nullable doubles. */
+    public static final ValueCodec<Double> NULLABLE_DOUBLE = nullable(DOUBLE);
+    /** Codec of optional doubles. */
+    public static final ValueCodec<Optional<Double>> OPTIONAL_DOUBLE = optional(DOUBLE);
+    /** Codec of non-null longs. */
+    public static final ValueCodec<Long> LONG =
+        ValueCodec.of(MessageWriter::writeVarLong, MessageReader::readVarLong);
+    /** Codec of nullable longs. */
+    public static final ValueCodec<Long> NULLABLE_LONG = nullable(LONG);
+    /** Codec of optional longs. */
+    public static final ValueCodec<Optional<Long>> OPTIONAL_LONG = optional(LONG);
+    /** Codec of non-null ints. */
+    public static final ValueCodec<Integer> INT =
+        ValueCodec.of(MessageWriter::writeVarInt, MessageReader::readVarInt);
+    /** Codec of non-null booleans. */
+    public static final ValueCodec<Boolean> BOOLEAN =
+        ValueCodec.of(MessageWriter::writeBoolean, MessageReader::readBoolean);
+    /** Codec of the result of methods without result, which encodes nothing. */
+    public static final ValueCodec<Void> VOID = ValueCodec.of((inWriter, inValue) -> {
+    }, inReader -> null);
+
+    private ValueCodecs() {
+    }
+
+    /**
+     * Creates a codec of values that may be null using the supplied codec of non-null values.
+     *
+     * @param inValueCodec Codec of non-null values.
+     * @param <T> Type of values.
+     * @return Codec of nullable values.
+     */
+    public static <T> ValueCodec<T> nullable(final ValueCodec<T> inValueCodec) {
+        return ValueCodec.of(
+            (inWriter, inValue) -> {
+                inWriter.writeBoolean(inValue != null);
+                if (inValue != null) {
+                    inValueCodec.write(inWriter, inValue);
+                }
+            },
+            inReader -> inReader.readBoolean() ? inValueCodec.read(inReader) : null);
+    }
+
+    /**
+     * Creates a codec of optional values using the supplied codec of non-null values.
+     *
+     * @param inValueCodec Codec of non-null values.
+     * @param <T> Type of values.
+     * @return Codec of optional values.
+     */
+    public static <T> ValueCodec<Optional<T>> optional(final ValueCodec<T> inValueCodec) {
+        final ValueCodec<T> theNullableCodec = nullable(inValueCodec);
+        return ValueCodec.of(
+            (inWriter, inValue) -> theNullableCodec.write(inWriter, inValue.orElse(null)),
+            inReader -> Optional.ofNullable(theNullableCodec.read(inReader)));
+    }
+
+    /**
+     * Creates a codec of non-null collections, decoded as lists, using the supplied codec of
+     * the collection elements.
+     *
+     * @param inElementCodec Codec of collection elements.
+     * @param <T> Type of collection elements.
+     * @return Codec of collections.
+     */
+    public static <T> ValueCodec<Collection<T>> collection(final ValueCodec<T> inElementCodec) {
+        return ValueCodec.of(
+            (inWriter, inValue) -> {
+                inWriter.writeVarInt(inValue.size());
+                for (T theElement : inValue) {
+                    inElementCodec.write(inWriter, theElement);
+                }
+            },
+            inReader -> {
+                final int theSize = inReader.readVarInt();
+                if (theSize < 0 || theSize > inReader.remaining()) {
+                    throw new IllegalStateException("Malformed collection size " + theSize);
+                }
+                final List<T> theElements = new ArrayList<>(theSize);
+                for (int i = 0; i < theSize; i++) {
+                    theElements.add(inElementCodec.read(inReader));
+                }
+                return theElements;
+            });
+    }
+
+    /**
+     * Creates a codec of non-null maps using the supplied codecs of the map keys and values.
+     * Entries are encoded as a key followed by its value.
+     *
+     * @param inKeyCodec Codec of map keys.
+     * @param inValueCodec Codec of map values.
+     * @param <K> Type of map keys.
+     * @param <V> Type of map values.
+     * @return Codec of maps.
+     */
+    public static <K, V> ValueCodec<Map<K, V>> map(final ValueCodec<K> inKeyCodec, final ValueCodec<V> inValueCodec) {
+        return ValueCodec.of(
+            (inWriter, inValue) -> {
+                inWriter.writeVarInt(inValue.size());
+                for (Map.Entry<K, V> theEntry : inValue.entrySet()) {
+                    inKeyCodec.write(inWriter, theEntry.getKey());
+                    inValueCodec.write(inWriter, theEntry.getValue());
+                }
+            },
+            inReader -> {
+                final int theSize = inReader.readVarInt();
+                if (theSize < 0 || theSize > inReader.remaining()) {
+                    throw new IllegalStateException("Malformed map size " + theSize);
+                }
+                final Map<K, V> theMap = new HashMap<>((int) (theSize / 0.75f) + 1);
+                for (int i = 0; i < theSize; i++) {
+                    theMap.put(inKeyCodec.read(inReader), inValueCodec.read(inReader));
+                }
+                return theMap;
+            });
+    }
+}
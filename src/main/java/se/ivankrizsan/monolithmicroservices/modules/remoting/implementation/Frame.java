@@ -0,0 +1,42 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.implementation;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Message exchanged over a remoting connection.
+ * On the wire, a frame consists of the frame length, excluding the length itself, the correlation id,
+ * the status and the payload.
+ *
+ * @param correlationId Id correlating a response with the request it responds to.
+ * @param status Status of the frame. Always {@link #STATUS_OK} for requests.
+ * @param payload Buffer containing the message payload between its position and limit.
+ * @param releaseCallback Invoked when the payload buffer is no longer used by the frame writer.
+ * @author Ivan Krizsan
+ */
+public record Frame(long correlationId, byte status, ByteBuffer payload, Runnable releaseCallback) {
+    /* Constant(s): */
+    /** Status of requests and of responses to requests that were handled successfully. */
+    public static final byte STATUS_OK = 0;
+    /** Status of responses to requests that could not be handled. The payload contains an error message. */
+    public static final byte STATUS_ERROR = 1;
+    /** Size of the frame length field. */
+    public static final int LENGTH_FIELD_SIZE = Integer.BYTES;
+    /** Size of the fields following the frame length that precede the payload. */
+    public static final int HEADER_SIZE = Long.BYTES + Byte.BYTES;
+    /** Maximum size of a frame, excluding the frame length field. */
+    public static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+    /** Release callback of frames which payload need not be released. */
+    public static final Runnable NO_RELEASE = () -> {
+    };
+
+    /**
+     * Creates a frame which payload need not be released.
+     *
+     * @param inCorrelationId Id correlating a response with the request it responds to.
+     * @param inStatus Status of the frame.
+     * @param inPayload Buffer containing the message payload.
+     */
+    public Frame(final long inCorrelationId, final byte inStatus, final ByteBuffer inPayload) {
+        this(inCorrelationId, inStatus, inPayload, NO_RELEASE);
+    }
+}
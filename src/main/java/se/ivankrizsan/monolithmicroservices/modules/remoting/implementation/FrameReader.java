@@ -0,0 +1,67 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.implementation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.function.Consumer;
+
+/**
+ * Reads frames from a socket channel.
+ * All complete frames received in one read are passed on before the next read.
+ * The payload of each frame is read into a heap buffer of its own, which is owned by the consumer
+ * of the frame.
+ *
+ * @author Ivan Krizsan
+ */
+public final class FrameReader {
+    /* Constant(s): */
+    /** Initial size of the buffer into which data is read. */
+    static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private FrameReader() {
+    }
+
+    /**
+     * Reads frames from the supplied channel, passing them to the supplied consumer, until
+     * the end of the stream is reached.
+     *
+     * @param inChannel Channel to read frames from.
+     * @param inFrameConsumer Consumer receiving frames read.
+     * @throws IOException If an error occurs reading from the channel or a malformed frame is received.
+     */
+    public static void readFrames(final SocketChannel inChannel,
+                                  final Consumer<Frame> inFrameConsumer) throws IOException {
+        ByteBuffer theBuffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        while (inChannel.read(theBuffer) >= 0) {
+            theBuffer.flip();
+            while (theBuffer.remaining() >= Frame.LENGTH_FIELD_SIZE) {
+                final int theFrameSize = theBuffer.getInt(theBuffer.position());
+                if (theFrameSize < Frame.HEADER_SIZE || theFrameSize > Frame.MAX_FRAME_SIZE) {
+                    throw new IOException("Malformed frame with size " + theFrameSize);
+                }
+                if (theBuffer.remaining() < Frame.LENGTH_FIELD_SIZE + theFrameSize) {
+                    break;
+                }
+
+                theBuffer.getInt();
+                final long theCorrelationId = theBuffer.getLong();
+                final byte theStatus = theBuffer.get();
+                final byte[] thePayload = new byte[theFrameSize - Frame.HEADER_SIZE];
+                theBuffer.get(thePayload);
+                inFrameConsumer.accept(new Frame(theCorrelationId, theStatus, ByteBuffer.wrap(thePayload)));
+            }
+
+            /* Enlarge the buffer if the next frame does not fit in it. */
+            if (theBuffer.remaining() >= Frame.LENGTH_FIELD_SIZE) {
+                final int theRequiredSize = Frame.LENGTH_FIELD_SIZE + theBuffer.getInt(theBuffer.position());
+                if (theRequiredSize > theBuffer.capacity()) {
+                    final ByteBuffer theNewBuffer = ByteBuffer.allocate(theRequiredSize);
+                    theNewBuffer.put(theBuffer);
+                    theBuffer = theNewBuffer;
+                    continue;
+                }
+            }
+            theBuffer.compact();
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Writes frames to a socket channel using a dedicated writer thread.
+ * Frames sent concurrently are written to the channel together in one gathering write, which batches
+ * concurrent requests or responses without delaying any frame to wait for more frames.
+ * Only the frame headers are encoded by the writer; payloads are written directly from the buffers
+ * supplied with the frames without being copied.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class FrameWriter implements Closeable {
+    /* Constant(s): */
+    /** Frame signalling the writer thread to stop. */
+    protected static final Frame STOP_FRAME = new Frame(-1L, Frame.STATUS_OK, ByteBuffer.allocate(0));
+    /** Size of the encoded frame length and header. */
+    protected static final int ENCODED_HEADER_SIZE = Frame.LENGTH_FIELD_SIZE + Frame.HEADER_SIZE;
+
+    /* Instance variable(s): */
+    /** Channel to which frames are written. */
+    protected final SocketChannel mChannel;
+    /** Maximum number of frames written together. */
+    protected final int mMaxBatchSize;
+    /** Invoked if writing to the channel fails. */
+    protected final Consumer<IOException> mFailureHandler;
+    /** Frames waiting to be written. */
+    protected final BlockingQueue<Frame> mFrames = new LinkedBlockingQueue<>();
+    /** Thread writing frames to the channel. */
+    protected final Thread mWriterThread;
+    /** Buffers into which the headers of the frames in a batch are encoded, one per frame. */
+    protected final ByteBuffer[] mHeaderBuffers;
+    /** Header and payload buffers of the frames in a batch, in the order they are written. */
+    protected final ByteBuffer[] mWriteBuffers;
+    /** Whether the writer has been closed. */
+    protected volatile boolean mClosed;
+
+    /**
+     * Creates a frame writer writing to the supplied channel and starts its writer thread.
+     *
+     * @param inChannel Channel to which frames are to be written.
+     * @param inMaxBatchSize Maximum number of frames written together.
+     * @param inThreadName Name of writer thread.
+     * @param inFailureHandler Invoked if writing to the channel fails.
+     */
+    public FrameWriter(final SocketChannel inChannel,
+                       final int inMaxBatchSize,
+                       final String inThreadName,
+                       final Consumer<IOException> inFailureHandler) {
+        mChannel = inChannel;
+        mMaxBatchSize = inMaxBatchSize;
+        mFailureHandler = inFailureHandler;
+
+        final ByteBuffer theHeadersBuffer = ByteBuffer.allocateDirect(inMaxBatchSize * ENCODED_HEADER_SIZE);
+        mHeaderBuffers = new ByteBuffer[inMaxBatchSize];
+        for (int i = 0; i < inMaxBatchSize; i++) {
+            mHeaderBuffers[i] = theHeadersBuffer.slice(i * ENCODED_HEADER_SIZE, ENCODED_HEADER_SIZE);
+        }
+        mWriteBuffers = new ByteBuffer[inMaxBatchSize * 2];
+
+        mWriterThread = new Thread(this::runWriter, inThreadName);
+        mWriterThread.setDaemon(true);
+        mWriterThread.start();
+    }
+
+    /**
+     * Queues the supplied frame to be written.
+     * The payload buffer of the frame must not be modified until the release callback of the frame
+     * has been invoked.
+     *
+     * @param inFrame Frame to write.
+     * @return True if the frame was queued, false if the writer has been closed.
+     */
+    public boolean send(final Frame inFrame) {
+        if (mClosed) {
+            return false;
+        }
+        mFrames.add(inFrame);
+        return true;
+    }
+
+    /**
+     * Closes the writer. Frames queued before the writer was closed are still written.
+     */
+    @Override
+    public void close() {
+        if (!mClosed) {
+            mClosed = true;
+            mFrames.add(STOP_FRAME);
+        }
+    }
+
+    /**
+     * Main loop of the writer thread, writing batches of queued frames until the writer is closed
+     * or writing fails.
+     */
+    protected void runWriter() {
+        final List<Frame> theBatch = new ArrayList<>(mMaxBatchSize);
+        try {
+            while (true) {
+                theBatch.clear();
+                theBatch.add(mFrames.take());
+                mFrames.drainTo(theBatch, mMaxBatchSize - 1);
+
+                final boolean theStopFlag = theBatch.removeIf(inFrame -> inFrame == STOP_FRAME);
+                try {
+                    writeFrames(theBatch);
+                } finally {
+                    for (Frame theFrame : theBatch) {
+                        theFrame.releaseCallback().run();
+                    }
+                }
+                if (theStopFlag) {
+                    return;
+                }
+            }
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException theException) {
+            mClosed = true;
+            mFailureHandler.accept(theException);
+        }
+    }
+
+    /**
+     * Writes the supplied frames to the channel in one gathering write, repeated until all
+     * data has been written.
+     *
+     * @param inFrames Frames to write.
+     * @throws IOException If an error occurs writing to the channel or a frame is too large.
+     */
+    protected void writeFrames(final List<Frame> inFrames) throws IOException {
+        long theRemainingBytes = 0;
+        int theBufferCount = 0;
+        for (int i = 0; i < inFrames.size(); i++) {
+            final Frame theFrame = inFrames.get(i);
+            final int theFrameSize = Frame.HEADER_SIZE + theFrame.payload().remaining();
+            if (theFrameSize > Frame.MAX_FRAME_SIZE) {
+                throw new IOException("Frame with size " + theFrameSize + " exceeds the maximum frame size");
+            }
+
+            final ByteBuffer theHeaderBuffer = mHeaderBuffers[i]
+                .clear()
+                .putInt(theFrameSize)
+                .putLong(theFrame.correlationId())
+                .put(theFrame.status())
+                .flip();
+            mWriteBuffers[theBufferCount++] = theHeaderBuffer;
+            mWriteBuffers[theBufferCount++] = theFrame.payload();
+            theRemainingBytes += Frame.LENGTH_FIELD_SIZE + theFrameSize;
+        }
+
+        try {
+            while (theRemainingBytes > 0) {
+                theRemainingBytes -= mChannel.write(mWriteBuffers, 0, theBufferCount);
+            }
+        } finally {
+            Arrays.fill(mWriteBuffers, 0, theBufferCount, null);
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClient;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClientSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteInvocationException;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Remote client using a fixed number of persistent TCP connections to the remote server.
+ * Requests are distributed over the connections in round-robin fashion. On each connection,
+ * requests are pipelined, that is sent without waiting for responses to earlier requests, and
+ * responses are matched with requests using correlation ids.
+ * Failed connections are re-established when the next request is sent on them. Only the request that finds
+ * a connection failed establishes a new connection, without holding any lock, while later requests on the same
+ * connection are sent when the connection has been established, so that a slow or unreachable server neither
+ * delays the requests sent on other connections nor is connected to by every request.
+ * After a failed connection attempt, requests on the connection fail immediately until the reconnect delay,
+ * which doubles with each consecutive failed attempt, has elapsed.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class SocketRemoteClient implements RemoteClient {
+    /* Constant(s): */
+    /** Delay before reconnecting after the first failed connection attempt. */
+    protected static final Duration INITIAL_RECONNECT_DELAY = Duration.ofMillis(100);
+    /** Maximum delay before reconnecting after consecutive failed connection attempts. */
+    protected static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    /* Instance variable(s): */
+    /** Client settings. */
+    protected final RemoteClientSettings mSettings;
+    /** Slots holding the connections to the remote server. */
+    protected final ConnectionSlot[] mConnectionSlots;
+    /** Index of next connection to send a request on. */
+    protected final AtomicInteger mNextConnectionIndex = new AtomicInteger();
+    /** Source of correlation ids. */
+    protected final AtomicLong mNextCorrelationId = new AtomicLong();
+    /** Whether the client has been closed. */
+    protected volatile boolean mClosed;
+
+    /**
+     * Creates a client with the supplied settings. No connections are established until
+     * requests are sent.
+     *
+     * @param inSettings Client settings.
+     */
+    public SocketRemoteClient(final RemoteClientSettings inSettings) {
+        mSettings = inSettings;
+        mConnectionSlots = new ConnectionSlot[inSettings.connectionCount()];
+        for (int i = 0; i < mConnectionSlots.length; i++) {
+            mConnectionSlots[i] = new ConnectionSlot(i);
+        }
+    }
+
+    @Override
+    public CompletableFuture<ByteBuffer> invoke(final ByteBuffer inRequest, final Runnable inRequestReleaseCallback) {
+        if (mClosed) {
+            inRequestReleaseCallback.run();
+            return CompletableFuture.failedFuture(new RemoteInvocationException("The remote client is closed"));
+        }
+
+        final int theConnectionIndex = Math.floorMod(mNextConnectionIndex.getAndIncrement(), mConnectionSlots.length);
+        return mConnectionSlots[theConnectionIndex]
+            .obtainConnection()
+            .handle((inConnection, inException) -> {
+                if (inException != null) {
+                    inRequestReleaseCallback.run();
+                    return CompletableFuture.<ByteBuffer>failedFuture(
+                        inException instanceof CompletionException ? inException.getCause() : inException);
+                }
+                return inConnection.send(mNextCorrelationId.incrementAndGet(), inRequest, inRequestReleaseCallback);
+            })
+            .thenCompose(Function.identity());
+    }
+
+    @Override
+    public void close() {
+        mClosed = true;
+        for (ConnectionSlot theConnectionSlot : mConnectionSlots) {
+            final CompletableFuture<ClientConnection> theConnectionFuture = theConnectionSlot.mConnectionFuture.get();
+            if (theConnectionFuture != null && theConnectionFuture.state() == Future.State.SUCCESS) {
+                theConnectionFuture.resultNow().fail(new RemoteInvocationException("The remote client is closed"));
+            }
+        }
+    }
+
+    /**
+     * Slot holding one of the connections to the remote server.
+     */
+    protected class ConnectionSlot {
+        /** Index of the connection, used in thread names. */
+        protected final int mConnectionIndex;
+        /**
+         * Future of the connection of the slot, which is being established if the future is not done,
+         * or null if no connection has yet been attempted.
+         */
+        protected final AtomicReference<CompletableFuture<ClientConnection>> mConnectionFuture =
+            new AtomicReference<>();
+        /** Number of consecutive failed connection attempts. Only modified by the connecting thread. */
+        protected volatile int mConnectFailureCount;
+        /** Time, as of {@link System#nanoTime()}, before which no connection is attempted after a failure. */
+        protected volatile long mReconnectTime;
+
+        /**
+         * Creates the slot of the connection with the supplied index.
+         *
+         * @param inConnectionIndex Index of connection.
+         */
+        protected ConnectionSlot(final int inConnectionIndex) {
+            mConnectionIndex = inConnectionIndex;
+        }
+
+        /**
+         * Obtains the connection of the slot, establishing it on the current thread if it is not connected
+         * or being connected and the reconnect delay has elapsed.
+         *
+         * @return Future completed with the connection when established, or completed exceptionally if
+         * the connection attempt failed.
+         */
+        protected CompletableFuture<ClientConnection> obtainConnection() {
+            while (true) {
+                final CompletableFuture<ClientConnection> theConnectionFuture = mConnectionFuture.get();
+                if (theConnectionFuture != null) {
+                    switch (theConnectionFuture.state()) {
+                        case RUNNING:
+                            return theConnectionFuture;
+                        case SUCCESS:
+                            if (!theConnectionFuture.resultNow().mClosed.get()) {
+                                return theConnectionFuture;
+                            }
+                            break;
+                        default:
+                            if (System.nanoTime() - mReconnectTime < 0) {
+                                return theConnectionFuture;
+                            }
+                    }
+                }
+
+                final CompletableFuture<ClientConnection> theNewConnectionFuture = new CompletableFuture<>();
+                if (mConnectionFuture.compareAndSet(theConnectionFuture, theNewConnectionFuture)) {
+                    connect(theNewConnectionFuture);
+                    return theNewConnectionFuture;
+                }
+            }
+        }
+
+        /**
+         * Establishes a connection to the remote server and completes the supplied future with it.
+         * If the connection attempt fails, the future is completed exceptionally and the reconnect delay
+         * is doubled, up to the maximum reconnect delay.
+         *
+         * @param inConnectionFuture Future to complete with the connection.
+         */
+        protected void connect(final CompletableFuture<ClientConnection> inConnectionFuture) {
+            final ClientConnection theConnection;
+            try {
+                theConnection = new ClientConnection(mConnectionIndex);
+            } catch (final IOException theException) {
+                final int theFailureCount = mConnectFailureCount + 1;
+                mConnectFailureCount = theFailureCount;
+                final long theReconnectDelayNanos = Math.min(MAX_RECONNECT_DELAY.toNanos(),
+                    INITIAL_RECONNECT_DELAY.toNanos() << Math.min(theFailureCount - 1, 30));
+                mReconnectTime = System.nanoTime() + theReconnectDelayNanos;
+                log.debug("Unable to connect to {}:{}, retrying in {} ms", mSettings.host(), mSettings.port(),
+                    TimeUnit.NANOSECONDS.toMillis(theReconnectDelayNanos), theException);
+                inConnectionFuture.completeExceptionally(new RemoteInvocationException(
+                    "Unable to connect to " + mSettings.host() + ":" + mSettings.port(), theException));
+                return;
+            }
+
+            mConnectFailureCount = 0;
+            inConnectionFuture.complete(theConnection);
+            if (mClosed) {
+                /* The client was closed while connecting and may not have seen the new connection. */
+                theConnection.fail(new RemoteInvocationException("The remote client is closed"));
+            }
+        }
+    }
+
+    /**
+     * One persistent connection to the remote server with the requests awaiting responses on it.
+     */
+    protected class ClientConnection {
+        /** Channel of the connection. */
+        protected final SocketChannel mChannel;
+        /** Writer writing requests to the connection. */
+        protected final FrameWriter mFrameWriter;
+        /** Futures of requests awaiting responses, keyed by correlation id. */
+        protected final Map<Long, CompletableFuture<ByteBuffer>> mPendingRequests = new ConcurrentHashMap<>();
+        /** Whether the connection has been closed. */
+        protected final AtomicBoolean mClosed = new AtomicBoolean();
+
+        /**
+         * Establishes a connection to the remote server and starts its reader and writer threads.
+         *
+         * @param inConnectionIndex Index of connection, used in thread names.
+         * @throws IOException If an error occurs connecting or the connection is not established within
+         * the connect timeout.
+         */
+        protected ClientConnection(final int inConnectionIndex) throws IOException {
+            mChannel = SocketChannel.open();
+            try {
+                mChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                mChannel.socket().connect(new InetSocketAddress(mSettings.host(), mSettings.port()),
+                    (int) Math.max(1, Math.min(mSettings.connectTimeout().toMillis(), Integer.MAX_VALUE)));
+            } catch (final IOException theException) {
+                mChannel.close();
+                throw theException;
+            }
+            mFrameWriter = new FrameWriter(mChannel, mSettings.maxBatchSize(),
+                "remoting-client-writer-" + inConnectionIndex,
+                inException -> fail(new RemoteInvocationException("Error writing to remote server", inException)));
+
+            final Thread theReaderThread = new Thread(this::readResponses, "remoting-client-reader-" + inConnectionIndex);
+            theReaderThread.setDaemon(true);
+            theReaderThread.start();
+        }
+
+        /**
+         * Sends the supplied request on the connection.
+         *
+         * @param inCorrelationId Correlation id of request.
+         * @param inRequest Buffer containing the request message.
+         * @param inRequestReleaseCallback Invoked when the request buffer is no longer used.
+         * @return Future that is completed with the response message.
+         */
+        protected CompletableFuture<ByteBuffer> send(final long inCorrelationId,
+                                                     final ByteBuffer inRequest,
+                                                     final Runnable inRequestReleaseCallback) {
+            final CompletableFuture<ByteBuffer> theResponseFuture = new CompletableFuture<>();
+            mPendingRequests.put(inCorrelationId, theResponseFuture);
+            if (!mFrameWriter.send(new Frame(inCorrelationId, Frame.STATUS_OK, inRequest, inRequestReleaseCallback))) {
+                mPendingRequests.remove(inCorrelationId);
+                inRequestReleaseCallback.run();
+                theResponseFuture.completeExceptionally(new RemoteInvocationException("The connection is closed"));
+                return theResponseFuture;
+            }
+
+            return theResponseFuture
+                .orTimeout(mSettings.requestTimeout().toNanos(), TimeUnit.NANOSECONDS)
+                .whenComplete((inResponse, inException) -> mPendingRequests.remove(inCorrelationId))
+                .exceptionallyCompose(inException -> {
+                    final Throwable theCause =
+                        inException instanceof CompletionException ? inException.getCause() : inException;
+                    return CompletableFuture.failedFuture(theCause instanceof TimeoutException
+                        ? new RemoteInvocationException("Request timed out after " + mSettings.requestTimeout())
+                        : theCause);
+                });
+        }
+
+        /**
+         * Main loop of the reader thread, completing pending requests with the responses read
+         * until the connection fails or is closed.
+         */
+        protected void readResponses() {
+            try {
+                FrameReader.readFrames(mChannel, inFrame -> {
+                    final CompletableFuture<ByteBuffer> theResponseFuture = mPendingRequests.remove(inFrame.correlationId());
+                    if (theResponseFuture == null) {
+                        /* The request has timed out. */
+                        return;
+                    }
+                    if (inFrame.status() == Frame.STATUS_OK) {
+                        theResponseFuture.complete(inFrame.payload());
+                    } else {
+                        theResponseFuture.completeExceptionally(new RemoteInvocationException(
+                            "Remote server failed to handle request: "
+                                + StandardCharsets.UTF_8.decode(inFrame.payload())));
+                    }
+                });
+                fail(new RemoteInvocationException("The connection was closed by the remote server"));
+            } catch (final IOException theException) {
+                fail(new RemoteInvocationException("Error reading from remote server", theException));
+            }
+        }
+
+        /**
+         * Closes the connection and fails all requests awaiting responses on it.
+         * Only the first invocation has any effect, regardless of which threads invoke it concurrently.
+         *
+         * @param inException Exception with which to fail pending requests.
+         */
+        protected void fail(final RemoteInvocationException inException) {
+            if (!mClosed.compareAndSet(false, true)) {
+                return;
+            }
+            mFrameWriter.close();
+            try {
+                mChannel.close();
+            } catch (final IOException theException) {
+                log.debug("Error closing remoting client connection", theException);
+            }
+            for (Long theCorrelationId : mPendingRequests.keySet()) {
+                final CompletableFuture<ByteBuffer> theResponseFuture = mPendingRequests.remove(theCorrelationId);
+                if (theResponseFuture != null) {
+                    theResponseFuture.completeExceptionally(inException);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteRequestHandler;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServer;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServerSettings;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Remote server accepting persistent TCP connections.
+ * Requests received on a connection are handled concurrently by a pool of worker threads and
+ * the responses are written back on the connection in the order in which they are completed.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class SocketRemoteServer implements RemoteServer {
+    /* Instance variable(s): */
+    /** Server settings. */
+    protected final RemoteServerSettings mSettings;
+    /** Handler handling received requests. */
+    protected final RemoteRequestHandler mRequestHandler;
+    /** Channel accepting connections. */
+    protected final ServerSocketChannel mServerChannel;
+    /** Threads handling requests. */
+    protected final ExecutorService mWorkers;
+    /** Channels of accepted connections. */
+    protected final Set<SocketChannel> mConnectionChannels = ConcurrentHashMap.newKeySet();
+    /** Number of connections accepted, used in thread names. */
+    protected final AtomicInteger mAcceptedConnectionCount = new AtomicInteger();
+    /** Whether the server has been closed. */
+    protected volatile boolean mClosed;
+
+    /**
+     * Creates a server with the supplied settings and request handler and starts accepting connections.
+     *
+     * @param inSettings Server settings.
+     * @param inRequestHandler Handler handling received requests.
+     * @throws IOException If an error occurs binding the server to its address.
+     */
+    public SocketRemoteServer(final RemoteServerSettings inSettings,
+                              final RemoteRequestHandler inRequestHandler) throws IOException {
+        mSettings = inSettings;
+        mRequestHandler = Objects.requireNonNull(inRequestHandler, "A request handler is required");
+        mServerChannel = ServerSocketChannel.open();
+        mServerChannel.bind(new InetSocketAddress(inSettings.bindAddress(), inSettings.port()));
+
+        final AtomicInteger theWorkerCount = new AtomicInteger();
+        mWorkers = Executors.newFixedThreadPool(inSettings.workerThreadCount(), inRunnable -> {
+            final Thread theWorkerThread = new Thread(inRunnable, "remoting-server-worker-" + theWorkerCount.incrementAndGet());
+            theWorkerThread.setDaemon(true);
+            return theWorkerThread;
+        });
+
+        final Thread theAcceptorThread = new Thread(this::acceptConnections, "remoting-server-acceptor");
+        theAcceptorThread.setDaemon(true);
+        theAcceptorThread.start();
+        log.info("Remoting server listening on {}", mServerChannel.getLocalAddress());
+    }
+
+    @Override
+    public int port() {
+        return mServerChannel.socket().getLocalPort();
+    }
+
+    @Override
+    public void close() {
+        mClosed = true;
+        closeQuietly(mServerChannel);
+        for (SocketChannel theConnectionChannel : mConnectionChannels) {
+            closeQuietly(theConnectionChannel);
+        }
+        mWorkers.shutdownNow();
+    }
+
+    /**
+     * Main loop of the acceptor thread, accepting connections until the server is closed.
+     */
+    protected void acceptConnections() {
+        while (!mClosed) {
+            try {
+                final SocketChannel theConnectionChannel = mServerChannel.accept();
+                theConnectionChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                mConnectionChannels.add(theConnectionChannel);
+
+                final int theConnectionNumber = mAcceptedConnectionCount.incrementAndGet();
+                final Thread theReaderThread = new Thread(
+                    () -> serveConnection(theConnectionChannel, theConnectionNumber),
+                    "remoting-server-reader-" + theConnectionNumber);
+                theReaderThread.setDaemon(true);
+                theReaderThread.start();
+            } catch (final IOException theException) {
+                if (!mClosed) {
+                    log.error("Error accepting remoting connection", theException);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads requests from the supplied connection and dispatches them to the worker threads until
+     * the connection is closed. Responses are written by a writer dedicated to the connection.
+     *
+     * @param inConnectionChannel Channel of connection to serve.
+     * @param inConnectionNumber Number of connection, used in thread names.
+     */
+    protected void serveConnection(final SocketChannel inConnectionChannel, final int inConnectionNumber) {
+        final FrameWriter theFrameWriter = new FrameWriter(inConnectionChannel, mSettings.maxBatchSize(),
+            "remoting-server-writer-" + inConnectionNumber,
+            inException -> closeQuietly(inConnectionChannel));
+        try {
+            FrameReader.readFrames(inConnectionChannel, inRequestFrame -> {
+                try {
+                    mWorkers.execute(() -> theFrameWriter.send(handleRequest(inRequestFrame)));
+                } catch (final RejectedExecutionException theException) {
+                    theFrameWriter.send(errorFrame(inRequestFrame, "The server is shutting down"));
+                }
+            });
+        } catch (final IOException theException) {
+            if (!mClosed) {
+                log.debug("Remoting connection {} failed", inConnectionNumber, theException);
+            }
+        } finally {
+            theFrameWriter.close();
+            mConnectionChannels.remove(inConnectionChannel);
+            closeQuietly(inConnectionChannel);
+        }
+    }
+
+    /**
+     * Handles the supplied request frame using the request handler.
+     *
+     * @param inRequestFrame Request frame.
+     * @return Response frame.
+     */
+    protected Frame handleRequest(final Frame inRequestFrame) {
+        try {
+            final ByteBuffer theResponse = mRequestHandler.handleRequest(inRequestFrame.payload());
+            return new Frame(inRequestFrame.correlationId(), Frame.STATUS_OK, theResponse,
+                () -> mRequestHandler.releaseResponse(theResponse));
+        } catch (final Exception theException) {
+            log.error("Error handling remote request", theException);
+            return errorFrame(inRequestFrame, theException.toString());
+        }
+    }
+
+    /**
+     * Creates an error response frame to the supplied request frame.
+     *
+     * @param inRequestFrame Request frame.
+     * @param inErrorMessage Error message.
+     * @return Error response frame.
+     */
+    protected static Frame errorFrame(final Frame inRequestFrame, final String inErrorMessage) {
+        return new Frame(inRequestFrame.correlationId(), Frame.STATUS_ERROR,
+            ByteBuffer.wrap(inErrorMessage.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Closes the supplied channel, ignoring any errors.
+     *
+     * @param inChannel Channel to close.
+     */
+    protected static void closeQuietly(final Channel inChannel) {
+        try {
+            inChannel.close();
+        } catch (final IOException theException) {
+            log.debug("Error closing remoting channel", theException);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link ConcurrencyLimiter} using additive increase, multiplicative decrease (AIMD)
+ * to adjust its limit.
+ *
+ * @param name Name of the limiter.
+ * @param initialLimit Limit when the limiter is created.
+ * @param minLimit Lower bound of the limit.
+ * @param maxLimit Upper bound of the limit.
+ * @param latencyTarget Latency of a call above which the limit is reduced, typically the latency SLO.
+ * @param backoffRatio Factor with which the limit is multiplied when reduced. Greater than 0 and less than 1.
+ * @author Ivan Krizsan
+ */
+public record AimdLimitSettings(
+    String name,
+    int initialLimit,
+    int minLimit,
+    int maxLimit,
+    Duration latencyTarget,
+    double backoffRatio) {
+
+    /**
+     * Validates the settings.
+     */
+    public AimdLimitSettings {
+        Assert.hasText(name, "A name is required");
+        Assert.isTrue(minLimit > 0, "The minimum limit must be positive");
+        Assert.isTrue(maxLimit >= minLimit, "The maximum limit may not be less than the minimum limit");
+        Assert.isTrue(initialLimit >= minLimit && initialLimit <= maxLimit,
+            "The initial limit must be between the minimum and maximum limits");
+        Assert.isTrue(latencyTarget != null && latencyTarget.isPositive(), "A positive latency target is required");
+        Assert.isTrue(backoffRatio > 0.0 && backoffRatio < 1.0, "The backoff ratio must be in the range (0, 1)");
+    }
+}
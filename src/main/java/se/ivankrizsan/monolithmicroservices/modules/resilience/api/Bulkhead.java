@@ -0,0 +1,51 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead limiting the number of concurrent calls into a module, so that overload of one module
+ * cannot exhaust the threads and connections shared with other modules.
+ * Calls exceeding the concurrency limit wait in a bounded queue for a limited time. Calls that find
+ * the queue full, or that time out waiting, are rejected with a {@link BulkheadFullException}.
+ *
+ * @author Ivan Krizsan
+ */
+public interface Bulkhead {
+
+    /**
+     * Retrieves the name of the bulkhead, typically the name of the module it protects.
+     *
+     * @return Bulkhead name.
+     */
+    String name();
+
+    /**
+     * Executes the supplied call within the bulkhead.
+     *
+     * @param inCall Call to execute.
+     * @param <T> Result type.
+     * @return Result of call.
+     * @throws BulkheadFullException If the call was rejected by the bulkhead.
+     */
+    <T> T execute(Supplier<T> inCall) throws BulkheadFullException;
+
+    /**
+     * Executes the supplied call, which has no result, within the bulkhead.
+     *
+     * @param inCall Call to execute.
+     * @throws BulkheadFullException If the call was rejected by the bulkhead.
+     */
+    default void run(final Runnable inCall) throws BulkheadFullException {
+        execute(() -> {
+            inCall.run();
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves live statistics of the bulkhead.
+     *
+     * @return Bulkhead statistics.
+     */
+    BulkheadStatistics retrieveStatistics();
+}
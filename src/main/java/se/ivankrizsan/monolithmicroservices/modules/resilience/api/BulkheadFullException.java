@@ -0,0 +1,26 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import lombok.Getter;
+
+/**
+ * Exception that indicates that a call was rejected by a bulkhead, since the concurrency limit
+ * of the bulkhead was reached and the call could not be queued or timed out waiting.
+ *
+ * @author Ivan Krizsan
+ */
+@Getter
+public class BulkheadFullException extends RuntimeException {
+    /* Instance variable(s): */
+    /** Name of the bulkhead that rejected the call. */
+    protected final String bulkheadName;
+
+    /**
+     * Creates an exception indicating that the bulkhead with the supplied name rejected a call.
+     *
+     * @param inBulkheadName Name of bulkhead that rejected the call.
+     */
+    public BulkheadFullException(final String inBulkheadName) {
+        super("Bulkhead " + inBulkheadName + " is full");
+        bulkheadName = inBulkheadName;
+    }
+}
@@ -0,0 +1,27 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import java.util.List;
+
+/**
+ * Registry of the bulkheads of the application, one per module protected by a bulkhead.
+ *
+ * @author Ivan Krizsan
+ */
+public interface BulkheadRegistry {
+
+    /**
+     * Retrieves the bulkhead with the supplied name, creating it using the configured settings
+     * for the name if it does not already exist.
+     *
+     * @param inName Bulkhead name, typically a module name.
+     * @return Bulkhead.
+     */
+    Bulkhead bulkhead(String inName);
+
+    /**
+     * Retrieves live statistics of all the bulkheads in the registry.
+     *
+     * @return Bulkhead statistics, ordered by bulkhead name.
+     */
+    List<BulkheadStatistics> retrieveBulkheadStatistics();
+}
@@ -0,0 +1,31 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Settings of a {@link Bulkhead}.
+ *
+ * @param name Name of the bulkhead.
+ * @param maxConcurrentCalls Maximum number of calls executing concurrently within the bulkhead.
+ * @param maxQueuedCalls Maximum number of calls waiting for the concurrency limit. Zero disables queueing.
+ * @param maxQueueWait Maximum time a call waits in the queue before being rejected.
+ * @author Ivan Krizsan
+ */
+public record BulkheadSettings(
+    String name,
+    int maxConcurrentCalls,
+    int maxQueuedCalls,
+    Duration maxQueueWait) {
+
+    /**
+     * Validates the settings.
+     */
+    public BulkheadSettings {
+        Assert.hasText(name, "A name is required");
+        Assert.isTrue(maxConcurrentCalls > 0, "The maximum number of concurrent calls must be positive");
+        Assert.isTrue(maxQueuedCalls >= 0, "The maximum number of queued calls may not be negative");
+        Assert.isTrue(maxQueueWait != null && !maxQueueWait.isNegative(), "A maximum queue wait is required");
+    }
+}
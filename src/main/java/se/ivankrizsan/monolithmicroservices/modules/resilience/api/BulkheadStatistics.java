@@ -0,0 +1,32 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+/**
+ * Live statistics of a {@link Bulkhead}.
+ *
+ * @param name Name of the bulkhead.
+ * @param maxConcurrentCalls Maximum number of calls executing concurrently within the bulkhead.
+ * @param activeCalls Number of calls currently executing within the bulkhead.
+ * @param maxQueuedCalls Maximum number of calls waiting for the concurrency limit.
+ * @param queuedCalls Number of calls currently waiting for the concurrency limit.
+ * @param permittedCallCount Number of calls permitted to execute since the bulkhead was created.
+ * @param rejectedCallCount Number of calls rejected since the bulkhead was created.
+ * @author Ivan Krizsan
+ */
+public record BulkheadStatistics(
+    String name,
+    int maxConcurrentCalls,
+    int activeCalls,
+    int maxQueuedCalls,
+    int queuedCalls,
+    long permittedCallCount,
+    long rejectedCallCount) {
+
+    /**
+     * Calculates the saturation of the bulkhead, which is the fraction of the concurrency limit in use.
+     *
+     * @return Saturation between 0.0 and 1.0.
+     */
+    public double saturation() {
+        return (double) activeCalls / maxConcurrentCalls;
+    }
+}
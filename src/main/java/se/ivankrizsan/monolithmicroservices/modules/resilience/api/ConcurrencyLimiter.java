@@ -0,0 +1,59 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import java.util.Optional;
+
+/**
+ * Adaptive concurrency limiter that admits calls as long as the number of calls in flight is below
+ * a limit, which is adjusted according to the observed latency of the calls.
+ * Calls that are not admitted are to be rejected immediately, so that excess load is shed instead of
+ * queueing and increasing the latency of all calls.
+ *
+ * @author Ivan Krizsan
+ */
+public interface ConcurrencyLimiter {
+
+    /**
+     * Retrieves the name of the limiter, typically the name of the operation it protects.
+     *
+     * @return Limiter name.
+     */
+    String name();
+
+    /**
+     * Attempts to admit a call without waiting.
+     *
+     * @return Permit that must be released when the call completes or empty if the call is not admitted.
+     */
+    Optional<Permit> tryAcquire();
+
+    /**
+     * Retrieves live statistics of the limiter.
+     *
+     * @return Limiter statistics.
+     */
+    ConcurrencyLimiterStatistics retrieveStatistics();
+
+    /**
+     * Permit of an admitted call, which is to be released exactly once when the call completes using
+     * one of the methods that indicate how the call completed. Subsequent releases are ignored.
+     */
+    interface Permit {
+
+        /**
+         * Releases the permit of a call that completed, using the latency of the call to adjust the limit.
+         */
+        void onSuccess();
+
+        /**
+         * Releases the permit of a call that failed due to overload, for example a lock or connection timeout,
+         * reducing the limit.
+         */
+        void onDropped();
+
+        /**
+         * Releases the permit of a call which latency is not representative, for example a call that failed
+         * due to invalid arguments, without adjusting the limit.
+         */
+        void onIgnore();
+    }
+}
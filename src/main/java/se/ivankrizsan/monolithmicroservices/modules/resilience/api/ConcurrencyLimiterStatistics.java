@@ -0,0 +1,19 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+/**
+ * Live statistics of a {@link ConcurrencyLimiter}.
+ *
+ * @param name Name of the limiter.
+ * @param limit Current limit of the number of calls in flight.
+ * @param inFlightCalls Number of admitted calls that have not completed.
+ * @param admittedCallCount Number of calls admitted since the limiter was created.
+ * @param rejectedCallCount Number of calls rejected since the limiter was created.
+ * @author Ivan Krizsan
+ */
+public record ConcurrencyLimiterStatistics(
+    String name,
+    int limit,
+    int inFlightCalls,
+    long admittedCallCount,
+    long rejectedCallCount) {
+}
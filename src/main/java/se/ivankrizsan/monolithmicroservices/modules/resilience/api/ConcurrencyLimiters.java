@@ -0,0 +1,26 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.api;
+
+import se.ivankrizsan.monolithmicroservices.modules.resilience.implementation.AimdConcurrencyLimiter;
+
+/**
+ * Creates adaptive concurrency limiters.
+ *
+ * @author Ivan Krizsan
+ */
+public final class ConcurrencyLimiters {
+
+    private ConcurrencyLimiters() {
+    }
+
+    /**
+     * Creates a concurrency limiter that adjusts its limit using additive increase, multiplicative decrease:
+     * The limit is increased by one when a call completes within the latency target while the limit is
+     * in use and reduced by the backoff ratio when a call exceeds the latency target or is dropped.
+     *
+     * @param inSettings Limiter settings.
+     * @return Concurrency limiter.
+     */
+    public static ConcurrencyLimiter aimd(final AimdLimitSettings inSettings) {
+        return new AimdConcurrencyLimiter(inSettings, System::nanoTime);
+    }
+}
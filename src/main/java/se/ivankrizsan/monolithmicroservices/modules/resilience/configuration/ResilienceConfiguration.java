@@ -0,0 +1,99 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadRegistry;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.implementation.ConfiguredBulkheadRegistry;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Configuration that creates the bulkhead registry from which modules obtain the bulkheads
+ * protecting them.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfiguration {
+
+    /**
+     * Creates the bulkhead registry, which creates bulkheads using the configured properties
+     * of the bulkhead name or the default bulkhead properties.
+     *
+     * @param inResilienceProperties Resilience configuration properties.
+     * @param inDataSourceProvider Provides the application datasource, if any.
+     * @return Bulkhead registry.
+     */
+    @Bean
+    protected BulkheadRegistry bulkheadRegistry(final ResilienceProperties inResilienceProperties,
+                                                final ObjectProvider<DataSource> inDataSourceProvider) {
+        final int theConnectionPoolSize =
+            determineConnectionPoolSize(inDataSourceProvider.getIfAvailable(), inResilienceProperties);
+        return new ConfiguredBulkheadRegistry(inBulkheadName -> {
+            final ResilienceProperties.Bulkhead theBulkheadProperties = inResilienceProperties
+                .getBulkheads()
+                .getOrDefault(inBulkheadName, inResilienceProperties.getDefaultBulkhead());
+            return createBulkheadSettings(inBulkheadName, theBulkheadProperties, theConnectionPoolSize);
+        });
+    }
+
+    /**
+     * Creates the settings of the bulkhead with the supplied name from the supplied properties.
+     * If a connection pool share is configured, the maximum number of concurrent calls is limited
+     * to the number of connections in the share, but to no less than one.
+     *
+     * @param inBulkheadName Bulkhead name.
+     * @param inBulkheadProperties Bulkhead properties.
+     * @param inConnectionPoolSize Size of the database connection pool.
+     * @return Bulkhead settings.
+     */
+    protected static BulkheadSettings createBulkheadSettings(final String inBulkheadName,
+                                                             final ResilienceProperties.Bulkhead inBulkheadProperties,
+                                                             final int inConnectionPoolSize) {
+        int theMaxConcurrentCalls = inBulkheadProperties.getMaxConcurrentCalls();
+        final Double theConnectionPoolShare = inBulkheadProperties.getConnectionPoolShare();
+        if (theConnectionPoolShare != null) {
+            Assert.isTrue(theConnectionPoolShare > 0.0 && theConnectionPoolShare <= 1.0,
+                "The connection pool share of bulkhead " + inBulkheadName + " must be in the range (0, 1]");
+            final int theConnectionCount = Math.max(1, (int) Math.floor(theConnectionPoolShare * inConnectionPoolSize));
+            theMaxConcurrentCalls = Math.min(theMaxConcurrentCalls, theConnectionCount);
+        }
+        return new BulkheadSettings(
+            inBulkheadName,
+            theMaxConcurrentCalls,
+            inBulkheadProperties.getMaxQueuedCalls(),
+            inBulkheadProperties.getMaxQueueWait());
+    }
+
+    /**
+     * Determines the size of the database connection pool of the supplied datasource.
+     * Falls back on the configured connection pool size if the datasource is not, and does not wrap,
+     * a Hikari datasource.
+     *
+     * @param inDataSource Datasource or null if none.
+     * @param inResilienceProperties Resilience configuration properties.
+     * @return Connection pool size.
+     */
+    protected static int determineConnectionPoolSize(final DataSource inDataSource,
+                                                     final ResilienceProperties inResilienceProperties) {
+        if (inDataSource != null) {
+            try {
+                if (inDataSource.isWrapperFor(HikariDataSource.class)) {
+                    return inDataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                }
+            } catch (final SQLException theException) {
+                log.debug("Unable to determine connection pool size from datasource", theException);
+            }
+        }
+        return inResilienceProperties.getConnectionPoolSize();
+    }
+}
@@ -0,0 +1,54 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties of the resilience module.
+ *
+ * @author Ivan Krizsan
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = ResilienceProperties.PREFIX)
+public class ResilienceProperties {
+    /* Constant(s): */
+    /** Prefix of resilience configuration properties. */
+    public static final String PREFIX = "resilience";
+
+    /* Instance variable(s): */
+    /** Properties of bulkheads which properties are not configured explicitly. */
+    protected Bulkhead defaultBulkhead = new Bulkhead();
+    /** Properties of bulkheads, keyed by bulkhead name. */
+    protected Map<String, Bulkhead> bulkheads = new HashMap<>();
+    /**
+     * Size of the database connection pool, used when the size cannot be determined from the datasource.
+     * Defaults to the default maximum pool size of HikariCP.
+     */
+    protected int connectionPoolSize = 10;
+
+    /**
+     * Configuration properties of a bulkhead.
+     */
+    @Getter
+    @Setter
+    public static class Bulkhead {
+        /** Maximum number of calls executing concurrently within the bulkhead. */
+        protected int maxConcurrentCalls = 32;
+        /** Maximum number of calls waiting for the concurrency limit. */
+        protected int maxQueuedCalls = 64;
+        /** Maximum time a call waits in the queue before being rejected. */
+        protected Duration maxQueueWait = Duration.ofSeconds(1);
+        /**
+         * Share, between 0.0 and 1.0, of the database connection pool the calls within the bulkhead may use.
+         * Since each call uses at most one connection, the maximum number of concurrent calls is reduced to
+         * the number of connections in the share. Not set by default, in which case the pool is not shared.
+         */
+        protected Double connectionPoolShare;
+    }
+}
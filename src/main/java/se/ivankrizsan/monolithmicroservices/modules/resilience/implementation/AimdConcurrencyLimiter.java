@@ -0,0 +1,153 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.implementation;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.AimdLimitSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiter;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiterStatistics;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limiter that adjusts its limit using additive increase, multiplicative decrease (AIMD).
+ * When a call completes within the latency target and at least half of the limit was in use when
+ * the call was admitted, the limit is increased by one. When a call exceeds the latency target or
+ * is dropped, the limit is multiplied by the backoff ratio. The limit is kept within the minimum
+ * and maximum limits.
+ * Admitting a call is lock-free; adjusting the limit synchronizes on the limiter.
+ *
+ * @author Ivan Krizsan
+ */
+public class AimdConcurrencyLimiter implements ConcurrencyLimiter {
+    /* Instance variable(s): */
+    protected final AimdLimitSettings mSettings;
+    /** Supplies the current time in nanoseconds, used to measure the latency of calls. */
+    protected final LongSupplier mNanoClock;
+    protected final long mLatencyTargetNanos;
+    protected volatile int mLimit;
+    protected final AtomicInteger mInFlightCalls = new AtomicInteger();
+    protected final LongAdder mAdmittedCallCount = new LongAdder();
+    protected final LongAdder mRejectedCallCount = new LongAdder();
+
+    /**
+     * Creates a limiter with the supplied settings.
+     *
+     * @param inSettings Limiter settings.
+     * @param inNanoClock Supplies the current time in nanoseconds.
+     */
+    public AimdConcurrencyLimiter(final AimdLimitSettings inSettings, final LongSupplier inNanoClock) {
+        Assert.notNull(inSettings, "Limiter settings are required");
+        Assert.notNull(inNanoClock, "A clock is required");
+        mSettings = inSettings;
+        mNanoClock = inNanoClock;
+        mLatencyTargetNanos = inSettings.latencyTarget().toNanos();
+        mLimit = inSettings.initialLimit();
+    }
+
+    @Override
+    public String name() {
+        return mSettings.name();
+    }
+
+    @Override
+    public Optional<Permit> tryAcquire() {
+        int theInFlightCalls;
+        do {
+            theInFlightCalls = mInFlightCalls.get();
+            if (theInFlightCalls >= mLimit) {
+                mRejectedCallCount.increment();
+                return Optional.empty();
+            }
+        } while (!mInFlightCalls.compareAndSet(theInFlightCalls, theInFlightCalls + 1));
+
+        mAdmittedCallCount.increment();
+        return Optional.of(new AimdPermit(mNanoClock.getAsLong(), theInFlightCalls + 1));
+    }
+
+    @Override
+    public ConcurrencyLimiterStatistics retrieveStatistics() {
+        return new ConcurrencyLimiterStatistics(
+            mSettings.name(),
+            mLimit,
+            mInFlightCalls.get(),
+            mAdmittedCallCount.sum(),
+            mRejectedCallCount.sum());
+    }
+
+    /**
+     * Adjusts the limit after a call completed with the supplied latency.
+     *
+     * @param inLatencyNanos Latency of the call in nanoseconds.
+     * @param inInFlightCalls Number of calls in flight, including the call, when the call was admitted.
+     */
+    protected synchronized void onCallCompleted(final long inLatencyNanos, final int inInFlightCalls) {
+        if (inLatencyNanos > mLatencyTargetNanos) {
+            decreaseLimit();
+        } else if (inInFlightCalls * 2 >= mLimit) {
+            mLimit = Math.min(mSettings.maxLimit(), mLimit + 1);
+        }
+    }
+
+    /**
+     * Multiplies the limit by the backoff ratio, keeping it at or above the minimum limit.
+     */
+    protected synchronized void decreaseLimit() {
+        mLimit = Math.max(mSettings.minLimit(), (int) (mLimit * mSettings.backoffRatio()));
+    }
+
+    /**
+     * Permit of a call admitted by the limiter.
+     */
+    protected class AimdPermit implements Permit {
+        /* Instance variable(s): */
+        protected final long mStartNanos;
+        protected final int mInFlightCallsWhenAdmitted;
+        protected final AtomicBoolean mReleased = new AtomicBoolean();
+
+        /**
+         * Creates a permit of a call admitted at the supplied time.
+         *
+         * @param inStartNanos Time at which the call was admitted in nanoseconds.
+         * @param inInFlightCalls Number of calls in flight, including the call, when the call was admitted.
+         */
+        protected AimdPermit(final long inStartNanos, final int inInFlightCalls) {
+            mStartNanos = inStartNanos;
+            mInFlightCallsWhenAdmitted = inInFlightCalls;
+        }
+
+        @Override
+        public void onSuccess() {
+            if (release()) {
+                onCallCompleted(mNanoClock.getAsLong() - mStartNanos, mInFlightCallsWhenAdmitted);
+            }
+        }
+
+        @Override
+        public void onDropped() {
+            if (release()) {
+                decreaseLimit();
+            }
+        }
+
+        @Override
+        public void onIgnore() {
+            release();
+        }
+
+        /**
+         * Releases the permit unless already released.
+         *
+         * @return True if the permit was released by this invocation, false if already released.
+         */
+        protected boolean release() {
+            if (mReleased.compareAndSet(false, true)) {
+                mInFlightCalls.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.implementation;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.Bulkhead;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadRegistry;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadStatistics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bulkhead registry that creates bulkheads using the settings supplied by a function of the bulkhead name.
+ *
+ * @author Ivan Krizsan
+ */
+public class ConfiguredBulkheadRegistry implements BulkheadRegistry {
+    /* Instance variable(s): */
+    protected final Function<String, BulkheadSettings> mSettingsProvider;
+    protected final Map<String, Bulkhead> mBulkheads = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a registry that creates bulkheads with the settings supplied by the supplied function.
+     *
+     * @param inSettingsProvider Supplies the settings of the bulkhead with a given name.
+     */
+    public ConfiguredBulkheadRegistry(final Function<String, BulkheadSettings> inSettingsProvider) {
+        Assert.notNull(inSettingsProvider, "A bulkhead settings provider is required");
+        mSettingsProvider = inSettingsProvider;
+    }
+
+    @Override
+    public Bulkhead bulkhead(final String inName) {
+        Assert.hasText(inName, "A bulkhead name is required");
+        return mBulkheads.computeIfAbsent(inName, inBulkheadName ->
+            new SemaphoreBulkhead(mSettingsProvider.apply(inBulkheadName)));
+    }
+
+    @Override
+    public List<BulkheadStatistics> retrieveBulkheadStatistics() {
+        return mBulkheads
+            .values()
+            .stream()
+            .map(Bulkhead::retrieveStatistics)
+            .sorted(Comparator.comparing(BulkheadStatistics::name))
+            .toList();
+    }
+}
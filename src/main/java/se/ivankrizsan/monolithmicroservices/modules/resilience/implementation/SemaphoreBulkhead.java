@@ -0,0 +1,103 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.implementation;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.Bulkhead;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadFullException;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadStatistics;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bulkhead that limits the number of concurrent calls using a fair semaphore.
+ * Calls are executed on the calling thread. The number of calls waiting for a permit is tracked
+ * separately, so that calls exceeding the queue size can be rejected without waiting.
+ *
+ * @author Ivan Krizsan
+ */
+public class SemaphoreBulkhead implements Bulkhead {
+    /* Instance variable(s): */
+    protected final BulkheadSettings mSettings;
+    protected final Semaphore mPermits;
+    protected final AtomicInteger mQueuedCalls = new AtomicInteger();
+    protected final LongAdder mPermittedCallCount = new LongAdder();
+    protected final LongAdder mRejectedCallCount = new LongAdder();
+
+    /**
+     * Creates a bulkhead with the supplied settings.
+     *
+     * @param inSettings Bulkhead settings.
+     */
+    public SemaphoreBulkhead(final BulkheadSettings inSettings) {
+        Assert.notNull(inSettings, "Bulkhead settings are required");
+        mSettings = inSettings;
+        mPermits = new Semaphore(inSettings.maxConcurrentCalls(), true);
+    }
+
+    @Override
+    public String name() {
+        return mSettings.name();
+    }
+
+    @Override
+    public <T> T execute(final Supplier<T> inCall) throws BulkheadFullException {
+        acquirePermit();
+        try {
+            return inCall.get();
+        } finally {
+            mPermits.release();
+        }
+    }
+
+    @Override
+    public BulkheadStatistics retrieveStatistics() {
+        return new BulkheadStatistics(
+            mSettings.name(),
+            mSettings.maxConcurrentCalls(),
+            mSettings.maxConcurrentCalls() - mPermits.availablePermits(),
+            mSettings.maxQueuedCalls(),
+            mQueuedCalls.get(),
+            mPermittedCallCount.sum(),
+            mRejectedCallCount.sum());
+    }
+
+    /**
+     * Acquires a permit to execute a call, waiting in the queue if no permit is available and
+     * the queue is not full.
+     *
+     * @throws BulkheadFullException If no permit could be acquired.
+     */
+    protected void acquirePermit() throws BulkheadFullException {
+        if (!mPermits.tryAcquire()) {
+            if (mQueuedCalls.incrementAndGet() > mSettings.maxQueuedCalls()) {
+                mQueuedCalls.decrementAndGet();
+                throw reject();
+            }
+            try {
+                if (!mPermits.tryAcquire(mSettings.maxQueueWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                    throw reject();
+                }
+            } catch (final InterruptedException theException) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                mQueuedCalls.decrementAndGet();
+            }
+        }
+        mPermittedCallCount.increment();
+    }
+
+    /**
+     * Records a rejected call and creates the exception rejecting it.
+     *
+     * @return Exception to throw.
+     */
+    protected BulkheadFullException reject() {
+        mRejectedCallCount.increment();
+        return new BulkheadFullException(mSettings.name());
+    }
+}
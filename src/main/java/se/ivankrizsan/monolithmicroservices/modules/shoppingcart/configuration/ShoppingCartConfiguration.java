@@ -1,34 +1,81 @@
 package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Scope;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadRegistry;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.domain.ShoppingCartItem;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation.BulkheadShoppingCartService;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation.ShoppingCartServiceImplementation;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.persistence.ShoppingCartItemRepository;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
 
 /**
  * Configuration that creates the necessary beans needed for the shoppingcart service.
+ * A shoppingcart holds the product reservations of one shopper in memory, so the shoppingcart beans are
+ * prototypes and each shopper obtains a shoppingcart of its own, for example using an {@code ObjectProvider}.
+ * A bean into which a shoppingcart is injected holds one single shoppingcart, which is shared by all
+ * the users of that bean.
  *
  * @author Ivan Krizsan
  */
 @Configuration
 @EntityScan(basePackageClasses = ShoppingCartItem.class)
 @EnableJpaRepositories(basePackageClasses = ShoppingCartItemRepository.class)
+@ImportRuntimeHints(ShoppingCartRuntimeHints.class)
 public class ShoppingCartConfiguration {
+    /* Constant(s): */
+    /**
+     * Qualifier of the {@code ShoppingCartService} bean that implements the shoppingcart service,
+     * in front of which any additional layers are applied.
+     */
+    public static final String CORE_SHOPPING_CART_SERVICE = "coreShoppingCartService";
+    /** Name of the bulkhead limiting the number of concurrent calls into the shoppingcart module. */
+    public static final String SHOPPING_CART_BULKHEAD_NAME = "shoppingcart";
+
+    /**
+     * Creates the {@code ShoppingCartService} bean used by other modules, one per shopper.
+     * If a bulkhead registry is available, all calls are made within the shoppingcart bulkhead, which is
+     * shared by the shoppingcarts of all shoppers.
+     *
+     * @param inCoreShoppingCartService Core shoppingcart service.
+     * @param inBulkheadRegistryProvider Provides bulkhead registry, if available.
+     * @return Shoppingcart service.
+     */
+    @Bean
+    @Primary
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    protected ShoppingCartService shoppingCartService(
+        @Qualifier(CORE_SHOPPING_CART_SERVICE) final ShoppingCartService inCoreShoppingCartService,
+        final ObjectProvider<BulkheadRegistry> inBulkheadRegistryProvider) {
+        final BulkheadRegistry theBulkheadRegistry = inBulkheadRegistryProvider.getIfAvailable();
+        return theBulkheadRegistry != null
+            ? new BulkheadShoppingCartService(
+                inCoreShoppingCartService, theBulkheadRegistry.bulkhead(SHOPPING_CART_BULKHEAD_NAME))
+            : inCoreShoppingCartService;
+    }
 
     /**
-     * Creates a shoppingcart service for shopping products in the warehouse represented by the
-     * supplied warehouse service.
+     * Creates the core shoppingcart service for shopping products in the warehouse represented by the
+     * supplied warehouse service, one for each shoppingcart.
+     * Whether the warehouse service is implemented in this process or is a client of a remote
+     * warehouse is determined by the warehouse transport binding.
      *
      * @param inWarehouseService Warehouse service representing warehouse with products.
      * @return Shoppingcart service.
      */
     @Bean
-    protected ShoppingCartService shoppingCartService(final WarehouseService inWarehouseService) {
+    @Qualifier(CORE_SHOPPING_CART_SERVICE)
+    @Scope(ConfigurableBeanFactory.SCOPE_PROTOTYPE)
+    protected ShoppingCartService shoppingCartServiceImplementation(final WarehouseService inWarehouseService) {
         return new ShoppingCartServiceImplementation(inWarehouseService);
     }
 }
@@ -0,0 +1,24 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.domain.ShoppingCartItem;
+
+/**
+ * Registers the reachability metadata needed by the shoppingcart module in a native image.
+ * Hibernate accesses the fields and constructors of the shoppingcart entities reflectively and the
+ * accessors generated by Lombok are invoked reflectively.
+ *
+ * @author Ivan Krizsan
+ */
+public class ShoppingCartRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(final RuntimeHints inRuntimeHints, final ClassLoader inClassLoader) {
+        inRuntimeHints.reflection().registerType(ShoppingCartItem.class,
+            MemberCategory.DECLARED_FIELDS,
+            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+            MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -0,0 +1,40 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.Bulkhead;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
+
+/**
+ * Shopping cart service that executes all operations of the underlying shopping cart service within
+ * the bulkhead of the shopping cart module, limiting the number of concurrent calls into the shopping cart.
+ * Calls rejected by the bulkhead fail with a
+ * {@link se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadFullException}.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class BulkheadShoppingCartService implements ShoppingCartService {
+    /* Dependencies: */
+    /** Underlying shopping cart service. */
+    @NonNull
+    protected final ShoppingCartService mShoppingCartService;
+    /** Bulkhead of the shopping cart module. */
+    @NonNull
+    protected final Bulkhead mBulkhead;
+
+    @Override
+    public boolean addItemToCart(final String inProductNumber, final double inAmount) {
+        return mBulkhead.execute(() -> mShoppingCartService.addItemToCart(inProductNumber, inAmount));
+    }
+
+    @Override
+    public void emptyCart() {
+        mBulkhead.run(mShoppingCartService::emptyCart);
+    }
+
+    @Override
+    public Double calculateCartPrice() {
+        return mBulkhead.execute(mShoppingCartService::calculateCartPrice);
+    }
+}
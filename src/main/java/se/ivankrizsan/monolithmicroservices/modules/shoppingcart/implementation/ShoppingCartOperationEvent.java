@@ -0,0 +1,110 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event recording an operation on a shopping cart with the cart, product number,
+ * amount and outcome of the operation, allowing stalls in a recording to be attributed to carts and products.
+ * When the event is not enabled in the recording, or no recording is running, emitting the event has
+ * no cost beyond an allocation that the JIT compiler eliminates.
+ * By default, only operations taking at least the threshold duration are recorded.
+ *
+ * @author Ivan Krizsan
+ */
+@Name(ShoppingCartOperationEvent.NAME)
+@Label("Shopping Cart Operation")
+@Category({ "Monolith Microservices", "Shopping Cart" })
+@Description("Operation on a shopping cart")
+@StackTrace(false)
+@Threshold("10 ms")
+public class ShoppingCartOperationEvent extends Event {
+    /* Constant(s): */
+    /** Name of shopping cart operation events. */
+    public static final String NAME = "se.ivankrizsan.monolithmicroservices.ShoppingCartOperation";
+    /** Outcome of operations that completed successfully. */
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    /** Outcome of items that could not be added to the cart since the product could not be reserved. */
+    public static final String OUTCOME_NOT_ADDED = "NOT_ADDED";
+    /** Outcome of operations that failed with an exception. */
+    public static final String OUTCOME_FAILED = "FAILED";
+
+    /* Instance variable(s): */
+    @Label("Cart Id")
+    @Description("Identifies the shopping cart within the application instance")
+    protected long cartId;
+    @Label("Operation")
+    @Description("Name of the shopping cart operation")
+    protected String operation;
+    @Label("Product Number")
+    protected String productNumber;
+    @Label("Amount")
+    @Description("Product amount added to the cart or, when calculating the cart price, the price of the cart")
+    protected double amount;
+    @Label("Line Count")
+    @Description("Number of distinct products in the cart when the operation began")
+    protected int lineCount;
+    @Label("Outcome")
+    protected String outcome = OUTCOME_FAILED;
+
+    /**
+     * Creates an event of the operation with the supplied name on the shopping cart with the supplied id
+     * and begins timing the operation.
+     * The outcome of the operation is failed until another outcome is set.
+     *
+     * @param inCartId Id of shopping cart.
+     * @param inOperation Name of shopping cart operation.
+     * @param inLineCount Number of distinct products in the cart.
+     * @return Event that has begun.
+     */
+    public static ShoppingCartOperationEvent start(final long inCartId,
+                                                   final String inOperation,
+                                                   final int inLineCount) {
+        final ShoppingCartOperationEvent theEvent = new ShoppingCartOperationEvent();
+        if (theEvent.isEnabled()) {
+            theEvent.cartId = inCartId;
+            theEvent.operation = inOperation;
+            theEvent.lineCount = inLineCount;
+            theEvent.begin();
+        }
+        return theEvent;
+    }
+
+    /**
+     * Sets the product concerned by the operation.
+     *
+     * @param inProductNumber Product number of product concerned.
+     * @return This event.
+     */
+    public ShoppingCartOperationEvent productNumber(final String inProductNumber) {
+        productNumber = inProductNumber;
+        return this;
+    }
+
+    /**
+     * Sets the amount of the operation.
+     *
+     * @param inAmount Product amount or cart price.
+     * @return This event.
+     */
+    public ShoppingCartOperationEvent amount(final double inAmount) {
+        amount = inAmount;
+        return this;
+    }
+
+    /**
+     * Sets the outcome of the operation.
+     *
+     * @param inOutcome Outcome of the operation.
+     * @return This event.
+     */
+    public ShoppingCartOperationEvent outcome(final String inOutcome) {
+        outcome = inOutcome;
+        return this;
+    }
+}
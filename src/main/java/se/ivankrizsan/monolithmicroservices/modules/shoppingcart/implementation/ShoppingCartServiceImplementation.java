@@ -8,33 +8,54 @@ import org.springframework.util.MultiValueMap;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Implementation of the {@link ShoppingCartService}.
+ * Operations on the cart emit {@link ShoppingCartOperationEvent}s to JDK Flight Recorder.
  *
  * @author Ivan Krizsan
  */
 @RequiredArgsConstructor
 public class ShoppingCartServiceImplementation implements ShoppingCartService {
+    /* Constant(s): */
+    /** Sequence from which the ids of shopping carts are taken. */
+    protected static final AtomicLong CART_ID_SEQUENCE = new AtomicLong();
+
+    /* Instance variable(s): */
     /** Warehouse from which items placed in the shopping cart will be taken. */
     @NonNull
     protected WarehouseService mWarehouseService;
     /** Product reservations associated with the shopping cart. */
     protected MultiValueMap<String, Long> mProductReservationIds = new LinkedMultiValueMap<>() {};
+    /** Id identifying the shopping cart in flight recorder events. */
+    protected final long mCartId = CART_ID_SEQUENCE.incrementAndGet();
 
     @Transactional
     @Override
     public boolean addItemToCart(final String inProductNumber, final double inAmount) {
-        final Optional<Long> theReservationIdOptional = mWarehouseService.reserveProduct(inProductNumber, inAmount);
-        if (theReservationIdOptional.isPresent()) {
-            mProductReservationIds.add(inProductNumber, theReservationIdOptional.get());
-            return true;
-        }
+        final ShoppingCartOperationEvent theEvent = ShoppingCartOperationEvent
+            .start(mCartId, "addItemToCart", mProductReservationIds.size())
+            .productNumber(inProductNumber)
+            .amount(inAmount);
+        try {
+            final Optional<Long> theReservationIdOptional =
+                mWarehouseService.reserveProduct(inProductNumber, inAmount);
+            if (theReservationIdOptional.isPresent()) {
+                mProductReservationIds.add(inProductNumber, theReservationIdOptional.get());
+                theEvent.outcome(ShoppingCartOperationEvent.OUTCOME_SUCCESS);
+                return true;
+            }
 
-        return false;
+            theEvent.outcome(ShoppingCartOperationEvent.OUTCOME_NOT_ADDED);
+            return false;
+        } finally {
+            theEvent.commit();
+        }
     }
 
     @Override
@@ -44,25 +65,49 @@ public class ShoppingCartServiceImplementation implements ShoppingCartService {
 
     @Override
     public Double calculateCartPrice() {
-        double theCartPrice = 0.0;
+        final ShoppingCartOperationEvent theEvent =
+            ShoppingCartOperationEvent.start(mCartId, "calculateCartPrice", mProductReservationIds.size());
+        try {
+            final double theCartPrice = sumItemPrices();
+            theEvent.amount(theCartPrice).outcome(ShoppingCartOperationEvent.OUTCOME_SUCCESS);
+            return theCartPrice;
+        } finally {
+            theEvent.commit();
+        }
+    }
 
+    /**
+     * Calculates the total price of the items in the shopping cart, retrieving the unit prices of
+     * all products and the amounts of all product reservations in the cart with one call to the
+     * warehouse service each, regardless of the number of items in the cart.
+     *
+     * @return Total price of items in the cart.
+     */
+    protected double sumItemPrices() {
+        if (mProductReservationIds.isEmpty()) {
+            return 0.0;
+        }
+
+        final Map<String, Double> theProductPrices =
+            mWarehouseService.retrieveProductUnitPrices(mProductReservationIds.keySet());
+        final List<Long> theProductReservationIds = new ArrayList<>();
+        mProductReservationIds.values().forEach(theProductReservationIds::addAll);
+        final Map<Long, Double> theReservationAmounts =
+            mWarehouseService.retrieveReservationAmounts(theProductReservationIds);
+
+        double theCartPrice = 0.0;
         for (Map.Entry<String, List<Long>> theProductIdReservationsEntry : mProductReservationIds.entrySet()) {
             final String theProductNumber = theProductIdReservationsEntry.getKey();
-            final Optional<Double> theProductPriceOptional = mWarehouseService.retrieveProductUnitPrice(theProductNumber);
-
-            if (theProductPriceOptional.isPresent()) {
-                final Double theProductPrice = theProductPriceOptional.get();
+            final Double theProductPrice = theProductPrices.get(theProductNumber);
+            if (theProductPrice == null) {
+                throw new RuntimeException("No price found for product with number " + theProductNumber);
+            }
 
-                final List<Long> theProductReservations = theProductIdReservationsEntry.getValue();
-                for (Long theProductReservation : theProductReservations) {
-                    final Optional<Double> theReservationAmountOptional =
-                        mWarehouseService.retrieveReservationAmount(theProductReservation);
-                    if (theReservationAmountOptional.isPresent()) {
-                        theCartPrice = theCartPrice + (theProductPrice * theReservationAmountOptional.get());
-                    }
+            for (Long theProductReservation : theProductIdReservationsEntry.getValue()) {
+                final Double theReservationAmount = theReservationAmounts.get(theProductReservation);
+                if (theReservationAmount != null) {
+                    theCartPrice = theCartPrice + (theProductPrice * theReservationAmount);
                 }
-            } else {
-                throw new RuntimeException("No price found for product with number " + theProductNumber);
             }
         }
         return theCartPrice;
@@ -0,0 +1,14 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Product that is among the products most frequently looked up or reserved in the warehouse.
+ *
+ * @param productNumber Product number of the product.
+ * @param estimatedAccessCount Estimated number of recent lookups and reservations of the product.
+ * Never less than the actual number, since older accesses are counted with decreasing weight.
+ * @author Ivan Krizsan
+ */
+public record HotProduct(
+    String productNumber,
+    long estimatedAccessCount) {
+}
@@ -0,0 +1,32 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.util.List;
+
+/**
+ * The hot product service exposes the products that currently dominate the product lookups and
+ * reservations made to the warehouse service, allowing caching and contention strategies to
+ * target those products.
+ * The hot products are detected using fixed memory, regardless of the number of products in the warehouse,
+ * and follow changes in the demand of products over time.
+ *
+ * @author Ivan Krizsan
+ */
+public interface HotProductService {
+
+    /**
+     * Retrieves the current hot products in descending order of their estimated number of accesses.
+     *
+     * @return Hot products, empty if no products have been accessed.
+     */
+    List<HotProduct> retrieveHotProducts();
+
+    /**
+     * Determines whether the product with the supplied product number is currently a hot product.
+     * Intended to be invoked on every access of a product and thus considerably cheaper than retrieving
+     * the hot products.
+     *
+     * @param inProductNumber Product number of product.
+     * @return True if the product is a hot product, false otherwise.
+     */
+    boolean isHotProduct(String inProductNumber);
+}
@@ -0,0 +1,26 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * The inventory snapshot service exports all products in the warehouse and their outstanding reservations,
+ * for example for analytics or reconciliation with other systems.
+ *
+ * @author Ivan Krizsan
+ */
+public interface InventorySnapshotService {
+
+    /**
+     * Writes a snapshot of the products and product reservations in the warehouse to the supplied channel.
+     * The snapshot is written in a compressed columnar format with a header describing its tables and columns.
+     * The products and reservations are read from one consistent view of the warehouse and are streamed
+     * to the channel, so that the memory used does not depend on the size of the warehouse.
+     * The channel is not closed.
+     *
+     * @param inChannel Channel to write the snapshot to.
+     * @return Summary of the exported snapshot.
+     * @throws IOException If an error occurs writing to the channel.
+     */
+    InventorySnapshotSummary exportSnapshot(WritableByteChannel inChannel) throws IOException;
+}
@@ -0,0 +1,15 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Summary of an exported inventory snapshot.
+ *
+ * @param productCount Number of products in the snapshot.
+ * @param reservationCount Number of product reservations in the snapshot.
+ * @param byteCount Size of the snapshot in bytes.
+ * @author Ivan Krizsan
+ */
+public record InventorySnapshotSummary(
+    long productCount,
+    long reservationCount,
+    long byteCount) {
+}
@@ -0,0 +1,20 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Statistics for the coalescing of concurrent identical product lookups.
+ * All counts are accumulated since the warehouse was started and are zero if lookup coalescing is disabled.
+ *
+ * @param executedLookupCount Number of lookups executed against the underlying warehouse service.
+ * @param coalescedLookupCount Number of lookups answered with the result of an identical lookup in progress.
+ * @param waitTimeoutCount Number of lookups that gave up waiting for an identical lookup in progress and
+ * were executed against the underlying warehouse service.
+ * @param bypassedLookupCount Number of lookups not eligible for coalescing, since they were made in
+ * a read-write transaction or without a product number.
+ * @author Ivan Krizsan
+ */
+public record LookupCoalescingStatistics(
+    long executedLookupCount,
+    long coalescedLookupCount,
+    long waitTimeoutCount,
+    long bypassedLookupCount) {
+}
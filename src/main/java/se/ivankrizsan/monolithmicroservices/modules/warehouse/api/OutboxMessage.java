@@ -0,0 +1,23 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.time.Instant;
+
+/**
+ * Committed change of the warehouse relayed from the warehouse transactional outbox.
+ *
+ * @param sequenceNumber Sequence number of the message, increasing in the order in which changes were recorded.
+ * @param type Type of change.
+ * @param productNumber Product number of product which stock or reservations changed.
+ * @param amount Product amount of the change.
+ * @param reservationId Id of product reservation concerned or null if not applicable.
+ * @param createdAt Time at which the change was recorded.
+ * @author Ivan Krizsan
+ */
+public record OutboxMessage(
+    long sequenceNumber,
+    WarehouseEventType type,
+    String productNumber,
+    double amount,
+    Long reservationId,
+    Instant createdAt) {
+}
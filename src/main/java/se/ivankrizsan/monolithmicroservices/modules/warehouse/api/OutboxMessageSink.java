@@ -0,0 +1,24 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.util.List;
+
+/**
+ * Destination to which messages from the warehouse transactional outbox are relayed, for instance
+ * a message broker or another module.
+ * Messages are relayed at least once: a batch which dispatch fails, or which removal from the outbox
+ * fails after a successful dispatch, is dispatched again.
+ *
+ * @author Ivan Krizsan
+ */
+@FunctionalInterface
+public interface OutboxMessageSink {
+
+    /**
+     * Dispatches the supplied batch of messages, in order.
+     * The batch is considered dispatched if the method returns normally.
+     *
+     * @param inMessages Messages to dispatch, ordered by sequence number.
+     * @throws Exception If dispatching the batch failed.
+     */
+    void dispatch(List<OutboxMessage> inMessages) throws Exception;
+}
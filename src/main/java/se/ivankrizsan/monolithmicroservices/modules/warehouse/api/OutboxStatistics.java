@@ -0,0 +1,26 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.time.Duration;
+
+/**
+ * Statistics of the relaying of messages from the warehouse transactional outbox.
+ *
+ * @param relayedMessageCount Number of messages dispatched to the outbox message sink.
+ * @param relayedBatchCount Number of batches dispatched to the outbox message sink.
+ * @param failedBatchCount Number of batches which dispatch failed and that will be retried.
+ * @param pendingMessageCount Number of messages in the outbox waiting to be relayed.
+ * @param relayRate Average number of messages relayed per second since the relay was started.
+ * @param lastBatchLag Time between the recording of the oldest message in the last relayed batch
+ * and the dispatch of the batch.
+ * @param maxLag Largest lag of any relayed batch.
+ * @author Ivan Krizsan
+ */
+public record OutboxStatistics(
+    long relayedMessageCount,
+    long relayedBatchCount,
+    long failedBatchCount,
+    long pendingMessageCount,
+    double relayRate,
+    Duration lastBatchLag,
+    Duration maxLag) {
+}
@@ -0,0 +1,24 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Statistics for the cache of warehouse products.
+ * All counts are accumulated since the warehouse was started.
+ *
+ * @param naturalIdCacheHitCount Number of product number lookups resolved from the natural-id cache.
+ * @param naturalIdCacheMissCount Number of product number lookups not found in the natural-id cache.
+ * @param naturalIdCachePutCount Number of product number resolutions put into the natural-id cache.
+ * @param naturalIdQueryCount Number of database queries executed to resolve product numbers.
+ * @param productCacheHitCount Number of products retrieved from the second-level cache.
+ * @param productCacheMissCount Number of products not found in the second-level cache.
+ * @param productCachePutCount Number of products put into the second-level cache.
+ * @author Ivan Krizsan
+ */
+public record ProductCacheStatistics(
+    long naturalIdCacheHitCount,
+    long naturalIdCacheMissCount,
+    long naturalIdCachePutCount,
+    long naturalIdQueryCount,
+    long productCacheHitCount,
+    long productCacheMissCount,
+    long productCachePutCount) {
+}
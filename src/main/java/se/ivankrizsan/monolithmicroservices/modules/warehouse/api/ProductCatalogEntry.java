@@ -0,0 +1,17 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Product listed in the product catalog.
+ *
+ * @param productNumber Product number of the product.
+ * @param productName Name of the product.
+ * @param unitPrice Product's unit price.
+ * @param availableAmount Amount of the product available for reservation.
+ * @author Ivan Krizsan
+ */
+public record ProductCatalogEntry(
+    String productNumber,
+    String productName,
+    double unitPrice,
+    double availableAmount) {
+}
@@ -0,0 +1,25 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One page of products retrieved from the product catalog.
+ *
+ * @param products Products of the page, in the sort order of the query.
+ * @param nextPageQuery Query retrieving the following page, null if this is the last page.
+ * @author Ivan Krizsan
+ */
+public record ProductCatalogPage(
+    List<ProductCatalogEntry> products,
+    ProductCatalogQuery nextPageQuery) {
+
+    /**
+     * Retrieves the query retrieving the page following this page.
+     *
+     * @return Query retrieving the following page or empty if this is the last page.
+     */
+    public Optional<ProductCatalogQuery> nextPage() {
+        return Optional.ofNullable(nextPageQuery);
+    }
+}
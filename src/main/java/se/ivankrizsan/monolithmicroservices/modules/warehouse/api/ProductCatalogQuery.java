@@ -0,0 +1,76 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import org.springframework.util.Assert;
+
+/**
+ * Query retrieving one page of products from the product catalog.
+ * Pages are retrieved using keyset pagination: a page other than the first contains the products
+ * following the last product of the previous page in the sort order, as opposed to skipping a number
+ * of products, so that retrieving a deep page is as fast as retrieving the first page.
+ * The query retrieving the page following a retrieved page is obtained from {@link ProductCatalogPage#nextPage()}.
+ *
+ * @param namePrefix Prefix of the names of products to retrieve, null to retrieve products regardless of name.
+ * @param minimumAvailableAmount Minimum available amount of products to retrieve, null for no minimum.
+ * @param minimumUnitPrice Minimum unit price, inclusive, of products to retrieve, null for no minimum.
+ * @param maximumUnitPrice Maximum unit price, inclusive, of products to retrieve, null for no maximum.
+ * @param sortOrder Order of the products.
+ * @param pageSize Maximum number of products in a page. In the range [1, {@value #MAX_PAGE_SIZE}].
+ * @param after Last product of the previous page, null to retrieve the first page.
+ * @author Ivan Krizsan
+ */
+public record ProductCatalogQuery(
+    String namePrefix,
+    Double minimumAvailableAmount,
+    Double minimumUnitPrice,
+    Double maximumUnitPrice,
+    ProductCatalogSortOrder sortOrder,
+    int pageSize,
+    ProductCatalogEntry after) {
+    /* Constant(s): */
+    /** Maximum number of products in a page. */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Validates the query.
+     */
+    public ProductCatalogQuery {
+        Assert.notNull(sortOrder, "A sort order is required");
+        Assert.isTrue(pageSize > 0 && pageSize <= MAX_PAGE_SIZE,
+            "The page size must be in the range [1, " + MAX_PAGE_SIZE + "]");
+        Assert.isTrue(minimumUnitPrice == null || maximumUnitPrice == null || minimumUnitPrice <= maximumUnitPrice,
+            "The minimum unit price may not be greater than the maximum unit price");
+    }
+
+    /**
+     * Creates a query retrieving the first page of products matching the supplied criteria.
+     *
+     * @param inNamePrefix Prefix of product names, null for any name.
+     * @param inMinimumAvailableAmount Minimum available amount, null for no minimum.
+     * @param inMinimumUnitPrice Minimum unit price, null for no minimum.
+     * @param inMaximumUnitPrice Maximum unit price, null for no maximum.
+     * @param inSortOrder Order of the products.
+     * @param inPageSize Maximum number of products in a page.
+     * @return Query retrieving the first page.
+     */
+    public static ProductCatalogQuery firstPage(final String inNamePrefix,
+                                                final Double inMinimumAvailableAmount,
+                                                final Double inMinimumUnitPrice,
+                                                final Double inMaximumUnitPrice,
+                                                final ProductCatalogSortOrder inSortOrder,
+                                                final int inPageSize) {
+        return new ProductCatalogQuery(inNamePrefix, inMinimumAvailableAmount, inMinimumUnitPrice,
+            inMaximumUnitPrice, inSortOrder, inPageSize, null);
+    }
+
+    /**
+     * Creates a query with the same criteria as this query retrieving the products following the supplied product.
+     *
+     * @param inLastProduct Last product of the previous page.
+     * @return Query retrieving the following page.
+     */
+    public ProductCatalogQuery after(final ProductCatalogEntry inLastProduct) {
+        Assert.notNull(inLastProduct, "A last product is required");
+        return new ProductCatalogQuery(namePrefix, minimumAvailableAmount, minimumUnitPrice, maximumUnitPrice,
+            sortOrder, pageSize, inLastProduct);
+    }
+}
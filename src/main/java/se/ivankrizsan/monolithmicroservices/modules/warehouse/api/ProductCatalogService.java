@@ -0,0 +1,21 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * The product catalog service allows for browsing and searching the products in the warehouse,
+ * one page at a time.
+ *
+ * @author Ivan Krizsan
+ */
+public interface ProductCatalogService {
+
+    /**
+     * Retrieves the page of products matching the supplied query.
+     * Each page is retrieved using one single query regardless of how deep into the catalog the page is.
+     * Products created, modified or removed between the retrieval of two pages do not cause products
+     * to be repeated or skipped, unless their position in the sort order changes.
+     *
+     * @param inQuery Query selecting products and page.
+     * @return Page of products, empty if no products match the query.
+     */
+    ProductCatalogPage browseProducts(ProductCatalogQuery inQuery);
+}
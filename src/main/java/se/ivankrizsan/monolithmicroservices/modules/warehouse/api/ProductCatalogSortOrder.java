@@ -0,0 +1,17 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Orders in which products can be browsed in the product catalog.
+ * Products having the same name or unit price are ordered by product number, so that every product
+ * has a unique position in the catalog.
+ *
+ * @author Ivan Krizsan
+ */
+public enum ProductCatalogSortOrder {
+    /** Ascending order of product name. */
+    NAME,
+    /** Ascending order of unit price. */
+    UNIT_PRICE_ASCENDING,
+    /** Descending order of unit price. */
+    UNIT_PRICE_DESCENDING
+}
@@ -0,0 +1,12 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Definition of a product that is to be created in the warehouse.
+ *
+ * @param productNumber Product number of the product. Must be unique in the warehouse.
+ * @param productName Name of the product.
+ * @param unitPrice Product's unit price.
+ * @author Ivan Krizsan
+ */
+public record ProductDefinition(String productNumber, String productName, Double unitPrice) {
+}
@@ -0,0 +1,17 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Summary of the reservations of one product in the warehouse.
+ *
+ * @param productNumber Product number of the product.
+ * @param reservationCount Number of outstanding reservations of the product.
+ * @param reservedAmount Total amount of the outstanding reservations of the product.
+ * @param consumedAmount Total amount of the product consumed by removed reservations.
+ * @author Ivan Krizsan
+ */
+public record ProductReservationSummary(
+    String productNumber,
+    long reservationCount,
+    double reservedAmount,
+    double consumedAmount) {
+}
@@ -0,0 +1,17 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Statistics of the adaptive admission control of product reservations.
+ *
+ * @param concurrencyLimit Current limit of the number of concurrent reservations.
+ * @param inFlightReservations Number of admitted reservations that have not completed.
+ * @param admittedReservationCount Number of reservations admitted.
+ * @param rejectedReservationCount Number of reservations rejected due to overload.
+ * @author Ivan Krizsan
+ */
+public record ReservationAdmissionStatistics(
+    int concurrencyLimit,
+    int inFlightReservations,
+    long admittedReservationCount,
+    long rejectedReservationCount) {
+}
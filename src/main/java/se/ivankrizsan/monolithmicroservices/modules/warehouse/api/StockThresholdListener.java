@@ -0,0 +1,19 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Listener notified when the available amount of a product crosses a threshold it has subscribed to
+ * using the {@link StockThresholdService}.
+ * Notifications of all subscriptions are delivered on one thread, so listeners should not block.
+ *
+ * @author Ivan Krizsan
+ */
+@FunctionalInterface
+public interface StockThresholdListener {
+
+    /**
+     * Invoked when the available amount of a product has crossed a threshold.
+     *
+     * @param inNotification Notification containing the available amount and the threshold reached.
+     */
+    void onStockThresholdCrossed(StockThresholdNotification inNotification);
+}
@@ -0,0 +1,17 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Notification of the available amount of a product having crossed a threshold subscribed to using
+ * the {@link StockThresholdService}.
+ *
+ * @param productNumber Product number of the product.
+ * @param availableAmount Available amount of the product when the notification was created.
+ * @param threshold Lowest subscribed threshold the available amount is at or below, null if the available amount
+ * is above all subscribed thresholds.
+ * @author Ivan Krizsan
+ */
+public record StockThresholdNotification(
+    String productNumber,
+    double availableAmount,
+    Double threshold) {
+}
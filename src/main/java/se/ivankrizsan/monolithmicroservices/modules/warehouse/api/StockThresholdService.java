@@ -0,0 +1,33 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import java.util.Collection;
+
+/**
+ * The stock threshold service pushes notifications to subscribers when the available amount of a product
+ * crosses one of the thresholds registered by the subscriber, such as zero for "out of stock" or a small
+ * amount for "only a few left", so that subscribers do not have to poll the available amount of the product.
+ * Notifications are delivered asynchronously, after the changes of the available amount have been committed.
+ * Changes of the available amount of a product made in quick succession are coalesced, so that a subscriber
+ * is notified at most once per batch of changes and only if the available amount has crossed a threshold.
+ *
+ * @author Ivan Krizsan
+ */
+public interface StockThresholdService {
+
+    /**
+     * Subscribes the supplied listener to notifications of the available amount of the product with the supplied
+     * product number crossing one of the supplied thresholds.
+     * The listener is first notified of the current available amount of the product and then each time the
+     * available amount crosses a threshold.
+     *
+     * @param inProductNumber Product number of product.
+     * @param inThresholds Thresholds of the available amount of the product. At least one threshold is required.
+     * @param inListener Listener to notify.
+     * @return Subscription which is to be cancelled when notifications are no longer needed.
+     * @throws se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException
+     * If there is no product with the product number in the warehouse.
+     */
+    StockThresholdSubscription subscribe(String inProductNumber,
+                                         Collection<Double> inThresholds,
+                                         StockThresholdListener inListener);
+}
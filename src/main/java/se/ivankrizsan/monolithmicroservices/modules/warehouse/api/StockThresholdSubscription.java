@@ -0,0 +1,15 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Subscription to notifications of the available amount of a product crossing thresholds,
+ * created by the {@link StockThresholdService}.
+ *
+ * @author Ivan Krizsan
+ */
+public interface StockThresholdSubscription {
+
+    /**
+     * Cancels the subscription. Notifications already being delivered may still be received.
+     */
+    void cancel();
+}
@@ -0,0 +1,45 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Event published by the warehouse on the warehouse event bus when a committed change has been made
+ * to the stock or reservations of a product.
+ * Events are partitioned by product number, so that the events of one product are delivered in the order
+ * in which the changes were committed.
+ * Event instances are preallocated and reused by the event bus and must not be retained by event handlers.
+ *
+ * @author Ivan Krizsan
+ */
+@Getter
+@ToString
+public class WarehouseEvent {
+    /* Instance variable(s): */
+    /** Type of change. */
+    protected WarehouseEventType type;
+    /** Product number of product which stock or reservations changed. */
+    protected String productNumber;
+    /** Product amount of the change. */
+    protected double amount;
+    /** Id of product reservation concerned or null if not applicable. */
+    protected Long reservationId;
+
+    /**
+     * Sets the values of the event prior to it being published.
+     *
+     * @param inType Type of change.
+     * @param inProductNumber Product number of product which stock or reservations changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     */
+    public void setValues(final WarehouseEventType inType,
+                          final String inProductNumber,
+                          final double inAmount,
+                          final Long inReservationId) {
+        type = inType;
+        productNumber = inProductNumber;
+        amount = inAmount;
+        reservationId = inReservationId;
+    }
+}
@@ -0,0 +1,17 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * Types of events published by the warehouse.
+ *
+ * @author Ivan Krizsan
+ */
+public enum WarehouseEventType {
+    /** The stock of a product has been increased. */
+    STOCK_INCREASED,
+    /** An amount of a product has been reserved. */
+    RESERVATION_CREATED,
+    /** A product reservation has been removed, consuming the reserved amount of the product. */
+    RESERVATION_CONSUMED,
+    /** A product reservation has been released, returning the reserved amount to the available stock. */
+    RESERVATION_RELEASED
+}
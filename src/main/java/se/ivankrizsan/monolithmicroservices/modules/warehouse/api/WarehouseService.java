@@ -1,7 +1,10 @@
 package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
 
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ReservationRejectedException;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,6 +30,17 @@ public interface WarehouseService {
      */
     Optional<Double> retrieveProductUnitPrice(String inProductNumber);
 
+    /**
+     * Retrieves the unit prices of the products in the warehouse with the supplied product numbers
+     * in one single operation.
+     * Callers needing the unit prices of multiple products should use this method rather than
+     * retrieving the unit price of one product at a time.
+     *
+     * @param inProductNumbers Product numbers of the products which unit prices to retrieve.
+     * @return Unit prices keyed by product number. Products not found in the warehouse are absent.
+     */
+    Map<String, Double> retrieveProductUnitPrices(Collection<String> inProductNumbers);
+
     /**
      * Reserves the supplied amount of the product in the warehouse with the supplied product number.
      * The product stock will be reduced with the amount to reserved if there is enough of
@@ -35,8 +49,10 @@ public interface WarehouseService {
      * @param inProductNumber Product number of the product to reserve.
      * @param inAmount Amount of the product to reserve.
      * @return Reservation id if amount of product successfully reserved otherwise empty.
+     * @throws ReservationRejectedException If reservation admission control is enabled and the reservation
+     * was rejected since the warehouse is overloaded.
      */
-    Optional<Long> reserveProduct(String inProductNumber, double inAmount);
+    Optional<Long> reserveProduct(String inProductNumber, double inAmount) throws ReservationRejectedException;
 
     /**
      * Removes the product reservation with the supplied id.
@@ -57,6 +73,29 @@ public interface WarehouseService {
      */
     Optional<Double> retrieveReservationAmount(Long inProductReservationId);
 
+    /**
+     * Retrieves the reserved amounts of the product reservations with the supplied ids in one single operation.
+     * Callers needing the reserved amounts of multiple product reservations should use this method rather
+     * than retrieving the reserved amount of one product reservation at a time.
+     *
+     * @param inProductReservationIds Ids of the product reservations which reserved amounts to retrieve.
+     * @return Reserved amounts keyed by product reservation id. Product reservations that do not exist are absent.
+     */
+    Map<Long, Double> retrieveReservationAmounts(Collection<Long> inProductReservationIds);
+
+    /**
+     * Retrieves a summary of the reservations of the product in the warehouse with the supplied product number,
+     * containing the number and total amount of outstanding reservations and the total consumed amount.
+     * The summary is maintained as reservations are created and removed and is read without reading
+     * the individual product reservations.
+     *
+     * @param inProductNumber Product number of the product which reservation summary to retrieve.
+     * @return Product reservation summary.
+     * @throws ProductNotInWarehouseException If the product does not exist in the warehouse.
+     */
+    ProductReservationSummary retrieveProductReservationSummary(String inProductNumber)
+        throws ProductNotInWarehouseException;
+
     /**
      * Creates the product with the supplied product number, the supplied name and the supplied unit
      * price in the warehouse setting its available and reserved amounts to zero.
@@ -68,6 +107,17 @@ public interface WarehouseService {
      */
     void createProductInWarehouse(String inProductNumber, String inProductName, Double inUnitPrice);
 
+    /**
+     * Creates the products with the supplied definitions in the warehouse setting their available and
+     * reserved amounts to zero.
+     * Products with a product number that already exists in the warehouse are skipped, as are products
+     * with a product number that occurs earlier in the supplied product definitions.
+     *
+     * @param inProductDefinitions Definitions of the products to create.
+     * @return Number of products created in the warehouse.
+     */
+    int createProductsInWarehouse(Collection<ProductDefinition> inProductDefinitions);
+
     /**
      * Increases the warehouse stock of the product with the supplied product number with the supplied amount.
      *
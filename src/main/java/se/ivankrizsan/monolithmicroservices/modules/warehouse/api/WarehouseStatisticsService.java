@@ -0,0 +1,38 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.api;
+
+/**
+ * The warehouse statistics service exposes statistics that allow for monitoring the
+ * warehouse module.
+ *
+ * @author Ivan Krizsan
+ */
+public interface WarehouseStatisticsService {
+
+    /**
+     * Retrieves hit and miss statistics of the cache that contains warehouse products.
+     *
+     * @return Product cache statistics.
+     */
+    ProductCacheStatistics retrieveProductCacheStatistics();
+
+    /**
+     * Retrieves statistics of the coalescing of concurrent identical product lookups.
+     *
+     * @return Lookup coalescing statistics.
+     */
+    LookupCoalescingStatistics retrieveLookupCoalescingStatistics();
+
+    /**
+     * Retrieves statistics of the relaying of messages from the transactional outbox.
+     *
+     * @return Outbox statistics, all zero if the transactional outbox is disabled.
+     */
+    OutboxStatistics retrieveOutboxStatistics();
+
+    /**
+     * Retrieves statistics of the adaptive admission control of product reservations.
+     *
+     * @return Reservation admission statistics, all zero if reservation admission control is disabled.
+     */
+    ReservationAdmissionStatistics retrieveReservationAdmissionStatistics();
+}
@@ -1,15 +1,62 @@
 package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBus;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBusSettings;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBuses;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServer;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.AimdLimitSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadRegistry;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiter;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiters;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.InventorySnapshotService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxMessageSink;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEvent;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.events.StockThresholdNotifier;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.events.WarehouseEventPublishingChangeListener;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.export.InventorySnapshotExporter;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.AdmissionControlledWarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.BulkheadWarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.CoalescingWarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.DeadlockRetryingWarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.HotProductTracker;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.ProductCatalogServiceImplementation;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.HotProductTrackingWarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.StockBucketPolicy;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.WarehouseServiceImplementation;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.WarehouseStatisticsServiceImplementation;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.journal.ReservationJournal;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.journal.ReservationJournalChangeListener;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox.OutboxChangeListener;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox.OutboxRelay;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.OutboxEventRepository;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductStockBucketRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Clock;
 
 /**
  * Configuration that creates the necessary beans needed for the warehouse service.
@@ -18,23 +65,386 @@ import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.Produc
  */
 @Configuration
 @EntityScan(basePackageClasses = Product.class)
-@EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+@EnableJpaRepositories(
+    basePackageClasses = ProductRepository.class,
+    entityManagerFactoryRef = WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY,
+    transactionManagerRef = WarehousePersistenceUnit.TRANSACTION_MANAGER)
+@EnableConfigurationProperties(WarehouseProperties.class)
+@Import({
+    WarehouseDataSourceConfiguration.class,
+    WarehousePersistenceUnitAliasConfiguration.class,
+    WarehouseRemoteClientConfiguration.class,
+    WarehouseRemoteServerConfiguration.class,
+    WarehouseWarmUpConfiguration.class
+})
+@ImportRuntimeHints(WarehouseRuntimeHints.class)
 public class WarehouseConfiguration {
     /* Constant(s): */
+    /**
+     * Qualifier of the {@code WarehouseService} bean that implements the warehouse service, either in this
+     * process or as a client of a remote warehouse, in front of which any additional layers are applied.
+     */
+    public static final String CORE_WAREHOUSE_SERVICE = "coreWarehouseService";
+    /** Name of the bulkhead limiting the number of concurrent calls into the warehouse module. */
+    public static final String WAREHOUSE_BULKHEAD_NAME = "warehouse";
+    /** Qualifier of the concurrency limiter admitting product reservations, if admission control is enabled. */
+    public static final String RESERVATION_LIMITER = "warehouseReservationLimiter";
+    /** Name of the concurrency limiter admitting product reservations. */
+    public static final String RESERVATION_LIMITER_NAME = "warehouse-reservations";
 
     /* Dependencies: */
     @Autowired
     protected ProductRepository mProductRepository;
     @Autowired
     protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected OutboxEventRepository mOutboxEventRepository;
+    @Autowired
+    protected ProductStockBucketRepository mProductStockBucketRepository;
+
+    /**
+     * Creates the filter that excludes warehouse beans from lazy initialization, if enabled.
+     * The warehouse service is created at startup so that the first request is not delayed by its creation.
+     * Beans performing work in the background, handling warehouse events or recovering state are also created
+     * at startup.
+     *
+     * @return Lazy initialization exclude filter.
+     */
+    @Bean
+    protected static LazyInitializationExcludeFilter warehouseLazyInitializationExcludeFilter() {
+        return LazyInitializationExcludeFilter.forBeanTypes(
+            WarehouseService.class,
+            ReservationJournal.class,
+            OutboxRelay.class,
+            RemoteServer.class,
+            StockThresholdNotifier.class);
+    }
+
+    /**
+     * Creates the {@code WarehouseService} bean used by other modules, which applies lookup coalescing,
+     * if enabled, in front of the core warehouse service.
+     * If stock buckets are enabled, operations that fail to acquire the lock of a stock bucket outside of
+     * a transaction started by the caller are retried.
+     * If a bulkhead registry is available, all calls are made within the warehouse bulkhead.
+     * If reservation admission control is enabled, product reservations are admitted by the reservation
+     * concurrency limiter before entering the bulkhead, so that excess reservations are rejected immediately
+     * instead of waiting for a bulkhead permit.
+     * If hot product detection is enabled, product lookups and reservations are recorded in the hot product
+     * tracker before any other layer is applied.
+     *
+     * @param inCoreWarehouseService Core warehouse service.
+     * @param inCoalescingWarehouseServiceProvider Provides coalescing warehouse service, if enabled.
+     * @param inStockBucketPolicyProvider Provides stock bucket policy, if stock buckets are enabled.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @param inBulkheadRegistryProvider Provides bulkhead registry, if available.
+     * @param inReservationLimiterProvider Provides reservation concurrency limiter, if admission control is enabled.
+     * @param inHotProductTrackerProvider Provides hot product tracker, if hot product detection is enabled.
+     * @return Warehouse service.
+     */
+    @Bean
+    @Primary
+    protected WarehouseService warehouseService(
+        @Qualifier(CORE_WAREHOUSE_SERVICE) final WarehouseService inCoreWarehouseService,
+        final ObjectProvider<CoalescingWarehouseService> inCoalescingWarehouseServiceProvider,
+        final ObjectProvider<StockBucketPolicy> inStockBucketPolicyProvider,
+        final WarehouseProperties inWarehouseProperties,
+        final ObjectProvider<BulkheadRegistry> inBulkheadRegistryProvider,
+        @Qualifier(RESERVATION_LIMITER) final ObjectProvider<ConcurrencyLimiter> inReservationLimiterProvider,
+        final ObjectProvider<HotProductTracker> inHotProductTrackerProvider) {
+        final WarehouseService theCoalescingWarehouseService = inCoalescingWarehouseServiceProvider.getIfAvailable();
+        WarehouseService theWarehouseService =
+            theCoalescingWarehouseService != null ? theCoalescingWarehouseService : inCoreWarehouseService;
+        if (inStockBucketPolicyProvider.getIfAvailable() != null) {
+            theWarehouseService = new DeadlockRetryingWarehouseService(
+                theWarehouseService, inWarehouseProperties.getStockBuckets().getDeadlockAttempts());
+        }
+        final BulkheadRegistry theBulkheadRegistry = inBulkheadRegistryProvider.getIfAvailable();
+        if (theBulkheadRegistry != null) {
+            theWarehouseService = new BulkheadWarehouseService(
+                theWarehouseService, theBulkheadRegistry.bulkhead(WAREHOUSE_BULKHEAD_NAME));
+        }
+        final ConcurrencyLimiter theReservationLimiter = inReservationLimiterProvider.getIfAvailable();
+        if (theReservationLimiter != null) {
+            theWarehouseService = new AdmissionControlledWarehouseService(theWarehouseService, theReservationLimiter);
+        }
+        final HotProductTracker theHotProductTracker = inHotProductTrackerProvider.getIfAvailable();
+        if (theHotProductTracker != null) {
+            theWarehouseService = new HotProductTrackingWarehouseService(theWarehouseService, theHotProductTracker);
+        }
+        return theWarehouseService;
+    }
+
+    /**
+     * Creates the tracker detecting the products dominating product lookups and reservations, which is
+     * exposed to other modules as the {@code HotProductService}, if hot product detection is enabled.
+     *
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Hot product tracker.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".hot-products", name = "enabled",
+        havingValue = "true", matchIfMissing = true)
+    protected HotProductTracker hotProductTracker(final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.HotProducts theHotProductsProperties = inWarehouseProperties.getHotProducts();
+        return new HotProductTracker(
+            theHotProductsProperties.getHotProductCount(),
+            theHotProductsProperties.getSketchWidth(),
+            theHotProductsProperties.getSampleSize());
+    }
 
     /**
-     * Creates the {@code WarehouseService} bean.
+     * Creates the concurrency limiter admitting product reservations, if reservation admission control
+     * is enabled.
+     * The limit of the limiter adapts to the observed latency of reservations.
      *
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Reservation concurrency limiter.
+     */
+    @Bean
+    @Qualifier(RESERVATION_LIMITER)
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".admission-control", name = "enabled",
+        havingValue = "true")
+    protected ConcurrencyLimiter warehouseReservationLimiter(final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.AdmissionControl theAdmissionControlProperties =
+            inWarehouseProperties.getAdmissionControl();
+        return ConcurrencyLimiters.aimd(
+            new AimdLimitSettings(
+                RESERVATION_LIMITER_NAME,
+                theAdmissionControlProperties.getInitialLimit(),
+                theAdmissionControlProperties.getMinLimit(),
+                theAdmissionControlProperties.getMaxLimit(),
+                theAdmissionControlProperties.getLatencyTarget(),
+                theAdmissionControlProperties.getBackoffRatio()));
+    }
+
+    /**
+     * Creates the core {@code WarehouseService} bean implemented in this process.
+     * Only created with the in-process warehouse transport binding, which is the default.
+     * If the reservation journal is enabled, changes of the reservation state of products are
+     * recorded in the journal.
+     * If warehouse events are enabled, committed changes are published on the warehouse event bus.
+     * If the transactional outbox is enabled, changes are recorded in the outbox in the same transaction.
+     * If stock buckets are enabled, the stock of products selected by the stock bucket policy is split into
+     * stock buckets.
+     *
+     * @param inReservationJournalProvider Provides reservation journal, if enabled.
+     * @param inWarehouseEventBusProvider Provides warehouse event bus, if enabled.
+     * @param inOutboxChangeListenerProvider Provides outbox change listener, if the outbox is enabled.
+     * @param inStockBucketPolicyProvider Provides stock bucket policy, if stock buckets are enabled.
      * @return Warehouse service.
      */
     @Bean
-    protected WarehouseService warehouseService() {
-        return new WarehouseServiceImplementation(mProductRepository, mProductReservationRepository);
+    @Qualifier(CORE_WAREHOUSE_SERVICE)
+    @ConditionalOnProperty(name = WarehouseTransportBinding.PROPERTY_NAME,
+        havingValue = WarehouseTransportBinding.IN_PROCESS, matchIfMissing = true)
+    protected WarehouseService warehouseServiceImplementation(
+        final ObjectProvider<ReservationJournal> inReservationJournalProvider,
+        final ObjectProvider<EventBus<WarehouseEvent>> inWarehouseEventBusProvider,
+        final ObjectProvider<OutboxChangeListener> inOutboxChangeListenerProvider,
+        final ObjectProvider<StockBucketPolicy> inStockBucketPolicyProvider) {
+        final WarehouseServiceImplementation theWarehouseService =
+            new WarehouseServiceImplementation(
+            mProductRepository,
+            mProductReservationRepository,
+            mProductReservationTotalsRepository,
+            mProductStockBucketRepository);
+        inReservationJournalProvider.ifAvailable(inReservationJournal ->
+            theWarehouseService.addWarehouseChangeListener(new ReservationJournalChangeListener(inReservationJournal)));
+        inWarehouseEventBusProvider.ifAvailable(inWarehouseEventBus ->
+            theWarehouseService.addWarehouseChangeListener(
+                new WarehouseEventPublishingChangeListener(inWarehouseEventBus)));
+        inOutboxChangeListenerProvider.ifAvailable(theWarehouseService::addWarehouseChangeListener);
+        inStockBucketPolicyProvider.ifAvailable(theWarehouseService::setStockBucketPolicy);
+        return theWarehouseService;
+    }
+
+    /**
+     * Creates the policy selecting products which stock is split into stock buckets, allowing concurrent
+     * reservations of the same product, if stock buckets are enabled.
+     *
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Stock bucket policy.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".stock-buckets", name = "enabled",
+        havingValue = "true")
+    protected StockBucketPolicy stockBucketPolicy(final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.StockBuckets theStockBucketsProperties = inWarehouseProperties.getStockBuckets();
+        return new StockBucketPolicy(
+            theStockBucketsProperties.getBucketCount(),
+            theStockBucketsProperties.getProductNumbers(),
+            theStockBucketsProperties.getContendedLockWait(),
+            theStockBucketsProperties.getContendedReservationsBeforeSplit());
+    }
+
+    /**
+     * Creates the warehouse service that coalesces concurrent identical product lookups made to the core
+     * warehouse service, if lookup coalescing is enabled.
+     *
+     * @param inCoreWarehouseService Core warehouse service.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Coalescing warehouse service.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".coalescing", name = "enabled",
+        havingValue = "true", matchIfMissing = true)
+    protected CoalescingWarehouseService coalescingWarehouseService(
+        @Qualifier(CORE_WAREHOUSE_SERVICE) final WarehouseService inCoreWarehouseService,
+        final WarehouseProperties inWarehouseProperties) {
+        return new CoalescingWarehouseService(
+            inCoreWarehouseService, inWarehouseProperties.getCoalescing().getMaxWait());
+    }
+
+    /**
+     * Creates the reservation journal bean if the reservation journal is enabled.
+     *
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Reservation journal.
+     * @throws IOException If an error occurs opening the reservation journal.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".journal", name = "enabled", havingValue = "true")
+    protected ReservationJournal reservationJournal(final WarehouseProperties inWarehouseProperties)
+        throws IOException {
+        final WarehouseProperties.Journal theJournalProperties = inWarehouseProperties.getJournal();
+        return new ReservationJournal(
+            theJournalProperties.getDirectory(),
+            theJournalProperties.getSnapshotInterval(),
+            theJournalProperties.getMaxBatchSize(),
+            theJournalProperties.isForceWrites(),
+            theJournalProperties.isRetainCompactedSegments());
+    }
+
+    /**
+     * Creates the event bus on which committed changes of product stock and reservations are published,
+     * partitioned by product number, if warehouse events are enabled.
+     * Other modules subscribe to this bus in order to react to changes in the warehouse.
+     *
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Warehouse event bus.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".events", name = "enabled",
+        havingValue = "true", matchIfMissing = true)
+    protected EventBus<WarehouseEvent> warehouseEventBus(final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.Events theEventsProperties = inWarehouseProperties.getEvents();
+        return EventBuses.create(
+            new EventBusSettings(
+                "warehouse-events",
+                theEventsProperties.getPartitionCount(),
+                theEventsProperties.getPartitionCapacity()),
+            WarehouseEvent::new);
+    }
+
+    /**
+     * Creates the {@code StockThresholdService} bean used by other modules to be notified when the available
+     * amount of products crosses thresholds, if warehouse events are enabled.
+     * The notifier is subscribed to the warehouse event bus and retrieves available amounts from the core
+     * warehouse service, so that its reads are not counted as product accesses.
+     *
+     * @param inWarehouseEventBus Warehouse event bus.
+     * @param inCoreWarehouseService Core warehouse service.
+     * @param inTransactionManager Transaction manager of the transactions in which available amounts are read.
+     * @return Stock threshold notifier.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".events", name = "enabled",
+        havingValue = "true", matchIfMissing = true)
+    protected StockThresholdNotifier stockThresholdNotifier(
+        final EventBus<WarehouseEvent> inWarehouseEventBus,
+        @Qualifier(CORE_WAREHOUSE_SERVICE) final WarehouseService inCoreWarehouseService,
+        @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER)
+        final PlatformTransactionManager inTransactionManager) {
+        final StockThresholdNotifier theStockThresholdNotifier =
+            new StockThresholdNotifier(inCoreWarehouseService, inTransactionManager);
+        inWarehouseEventBus.subscribe(theStockThresholdNotifier);
+        return theStockThresholdNotifier;
+    }
+
+    /**
+     * Creates the warehouse change listener recording changes in the transactional outbox,
+     * if the transactional outbox is enabled.
+     *
+     * @return Outbox change listener.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".outbox", name = "enabled", havingValue = "true")
+    protected OutboxChangeListener outboxChangeListener() {
+        return new OutboxChangeListener(mOutboxEventRepository, Clock.systemUTC());
+    }
+
+    /**
+     * Creates the relay that relays messages from the transactional outbox to the outbox message sink,
+     * if the transactional outbox is enabled.
+     *
+     * @param inOutboxMessageSink Sink to which outbox messages are relayed.
+     * @param inTransactionManager Transaction manager of the persistence unit containing the warehouse.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Outbox relay.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".outbox", name = "enabled", havingValue = "true")
+    protected OutboxRelay outboxRelay(
+        final OutboxMessageSink inOutboxMessageSink,
+        @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER) final PlatformTransactionManager inTransactionManager,
+        final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.Outbox theOutboxProperties = inWarehouseProperties.getOutbox();
+        return new OutboxRelay(
+            mOutboxEventRepository,
+            inOutboxMessageSink,
+            inTransactionManager,
+            Clock.systemUTC(),
+            theOutboxProperties.getBatchSize(),
+            theOutboxProperties.getPollInterval());
+    }
+
+    /**
+     * Creates the {@code ProductCatalogService} bean used by other modules to browse the products in the warehouse.
+     *
+     * @return Product catalog service.
+     */
+    @Bean
+    protected ProductCatalogService productCatalogService() {
+        return new ProductCatalogServiceImplementation(mProductRepository);
+    }
+
+    /**
+     * Creates the {@code InventorySnapshotService} bean used to export snapshots of the products and
+     * product reservations in the warehouse.
+     *
+     * @param inDataSource Datasource containing the warehouse.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Inventory snapshot service.
+     */
+    @Bean
+    protected InventorySnapshotService inventorySnapshotService(
+        @Qualifier(WarehousePersistenceUnit.DATA_SOURCE) final DataSource inDataSource,
+        final WarehouseProperties inWarehouseProperties) {
+        return new InventorySnapshotExporter(inDataSource, inWarehouseProperties.getExport().getRowGroupSize());
+    }
+
+    /**
+     * Creates the {@code WarehouseStatisticsService} bean.
+     *
+     * @param inEntityManagerFactory Entity manager factory of the persistence unit containing the warehouse.
+     * @param inCoalescingWarehouseServiceProvider Provides coalescing warehouse service, if enabled.
+     * @param inOutboxRelayProvider Provides outbox relay, if the transactional outbox is enabled.
+     * @param inReservationLimiterProvider Provides reservation concurrency limiter, if admission control is enabled.
+     * @return Warehouse statistics service.
+     */
+    @Bean
+    protected WarehouseStatisticsService warehouseStatisticsService(
+        @Qualifier(WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY) final EntityManagerFactory inEntityManagerFactory,
+        final ObjectProvider<CoalescingWarehouseService> inCoalescingWarehouseServiceProvider,
+        final ObjectProvider<OutboxRelay> inOutboxRelayProvider,
+        @Qualifier(RESERVATION_LIMITER) final ObjectProvider<ConcurrencyLimiter> inReservationLimiterProvider) {
+        final WarehouseStatisticsServiceImplementation theWarehouseStatisticsService =
+            new WarehouseStatisticsServiceImplementation(inEntityManagerFactory);
+        inCoalescingWarehouseServiceProvider.ifAvailable(theWarehouseStatisticsService::setCoalescingWarehouseService);
+        inOutboxRelayProvider.ifAvailable(theWarehouseStatisticsService::setOutboxRelay);
+        inReservationLimiterProvider.ifAvailable(theWarehouseStatisticsService::setReservationLimiter);
+        return theWarehouseStatisticsService;
     }
 }
@@ -0,0 +1,273 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.domain.EntityScanPackages;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ReadWriteRoutingDataSource;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ReplicaReadJpaDialect;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ReplicaStalenessPolicy;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.util.Map;
+
+/**
+ * Configuration that creates a persistence unit of its own for the warehouse, using a datasource routing
+ * read-only transactions to a replica datasource and all other database access to a primary datasource.
+ * Only active if routing is enabled, otherwise the warehouse entities are part of the persistence unit
+ * of the application, see {@link WarehousePersistenceUnitAliasConfiguration}.
+ * Since Spring Boot does not auto-configure a datasource, entity manager factory or transaction manager
+ * when there already are such beans, this configuration also creates those of the application, configured
+ * like Spring Boot configures them except that the warehouse entities are not part of the persistence unit
+ * of the application and that the persistence unit of the application does not use the second-level cache,
+ * which is used by the warehouse entities only.
+ *
+ * @author Ivan Krizsan
+ */
+@Configuration
+@ConditionalOnProperty(
+    prefix = WarehouseDataSourceConfiguration.ROUTING_PROPERTIES_PREFIX, name = "enabled", havingValue = "true")
+public class WarehouseDataSourceConfiguration {
+    /* Constant(s): */
+    /** Prefix of the datasource properties. */
+    public static final String DATASOURCE_PROPERTIES_PREFIX = WarehouseProperties.PREFIX + ".datasource";
+    /** Prefix of the read/write routing properties. */
+    public static final String ROUTING_PROPERTIES_PREFIX = DATASOURCE_PROPERTIES_PREFIX + ".routing";
+    /** Name of the persistence unit of the warehouse. */
+    public static final String WAREHOUSE_PERSISTENCE_UNIT_NAME = "warehouse";
+
+    /**
+     * Creates the datasource of the application, which is used by all persistence units except that
+     * of the warehouse.
+     *
+     * @param inDataSourceProperties Datasource properties of the application.
+     * @return Application datasource.
+     */
+    @Bean
+    @Primary
+    @ConfigurationProperties("spring.datasource.hikari")
+    protected HikariDataSource dataSource(final DataSourceProperties inDataSourceProperties) {
+        return inDataSourceProperties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+    }
+
+    /**
+     * Creates the entity manager factory of the persistence unit of the application, which contains
+     * the entities of all modules except the warehouse.
+     *
+     * @param inEntityManagerFactoryBuilder Builder of entity manager factories.
+     * @param inDataSource Application datasource.
+     * @param inJpaProperties JPA properties.
+     * @param inHibernateProperties Hibernate properties.
+     * @param inBeanFactory Bean factory holding the packages scanned for entities.
+     * @return Application entity manager factory.
+     */
+    @Bean
+    @Primary
+    protected LocalContainerEntityManagerFactoryBean entityManagerFactory(
+        final EntityManagerFactoryBuilder inEntityManagerFactoryBuilder,
+        final DataSource inDataSource,
+        final JpaProperties inJpaProperties,
+        final HibernateProperties inHibernateProperties,
+        final BeanFactory inBeanFactory) {
+        final String[] theEntityPackages = EntityScanPackages
+            .get(inBeanFactory)
+            .getPackageNames()
+            .stream()
+            .filter(inPackageName -> !inPackageName.equals(Product.class.getPackageName()))
+            .toArray(String[]::new);
+        final Map<String, Object> theHibernateProperties =
+            determineHibernateProperties(inDataSource, inJpaProperties, inHibernateProperties);
+        theHibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+
+        return inEntityManagerFactoryBuilder
+            .dataSource(inDataSource)
+            .packages(theEntityPackages)
+            .properties(theHibernateProperties)
+            .build();
+    }
+
+    /**
+     * Creates the transaction manager of the persistence unit of the application.
+     *
+     * @param inEntityManagerFactory Application entity manager factory.
+     * @param inTransactionManagerCustomizers Provides transaction manager customizers, if any.
+     * @return Application transaction manager.
+     */
+    @Bean
+    @Primary
+    protected JpaTransactionManager transactionManager(
+        final EntityManagerFactory inEntityManagerFactory,
+        final ObjectProvider<TransactionManagerCustomizers> inTransactionManagerCustomizers) {
+        final JpaTransactionManager theTransactionManager = new JpaTransactionManager(inEntityManagerFactory);
+        inTransactionManagerCustomizers.ifAvailable(inCustomizers -> inCustomizers.customize(theTransactionManager));
+        return theTransactionManager;
+    }
+
+    /**
+     * Creates the connection properties of the primary datasource.
+     * Not an autowire candidate, so that the datasource properties of the application remain the only
+     * datasource properties injected by type.
+     *
+     * @return Primary datasource properties.
+     */
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties(DATASOURCE_PROPERTIES_PREFIX + ".primary")
+    protected DataSourceProperties warehousePrimaryDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Creates the connection properties of the replica datasource.
+     * Not an autowire candidate, so that the datasource properties of the application remain the only
+     * datasource properties injected by type.
+     *
+     * @return Replica datasource properties.
+     */
+    @Bean(autowireCandidate = false)
+    @ConfigurationProperties(DATASOURCE_PROPERTIES_PREFIX + ".replica")
+    protected DataSourceProperties warehouseReplicaDataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    /**
+     * Creates the primary datasource to which writes are routed.
+     *
+     * @return Primary datasource.
+     */
+    @Bean
+    protected HikariDataSource warehousePrimaryDataSource() {
+        return warehousePrimaryDataSourceProperties()
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+    }
+
+    /**
+     * Creates the replica datasource to which read-only transactions are routed.
+     *
+     * @return Replica datasource.
+     */
+    @Bean
+    protected HikariDataSource warehouseReplicaDataSource() {
+        final HikariDataSource theReplicaDataSource = warehouseReplicaDataSourceProperties()
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        theReplicaDataSource.setReadOnly(true);
+        return theReplicaDataSource;
+    }
+
+    /**
+     * Creates the datasource of the warehouse persistence unit, routing between the primary and replica datasources.
+     * The routing datasource is wrapped in a lazy connection proxy, delaying the choice of datasource
+     * until the first statement of a transaction, when the read-only flag of the transaction is known.
+     *
+     * @param inPrimaryDataSource Primary datasource.
+     * @param inReplicaDataSource Replica datasource.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Routing datasource.
+     */
+    @Bean(WarehousePersistenceUnit.DATA_SOURCE)
+    protected DataSource warehouseDataSource(
+        @Qualifier("warehousePrimaryDataSource") final DataSource inPrimaryDataSource,
+        @Qualifier("warehouseReplicaDataSource") final DataSource inReplicaDataSource,
+        final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.Routing theRoutingProperties = inWarehouseProperties.getDatasource().getRouting();
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+            inPrimaryDataSource,
+            inReplicaDataSource,
+            theRoutingProperties.getStalenessPolicy(),
+            theRoutingProperties.getReadYourWritesWindow(),
+            Clock.systemUTC()));
+    }
+
+    /**
+     * Creates the entity manager factory of the warehouse persistence unit, which contains the warehouse entities.
+     * Unless the staleness policy directs all transactions to the primary datasource, read-only transactions
+     * do not put entities read from the replica datasource into the second-level and natural-id caches.
+     *
+     * @param inEntityManagerFactoryBuilder Builder of entity manager factories.
+     * @param inDataSource Warehouse datasource.
+     * @param inJpaProperties JPA properties.
+     * @param inHibernateProperties Hibernate properties.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Warehouse entity manager factory.
+     */
+    @Bean(WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY)
+    protected LocalContainerEntityManagerFactoryBean warehouseEntityManagerFactory(
+        final EntityManagerFactoryBuilder inEntityManagerFactoryBuilder,
+        @Qualifier(WarehousePersistenceUnit.DATA_SOURCE) final DataSource inDataSource,
+        final JpaProperties inJpaProperties,
+        final HibernateProperties inHibernateProperties,
+        final WarehouseProperties inWarehouseProperties) {
+        final LocalContainerEntityManagerFactoryBean theEntityManagerFactory = inEntityManagerFactoryBuilder
+            .dataSource(inDataSource)
+            .packages(Product.class)
+            .persistenceUnit(WAREHOUSE_PERSISTENCE_UNIT_NAME)
+            .properties(determineHibernateProperties(inDataSource, inJpaProperties, inHibernateProperties))
+            .build();
+        if (inWarehouseProperties.getDatasource().getRouting().getStalenessPolicy()
+            != ReplicaStalenessPolicy.PRIMARY_ONLY) {
+            theEntityManagerFactory.setJpaDialect(new ReplicaReadJpaDialect());
+        }
+        return theEntityManagerFactory;
+    }
+
+    /**
+     * Creates the transaction manager of the warehouse persistence unit.
+     *
+     * @param inEntityManagerFactory Warehouse entity manager factory.
+     * @param inTransactionManagerCustomizers Provides transaction manager customizers, if any.
+     * @return Warehouse transaction manager.
+     */
+    @Bean(WarehousePersistenceUnit.TRANSACTION_MANAGER)
+    protected JpaTransactionManager warehouseTransactionManager(
+        @Qualifier(WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY) final EntityManagerFactory inEntityManagerFactory,
+        final ObjectProvider<TransactionManagerCustomizers> inTransactionManagerCustomizers) {
+        final JpaTransactionManager theTransactionManager = new JpaTransactionManager(inEntityManagerFactory);
+        inTransactionManagerCustomizers.ifAvailable(inCustomizers -> inCustomizers.customize(theTransactionManager));
+        return theTransactionManager;
+    }
+
+    /**
+     * Determines the Hibernate properties of a persistence unit using the supplied datasource, in the same
+     * way as Spring Boot determines the properties of the persistence unit it auto-configures.
+     *
+     * @param inDataSource Datasource of the persistence unit.
+     * @param inJpaProperties JPA properties.
+     * @param inHibernateProperties Hibernate properties.
+     * @return Hibernate properties.
+     */
+    protected static Map<String, Object> determineHibernateProperties(final DataSource inDataSource,
+                                                                      final JpaProperties inJpaProperties,
+                                                                      final HibernateProperties inHibernateProperties) {
+        return inHibernateProperties.determineHibernateProperties(
+            inJpaProperties.getProperties(),
+            new HibernateSettings().ddlAuto(
+                () -> EmbeddedDatabaseConnection.isEmbedded(inDataSource) ? "create-drop" : "none"));
+    }
+}
@@ -0,0 +1,45 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+/**
+ * Configuration that makes the warehouse entities part of the persistence unit of the application,
+ * by making the names of the beans of the warehouse persistence unit aliases of the auto-configured
+ * datasource, entity manager factory and transaction manager.
+ * Only active if read/write routing is disabled, otherwise the warehouse has a persistence unit of its own
+ * which is created by {@link WarehouseDataSourceConfiguration}.
+ *
+ * @author Ivan Krizsan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = WarehouseDataSourceConfiguration.ROUTING_PROPERTIES_PREFIX, name = "enabled",
+    havingValue = "false", matchIfMissing = true)
+public class WarehousePersistenceUnitAliasConfiguration {
+    /* Constant(s): */
+    /** Name of the auto-configured datasource. */
+    public static final String APPLICATION_DATA_SOURCE = "dataSource";
+    /** Name of the auto-configured entity manager factory. */
+    public static final String APPLICATION_ENTITY_MANAGER_FACTORY = "entityManagerFactory";
+    /** Name of the auto-configured transaction manager. */
+    public static final String APPLICATION_TRANSACTION_MANAGER = "transactionManager";
+
+    /**
+     * Creates the post-processor registering the names of the beans of the warehouse persistence unit
+     * as aliases of the auto-configured beans of the persistence unit of the application.
+     *
+     * @return Bean factory post-processor.
+     */
+    @Bean
+    protected static BeanFactoryPostProcessor warehousePersistenceUnitAliases() {
+        return inBeanFactory -> {
+            inBeanFactory.registerAlias(APPLICATION_DATA_SOURCE, WarehousePersistenceUnit.DATA_SOURCE);
+            inBeanFactory.registerAlias(
+                APPLICATION_ENTITY_MANAGER_FACTORY, WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY);
+            inBeanFactory.registerAlias(APPLICATION_TRANSACTION_MANAGER, WarehousePersistenceUnit.TRANSACTION_MANAGER);
+        };
+    }
+}
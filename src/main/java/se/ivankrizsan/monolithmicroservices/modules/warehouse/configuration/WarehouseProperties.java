@@ -0,0 +1,296 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ReplicaStalenessPolicy;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties of the warehouse module.
+ *
+ * @author Ivan Krizsan
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = WarehouseProperties.PREFIX)
+public class WarehouseProperties {
+    /* Constant(s): */
+    /** Prefix of warehouse configuration properties. */
+    public static final String PREFIX = "warehouse";
+
+    /* Instance variable(s): */
+    /** Reservation journal properties. */
+    protected Journal journal = new Journal();
+    /** Datasource properties. */
+    protected Datasource datasource = new Datasource();
+    /** Transport properties. */
+    protected Transport transport = new Transport();
+    /** Lookup coalescing properties. */
+    protected Coalescing coalescing = new Coalescing();
+    /** Event bus properties. */
+    protected Events events = new Events();
+    /** Transactional outbox properties. */
+    protected Outbox outbox = new Outbox();
+    /** Startup warm-up properties. */
+    protected WarmUp warmUp = new WarmUp();
+    /** Reservation admission control properties. */
+    protected AdmissionControl admissionControl = new AdmissionControl();
+    /** Hot product detection properties. */
+    protected HotProducts hotProducts = new HotProducts();
+    /** Stock bucket properties. */
+    protected StockBuckets stockBuckets = new StockBuckets();
+    /** Inventory snapshot export properties. */
+    protected Export export = new Export();
+
+    /**
+     * Configuration properties of the reservation journal.
+     */
+    @Getter
+    @Setter
+    public static class Journal {
+        /** Whether changes to the reservation state of products are recorded in the reservation journal. */
+        protected boolean enabled = false;
+        /** Directory containing the reservation journal segments and snapshot. */
+        protected Path directory = Path.of("data", "reservation-journal");
+        /** Number of journal entries after which a snapshot of the product amounts is written. */
+        protected int snapshotInterval = 10000;
+        /** Maximum number of journal entries written in one group commit. */
+        protected int maxBatchSize = 1024;
+        /** Whether journal entries are forced to the storage device before being acknowledged. */
+        protected boolean forceWrites = true;
+        /** Whether journal segments included in a snapshot are retained as audit trail. */
+        protected boolean retainCompactedSegments = true;
+    }
+
+    /**
+     * Configuration properties of the datasources used by the warehouse.
+     * The connection properties of the primary and replica datasources are configured using
+     * the standard datasource properties under the {@code primary} and {@code replica} prefixes.
+     */
+    @Getter
+    @Setter
+    public static class Datasource {
+        /** Read/write routing properties. */
+        protected Routing routing = new Routing();
+    }
+
+    /**
+     * Configuration properties of the routing of read-only transactions to a replica datasource.
+     */
+    @Getter
+    @Setter
+    public static class Routing {
+        /** Whether read-only transactions are routed to the replica datasource. */
+        protected boolean enabled = false;
+        /** Policy determining to what extent read-only transactions may read stale data from the replica. */
+        protected ReplicaStalenessPolicy stalenessPolicy = ReplicaStalenessPolicy.READ_YOUR_WRITES;
+        /**
+         * Period after a committed write during which the writing thread reads from the primary datasource.
+         * Other threads, even if serving the same caller, may read from the replica during this period.
+         */
+        protected Duration readYourWritesWindow = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Configuration properties of the transport through which the warehouse service is accessed.
+     */
+    @Getter
+    @Setter
+    public static class Transport {
+        /**
+         * Binding through which the warehouse service is accessed, {@code in-process} or {@code remote}.
+         * With the remote binding, the warehouse service is a client of a remote warehouse service.
+         */
+        protected String binding = WarehouseTransportBinding.IN_PROCESS;
+        /** Remote client properties, used with the remote binding. */
+        protected Client client = new Client();
+        /** Remote server properties. */
+        protected Server server = new Server();
+    }
+
+    /**
+     * Configuration properties of the client of a remote warehouse service.
+     */
+    @Getter
+    @Setter
+    public static class Client {
+        /** Host name or address of the remote warehouse. */
+        protected String host = "localhost";
+        /** Port of the remote warehouse. */
+        protected int port = 7070;
+        /** Number of persistent connections to the remote warehouse. */
+        protected int connectionCount = 2;
+        /** Maximum number of requests written to a connection together. */
+        protected int maxBatchSize = 256;
+        /** Maximum time to wait for the response to a request. */
+        protected Duration requestTimeout = Duration.ofSeconds(5);
+        /** Maximum time to wait for a connection to the remote warehouse to be established. */
+        protected Duration connectTimeout = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Configuration properties of the server exposing the warehouse service to remote clients.
+     */
+    @Getter
+    @Setter
+    public static class Server {
+        /** Whether the warehouse service is exposed to remote clients. */
+        protected boolean enabled = false;
+        /** Host name or address of the interface on which to accept connections. */
+        protected String bindAddress = "localhost";
+        /** Port on which to accept connections. */
+        protected int port = 7070;
+        /** Number of threads handling requests. */
+        protected int workerThreadCount = 8;
+        /** Maximum number of responses written to a connection together. */
+        protected int maxBatchSize = 256;
+    }
+
+    /**
+     * Configuration properties of the coalescing of concurrent identical product lookups.
+     */
+    @Getter
+    @Setter
+    public static class Coalescing {
+        /** Whether concurrent identical product lookups share one invocation of the warehouse service. */
+        protected boolean enabled = true;
+        /** Maximum time a lookup waits for the result of an identical lookup in progress. */
+        protected Duration maxWait = Duration.ofMillis(500);
+    }
+
+    /**
+     * Configuration properties of the event bus on which warehouse events are published.
+     */
+    @Getter
+    @Setter
+    public static class Events {
+        /** Whether committed changes of product stock and reservations are published as warehouse events. */
+        protected boolean enabled = true;
+        /** Number of partitions, each delivering the events of its products on a thread of its own. */
+        protected int partitionCount = 4;
+        /** Number of preallocated events in each partition. Must be a power of two. */
+        protected int partitionCapacity = 4096;
+    }
+
+    /**
+     * Configuration properties of the transactional outbox and the relay of outbox messages.
+     */
+    @Getter
+    @Setter
+    public static class Outbox {
+        /**
+         * Whether committed changes of product stock and reservations are recorded in the transactional outbox
+         * and relayed to the outbox message sink, which must be supplied as a bean.
+         */
+        protected boolean enabled = false;
+        /** Maximum number of outbox messages relayed in one batch. */
+        protected int batchSize = 500;
+        /** Time to wait before polling the outbox again after having found fewer messages than the batch size. */
+        protected Duration pollInterval = Duration.ofMillis(200);
+    }
+
+    /**
+     * Configuration properties of the warm-up of the warehouse performed when the application has started.
+     */
+    @Getter
+    @Setter
+    public static class WarmUp {
+        /** Whether the warehouse is warmed up before the application signals that it is ready to accept traffic. */
+        protected boolean enabled = false;
+        /** Number of products with the highest demand that are loaded and used to exercise the warehouse service. */
+        protected int hotProductCount = 50;
+        /** Number of times the lookups and reservations of each hot product are exercised. */
+        protected int iterations = 20;
+        /** Maximum duration of the warm-up, after which the warm-up ends even if not all iterations are done. */
+        protected Duration maxDuration = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Configuration properties of the adaptive admission control of product reservations.
+     */
+    @Getter
+    @Setter
+    public static class AdmissionControl {
+        /**
+         * Whether product reservations are admitted by an adaptive concurrency limiter, rejecting reservations
+         * exceeding the limit instead of letting them wait for database locks.
+         */
+        protected boolean enabled = false;
+        /** Limit of the number of concurrent reservations when the application starts. */
+        protected int initialLimit = 20;
+        /** Lower bound of the limit of the number of concurrent reservations. */
+        protected int minLimit = 2;
+        /** Upper bound of the limit of the number of concurrent reservations. */
+        protected int maxLimit = 200;
+        /** Latency of a reservation above which the limit is reduced, typically the reservation latency SLO. */
+        protected Duration latencyTarget = Duration.ofMillis(50);
+        /** Factor with which the limit is multiplied when reduced. */
+        protected double backoffRatio = 0.9;
+    }
+
+    /**
+     * Configuration properties of the detection of the products dominating product lookups and reservations.
+     */
+    @Getter
+    @Setter
+    public static class HotProducts {
+        /** Whether product lookups and reservations are recorded in order to detect hot products. */
+        protected boolean enabled = true;
+        /** Maximum number of hot products. */
+        protected int hotProductCount = 50;
+        /**
+         * Number of counters in each of the four rows of the sketch in which product accesses are counted.
+         * A larger width reduces the overestimation of access counts at the cost of memory.
+         */
+        protected int sketchWidth = 4096;
+        /** Number of product accesses after which all access counts are halved, letting old accesses fade. */
+        protected long sampleSize = 100_000;
+    }
+
+    /**
+     * Configuration properties of the splitting of the stock of products into stock buckets.
+     */
+    @Getter
+    @Setter
+    public static class StockBuckets {
+        /**
+         * Whether the stock of the configured products, and of products which reservations are contended,
+         * is split into buckets so that reservations of one product do not all wait for the same lock.
+         */
+        protected boolean enabled = false;
+        /** Number of buckets the stock of a product is split into. */
+        protected int bucketCount = 8;
+        /** Product numbers of products, such as products on flash sale, which stock is split when reserved. */
+        protected List<String> productNumbers = new ArrayList<>();
+        /** Minimum time a reservation waits for the lock of a product for the reservation to be contended. */
+        protected Duration contendedLockWait = Duration.ofMillis(5);
+        /**
+         * Number of contended reservations of a product after which the stock of the product is split.
+         * Zero disables splitting the stock of products based on contention.
+         */
+        protected int contendedReservationsBeforeSplit = 50;
+        /**
+         * Maximum number of attempts of reservations, removals of reservations and stock increases that fail
+         * to acquire the lock of a stock bucket, including the first attempt.
+         */
+        protected int deadlockAttempts = 5;
+    }
+
+    /**
+     * Configuration properties of the export of inventory snapshots.
+     */
+    @Getter
+    @Setter
+    public static class Export {
+        /**
+         * Maximum number of rows in a row group of an inventory snapshot, which bounds the memory used when
+         * exporting. Also used as the number of rows fetched from the database at a time.
+         */
+        protected int rowGroupSize = 4096;
+    }
+}
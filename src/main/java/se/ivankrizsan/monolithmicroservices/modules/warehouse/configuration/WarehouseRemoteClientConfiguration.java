@@ -0,0 +1,52 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClient;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClientSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.Remoting;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.remote.WarehouseServiceRemoteClient;
+
+/**
+ * Configuration that creates a core {@code WarehouseService} bean that is a client of a remote warehouse service.
+ * Only active with the remote warehouse transport binding.
+ *
+ * @author Ivan Krizsan
+ */
+@Configuration
+@ConditionalOnProperty(name = WarehouseTransportBinding.PROPERTY_NAME, havingValue = WarehouseTransportBinding.REMOTE)
+public class WarehouseRemoteClientConfiguration {
+
+    /**
+     * Creates the client used to access the remote warehouse service.
+     *
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Remote client.
+     */
+    @Bean(destroyMethod = "close")
+    protected RemoteClient warehouseRemoteClient(final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.Client theClientProperties = inWarehouseProperties.getTransport().getClient();
+        return Remoting.createClient(new RemoteClientSettings(
+            theClientProperties.getHost(),
+            theClientProperties.getPort(),
+            theClientProperties.getConnectionCount(),
+            theClientProperties.getMaxBatchSize(),
+            theClientProperties.getRequestTimeout(),
+            theClientProperties.getConnectTimeout()));
+    }
+
+    /**
+     * Creates the core {@code WarehouseService} bean invoking the remote warehouse service.
+     *
+     * @param inWarehouseRemoteClient Client used to access the remote warehouse service.
+     * @return Warehouse service.
+     */
+    @Bean
+    @Qualifier(WarehouseConfiguration.CORE_WAREHOUSE_SERVICE)
+    protected WarehouseService warehouseServiceRemoteClient(final RemoteClient inWarehouseRemoteClient) {
+        return new WarehouseServiceRemoteClient(inWarehouseRemoteClient);
+    }
+}
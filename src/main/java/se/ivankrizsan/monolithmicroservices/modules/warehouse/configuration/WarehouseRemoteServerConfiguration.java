@@ -0,0 +1,44 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServer;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServerSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.Remoting;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.remote.WarehouseServiceRequestHandler;
+
+import java.io.IOException;
+
+/**
+ * Configuration that exposes the warehouse service to remote clients.
+ * Only active if the warehouse remote server is enabled.
+ *
+ * @author Ivan Krizsan
+ */
+@Configuration
+@ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".transport.server", name = "enabled", havingValue = "true")
+public class WarehouseRemoteServerConfiguration {
+
+    /**
+     * Creates and starts the server exposing the supplied warehouse service to remote clients.
+     *
+     * @param inWarehouseService Warehouse service to expose.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Remote server.
+     * @throws IOException If an error occurs starting the server.
+     */
+    @Bean(destroyMethod = "close")
+    protected RemoteServer warehouseRemoteServer(final WarehouseService inWarehouseService,
+                                                 final WarehouseProperties inWarehouseProperties) throws IOException {
+        final WarehouseProperties.Server theServerProperties = inWarehouseProperties.getTransport().getServer();
+        return Remoting.startServer(
+            new RemoteServerSettings(
+                theServerProperties.getBindAddress(),
+                theServerProperties.getPort(),
+                theServerProperties.getWorkerThreadCount(),
+                theServerProperties.getMaxBatchSize()),
+            new WarehouseServiceRequestHandler(inWarehouseService));
+    }
+}
@@ -0,0 +1,54 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.OutboxEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservation;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservationTotals;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductStockBucket;
+
+/**
+ * Registers the reachability metadata needed by the warehouse module in a native image.
+ * Hibernate accesses the fields and constructors of the warehouse entities reflectively and the
+ * accessors generated by Lombok are invoked reflectively when entities are, for instance, logged.
+ * Results of queries using constructor expressions are created by Hibernate invoking their constructors reflectively.
+ * The cache configuration is loaded as a resource.
+ *
+ * @author Ivan Krizsan
+ */
+public class WarehouseRuntimeHints implements RuntimeHintsRegistrar {
+    /* Constant(s): */
+    /** Entities of the warehouse module. */
+    protected static final Class<?>[] WAREHOUSE_ENTITIES = {
+        Product.class,
+        ProductReservation.class,
+        ProductReservationTotals.class,
+        ProductStockBucket.class,
+        OutboxEvent.class
+    };
+    /** Types created by constructor expressions of warehouse queries. */
+    protected static final Class<?>[] QUERY_RESULT_TYPES = {
+        ProductReservationSummary.class,
+        ProductCatalogEntry.class
+    };
+    /** Name of the cache configuration resource. */
+    protected static final String CACHE_CONFIGURATION_RESOURCE = "ehcache.xml";
+
+    @Override
+    public void registerHints(final RuntimeHints inRuntimeHints, final ClassLoader inClassLoader) {
+        for (Class<?> theEntityClass : WAREHOUSE_ENTITIES) {
+            inRuntimeHints.reflection().registerType(theEntityClass,
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        for (Class<?> theQueryResultType : QUERY_RESULT_TYPES) {
+            inRuntimeHints.reflection().registerType(theQueryResultType, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        inRuntimeHints.resources().registerPattern(CACHE_CONFIGURATION_RESOURCE);
+    }
+}
@@ -0,0 +1,19 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+/**
+ * Names of the bindings through which the warehouse service can be accessed.
+ *
+ * @author Ivan Krizsan
+ */
+public final class WarehouseTransportBinding {
+    /* Constant(s): */
+    /** Name of property selecting the binding. */
+    public static final String PROPERTY_NAME = WarehouseProperties.PREFIX + ".transport.binding";
+    /** The warehouse service is implemented in the same process. */
+    public static final String IN_PROCESS = "in-process";
+    /** The warehouse service is a client of a warehouse service in another process. */
+    public static final String REMOTE = "remote";
+
+    private WarehouseTransportBinding() {
+    }
+}
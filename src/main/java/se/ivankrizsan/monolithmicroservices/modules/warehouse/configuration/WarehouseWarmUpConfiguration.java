@@ -0,0 +1,54 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.warmup.WarehouseWarmUp;
+
+/**
+ * Configuration that warms up the warehouse when the application has started.
+ * Only active with the in-process warehouse transport binding, since the warm-up relies on
+ * rolling back the reservations it makes.
+ *
+ * @author Ivan Krizsan
+ */
+@Configuration
+@ConditionalOnProperty(name = WarehouseTransportBinding.PROPERTY_NAME,
+    havingValue = WarehouseTransportBinding.IN_PROCESS, matchIfMissing = true)
+public class WarehouseWarmUpConfiguration {
+
+    /**
+     * Creates the warehouse warm-up if enabled.
+     *
+     * @param inWarehouseService Warehouse service to warm up.
+     * @param inProductReservationTotalsRepository Repository used to find the products with the highest demand.
+     * @param inTransactionManager Transaction manager of the persistence unit containing the warehouse.
+     * @param inApplicationEventPublisher Publisher of readiness state changes.
+     * @param inWarehouseProperties Warehouse configuration properties.
+     * @return Warehouse warm-up.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = WarehouseProperties.PREFIX + ".warm-up", name = "enabled", havingValue = "true")
+    protected WarehouseWarmUp warehouseWarmUp(
+        final WarehouseService inWarehouseService,
+        final ProductReservationTotalsRepository inProductReservationTotalsRepository,
+        @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER) final PlatformTransactionManager inTransactionManager,
+        final ApplicationEventPublisher inApplicationEventPublisher,
+        final WarehouseProperties inWarehouseProperties) {
+        final WarehouseProperties.WarmUp theWarmUpProperties = inWarehouseProperties.getWarmUp();
+        return new WarehouseWarmUp(
+            inWarehouseService,
+            inProductReservationTotalsRepository,
+            inTransactionManager,
+            inApplicationEventPublisher,
+            theWarmUpProperties.getHotProductCount(),
+            theWarmUpProperties.getIterations(),
+            theWarmUpProperties.getMaxDuration());
+    }
+}
@@ -0,0 +1,67 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEventType;
+
+import java.time.Instant;
+
+/**
+ * Entity representing a change of the warehouse recorded in the transactional outbox in the same
+ * transaction as the change, waiting to be relayed to other modules or services.
+ * Outbox events are relayed in the order of their ids.
+ *
+ * @author Ivan Krizsan
+ */
+@Entity
+@Table(name = "warehouse_outbox_event")
+@Getter
+@ToString
+@NoArgsConstructor
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    protected WarehouseEventType eventType;
+    @Column(name = "product_number", nullable = false)
+    protected String productNumber;
+    @Column(name = "amount", nullable = false)
+    protected double amount;
+    @Column(name = "reservation_id")
+    protected Long reservationId;
+    @Column(name = "created_at", nullable = false)
+    protected Instant createdAt;
+
+    /**
+     * Creates an outbox event with the supplied information.
+     *
+     * @param inEventType Type of change.
+     * @param inProductNumber Product number of product which stock or reservations changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     * @param inCreatedAt Time at which the change was made.
+     */
+    public OutboxEvent(final WarehouseEventType inEventType,
+                       final String inProductNumber,
+                       final double inAmount,
+                       final Long inReservationId,
+                       final Instant inCreatedAt) {
+        eventType = inEventType;
+        productNumber = inProductNumber;
+        amount = inAmount;
+        reservationId = inReservationId;
+        createdAt = inCreatedAt;
+    }
+}
@@ -3,25 +3,51 @@ package se.ivankrizsan.monolithmicroservices.modules.warehouse.domain;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.Accessors;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.util.Objects;
 
 /**
  * Entity representing a product in a warehouse.
+ * Products are cached in the second-level cache and can be looked up by their product number,
+ * which is the natural id of the product, using the natural-id cache.
+ * The stock of a product may be split into a number of {@link ProductStockBucket}s, after which the available
+ * amount of the product and the reserved amount of reservations made after the split are held by the buckets.
+ * The indexes on name and unit price, each followed by product number, allow the product catalog to be
+ * browsed in name or unit price order using keyset pagination. Descending unit price order has an index of
+ * its own, since not all databases are able to read an index in reverse order.
  *
  * @author Ivan Krizsan
  */
 @Entity
+@Table(indexes = {
+    @Index(name = "product_name_idx", columnList = "name, product_number"),
+    @Index(name = "product_unit_price_idx", columnList = "unit_price, product_number"),
+    @Index(name = "product_unit_price_desc_idx", columnList = "unit_price desc, product_number desc")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
+@NaturalIdCache(region = Product.NATURAL_ID_CACHE_REGION)
 @Getter
 @Setter
 @ToString
 @NoArgsConstructor
 @Accessors(fluent = true)
 public class Product {
+    /* Constant(s): */
+    /** Name of second-level cache region containing products. */
+    public static final String CACHE_REGION = "warehouse.product";
+    /** Name of cache region mapping product numbers to product ids. */
+    public static final String NATURAL_ID_CACHE_REGION = "warehouse.product-natural-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.AUTO)
     @Column(name = "id", nullable = false)
     private Long id;
+    @NaturalId
     @Column(name = "product_number", nullable = false, unique = true)
     @NonNull
     protected String productNumber;
@@ -34,6 +60,9 @@ public class Product {
     protected double reservedAmount;
     @Column(name = "unit_price")
     protected double unitPrice;
+    /** Number of buckets the stock of the product has been split into, zero if the stock has not been split. */
+    @Column(name = "stock_bucket_count", nullable = false)
+    protected int stockBucketCount;
 
     /**
      * Creates a product having the supplied product number and the supplied name with zero
@@ -31,6 +31,9 @@ public class ProductReservation {
     protected String productNumber;
     @Column(name = "reserved_amount", nullable = false)
     protected Double reservedAmount;
+    /** Index of the stock bucket the amount was reserved from, null if reserved from the product itself. */
+    @Column(name = "stock_bucket")
+    protected Integer stockBucket;
 
     /**
      * Creates a product reservation for the product with the supplied product number and the supplied amount.
@@ -43,6 +46,21 @@ public class ProductReservation {
         reservedAmount = inReservedAmount;
     }
 
+    /**
+     * Creates a product reservation for the product with the supplied product number and the supplied amount
+     * reserved from the stock bucket with the supplied index.
+     *
+     * @param inProductNumber Product number which to create product reservation for.
+     * @param inReservedAmount Amount of product reserved.
+     * @param inStockBucket Index of stock bucket the amount was reserved from.
+     */
+    public ProductReservation(final String inProductNumber, final Double inReservedAmount,
+                              final Integer inStockBucket) {
+        productNumber = inProductNumber;
+        reservedAmount = inReservedAmount;
+        stockBucket = inStockBucket;
+    }
+
     @Override
     public boolean equals(final Object inOtherObject) {
         if (this == inOtherObject) return true;
@@ -0,0 +1,99 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+import org.springframework.data.domain.Persistable;
+
+import java.util.Objects;
+
+/**
+ * Entity containing the totals of the outstanding and consumed reservations of one product in the warehouse.
+ * The totals are maintained in the same transaction as the product reservations are created and removed,
+ * using atomic increments in the database, allowing the totals to be read without reading the
+ * individual product reservations.
+ * Since the id is assigned by the application, the entity tracks whether it has been persisted, so that
+ * saving new totals inserts them without first selecting them from the database.
+ *
+ * @author Ivan Krizsan
+ */
+@Entity
+@Table(name = "product_reservation_totals")
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class ProductReservationTotals implements Persistable<String> {
+    @Id
+    @Column(name = "product_number", nullable = false)
+    protected String productNumber;
+    @Column(name = "reservation_count", nullable = false)
+    protected long reservationCount;
+    @Column(name = "reserved_amount", nullable = false)
+    protected double reservedAmount;
+    @Column(name = "consumed_amount", nullable = false)
+    protected double consumedAmount;
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    protected boolean persisted;
+
+    /**
+     * Creates reservation totals for the product with the supplied product number having the supplied
+     * number of outstanding reservations and the supplied reserved amount and no consumed amount.
+     *
+     * @param inProductNumber Product number of product which reservation totals to create.
+     * @param inReservationCount Number of outstanding reservations of the product.
+     * @param inReservedAmount Total amount of outstanding reservations of the product.
+     */
+    public ProductReservationTotals(final String inProductNumber,
+                                    final Long inReservationCount,
+                                    final Double inReservedAmount) {
+        productNumber = inProductNumber;
+        reservationCount = inReservationCount;
+        reservedAmount = inReservedAmount;
+        consumedAmount = 0;
+    }
+
+    @Override
+    public String getId() {
+        return productNumber;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    /**
+     * Marks the reservation totals as persisted when having been loaded from or inserted into the database.
+     */
+    @PostLoad
+    @PostPersist
+    protected void markPersisted() {
+        persisted = true;
+    }
+
+    @Override
+    public boolean equals(final Object inOtherObject) {
+        if (this == inOtherObject) return true;
+        if (inOtherObject == null || getClass() != inOtherObject.getClass()) return false;
+        ProductReservationTotals theOtherTotals = (ProductReservationTotals) inOtherObject;
+        return productNumber.equals(theOtherTotals.productNumber);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productNumber);
+    }
+}
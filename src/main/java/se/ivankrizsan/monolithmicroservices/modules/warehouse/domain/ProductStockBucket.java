@@ -0,0 +1,77 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Objects;
+
+/**
+ * Entity containing a share of the stock of a product which stock has been split into multiple buckets,
+ * so that concurrent reservations of the product lock different rows instead of all locking the product.
+ * Each bucket holds the available and reserved amounts of its share of the stock together with the totals
+ * of the reservations made from the bucket. The amounts and totals of a product are the sums over its buckets,
+ * in addition to those held by the product and its reservation totals from before the stock was split.
+ *
+ * @author Ivan Krizsan
+ */
+@Entity
+@Table(name = "product_stock_bucket",
+    uniqueConstraints = @UniqueConstraint(columnNames = { "product_number", "bucket_index" }))
+@Getter
+@Setter
+@ToString
+@NoArgsConstructor
+public class ProductStockBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    @Column(name = "id", nullable = false)
+    private Long id;
+    @Column(name = "product_number", nullable = false)
+    protected String productNumber;
+    @Column(name = "bucket_index", nullable = false)
+    protected int bucketIndex;
+    @Column(name = "available_amount", nullable = false)
+    protected double availableAmount;
+    @Column(name = "reserved_amount", nullable = false)
+    protected double reservedAmount;
+    @Column(name = "reservation_count", nullable = false)
+    protected long reservationCount;
+    @Column(name = "consumed_amount", nullable = false)
+    protected double consumedAmount;
+
+    /**
+     * Creates a bucket with the supplied index holding the supplied available amount of the product with
+     * the supplied product number, without reservations.
+     *
+     * @param inProductNumber Product number of product which stock the bucket holds a share of.
+     * @param inBucketIndex Index of bucket among the buckets of the product, starting at zero.
+     * @param inAvailableAmount Available amount of product in bucket.
+     */
+    public ProductStockBucket(final String inProductNumber, final int inBucketIndex, final double inAvailableAmount) {
+        productNumber = inProductNumber;
+        bucketIndex = inBucketIndex;
+        availableAmount = inAvailableAmount;
+    }
+
+    @Override
+    public boolean equals(final Object inOtherObject) {
+        if (this == inOtherObject) return true;
+        if (inOtherObject == null || getClass() != inOtherObject.getClass()) return false;
+        ProductStockBucket theOtherBucket = (ProductStockBucket) inOtherObject;
+        return productNumber.equals(theOtherBucket.productNumber) && bucketIndex == theOtherBucket.bucketIndex;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(productNumber, bucketIndex);
+    }
+}
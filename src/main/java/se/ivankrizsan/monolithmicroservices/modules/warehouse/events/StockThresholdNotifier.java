@@ -0,0 +1,264 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.events;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventHandler;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdListener;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdNotification;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdSubscription;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the {@link StockThresholdService} that handles the events on the warehouse event bus.
+ * The product numbers of the events of subscribed products are collected until the end of the batch of events
+ * being delivered, after which the available amount of each collected product is checked once, coalescing
+ * all changes of the product in the batch. A check of a product is only queued if no check of the product is
+ * waiting to be run, so that checks are also coalesced across batches when checking cannot keep up with the events
+ * and the number of queued checks never exceeds the number of subscribed products.
+ * Subscribers of a product are notified if the lowest threshold the available amount is at or below has changed
+ * since they were last notified.
+ * The thresholds are checked, including the check notifying a new subscriber of the current available amount,
+ * and notifications delivered on one single notifier thread, so that an available amount read earlier is never
+ * compared after one read later and so that slow listeners do not delay the delivery of warehouse events.
+ * Available amounts are read in a transaction that is not read-only, in order for them to be read from
+ * the primary datasource when read-only transactions are routed to a replica, which may not yet contain
+ * the change that caused the check.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class StockThresholdNotifier implements StockThresholdService, EventHandler<WarehouseEvent> {
+    /* Constant(s): */
+    /** Maximum time to wait for notifications being delivered when the notifier is closed. */
+    protected static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    /* Dependencies: */
+    /** Warehouse service from which the available amounts of products are retrieved. */
+    protected final WarehouseService mWarehouseService;
+    /** Transaction template reading available amounts in transactions that are not read-only. */
+    protected final TransactionTemplate mPrimaryReadTransactionTemplate;
+
+    /* Instance variable(s): */
+    /** Subscriptions keyed by product number. */
+    protected final Map<String, List<Subscription>> mSubscriptions = new ConcurrentHashMap<>();
+    /** Product numbers of subscribed products changed in the batch being delivered on the current thread. */
+    protected final ThreadLocal<Set<String>> mChangedProductNumbers = ThreadLocal.withInitial(LinkedHashSet::new);
+    /** Product numbers of products with a check queued that has not yet started. */
+    protected final Set<String> mPendingProductNumbers = ConcurrentHashMap.newKeySet();
+    /** Checks thresholds and delivers notifications to listeners, one at a time. */
+    protected final ExecutorService mNotificationExecutor;
+
+    /**
+     * Creates a notifier retrieving available amounts of products from the supplied warehouse service.
+     *
+     * @param inWarehouseService Warehouse service.
+     * @param inTransactionManager Transaction manager of the transactions in which available amounts are read.
+     */
+    public StockThresholdNotifier(final WarehouseService inWarehouseService,
+                                  final PlatformTransactionManager inTransactionManager) {
+        Assert.notNull(inWarehouseService, "A warehouse service is required");
+        Assert.notNull(inTransactionManager, "A transaction manager is required");
+        mWarehouseService = inWarehouseService;
+        mPrimaryReadTransactionTemplate = new TransactionTemplate(inTransactionManager);
+        mNotificationExecutor = Executors.newSingleThreadExecutor(inRunnable -> {
+            final Thread theNotifierThread = new Thread(inRunnable, "warehouse-stock-threshold-notifier");
+            theNotifierThread.setDaemon(true);
+            return theNotifierThread;
+        });
+    }
+
+    @Override
+    public StockThresholdSubscription subscribe(final String inProductNumber,
+                                                final Collection<Double> inThresholds,
+                                                final StockThresholdListener inListener) {
+        Assert.hasText(inProductNumber, "A product number is required");
+        Assert.notEmpty(inThresholds, "At least one threshold is required");
+        Assert.notNull(inListener, "A listener is required");
+
+        final double[] theThresholds = inThresholds
+            .stream()
+            .mapToDouble(Double::doubleValue)
+            .sorted()
+            .distinct()
+            .toArray();
+        /* Fails if there is no such product, before the subscription is registered. */
+        retrieveAvailableAmount(inProductNumber);
+
+        final Subscription theSubscription = new Subscription(inProductNumber, theThresholds, inListener);
+        mSubscriptions
+            .computeIfAbsent(inProductNumber, inKey -> new CopyOnWriteArrayList<>())
+            .add(theSubscription);
+        /*
+         * Check after registering, so that changes committed after the check are not missed.
+         * A subscriber that has not been notified is always notified by the first check, which may be
+         * a check already queued.
+         */
+        queueCheck(inProductNumber);
+        return theSubscription;
+    }
+
+    @Override
+    public void onEvent(final WarehouseEvent inEvent, final long inSequence, final boolean inEndOfBatch) {
+        final Set<String> theChangedProductNumbers = mChangedProductNumbers.get();
+        if (mSubscriptions.containsKey(inEvent.getProductNumber())) {
+            theChangedProductNumbers.add(inEvent.getProductNumber());
+        }
+        if (inEndOfBatch && !theChangedProductNumbers.isEmpty()) {
+            for (String theProductNumber : theChangedProductNumbers) {
+                queueCheck(theProductNumber);
+            }
+            theChangedProductNumbers.clear();
+        }
+    }
+
+    /**
+     * Queues a check of the thresholds of the product with the supplied product number, unless a check of
+     * the product is already queued and has not yet started.
+     *
+     * @param inProductNumber Product number of product.
+     */
+    protected void queueCheck(final String inProductNumber) {
+        if (mPendingProductNumbers.add(inProductNumber)) {
+            mNotificationExecutor.execute(() -> checkThresholds(inProductNumber));
+        }
+    }
+
+    /**
+     * Retrieves the available amount of the product with the supplied product number and notifies the subscribers
+     * of the product which threshold has changed.
+     * The product is no longer pending once the check starts, before the available amount is read, so that
+     * changes committed after the available amount has been read queue another check.
+     * Only invoked on the notifier thread.
+     *
+     * @param inProductNumber Product number of product.
+     */
+    protected void checkThresholds(final String inProductNumber) {
+        mPendingProductNumbers.remove(inProductNumber);
+        final List<Subscription> theSubscriptions = mSubscriptions.get(inProductNumber);
+        if (theSubscriptions == null || theSubscriptions.isEmpty()) {
+            return;
+        }
+        try {
+            final double theAvailableAmount = retrieveAvailableAmount(inProductNumber);
+            for (Subscription theSubscription : theSubscriptions) {
+                theSubscription.notifyIfThresholdChanged(theAvailableAmount);
+            }
+        } catch (final RuntimeException theException) {
+            log.warn("Unable to check stock thresholds of product {}", inProductNumber, theException);
+        }
+    }
+
+    /**
+     * Retrieves the available amount of the product with the supplied product number from the primary datasource.
+     *
+     * @param inProductNumber Product number of product.
+     * @return Available amount.
+     */
+    protected double retrieveAvailableAmount(final String inProductNumber) {
+        return mPrimaryReadTransactionTemplate.execute(inTransactionStatus -> mWarehouseService
+            .retrieveProductAvailableAmount(inProductNumber)
+            .orElseThrow(() -> new ProductNotInWarehouseException(inProductNumber)));
+    }
+
+    /**
+     * Stops delivering notifications after having delivered the notifications already created.
+     */
+    public void close() {
+        mSubscriptions.clear();
+        mNotificationExecutor.shutdown();
+        try {
+            mNotificationExecutor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Subscription of a listener to the thresholds of one product.
+     */
+    protected class Subscription implements StockThresholdSubscription {
+        /* Instance variable(s): */
+        /** Product number of subscribed product. */
+        protected final String mProductNumber;
+        /** Thresholds in ascending order. */
+        protected final double[] mThresholds;
+        /** Listener to notify. */
+        protected final StockThresholdListener mListener;
+        /**
+         * Index of the threshold of which the listener was last notified, -1 if not yet notified.
+         * Only accessed on the notifier thread.
+         */
+        protected int mNotifiedThresholdIndex = -1;
+        /** Whether the subscription has been cancelled. */
+        protected volatile boolean mCancelled;
+
+        /**
+         * Creates a subscription of the supplied listener to the supplied thresholds of a product.
+         *
+         * @param inProductNumber Product number of product.
+         * @param inThresholds Thresholds in ascending order.
+         * @param inListener Listener to notify.
+         */
+        protected Subscription(final String inProductNumber,
+                               final double[] inThresholds,
+                               final StockThresholdListener inListener) {
+            mProductNumber = inProductNumber;
+            mThresholds = inThresholds;
+            mListener = inListener;
+        }
+
+        /**
+         * Notifies the listener if the lowest threshold the supplied available amount is at or below differs from
+         * the threshold of which the listener was last notified, or if the listener has not yet been notified.
+         * Only invoked on the notifier thread.
+         *
+         * @param inAvailableAmount Available amount of the product.
+         */
+        protected void notifyIfThresholdChanged(final double inAvailableAmount) {
+            /* Index of the lowest threshold at or above the available amount, the threshold count if none. */
+            int theThresholdIndex = 0;
+            while (theThresholdIndex < mThresholds.length && mThresholds[theThresholdIndex] < inAvailableAmount) {
+                theThresholdIndex++;
+            }
+            if (mCancelled || theThresholdIndex == mNotifiedThresholdIndex) {
+                return;
+            }
+            mNotifiedThresholdIndex = theThresholdIndex;
+
+            final StockThresholdNotification theNotification = new StockThresholdNotification(
+                mProductNumber,
+                inAvailableAmount,
+                theThresholdIndex < mThresholds.length ? mThresholds[theThresholdIndex] : null);
+            try {
+                mListener.onStockThresholdCrossed(theNotification);
+            } catch (final RuntimeException theException) {
+                log.warn("Stock threshold listener failed handling {}", theNotification, theException);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            mCancelled = true;
+            mSubscriptions.computeIfPresent(mProductNumber, (inProductNumber, inSubscriptions) -> {
+                inSubscriptions.remove(this);
+                return inSubscriptions.isEmpty() ? null : inSubscriptions;
+            });
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.events;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBus;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventPublisher;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEventType;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.WarehouseChangeListener;
+
+/**
+ * Warehouse change listener that publishes changes of the stock and reservations of products
+ * on the warehouse event bus, partitioned by product number.
+ * Changes made in a transaction are published after the transaction has been committed,
+ * so that only committed changes are published.
+ * The event of a change is claimed before the transaction commits, while the transaction still holds
+ * the locks of the rows it changed, and is published or, if the transaction was rolled back, skipped
+ * when the transaction has completed. Transactions changing the same rows thus claim their events in
+ * the order in which they commit, and the events of a product are delivered in that order.
+ * Since a transaction may wait for room in the event bus before committing, while holding its locks,
+ * handlers of warehouse events must not wait for warehouse transactions to complete.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class WarehouseEventPublishingChangeListener implements WarehouseChangeListener {
+    /* Dependencies: */
+    @NonNull
+    protected final EventBus<WarehouseEvent> mWarehouseEventBus;
+
+    @Override
+    public void onStockIncreased(final String inProductNumber, final double inAmount) {
+        publishOnCommit(WarehouseEventType.STOCK_INCREASED, inProductNumber, inAmount, null);
+    }
+
+    @Override
+    public void onProductReserved(final String inProductNumber, final double inAmount, final Long inReservationId) {
+        publishOnCommit(WarehouseEventType.RESERVATION_CREATED, inProductNumber, inAmount, inReservationId);
+    }
+
+    @Override
+    public void onProductReservationRemoved(final String inProductNumber,
+                                            final double inAmount,
+                                            final Long inReservationId) {
+        publishOnCommit(WarehouseEventType.RESERVATION_CONSUMED, inProductNumber, inAmount, inReservationId);
+    }
+
+    /**
+     * Publishes an event with the supplied information when the current transaction has been committed
+     * or immediately if there is no current transaction.
+     *
+     * @param inEventType Type of change.
+     * @param inProductNumber Product number of product which stock or reservations changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     */
+    protected void publishOnCommit(final WarehouseEventType inEventType,
+                                   final String inProductNumber,
+                                   final double inAmount,
+                                   final Long inReservationId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            final EventPublisher<WarehouseEvent> thePublisher = mWarehouseEventBus.publisherFor(inProductNumber);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                /** Sequence number of the claimed event or negative if no event has been claimed. */
+                protected long mSequence = -1;
+
+                @Override
+                public void beforeCommit(final boolean inReadOnly) {
+                    try {
+                        mSequence = thePublisher.next();
+                    } catch (final IllegalStateException theException) {
+                        /* Closing the event bus must not prevent changes in the warehouse from being committed. */
+                        log.warn("Warehouse event bus closed, {} event of product {} not published",
+                            inEventType, inProductNumber);
+                    }
+                }
+
+                @Override
+                public void afterCompletion(final int inStatus) {
+                    if (mSequence < 0) {
+                        return;
+                    }
+                    if (inStatus == STATUS_COMMITTED) {
+                        try {
+                            thePublisher.get(mSequence)
+                                .setValues(inEventType, inProductNumber, inAmount, inReservationId);
+                        } finally {
+                            thePublisher.publish(mSequence);
+                        }
+                    } else {
+                        thePublisher.skip(mSequence);
+                    }
+                }
+            });
+        } else {
+            publish(inEventType, inProductNumber, inAmount, inReservationId);
+        }
+    }
+
+    /**
+     * Publishes an event with the supplied information on the warehouse event bus.
+     *
+     * @param inEventType Type of change.
+     * @param inProductNumber Product number of product which stock or reservations changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     */
+    protected void publish(final WarehouseEventType inEventType,
+                           final String inProductNumber,
+                           final double inAmount,
+                           final Long inReservationId) {
+        final EventPublisher<WarehouseEvent> thePublisher = mWarehouseEventBus.publisherFor(inProductNumber);
+        final long theSequence = thePublisher.next();
+        try {
+            thePublisher.get(theSequence).setValues(inEventType, inProductNumber, inAmount, inReservationId);
+        } finally {
+            thePublisher.publish(theSequence);
+        }
+    }
+}
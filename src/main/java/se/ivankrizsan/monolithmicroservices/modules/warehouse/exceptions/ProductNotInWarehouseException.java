@@ -1,5 +1,6 @@
 package se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions;
 
+import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -9,6 +10,7 @@ import lombok.RequiredArgsConstructor;
  *
  * @author Ivan Krizsan
  */
+@Getter
 @NoArgsConstructor
 @RequiredArgsConstructor
 public class ProductNotInWarehouseException extends WarehouseException {
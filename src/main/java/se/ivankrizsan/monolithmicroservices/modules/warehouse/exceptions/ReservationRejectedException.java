@@ -0,0 +1,30 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Exception that indicates that a product reservation was rejected without being attempted, since
+ * the warehouse is overloaded and admitting the reservation would make reservations exceed their
+ * latency target. The reservation may be retried later.
+ *
+ * @author Ivan Krizsan
+ */
+@Getter
+@NoArgsConstructor
+@RequiredArgsConstructor
+public class ReservationRejectedException extends WarehouseException {
+    /* Constant(s): */
+
+    /* Instance variable(s): */
+    /** Product number of the product which reservation was rejected or null if no product number available. */
+    @NonNull
+    protected String productNumber;
+
+    @Override
+    public String getMessage() {
+        return "Reservation of product " + productNumber + " rejected since the warehouse is overloaded";
+    }
+}
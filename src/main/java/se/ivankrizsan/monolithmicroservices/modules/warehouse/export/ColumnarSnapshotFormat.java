@@ -0,0 +1,91 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.export;
+
+import org.springframework.util.Assert;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Definition of the compact columnar snapshot file format written by the {@link ColumnarSnapshotWriter}.
+ * A snapshot starts with a header containing the magic bytes, the format version and the schema, that is
+ * the name of each table followed by the names and types of its columns.
+ * The header is followed by row groups, each containing up to a fixed number of rows of one table.
+ * A row group starts with the index of its table in the schema and its row count, followed by the values
+ * of each column, in schema order, compressed using Deflate and preceded by their uncompressed and compressed
+ * lengths. The snapshot ends with the end-of-snapshot marker in place of a table index.
+ * Counts and lengths are written as unsigned variable-length integers, seven bits per byte with the least
+ * significant group first.
+ *
+ * @author Ivan Krizsan
+ */
+public final class ColumnarSnapshotFormat {
+    /* Constant(s): */
+    /** Bytes with which every snapshot starts. */
+    public static final byte[] MAGIC = "WHIS".getBytes(StandardCharsets.US_ASCII);
+    /** Version of the format. */
+    public static final int VERSION = 1;
+    /** Marker written in place of a table index after the last row group. */
+    public static final int END_OF_SNAPSHOT = 0xFF;
+    /** Maximum number of tables in a snapshot. */
+    public static final int MAX_TABLE_COUNT = END_OF_SNAPSHOT;
+
+    /**
+     * Prevents instantiation.
+     */
+    private ColumnarSnapshotFormat() {
+    }
+
+    /**
+     * Types of columns, each with its encoding of values.
+     */
+    public enum ColumnType {
+        /** String, written as the length of its UTF-8 encoding followed by the encoded bytes. */
+        STRING,
+        /** Double-precision floating point number, written as eight bytes in big-endian order. */
+        DOUBLE,
+        /**
+         * Long integer, written as the zigzag-encoded variable-length difference from the value of the previous row
+         * in the row group, which is compact for ascending values such as ids.
+         */
+        DELTA_LONG,
+        /** Integer, written as a zigzag-encoded variable-length integer. */
+        INT,
+        /** Integer that may be null, written as zero if null and otherwise as the zigzag-encoded value plus one. */
+        NULLABLE_INT
+    }
+
+    /**
+     * Column of a table in a snapshot.
+     *
+     * @param name Name of the column.
+     * @param type Type of the column.
+     */
+    public record Column(String name, ColumnType type) {
+
+        /**
+         * Validates the column.
+         */
+        public Column {
+            Assert.hasText(name, "A column name is required");
+            Assert.notNull(type, "A column type is required");
+        }
+    }
+
+    /**
+     * Table in a snapshot.
+     *
+     * @param name Name of the table.
+     * @param columns Columns of the table.
+     */
+    public record Table(String name, List<Column> columns) {
+
+        /**
+         * Validates the table.
+         */
+        public Table {
+            Assert.hasText(name, "A table name is required");
+            Assert.notEmpty(columns, "A table must have at least one column");
+            columns = List.copyOf(columns);
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.export;
+
+import org.springframework.util.Assert;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a snapshot in the {@link ColumnarSnapshotFormat} from a channel, one row group at a time.
+ * The schema is read from the snapshot header, so that snapshots can be read without knowledge of the
+ * tables they contain. Not thread-safe.
+ *
+ * @author Ivan Krizsan
+ */
+public class ColumnarSnapshotReader {
+    /* Constant(s): */
+    /** Size in bytes of the buffer used when reading from the channel. */
+    protected static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    /* Instance variable(s): */
+    /** Channel the snapshot is read from. */
+    protected final ReadableByteChannel mChannel;
+    /** Buffer containing bytes read from the channel but not yet consumed. */
+    protected final ByteBuffer mReadBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE).flip();
+    /** Decompresses the values of columns. */
+    protected final Inflater mInflater = new Inflater();
+    /** Tables of the snapshot, as read from the header. */
+    protected final List<ColumnarSnapshotFormat.Table> mTables;
+
+    /**
+     * Handler of the rows read from a snapshot.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+
+        /**
+         * Handles one row of the supplied table.
+         *
+         * @param inTable Table of the row.
+         * @param inValues Values of the columns of the row, in schema order. Integer values are of the type
+         * Integer, delta encoded long values of the type Long.
+         */
+        void handleRow(ColumnarSnapshotFormat.Table inTable, Object[] inValues);
+    }
+
+    /**
+     * Creates a reader reading a snapshot from the supplied channel and reads the snapshot header.
+     *
+     * @param inChannel Channel to read from.
+     * @throws IOException If an error occurs reading the header or the channel does not contain a snapshot.
+     */
+    public ColumnarSnapshotReader(final ReadableByteChannel inChannel) throws IOException {
+        Assert.notNull(inChannel, "A channel is required");
+        mChannel = inChannel;
+        mTables = readSnapshotHeader();
+    }
+
+    /**
+     * Retrieves the tables of the snapshot.
+     *
+     * @return Tables in schema order.
+     */
+    public List<ColumnarSnapshotFormat.Table> getTables() {
+        return mTables;
+    }
+
+    /**
+     * Reads all rows of the snapshot, supplying each row to the supplied handler.
+     *
+     * @param inRowHandler Handler of rows.
+     * @throws IOException If an error occurs reading the snapshot or the snapshot is malformed.
+     */
+    public void readRows(final RowHandler inRowHandler) throws IOException {
+        Assert.notNull(inRowHandler, "A row handler is required");
+        try {
+            for (int theTableIndex = readUnsignedByte();
+                 theTableIndex != ColumnarSnapshotFormat.END_OF_SNAPSHOT;
+                 theTableIndex = readUnsignedByte()) {
+                if (theTableIndex >= mTables.size()) {
+                    throw new IOException("Row group of unknown table " + theTableIndex);
+                }
+                readRowGroup(mTables.get(theTableIndex), inRowHandler);
+            }
+        } finally {
+            mInflater.end();
+        }
+    }
+
+    /**
+     * Reads the magic bytes, format version and schema.
+     *
+     * @return Tables of the snapshot.
+     * @throws IOException If an error occurs reading the header or the header is malformed.
+     */
+    protected List<ColumnarSnapshotFormat.Table> readSnapshotHeader() throws IOException {
+        final byte[] theMagic = new byte[ColumnarSnapshotFormat.MAGIC.length];
+        ensureAvailable(theMagic.length + 1);
+        mReadBuffer.get(theMagic);
+        if (!Arrays.equals(theMagic, ColumnarSnapshotFormat.MAGIC)) {
+            throw new IOException("Not an inventory snapshot");
+        }
+        final int theVersion = readUnsignedByte();
+        if (theVersion != ColumnarSnapshotFormat.VERSION) {
+            throw new IOException("Unsupported snapshot format version " + theVersion);
+        }
+
+        final int theTableCount = (int) readVarLong();
+        final List<ColumnarSnapshotFormat.Table> theTables = new ArrayList<>(theTableCount);
+        for (int theTable = 0; theTable < theTableCount; theTable++) {
+            final String theTableName = readName();
+            final int theColumnCount = (int) readVarLong();
+            final List<ColumnarSnapshotFormat.Column> theColumns = new ArrayList<>(theColumnCount);
+            for (int theColumn = 0; theColumn < theColumnCount; theColumn++) {
+                final String theColumnName = readName();
+                final int theType = readUnsignedByte();
+                if (theType >= ColumnarSnapshotFormat.ColumnType.values().length) {
+                    throw new IOException("Unknown type " + theType + " of column " + theColumnName);
+                }
+                theColumns.add(
+                    new ColumnarSnapshotFormat.Column(theColumnName, ColumnarSnapshotFormat.ColumnType.values()[theType]));
+            }
+            theTables.add(new ColumnarSnapshotFormat.Table(theTableName, theColumns));
+        }
+        return List.copyOf(theTables);
+    }
+
+    /**
+     * Reads and decompresses the columns of one row group of the supplied table and supplies its rows
+     * to the supplied handler.
+     *
+     * @param inTable Table of the row group.
+     * @param inRowHandler Handler of rows.
+     * @throws IOException If an error occurs reading the row group or the row group is malformed.
+     */
+    protected void readRowGroup(final ColumnarSnapshotFormat.Table inTable, final RowHandler inRowHandler)
+        throws IOException {
+        final int theRowCount = (int) readVarLong();
+        final List<ColumnarSnapshotFormat.Column> theColumns = inTable.columns();
+        final ByteBuffer[] theColumnBuffers = new ByteBuffer[theColumns.size()];
+        for (int theColumn = 0; theColumn < theColumnBuffers.length; theColumn++) {
+            final int theUncompressedLength = (int) readVarLong();
+            final int theCompressedLength = (int) readVarLong();
+            theColumnBuffers[theColumn] = decompress(theCompressedLength, theUncompressedLength);
+        }
+
+        final long[] thePreviousValues = new long[theColumnBuffers.length];
+        for (int theRow = 0; theRow < theRowCount; theRow++) {
+            final Object[] theValues = new Object[theColumnBuffers.length];
+            for (int theColumn = 0; theColumn < theColumnBuffers.length; theColumn++) {
+                final ByteBuffer theBuffer = theColumnBuffers[theColumn];
+                theValues[theColumn] = switch (theColumns.get(theColumn).type()) {
+                    case STRING -> {
+                        final byte[] theBytes = new byte[(int) getVarLong(theBuffer)];
+                        theBuffer.get(theBytes);
+                        yield new String(theBytes, StandardCharsets.UTF_8);
+                    }
+                    case DOUBLE -> theBuffer.getDouble();
+                    case DELTA_LONG -> {
+                        thePreviousValues[theColumn] += unzigzag(getVarLong(theBuffer));
+                        yield thePreviousValues[theColumn];
+                    }
+                    case INT -> (int) unzigzag(getVarLong(theBuffer));
+                    case NULLABLE_INT -> {
+                        final long theEncodedValue = getVarLong(theBuffer);
+                        yield theEncodedValue == 0 ? null : (int) unzigzag(theEncodedValue - 1);
+                    }
+                };
+            }
+            inRowHandler.handleRow(inTable, theValues);
+        }
+    }
+
+    /**
+     * Reads the supplied number of compressed bytes and decompresses them.
+     *
+     * @param inCompressedLength Number of compressed bytes.
+     * @param inUncompressedLength Number of bytes after decompression.
+     * @return Buffer containing the decompressed bytes, flipped for reading.
+     * @throws IOException If an error occurs reading or the bytes are malformed.
+     */
+    protected ByteBuffer decompress(final int inCompressedLength, final int inUncompressedLength)
+        throws IOException {
+        final ByteBuffer theCompressedBuffer = ByteBuffer.allocate(inCompressedLength);
+        while (theCompressedBuffer.hasRemaining()) {
+            ensureAvailable(1);
+            final ByteBuffer theChunk = mReadBuffer.slice();
+            theChunk.limit(Math.min(theChunk.remaining(), theCompressedBuffer.remaining()));
+            theCompressedBuffer.put(theChunk);
+            mReadBuffer.position(mReadBuffer.position() + theChunk.limit());
+        }
+
+        final ByteBuffer theBuffer = ByteBuffer.allocate(inUncompressedLength);
+        mInflater.reset();
+        mInflater.setInput(theCompressedBuffer.flip());
+        try {
+            while (!mInflater.finished()) {
+                if (mInflater.inflate(theBuffer) == 0 && (mInflater.needsInput() || !theBuffer.hasRemaining())) {
+                    throw new IOException("Malformed column");
+                }
+            }
+        } catch (final DataFormatException theException) {
+            throw new IOException("Malformed column", theException);
+        }
+        return theBuffer.flip();
+    }
+
+    /**
+     * Ensures that the read buffer contains at least the supplied number of bytes, reading from the channel
+     * if necessary.
+     *
+     * @param inByteCount Number of bytes, at most the read buffer size.
+     * @throws IOException If an error occurs reading or the end of the channel is reached.
+     */
+    protected void ensureAvailable(final int inByteCount) throws IOException {
+        if (mReadBuffer.remaining() >= inByteCount) {
+            return;
+        }
+        mReadBuffer.compact();
+        while (mReadBuffer.position() < inByteCount) {
+            if (mChannel.read(mReadBuffer) < 0) {
+                throw new EOFException("Unexpected end of snapshot");
+            }
+        }
+        mReadBuffer.flip();
+    }
+
+    /**
+     * Reads one unsigned byte.
+     *
+     * @return Byte value.
+     * @throws IOException If an error occurs reading.
+     */
+    protected int readUnsignedByte() throws IOException {
+        ensureAvailable(1);
+        return mReadBuffer.get() & 0xFF;
+    }
+
+    /**
+     * Reads an unsigned variable-length integer.
+     *
+     * @return Value.
+     * @throws IOException If an error occurs reading or the integer is malformed.
+     */
+    protected long readVarLong() throws IOException {
+        long theValue = 0;
+        for (int theShift = 0; theShift < Long.SIZE; theShift += 7) {
+            final int theByte = readUnsignedByte();
+            theValue |= (long) (theByte & 0x7F) << theShift;
+            if ((theByte & 0x80) == 0) {
+                return theValue;
+            }
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Reads a name written as the length of its UTF-8 encoding followed by the encoded bytes.
+     *
+     * @return Name.
+     * @throws IOException If an error occurs reading.
+     */
+    protected String readName() throws IOException {
+        final int theLength = (int) readVarLong();
+        ensureAvailable(theLength);
+        final byte[] theBytes = new byte[theLength];
+        mReadBuffer.get(theBytes);
+        return new String(theBytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets an unsigned variable-length integer from the supplied buffer.
+     *
+     * @param inBuffer Buffer.
+     * @return Value.
+     */
+    protected static long getVarLong(final ByteBuffer inBuffer) {
+        long theValue = 0;
+        int theShift = 0;
+        byte theByte;
+        do {
+            theByte = inBuffer.get();
+            theValue |= (long) (theByte & 0x7F) << theShift;
+            theShift += 7;
+        } while ((theByte & 0x80) != 0);
+        return theValue;
+    }
+
+    /**
+     * Decodes a zigzag encoded value.
+     *
+     * @param inValue Encoded value.
+     * @return Decoded value.
+     */
+    protected static long unzigzag(final long inValue) {
+        return (inValue >>> 1) ^ -(inValue & 1);
+    }
+}
@@ -0,0 +1,377 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.export;
+
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a snapshot in the {@link ColumnarSnapshotFormat} to a channel.
+ * The values of each column of a table are collected in a buffer of their own until the row group size
+ * number of rows have been added, after which the buffers are compressed and written to the channel as
+ * one row group. Memory use is thus bounded by the row group size, regardless of the number of rows written.
+ * Rows of one table are to be added, and the table ended, before adding rows of another table.
+ * Not thread-safe.
+ *
+ * @author Ivan Krizsan
+ */
+public class ColumnarSnapshotWriter {
+    /* Constant(s): */
+    /** Initial capacity in bytes of the buffer of each column. */
+    protected static final int INITIAL_COLUMN_CAPACITY = 8 * 1024;
+
+    /* Instance variable(s): */
+    /** Channel the snapshot is written to. */
+    protected final WritableByteChannel mChannel;
+    /** Tables of the snapshot. */
+    protected final List<ColumnarSnapshotFormat.Table> mTables;
+    /** Maximum number of rows in a row group. */
+    protected final int mRowGroupSize;
+    /** Compresses the values of columns. */
+    protected final Deflater mDeflater = new Deflater(Deflater.BEST_SPEED);
+    /** Buffer containing the header of the snapshot or of a row group. */
+    protected ByteBuffer mHeaderBuffer = ByteBuffer.allocate(1024);
+    /** Buffer containing the compressed values of a column. */
+    protected ByteBuffer mCompressedBuffer = ByteBuffer.allocate(INITIAL_COLUMN_CAPACITY);
+    /** Buffers containing the uncompressed values of the columns of the current table. */
+    protected ByteBuffer[] mColumnBuffers = new ByteBuffer[0];
+    /** Value of each delta encoded column of the current table in the previous row. */
+    protected long[] mPreviousValues = new long[0];
+    /** Index of the table which rows are being added, -1 if none. */
+    protected int mTableIndex = -1;
+    /** Number of rows added to the current row group. */
+    protected int mRowCount;
+    /** Total number of bytes written to the channel. */
+    protected long mByteCount;
+
+    /**
+     * Creates a writer writing a snapshot of the supplied tables to the supplied channel and writes
+     * the snapshot header.
+     *
+     * @param inChannel Channel to write to.
+     * @param inTables Tables of the snapshot.
+     * @param inRowGroupSize Maximum number of rows in a row group.
+     * @throws IOException If an error occurs writing the header.
+     */
+    public ColumnarSnapshotWriter(final WritableByteChannel inChannel,
+                                  final List<ColumnarSnapshotFormat.Table> inTables,
+                                  final int inRowGroupSize) throws IOException {
+        Assert.notNull(inChannel, "A channel is required");
+        Assert.notEmpty(inTables, "At least one table is required");
+        Assert.isTrue(inTables.size() <= ColumnarSnapshotFormat.MAX_TABLE_COUNT, "Too many tables");
+        Assert.isTrue(inRowGroupSize > 0, "The row group size must be positive");
+        mChannel = inChannel;
+        mTables = List.copyOf(inTables);
+        mRowGroupSize = inRowGroupSize;
+        writeSnapshotHeader();
+    }
+
+    /**
+     * Starts adding rows of the table with the supplied index in the schema.
+     *
+     * @param inTableIndex Index of table.
+     */
+    public void startTable(final int inTableIndex) {
+        Assert.isTrue(mTableIndex < 0, "The current table must be ended before starting another table");
+        Assert.isTrue(inTableIndex >= 0 && inTableIndex < mTables.size(), "No table with the index " + inTableIndex);
+        mTableIndex = inTableIndex;
+        final int theColumnCount = mTables.get(inTableIndex).columns().size();
+        if (mColumnBuffers.length < theColumnCount) {
+            final ByteBuffer[] theColumnBuffers = new ByteBuffer[theColumnCount];
+            System.arraycopy(mColumnBuffers, 0, theColumnBuffers, 0, mColumnBuffers.length);
+            mColumnBuffers = theColumnBuffers;
+            mPreviousValues = new long[theColumnCount];
+        }
+        for (int theColumn = 0; theColumn < theColumnCount; theColumn++) {
+            if (mColumnBuffers[theColumn] == null) {
+                mColumnBuffers[theColumn] = ByteBuffer.allocate(INITIAL_COLUMN_CAPACITY);
+            }
+        }
+        startRowGroup();
+    }
+
+    /**
+     * Sets the value of the supplied string column of the current row.
+     *
+     * @param inColumn Index of column.
+     * @param inValue Value, must not be null.
+     */
+    public void putString(final int inColumn, final String inValue) {
+        final byte[] theBytes = inValue.getBytes(StandardCharsets.UTF_8);
+        final ByteBuffer theBuffer = columnBuffer(inColumn, ColumnarSnapshotFormat.ColumnType.STRING,
+            theBytes.length + 5);
+        putVarLong(theBuffer, theBytes.length);
+        theBuffer.put(theBytes);
+    }
+
+    /**
+     * Sets the value of the supplied double column of the current row.
+     *
+     * @param inColumn Index of column.
+     * @param inValue Value.
+     */
+    public void putDouble(final int inColumn, final double inValue) {
+        columnBuffer(inColumn, ColumnarSnapshotFormat.ColumnType.DOUBLE, Double.BYTES).putDouble(inValue);
+    }
+
+    /**
+     * Sets the value of the supplied delta encoded long column of the current row.
+     *
+     * @param inColumn Index of column.
+     * @param inValue Value.
+     */
+    public void putDeltaLong(final int inColumn, final long inValue) {
+        final ByteBuffer theBuffer = columnBuffer(inColumn, ColumnarSnapshotFormat.ColumnType.DELTA_LONG, 10);
+        putVarLong(theBuffer, zigzag(inValue - mPreviousValues[inColumn]));
+        mPreviousValues[inColumn] = inValue;
+    }
+
+    /**
+     * Sets the value of the supplied int column of the current row.
+     *
+     * @param inColumn Index of column.
+     * @param inValue Value.
+     */
+    public void putInt(final int inColumn, final int inValue) {
+        putVarLong(columnBuffer(inColumn, ColumnarSnapshotFormat.ColumnType.INT, 10), zigzag(inValue));
+    }
+
+    /**
+     * Sets the value of the supplied nullable int column of the current row.
+     *
+     * @param inColumn Index of column.
+     * @param inValue Value or null.
+     */
+    public void putNullableInt(final int inColumn, final Integer inValue) {
+        putVarLong(columnBuffer(inColumn, ColumnarSnapshotFormat.ColumnType.NULLABLE_INT, 10),
+            inValue == null ? 0 : zigzag(inValue) + 1);
+    }
+
+    /**
+     * Ends the current row, writing the current row group if it has reached the row group size.
+     * The values of all columns of the row must have been set.
+     *
+     * @throws IOException If an error occurs writing the row group.
+     */
+    public void endRow() throws IOException {
+        mRowCount++;
+        if (mRowCount == mRowGroupSize) {
+            writeRowGroup();
+            startRowGroup();
+        }
+    }
+
+    /**
+     * Ends the current table, writing the rows not yet written.
+     *
+     * @throws IOException If an error occurs writing the row group.
+     */
+    public void endTable() throws IOException {
+        Assert.isTrue(mTableIndex >= 0, "No table has been started");
+        if (mRowCount > 0) {
+            writeRowGroup();
+        }
+        mTableIndex = -1;
+    }
+
+    /**
+     * Writes the end-of-snapshot marker and releases the resources of the writer.
+     * Does not close the channel.
+     *
+     * @return Total number of bytes written to the channel.
+     * @throws IOException If an error occurs writing the marker.
+     */
+    public long finish() throws IOException {
+        Assert.isTrue(mTableIndex < 0, "The current table must be ended before finishing the snapshot");
+        mHeaderBuffer.clear();
+        mHeaderBuffer.put((byte) ColumnarSnapshotFormat.END_OF_SNAPSHOT);
+        writeBuffer(mHeaderBuffer.flip());
+        mDeflater.end();
+        return mByteCount;
+    }
+
+    /**
+     * Writes the magic bytes, format version and schema.
+     *
+     * @throws IOException If an error occurs writing the header.
+     */
+    protected void writeSnapshotHeader() throws IOException {
+        final ByteBuffer theBuffer = ByteBuffer.allocate(headerSize());
+        theBuffer.put(ColumnarSnapshotFormat.MAGIC);
+        theBuffer.put((byte) ColumnarSnapshotFormat.VERSION);
+        putVarLong(theBuffer, mTables.size());
+        for (ColumnarSnapshotFormat.Table theTable : mTables) {
+            putName(theBuffer, theTable.name());
+            putVarLong(theBuffer, theTable.columns().size());
+            for (ColumnarSnapshotFormat.Column theColumn : theTable.columns()) {
+                putName(theBuffer, theColumn.name());
+                theBuffer.put((byte) theColumn.type().ordinal());
+            }
+        }
+        writeBuffer(theBuffer.flip());
+    }
+
+    /**
+     * Calculates an upper bound of the size of the snapshot header in bytes.
+     *
+     * @return Header size.
+     */
+    protected int headerSize() {
+        int theSize = ColumnarSnapshotFormat.MAGIC.length + 1 + 5;
+        for (ColumnarSnapshotFormat.Table theTable : mTables) {
+            theSize += 5 + theTable.name().getBytes(StandardCharsets.UTF_8).length + 5;
+            for (ColumnarSnapshotFormat.Column theColumn : theTable.columns()) {
+                theSize += 5 + theColumn.name().getBytes(StandardCharsets.UTF_8).length + 1;
+            }
+        }
+        return theSize;
+    }
+
+    /**
+     * Clears the column buffers and delta encoding state for a new row group of the current table.
+     */
+    protected void startRowGroup() {
+        mRowCount = 0;
+        for (int theColumn = 0; theColumn < mColumnBuffers.length; theColumn++) {
+            if (mColumnBuffers[theColumn] != null) {
+                mColumnBuffers[theColumn].clear();
+            }
+            mPreviousValues[theColumn] = 0;
+        }
+    }
+
+    /**
+     * Compresses the column buffers of the current table and writes them to the channel as one row group.
+     *
+     * @throws IOException If an error occurs writing the row group.
+     */
+    protected void writeRowGroup() throws IOException {
+        mHeaderBuffer.clear();
+        mHeaderBuffer.put((byte) mTableIndex);
+        putVarLong(mHeaderBuffer, mRowCount);
+        writeBuffer(mHeaderBuffer.flip());
+
+        final int theColumnCount = mTables.get(mTableIndex).columns().size();
+        for (int theColumn = 0; theColumn < theColumnCount; theColumn++) {
+            final ByteBuffer theColumnBuffer = mColumnBuffers[theColumn].flip();
+            final int theUncompressedLength = theColumnBuffer.remaining();
+            compress(theColumnBuffer);
+
+            mHeaderBuffer.clear();
+            putVarLong(mHeaderBuffer, theUncompressedLength);
+            putVarLong(mHeaderBuffer, mCompressedBuffer.remaining());
+            writeBuffer(mHeaderBuffer.flip());
+            writeBuffer(mCompressedBuffer);
+        }
+    }
+
+    /**
+     * Compresses the remaining bytes of the supplied buffer into the compressed buffer, which is
+     * flipped for reading afterwards.
+     *
+     * @param inBuffer Buffer to compress.
+     */
+    protected void compress(final ByteBuffer inBuffer) {
+        mDeflater.reset();
+        mDeflater.setInput(inBuffer);
+        mDeflater.finish();
+        mCompressedBuffer.clear();
+        while (!mDeflater.finished()) {
+            if (!mCompressedBuffer.hasRemaining()) {
+                mCompressedBuffer = grow(mCompressedBuffer.flip(), mCompressedBuffer.capacity());
+            }
+            mDeflater.deflate(mCompressedBuffer);
+        }
+        mCompressedBuffer.flip();
+    }
+
+    /**
+     * Retrieves the buffer of the supplied column of the current table, ensuring that it has room for
+     * the supplied number of bytes.
+     *
+     * @param inColumn Index of column.
+     * @param inExpectedType Type of value to be written.
+     * @param inRequiredBytes Number of bytes to be written.
+     * @return Column buffer.
+     */
+    protected ByteBuffer columnBuffer(final int inColumn,
+                                      final ColumnarSnapshotFormat.ColumnType inExpectedType,
+                                      final int inRequiredBytes) {
+        Assert.isTrue(mTableIndex >= 0, "No table has been started");
+        final ColumnarSnapshotFormat.Column theColumn = mTables.get(mTableIndex).columns().get(inColumn);
+        Assert.isTrue(theColumn.type() == inExpectedType,
+            () -> "Column " + theColumn.name() + " is of type " + theColumn.type() + ", not " + inExpectedType);
+        ByteBuffer theBuffer = mColumnBuffers[inColumn];
+        if (theBuffer.remaining() < inRequiredBytes) {
+            theBuffer = grow(theBuffer.flip(), inRequiredBytes);
+            mColumnBuffers[inColumn] = theBuffer;
+        }
+        return theBuffer;
+    }
+
+    /**
+     * Writes all remaining bytes of the supplied buffer to the channel.
+     *
+     * @param inBuffer Buffer to write.
+     * @throws IOException If an error occurs writing.
+     */
+    protected void writeBuffer(final ByteBuffer inBuffer) throws IOException {
+        while (inBuffer.hasRemaining()) {
+            mByteCount += mChannel.write(inBuffer);
+        }
+    }
+
+    /**
+     * Creates a buffer at least double the capacity of the supplied buffer and with room for the supplied
+     * number of additional bytes, containing the remaining bytes of the supplied buffer.
+     *
+     * @param inBuffer Buffer flipped for reading.
+     * @param inAdditionalBytes Number of additional bytes.
+     * @return New buffer ready for writing.
+     */
+    protected static ByteBuffer grow(final ByteBuffer inBuffer, final int inAdditionalBytes) {
+        final int theCapacity = Math.max(inBuffer.capacity() * 2, inBuffer.remaining() + inAdditionalBytes);
+        return ByteBuffer.allocate(theCapacity).put(inBuffer);
+    }
+
+    /**
+     * Writes the supplied name as the length of its UTF-8 encoding followed by the encoded bytes.
+     *
+     * @param inBuffer Buffer to write to.
+     * @param inName Name.
+     */
+    protected static void putName(final ByteBuffer inBuffer, final String inName) {
+        final byte[] theBytes = inName.getBytes(StandardCharsets.UTF_8);
+        putVarLong(inBuffer, theBytes.length);
+        inBuffer.put(theBytes);
+    }
+
+    /**
+     * Writes the supplied value as an unsigned variable-length integer.
+     *
+     * @param inBuffer Buffer to write to.
+     * @param inValue Value, treated as unsigned.
+     */
+    protected static void putVarLong(final ByteBuffer inBuffer, final long inValue) {
+        long theValue = inValue;
+        while ((theValue & ~0x7FL) != 0) {
+            inBuffer.put((byte) ((theValue & 0x7F) | 0x80));
+            theValue >>>= 7;
+        }
+        inBuffer.put((byte) theValue);
+    }
+
+    /**
+     * Zigzag encodes the supplied value, so that values of small magnitude are encoded as small unsigned values.
+     *
+     * @param inValue Value to encode.
+     * @return Encoded value.
+     */
+    protected static long zigzag(final long inValue) {
+        return (inValue << 1) ^ (inValue >> 63);
+    }
+}
@@ -0,0 +1,153 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.export;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.InventorySnapshotService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.InventorySnapshotSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Implementation of the {@link InventorySnapshotService} that writes snapshots in the
+ * {@link ColumnarSnapshotFormat}.
+ * Products and reservations are read using plain JDBC queries with forward-only, read-only result sets
+ * fetching one row group of rows at a time, without creating entities, and are written to the channel
+ * one row group at a time. The export is performed in one read-only transaction with repeatable read
+ * isolation, so that products and reservations are read from one consistent view of the warehouse and
+ * so that the export may be routed to a replica datasource.
+ *
+ * @author Ivan Krizsan
+ */
+public class InventorySnapshotExporter implements InventorySnapshotService {
+    /* Constant(s): */
+    /** Index of the product table in the snapshot schema. */
+    public static final int PRODUCT_TABLE_INDEX = 0;
+    /** Index of the product reservation table in the snapshot schema. */
+    public static final int PRODUCT_RESERVATION_TABLE_INDEX = 1;
+    /** Tables of inventory snapshots. Columns are written in the order of the columns of the queries. */
+    public static final List<ColumnarSnapshotFormat.Table> SNAPSHOT_TABLES = List.of(
+        new ColumnarSnapshotFormat.Table("product", List.of(
+            new ColumnarSnapshotFormat.Column("product_number", ColumnarSnapshotFormat.ColumnType.STRING),
+            new ColumnarSnapshotFormat.Column("name", ColumnarSnapshotFormat.ColumnType.STRING),
+            new ColumnarSnapshotFormat.Column("unit_price", ColumnarSnapshotFormat.ColumnType.DOUBLE),
+            new ColumnarSnapshotFormat.Column("available_amount", ColumnarSnapshotFormat.ColumnType.DOUBLE),
+            new ColumnarSnapshotFormat.Column("reserved_amount", ColumnarSnapshotFormat.ColumnType.DOUBLE),
+            new ColumnarSnapshotFormat.Column("stock_bucket_count", ColumnarSnapshotFormat.ColumnType.INT))),
+        new ColumnarSnapshotFormat.Table("product_reservation", List.of(
+            new ColumnarSnapshotFormat.Column("id", ColumnarSnapshotFormat.ColumnType.DELTA_LONG),
+            new ColumnarSnapshotFormat.Column("product_number", ColumnarSnapshotFormat.ColumnType.STRING),
+            new ColumnarSnapshotFormat.Column("reserved_amount", ColumnarSnapshotFormat.ColumnType.DOUBLE),
+            new ColumnarSnapshotFormat.Column("stock_bucket", ColumnarSnapshotFormat.ColumnType.NULLABLE_INT))));
+    /**
+     * Query retrieving products, with available and reserved amounts including those of their stock buckets.
+     * Products are ordered by product number so that products with similar product numbers, which compress
+     * well, are written to the same row group.
+     */
+    protected static final String PRODUCT_QUERY = "select p.product_number, p.name, p.unit_price,"
+        + " p.available_amount + coalesce(b.available_amount, 0),"
+        + " p.reserved_amount + coalesce(b.reserved_amount, 0),"
+        + " p.stock_bucket_count"
+        + " from product p left join (select product_number, sum(available_amount) as available_amount,"
+        + " sum(reserved_amount) as reserved_amount from product_stock_bucket group by product_number) b"
+        + " on b.product_number = p.product_number"
+        + " order by p.product_number";
+    /** Query retrieving product reservations, ordered by id so that ids are delta encoded compactly. */
+    protected static final String PRODUCT_RESERVATION_QUERY =
+        "select id, product_number, reserved_amount, stock_bucket from product_reservation order by id";
+
+    /* Dependencies: */
+    /** Executes the queries of the export. */
+    protected final JdbcTemplate mJdbcTemplate;
+
+    /* Instance variable(s): */
+    /** Maximum number of rows in a row group. */
+    protected final int mRowGroupSize;
+
+    /**
+     * Creates an exporter reading products and reservations from the supplied datasource.
+     *
+     * @param inDataSource Datasource containing the warehouse.
+     * @param inRowGroupSize Maximum number of rows in a row group, also the number of rows fetched at a time.
+     */
+    public InventorySnapshotExporter(final DataSource inDataSource, final int inRowGroupSize) {
+        Assert.notNull(inDataSource, "A datasource is required");
+        Assert.isTrue(inRowGroupSize > 0, "The row group size must be positive");
+        mJdbcTemplate = new JdbcTemplate(inDataSource);
+        mJdbcTemplate.setFetchSize(inRowGroupSize);
+        mRowGroupSize = inRowGroupSize;
+    }
+
+    @Override
+    @Transactional(
+        transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER,
+        readOnly = true,
+        isolation = Isolation.REPEATABLE_READ)
+    public InventorySnapshotSummary exportSnapshot(final WritableByteChannel inChannel) throws IOException {
+        Assert.notNull(inChannel, "A channel is required");
+
+        final ColumnarSnapshotWriter theWriter = new ColumnarSnapshotWriter(inChannel, SNAPSHOT_TABLES, mRowGroupSize);
+        final long theProductCount = exportTable(theWriter, PRODUCT_TABLE_INDEX, PRODUCT_QUERY, inResultSet -> {
+            theWriter.putString(0, inResultSet.getString(1));
+            theWriter.putString(1, inResultSet.getString(2));
+            theWriter.putDouble(2, inResultSet.getDouble(3));
+            theWriter.putDouble(3, inResultSet.getDouble(4));
+            theWriter.putDouble(4, inResultSet.getDouble(5));
+            theWriter.putInt(5, inResultSet.getInt(6));
+        });
+        final long theReservationCount = exportTable(
+            theWriter, PRODUCT_RESERVATION_TABLE_INDEX, PRODUCT_RESERVATION_QUERY, inResultSet -> {
+                theWriter.putDeltaLong(0, inResultSet.getLong(1));
+                theWriter.putString(1, inResultSet.getString(2));
+                theWriter.putDouble(2, inResultSet.getDouble(3));
+                theWriter.putNullableInt(3, inResultSet.getObject(4, Integer.class));
+            });
+        final long theByteCount = theWriter.finish();
+        return new InventorySnapshotSummary(theProductCount, theReservationCount, theByteCount);
+    }
+
+    /**
+     * Writes the rows of the supplied query to the supplied table of the snapshot.
+     *
+     * @param inWriter Snapshot writer.
+     * @param inTableIndex Index of table in the snapshot schema.
+     * @param inQuery Query retrieving the rows of the table.
+     * @param inRowMapper Sets the column values of the current row of the writer from the current row
+     * of a result set.
+     * @return Number of rows written.
+     * @throws IOException If an error occurs writing to the channel.
+     */
+    protected long exportTable(final ColumnarSnapshotWriter inWriter,
+                               final int inTableIndex,
+                               final String inQuery,
+                               final RowCallbackHandler inRowMapper) throws IOException {
+        final long[] theRowCount = new long[1];
+        inWriter.startTable(inTableIndex);
+        try {
+            mJdbcTemplate.query(
+                inConnection -> inConnection.prepareStatement(
+                    inQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY),
+                (RowCallbackHandler) inResultSet -> {
+                    inRowMapper.processRow(inResultSet);
+                    try {
+                        inWriter.endRow();
+                    } catch (final IOException theException) {
+                        throw new UncheckedIOException(theException);
+                    }
+                    theRowCount[0]++;
+                });
+        } catch (final UncheckedIOException theException) {
+            throw theException.getCause();
+        }
+        inWriter.endTable();
+        return theRowCount[0];
+    }
+}
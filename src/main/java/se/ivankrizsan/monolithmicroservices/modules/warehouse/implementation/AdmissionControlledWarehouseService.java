@@ -0,0 +1,111 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiter;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ReservationRejectedException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Warehouse service that admits product reservations to the underlying warehouse service using
+ * an adaptive concurrency limiter, which limit follows the observed latency of the reservations.
+ * Reservations exceeding the limit are rejected immediately with a {@link ReservationRejectedException},
+ * so that reservations stay within their latency target under load spikes instead of all waiting
+ * for database locks. Other operations are delegated to the underlying warehouse service.
+ * Reservations of products not in the warehouse and reservations with invalid arguments do not
+ * affect the limit.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class AdmissionControlledWarehouseService implements WarehouseService {
+    /* Dependencies: */
+    /** Underlying warehouse service. */
+    @NonNull
+    protected final WarehouseService mWarehouseService;
+    /** Limiter admitting product reservations. */
+    @NonNull
+    protected final ConcurrencyLimiter mReservationLimiter;
+
+    @Override
+    public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
+        return mWarehouseService.retrieveProductAvailableAmount(inProductNumber);
+    }
+
+    @Override
+    public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
+        return mWarehouseService.retrieveProductUnitPrice(inProductNumber);
+    }
+
+    @Override
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        return mWarehouseService.retrieveProductUnitPrices(inProductNumbers);
+    }
+
+    @Override
+    public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount)
+        throws ReservationRejectedException {
+        final ConcurrencyLimiter.Permit thePermit = mReservationLimiter
+            .tryAcquire()
+            .orElseThrow(() -> inProductNumber != null
+                ? new ReservationRejectedException(inProductNumber)
+                : new ReservationRejectedException());
+        try {
+            final Optional<Long> theReservationId = mWarehouseService.reserveProduct(inProductNumber, inAmount);
+            thePermit.onSuccess();
+            return theReservationId;
+        } catch (final ProductNotInWarehouseException | IllegalArgumentException theException) {
+            thePermit.onIgnore();
+            throw theException;
+        } catch (final RuntimeException theException) {
+            thePermit.onDropped();
+            throw theException;
+        }
+    }
+
+    @Override
+    public boolean removeProductReservation(final Long inProductReservationId) {
+        return mWarehouseService.removeProductReservation(inProductReservationId);
+    }
+
+    @Override
+    public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
+        return mWarehouseService.retrieveReservationAmount(inProductReservationId);
+    }
+
+    @Override
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        return mWarehouseService.retrieveReservationAmounts(inProductReservationIds);
+    }
+
+    @Override
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        return mWarehouseService.retrieveProductReservationSummary(inProductNumber);
+    }
+
+    @Override
+    public void createProductInWarehouse(final String inProductNumber,
+                                         final String inProductName,
+                                         final Double inUnitPrice) {
+        mWarehouseService.createProductInWarehouse(inProductNumber, inProductName, inUnitPrice);
+    }
+
+    @Override
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        return mWarehouseService.createProductsInWarehouse(inProductDefinitions);
+    }
+
+    @Override
+    public void increaseProductStock(final String inProductNumber, final double inAmount)
+        throws ProductNotInWarehouseException {
+        mWarehouseService.increaseProductStock(inProductNumber, inAmount);
+    }
+}
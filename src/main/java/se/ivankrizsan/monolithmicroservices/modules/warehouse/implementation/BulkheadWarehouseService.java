@@ -0,0 +1,91 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.Bulkhead;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Warehouse service that executes all operations of the underlying warehouse service within the bulkhead
+ * of the warehouse module, limiting the number of concurrent calls into the warehouse.
+ * Calls rejected by the bulkhead fail with a
+ * {@link se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadFullException}.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class BulkheadWarehouseService implements WarehouseService {
+    /* Dependencies: */
+    /** Underlying warehouse service. */
+    @NonNull
+    protected final WarehouseService mWarehouseService;
+    /** Bulkhead of the warehouse module. */
+    @NonNull
+    protected final Bulkhead mBulkhead;
+
+    @Override
+    public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
+        return mBulkhead.execute(() -> mWarehouseService.retrieveProductAvailableAmount(inProductNumber));
+    }
+
+    @Override
+    public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
+        return mBulkhead.execute(() -> mWarehouseService.retrieveProductUnitPrice(inProductNumber));
+    }
+
+    @Override
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        return mBulkhead.execute(() -> mWarehouseService.retrieveProductUnitPrices(inProductNumbers));
+    }
+
+    @Override
+    public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount) {
+        return mBulkhead.execute(() -> mWarehouseService.reserveProduct(inProductNumber, inAmount));
+    }
+
+    @Override
+    public boolean removeProductReservation(final Long inProductReservationId) {
+        return mBulkhead.execute(() -> mWarehouseService.removeProductReservation(inProductReservationId));
+    }
+
+    @Override
+    public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
+        return mBulkhead.execute(() -> mWarehouseService.retrieveReservationAmount(inProductReservationId));
+    }
+
+    @Override
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        return mBulkhead.execute(() -> mWarehouseService.retrieveReservationAmounts(inProductReservationIds));
+    }
+
+    @Override
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        return mBulkhead.execute(() -> mWarehouseService.retrieveProductReservationSummary(inProductNumber));
+    }
+
+    @Override
+    public void createProductInWarehouse(final String inProductNumber,
+                                         final String inProductName,
+                                         final Double inUnitPrice) {
+        mBulkhead.run(() -> mWarehouseService.createProductInWarehouse(inProductNumber, inProductName, inUnitPrice));
+    }
+
+    @Override
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        return mBulkhead.execute(() -> mWarehouseService.createProductsInWarehouse(inProductDefinitions));
+    }
+
+    @Override
+    public void increaseProductStock(final String inProductNumber, final double inAmount)
+        throws ProductNotInWarehouseException {
+        mBulkhead.run(() -> mWarehouseService.increaseProductStock(inProductNumber, inAmount));
+    }
+}
@@ -0,0 +1,160 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.LookupCoalescingStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Warehouse service that coalesces concurrent identical product unit price and available amount lookups,
+ * so that they share one invocation of the underlying warehouse service and its result.
+ * Lookups made in a read-write transaction are not coalesced, since they may depend on changes not yet
+ * committed in the transaction and since a shared lookup is executed outside of the transactions of the
+ * callers waiting for it.
+ * All other operations are delegated to the underlying warehouse service.
+ *
+ * @author Ivan Krizsan
+ */
+public class CoalescingWarehouseService implements WarehouseService {
+    /* Instance variable(s): */
+    /** Underlying warehouse service. */
+    protected final WarehouseService mWarehouseService;
+    /** Group coalescing lookups in progress. */
+    protected final SingleFlightGroup<ProductLookupKey, Optional<Double>> mLookups;
+    /** Number of lookups not eligible for coalescing. */
+    protected final LongAdder mBypassedLookupCount = new LongAdder();
+
+    /**
+     * Creates a coalescing warehouse service in front of the supplied warehouse service.
+     *
+     * @param inWarehouseService Underlying warehouse service.
+     * @param inMaxWait Maximum time a lookup waits for the result of an identical lookup in progress.
+     */
+    public CoalescingWarehouseService(final WarehouseService inWarehouseService, final Duration inMaxWait) {
+        Assert.notNull(inWarehouseService, "A warehouse service is required");
+        mWarehouseService = inWarehouseService;
+        mLookups = new SingleFlightGroup<>(inMaxWait);
+    }
+
+    /**
+     * Retrieves statistics of the lookups made through this warehouse service.
+     *
+     * @return Lookup coalescing statistics.
+     */
+    public LookupCoalescingStatistics retrieveLookupCoalescingStatistics() {
+        return new LookupCoalescingStatistics(
+            mLookups.executedCallCount(),
+            mLookups.coalescedCallCount(),
+            mLookups.waitTimeoutCount(),
+            mBypassedLookupCount.sum());
+    }
+
+    @Override
+    public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
+        return lookup(ProductLookupType.AVAILABLE_AMOUNT, inProductNumber,
+            () -> mWarehouseService.retrieveProductAvailableAmount(inProductNumber));
+    }
+
+    @Override
+    public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
+        return lookup(ProductLookupType.UNIT_PRICE, inProductNumber,
+            () -> mWarehouseService.retrieveProductUnitPrice(inProductNumber));
+    }
+
+    @Override
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        return mWarehouseService.retrieveProductUnitPrices(inProductNumbers);
+    }
+
+    @Override
+    public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount) {
+        return mWarehouseService.reserveProduct(inProductNumber, inAmount);
+    }
+
+    @Override
+    public boolean removeProductReservation(final Long inProductReservationId) {
+        return mWarehouseService.removeProductReservation(inProductReservationId);
+    }
+
+    @Override
+    public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
+        return mWarehouseService.retrieveReservationAmount(inProductReservationId);
+    }
+
+    @Override
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        return mWarehouseService.retrieveReservationAmounts(inProductReservationIds);
+    }
+
+    @Override
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        return mWarehouseService.retrieveProductReservationSummary(inProductNumber);
+    }
+
+    @Override
+    public void createProductInWarehouse(final String inProductNumber,
+                                         final String inProductName,
+                                         final Double inUnitPrice) {
+        mWarehouseService.createProductInWarehouse(inProductNumber, inProductName, inUnitPrice);
+    }
+
+    @Override
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        return mWarehouseService.createProductsInWarehouse(inProductDefinitions);
+    }
+
+    @Override
+    public void increaseProductStock(final String inProductNumber, final double inAmount)
+        throws ProductNotInWarehouseException {
+        mWarehouseService.increaseProductStock(inProductNumber, inAmount);
+    }
+
+    /**
+     * Performs the supplied product lookup, sharing the execution with concurrent identical lookups
+     * if the lookup is eligible for coalescing.
+     *
+     * @param inLookupType Type of lookup.
+     * @param inProductNumber Product number of product to look up.
+     * @param inLookup Performs the lookup using the underlying warehouse service.
+     * @return Lookup result.
+     */
+    protected Optional<Double> lookup(final ProductLookupType inLookupType,
+                                      final String inProductNumber,
+                                      final Supplier<Optional<Double>> inLookup) {
+        final boolean theReadWriteTransactionFlag = TransactionSynchronizationManager.isActualTransactionActive()
+            && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (inProductNumber == null || theReadWriteTransactionFlag) {
+            mBypassedLookupCount.increment();
+            return inLookup.get();
+        }
+        return mLookups.execute(new ProductLookupKey(inLookupType, inProductNumber), inLookup);
+    }
+
+    /**
+     * Types of product lookups that are coalesced.
+     */
+    protected enum ProductLookupType {
+        AVAILABLE_AMOUNT,
+        UNIT_PRICE
+    }
+
+    /**
+     * Key identifying identical product lookups.
+     *
+     * @param lookupType Type of lookup.
+     * @param productNumber Product number of product looked up.
+     */
+    protected record ProductLookupKey(ProductLookupType lookupType, String productNumber) {
+    }
+}
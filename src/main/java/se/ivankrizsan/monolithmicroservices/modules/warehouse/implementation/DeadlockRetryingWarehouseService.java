@@ -0,0 +1,123 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Warehouse service that retries reservations, removals of reservations and stock increases of the
+ * underlying warehouse service that were rolled back because their transaction was chosen as the victim
+ * of a deadlock or failed to acquire a lock.
+ * Warehouse operations lock the stock buckets of a product such that they cannot deadlock with each other,
+ * but lock waits may time out while the buckets of a product are gathered and transactions spanning several
+ * operations may still deadlock. Since the transaction of the failed operation has been rolled back, the
+ * operation is only retried if it is not part of a transaction started by the caller.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class DeadlockRetryingWarehouseService implements WarehouseService {
+    /* Dependencies: */
+    /** Underlying warehouse service. */
+    @NonNull
+    protected final WarehouseService mWarehouseService;
+
+    /* Instance variable(s): */
+    /** Maximum number of attempts of an operation, including the first attempt. */
+    protected final int mMaxAttempts;
+
+    @Override
+    public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
+        return mWarehouseService.retrieveProductAvailableAmount(inProductNumber);
+    }
+
+    @Override
+    public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
+        return mWarehouseService.retrieveProductUnitPrice(inProductNumber);
+    }
+
+    @Override
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        return mWarehouseService.retrieveProductUnitPrices(inProductNumbers);
+    }
+
+    @Override
+    public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount) {
+        return retryOnDeadlock(() -> mWarehouseService.reserveProduct(inProductNumber, inAmount));
+    }
+
+    @Override
+    public boolean removeProductReservation(final Long inProductReservationId) {
+        return retryOnDeadlock(() -> mWarehouseService.removeProductReservation(inProductReservationId));
+    }
+
+    @Override
+    public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
+        return mWarehouseService.retrieveReservationAmount(inProductReservationId);
+    }
+
+    @Override
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        return mWarehouseService.retrieveReservationAmounts(inProductReservationIds);
+    }
+
+    @Override
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        return mWarehouseService.retrieveProductReservationSummary(inProductNumber);
+    }
+
+    @Override
+    public void createProductInWarehouse(final String inProductNumber,
+                                         final String inProductName,
+                                         final Double inUnitPrice) {
+        mWarehouseService.createProductInWarehouse(inProductNumber, inProductName, inUnitPrice);
+    }
+
+    @Override
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        return mWarehouseService.createProductsInWarehouse(inProductDefinitions);
+    }
+
+    @Override
+    public void increaseProductStock(final String inProductNumber, final double inAmount)
+        throws ProductNotInWarehouseException {
+        retryOnDeadlock(() -> {
+            mWarehouseService.increaseProductStock(inProductNumber, inAmount);
+            return null;
+        });
+    }
+
+    /**
+     * Performs the supplied operation, retrying it if it fails to acquire a lock and no transaction
+     * started by the caller is active, until the maximum number of attempts have been made.
+     *
+     * @param inOperation Operation to perform.
+     * @param <T> Type of result of operation.
+     * @return Result of operation.
+     */
+    protected <T> T retryOnDeadlock(final Supplier<T> inOperation) {
+        for (int theAttempt = 1; ; theAttempt++) {
+            try {
+                return inOperation.get();
+            } catch (final PessimisticLockingFailureException theException) {
+                if (theAttempt >= mMaxAttempts || TransactionSynchronizationManager.isActualTransactionActive()) {
+                    throw theException;
+                }
+                log.debug("Retrying warehouse operation after failing to acquire lock, attempt {}", theAttempt);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Streaming tracker of the most frequently occurring keys, the heavy hitters, using fixed memory.
+ * Occurrences are counted in a Count-Min Sketch, which never underestimates the number of occurrences of a key
+ * and overestimates it only by the colliding occurrences of other keys in the least colliding row.
+ * The keys with the highest estimates are kept as heavy hitter candidates. A key becomes a candidate when its
+ * estimate exceeds the lowest estimate of the candidates. When the candidates exceed the capacity, the candidates
+ * with the lowest estimates are evicted and the lowest remaining estimate becomes the estimate a key must exceed
+ * to become a candidate.
+ * In order for the heavy hitters to follow changes in the key distribution, all counts are halved each time
+ * the sample size number of occurrences have been added.
+ * Adding an occurrence is lock-free; evicting candidates is done by one thread at a time, without blocking
+ * other threads. Counts are approximate under concurrent halving.
+ *
+ * @param <K> Type of keys.
+ * @author Ivan Krizsan
+ */
+public class HeavyHitterSketch<K> {
+    /* Constant(s): */
+    /** Number of rows of the Count-Min Sketch, each using an independent hash function. */
+    protected static final int DEPTH = 4;
+    /** Seeds of the hash functions of the rows. */
+    protected static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    /* Instance variable(s): */
+    /** Maximum number of heavy hitters. */
+    protected final int mCapacity;
+    /** Number of counters in each row of the sketch, a power of two. */
+    protected final int mWidth;
+    /** Number of added occurrences after which all counts are halved. */
+    protected final long mSampleSize;
+    /** Counters of the sketch, row by row. */
+    protected final AtomicLongArray mCounters;
+    /** Estimated number of occurrences of heavy hitter candidates when last added, keyed by key. */
+    protected final Map<K, Long> mCandidates = new ConcurrentHashMap<>();
+    /** Estimate a key must exceed to become a candidate when there are at least capacity candidates. */
+    protected volatile long mAdmissionThreshold;
+    /** Number of occurrences added since the counts were last halved. */
+    protected final AtomicLong mAddedSinceHalving = new AtomicLong();
+    /** Whether a thread is evicting candidates. */
+    protected final AtomicBoolean mEvicting = new AtomicBoolean();
+
+    /**
+     * Creates a sketch tracking the supplied number of heavy hitters.
+     *
+     * @param inCapacity Maximum number of heavy hitters.
+     * @param inWidth Number of counters in each row of the sketch, rounded up to a power of two.
+     * @param inSampleSize Number of added occurrences after which all counts are halved.
+     */
+    public HeavyHitterSketch(final int inCapacity, final int inWidth, final long inSampleSize) {
+        Assert.isTrue(inCapacity > 0, "The capacity must be positive");
+        Assert.isTrue(inWidth > 0 && inWidth <= (1 << 24), "The width must be in the range [1, 2^24]");
+        Assert.isTrue(inSampleSize > 0, "The sample size must be positive");
+        mCapacity = inCapacity;
+        mWidth = Integer.highestOneBit(inWidth) == inWidth ? inWidth : Integer.highestOneBit(inWidth) << 1;
+        mSampleSize = inSampleSize;
+        mCounters = new AtomicLongArray(DEPTH * mWidth);
+    }
+
+    /**
+     * Adds an occurrence of the supplied key.
+     *
+     * @param inKey Key which occurred.
+     * @return Estimated number of occurrences of the key, including this occurrence.
+     */
+    public long add(final K inKey) {
+        final int theHash = inKey.hashCode();
+        long theEstimate = Long.MAX_VALUE;
+        for (int theRow = 0; theRow < DEPTH; theRow++) {
+            theEstimate = Math.min(theEstimate, mCounters.incrementAndGet(counterIndex(theRow, theHash)));
+        }
+
+        if (mCandidates.containsKey(inKey)
+            || mCandidates.size() < mCapacity
+            || theEstimate > mAdmissionThreshold) {
+            mCandidates.put(inKey, theEstimate);
+            if (mCandidates.size() > mCapacity) {
+                evictCandidates();
+            }
+        }
+        if (mAddedSinceHalving.incrementAndGet() >= mSampleSize) {
+            halveCounts();
+        }
+        return theEstimate;
+    }
+
+    /**
+     * Estimates the number of occurrences of the supplied key since the counts were last halved,
+     * including half of the occurrences before that.
+     *
+     * @param inKey Key to estimate the number of occurrences of.
+     * @return Estimated number of occurrences.
+     */
+    public long estimate(final K inKey) {
+        final int theHash = inKey.hashCode();
+        long theEstimate = Long.MAX_VALUE;
+        for (int theRow = 0; theRow < DEPTH; theRow++) {
+            theEstimate = Math.min(theEstimate, mCounters.get(counterIndex(theRow, theHash)));
+        }
+        return theEstimate;
+    }
+
+    /**
+     * Retrieves the current heavy hitters with their estimated number of occurrences, in descending order
+     * of the estimates.
+     *
+     * @return Heavy hitters, at most the capacity number.
+     */
+    public List<Map.Entry<K, Long>> heavyHitters() {
+        final List<Map.Entry<K, Long>> theHeavyHitters = new ArrayList<>(mCandidates.size());
+        for (K theKey : mCandidates.keySet()) {
+            final long theEstimate = estimate(theKey);
+            if (theEstimate > 0) {
+                theHeavyHitters.add(Map.entry(theKey, theEstimate));
+            }
+        }
+        theHeavyHitters.sort(Map.Entry.<K, Long>comparingByValue().reversed());
+        return theHeavyHitters.size() > mCapacity
+            ? List.copyOf(theHeavyHitters.subList(0, mCapacity))
+            : theHeavyHitters;
+    }
+
+    /**
+     * Determines whether the supplied key is a heavy hitter candidate.
+     * Cheaper than retrieving the heavy hitters, but may include a key that has just become a candidate
+     * while another thread is evicting candidates.
+     *
+     * @param inKey Key to examine.
+     * @return True if the key is a heavy hitter, false otherwise.
+     */
+    public boolean isHeavyHitter(final K inKey) {
+        return mCandidates.containsKey(inKey);
+    }
+
+    /**
+     * Calculates the index of the counter of the key with the supplied hash code in the supplied row.
+     *
+     * @param inRow Row of the sketch.
+     * @param inHash Hash code of key.
+     * @return Counter index.
+     */
+    protected int counterIndex(final int inRow, final int inHash) {
+        /* The upper half of the product depends on all bits of the hash code. */
+        final long theHash = (inHash & 0xFFFFFFFFL) * SEEDS[inRow];
+        return inRow * mWidth + (int) ((theHash >>> 32) & (mWidth - 1));
+    }
+
+    /**
+     * Evicts the candidates with the lowest estimates so that the capacity number of candidates remain,
+     * unless another thread is already evicting candidates.
+     * The lowest estimate of the remaining candidates becomes the admission threshold.
+     */
+    protected void evictCandidates() {
+        if (!mEvicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final List<Map.Entry<K, Long>> theCandidates = new ArrayList<>(mCandidates.entrySet());
+            if (theCandidates.size() <= mCapacity) {
+                return;
+            }
+            theCandidates.sort(Map.Entry.comparingByValue(Comparator.reverseOrder()));
+            for (Map.Entry<K, Long> theEvicted : theCandidates.subList(mCapacity, theCandidates.size())) {
+                mCandidates.remove(theEvicted.getKey());
+            }
+            mAdmissionThreshold = theCandidates.get(mCapacity - 1).getValue();
+        } finally {
+            mEvicting.set(false);
+        }
+    }
+
+    /**
+     * Halves all counts, including the estimates of the candidates and the admission threshold, unless
+     * another thread has already started halving the counts.
+     */
+    protected void halveCounts() {
+        final long theAddedSinceHalving = mAddedSinceHalving.get();
+        if (theAddedSinceHalving < mSampleSize
+            || !mAddedSinceHalving.compareAndSet(theAddedSinceHalving, 0)) {
+            return;
+        }
+        for (int i = 0; i < mCounters.length(); i++) {
+            mCounters.getAndUpdate(i, inCount -> inCount >>> 1);
+        }
+        mCandidates.replaceAll((inKey, inEstimate) -> inEstimate >>> 1);
+        mAdmissionThreshold = mAdmissionThreshold >>> 1;
+    }
+}
@@ -0,0 +1,56 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.HotProduct;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.HotProductService;
+
+import java.util.List;
+
+/**
+ * Hot product service that detects the hot products by recording product accesses in a heavy hitter sketch.
+ *
+ * @author Ivan Krizsan
+ */
+public class HotProductTracker implements HotProductService {
+    /* Instance variable(s): */
+    /** Sketch counting accesses per product number. */
+    protected final HeavyHitterSketch<String> mSketch;
+
+    /**
+     * Creates a tracker detecting the supplied number of hot products.
+     *
+     * @param inHotProductCount Maximum number of hot products.
+     * @param inSketchWidth Number of counters in each row of the sketch.
+     * @param inSampleSize Number of accesses after which the access counts are halved.
+     */
+    public HotProductTracker(final int inHotProductCount, final int inSketchWidth, final long inSampleSize) {
+        mSketch = new HeavyHitterSketch<>(inHotProductCount, inSketchWidth, inSampleSize);
+    }
+
+    /**
+     * Records an access of the product with the supplied product number.
+     * Accesses without a product number are ignored.
+     *
+     * @param inProductNumber Product number of accessed product.
+     */
+    public void recordAccess(final String inProductNumber) {
+        if (inProductNumber != null) {
+            mSketch.add(inProductNumber);
+        }
+    }
+
+    @Override
+    public List<HotProduct> retrieveHotProducts() {
+        return mSketch
+            .heavyHitters()
+            .stream()
+            .map(inHeavyHitter -> new HotProduct(inHeavyHitter.getKey(), inHeavyHitter.getValue()))
+            .toList();
+    }
+
+    @Override
+    public boolean isHotProduct(final String inProductNumber) {
+        Assert.notNull(inProductNumber, "A product number is required");
+        return mSketch.isHeavyHitter(inProductNumber);
+    }
+}
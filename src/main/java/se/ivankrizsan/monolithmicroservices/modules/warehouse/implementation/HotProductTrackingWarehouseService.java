@@ -0,0 +1,99 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ReservationRejectedException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Warehouse service that records product lookups and reservations in the hot product tracker before
+ * delegating them to the underlying warehouse service.
+ * Accesses are recorded before the underlying warehouse service is invoked, so that the demand of
+ * products is recorded also when calls are rejected or fail.
+ * Other operations are delegated to the underlying warehouse service.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class HotProductTrackingWarehouseService implements WarehouseService {
+    /* Dependencies: */
+    /** Underlying warehouse service. */
+    @NonNull
+    protected final WarehouseService mWarehouseService;
+    /** Tracker in which product accesses are recorded. */
+    @NonNull
+    protected final HotProductTracker mHotProductTracker;
+
+    @Override
+    public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
+        mHotProductTracker.recordAccess(inProductNumber);
+        return mWarehouseService.retrieveProductAvailableAmount(inProductNumber);
+    }
+
+    @Override
+    public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
+        mHotProductTracker.recordAccess(inProductNumber);
+        return mWarehouseService.retrieveProductUnitPrice(inProductNumber);
+    }
+
+    @Override
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        if (inProductNumbers != null) {
+            inProductNumbers.forEach(mHotProductTracker::recordAccess);
+        }
+        return mWarehouseService.retrieveProductUnitPrices(inProductNumbers);
+    }
+
+    @Override
+    public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount)
+        throws ReservationRejectedException {
+        mHotProductTracker.recordAccess(inProductNumber);
+        return mWarehouseService.reserveProduct(inProductNumber, inAmount);
+    }
+
+    @Override
+    public boolean removeProductReservation(final Long inProductReservationId) {
+        return mWarehouseService.removeProductReservation(inProductReservationId);
+    }
+
+    @Override
+    public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
+        return mWarehouseService.retrieveReservationAmount(inProductReservationId);
+    }
+
+    @Override
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        return mWarehouseService.retrieveReservationAmounts(inProductReservationIds);
+    }
+
+    @Override
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        return mWarehouseService.retrieveProductReservationSummary(inProductNumber);
+    }
+
+    @Override
+    public void createProductInWarehouse(final String inProductNumber,
+                                         final String inProductName,
+                                         final Double inUnitPrice) {
+        mWarehouseService.createProductInWarehouse(inProductNumber, inProductName, inUnitPrice);
+    }
+
+    @Override
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        return mWarehouseService.createProductsInWarehouse(inProductDefinitions);
+    }
+
+    @Override
+    public void increaseProductStock(final String inProductNumber, final double inAmount)
+        throws ProductNotInWarehouseException {
+        mWarehouseService.increaseProductStock(inProductNumber, inAmount);
+    }
+}
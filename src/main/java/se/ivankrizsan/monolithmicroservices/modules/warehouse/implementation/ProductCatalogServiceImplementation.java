@@ -0,0 +1,43 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogPage;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogQuery;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import java.util.List;
+
+/**
+ * Implementation of the {@link ProductCatalogService}.
+ * Retrieves one product more than the page size, in order to determine whether there is a following page
+ * without a separate count query. Pages are retrieved in read-only transactions, allowing them to be routed
+ * to a replica datasource.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class ProductCatalogServiceImplementation implements ProductCatalogService {
+    /* Dependencies: */
+    @NonNull
+    protected final ProductRepository mProductRepository;
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
+    public ProductCatalogPage browseProducts(final ProductCatalogQuery inQuery) {
+        Assert.notNull(inQuery, "A catalog query is required");
+
+        final List<ProductCatalogEntry> theProducts =
+            mProductRepository.findCatalogEntries(inQuery, inQuery.pageSize() + 1);
+        if (theProducts.size() <= inQuery.pageSize()) {
+            return new ProductCatalogPage(theProducts, null);
+        }
+        final List<ProductCatalogEntry> thePageProducts = List.copyOf(theProducts.subList(0, inQuery.pageSize()));
+        return new ProductCatalogPage(thePageProducts, inQuery.after(thePageProducts.get(inQuery.pageSize() - 1)));
+    }
+}
@@ -0,0 +1,144 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Executes calls so that concurrent calls with the same key share one execution and its result.
+ * The first caller with a key executes the call on its own thread, while callers arriving with the same
+ * key before the call has completed wait for its result. Callers that have waited for the maximum wait
+ * time execute the call themselves.
+ * Exceptions thrown by a shared execution are re-thrown to all callers sharing it.
+ *
+ * @param <K> Type of call keys.
+ * @param <V> Type of call results.
+ * @author Ivan Krizsan
+ */
+public class SingleFlightGroup<K, V> {
+    /* Instance variable(s): */
+    /** Maximum time a caller waits for the result of a shared execution. */
+    protected final Duration mMaxWait;
+    /** Futures of the executions in progress, keyed by call key. */
+    protected final Map<K, CompletableFuture<V>> mExecutionsInProgress = new ConcurrentHashMap<>();
+    /** Number of calls executed. */
+    protected final LongAdder mExecutedCallCount = new LongAdder();
+    /** Number of calls answered by a shared execution. */
+    protected final LongAdder mCoalescedCallCount = new LongAdder();
+    /** Number of calls that gave up waiting for a shared execution. */
+    protected final LongAdder mWaitTimeoutCount = new LongAdder();
+
+    /**
+     * Creates a group in which callers wait at most the supplied time for shared executions.
+     *
+     * @param inMaxWait Maximum time to wait for the result of a shared execution.
+     */
+    public SingleFlightGroup(final Duration inMaxWait) {
+        Assert.notNull(inMaxWait, "A maximum wait time is required");
+        Assert.isTrue(!inMaxWait.isNegative(), "The maximum wait time must not be negative");
+        mMaxWait = inMaxWait;
+    }
+
+    /**
+     * Executes the supplied call, unless a call with the supplied key is already being executed in
+     * which case the result of that execution is awaited.
+     *
+     * @param inKey Key identifying calls that are interchangeable.
+     * @param inCall Call to execute.
+     * @return Call result.
+     */
+    public V execute(final K inKey, final Supplier<V> inCall) {
+        final CompletableFuture<V> theExecution = new CompletableFuture<>();
+        final CompletableFuture<V> theExecutionInProgress = mExecutionsInProgress.putIfAbsent(inKey, theExecution);
+        if (theExecutionInProgress == null) {
+            return executeShared(inKey, theExecution, inCall);
+        }
+        return awaitShared(theExecutionInProgress, inCall);
+    }
+
+    /**
+     * Retrieves the number of calls executed.
+     *
+     * @return Number of executed calls.
+     */
+    public long executedCallCount() {
+        return mExecutedCallCount.sum();
+    }
+
+    /**
+     * Retrieves the number of calls answered by the execution of another call with the same key.
+     *
+     * @return Number of coalesced calls.
+     */
+    public long coalescedCallCount() {
+        return mCoalescedCallCount.sum();
+    }
+
+    /**
+     * Retrieves the number of calls that gave up waiting for the execution of another call with
+     * the same key and were executed separately.
+     *
+     * @return Number of wait timeouts.
+     */
+    public long waitTimeoutCount() {
+        return mWaitTimeoutCount.sum();
+    }
+
+    /**
+     * Executes the supplied call, completing the supplied execution future with its outcome.
+     *
+     * @param inKey Call key.
+     * @param inExecution Future of the execution which other callers may await.
+     * @param inCall Call to execute.
+     * @return Call result.
+     */
+    protected V executeShared(final K inKey, final CompletableFuture<V> inExecution, final Supplier<V> inCall) {
+        mExecutedCallCount.increment();
+        try {
+            final V theResult = inCall.get();
+            inExecution.complete(theResult);
+            return theResult;
+        } catch (final RuntimeException | Error theException) {
+            inExecution.completeExceptionally(theException);
+            throw theException;
+        } finally {
+            mExecutionsInProgress.remove(inKey, inExecution);
+        }
+    }
+
+    /**
+     * Awaits the result of the supplied execution in progress, executing the supplied call if
+     * the maximum wait time passes or the waiting thread is interrupted.
+     *
+     * @param inExecutionInProgress Future of the execution in progress.
+     * @param inCall Call to execute if the result is not available in time.
+     * @return Call result.
+     */
+    protected V awaitShared(final CompletableFuture<V> inExecutionInProgress, final Supplier<V> inCall) {
+        try {
+            final V theResult = inExecutionInProgress.get(mMaxWait.toNanos(), TimeUnit.NANOSECONDS);
+            mCoalescedCallCount.increment();
+            return theResult;
+        } catch (final ExecutionException theException) {
+            mCoalescedCallCount.increment();
+            if (theException.getCause() instanceof RuntimeException theRuntimeException) {
+                throw theRuntimeException;
+            }
+            throw (Error) theException.getCause();
+        } catch (final TimeoutException theException) {
+            mWaitTimeoutCount.increment();
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+        mExecutedCallCount.increment();
+        return inCall.get();
+    }
+}
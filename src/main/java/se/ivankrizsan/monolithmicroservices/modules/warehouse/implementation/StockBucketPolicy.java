@@ -0,0 +1,91 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Decides which products are to have their stock split into buckets and into how many buckets.
+ * The stock of a product is split either if the product is one of the configured products, such as
+ * products on flash sale, or if reservations of the product have been observed to wait for the lock
+ * of the product at least the contended lock wait for a number of times.
+ * Contended reservations are counted per product in a fixed-size sketch, so that counting does not
+ * require memory proportional to the number of products. Since the counts of the sketch may be
+ * overestimated, a product may occasionally be split slightly early.
+ *
+ * @author Ivan Krizsan
+ */
+public class StockBucketPolicy {
+    /* Constant(s): */
+    /** Number of counters in each row of the sketch counting contended reservations. */
+    protected static final int CONTENTION_SKETCH_WIDTH = 1024;
+    /** Number of contended reservations after which the contended reservation counts are halved. */
+    protected static final long CONTENTION_SKETCH_SAMPLE_SIZE = 100_000;
+
+    /* Instance variable(s): */
+    /** Number of buckets the stock of products is split into. */
+    protected final int mBucketCount;
+    /** Product numbers of products which stock is split when first reserved. */
+    protected final Set<String> mProductNumbers;
+    /** Minimum time waited for the lock of a product for the reservation to count as contended. */
+    protected final long mContendedLockWaitNanos;
+    /** Number of contended reservations of a product after which its stock is split, zero if never. */
+    protected final int mContendedReservationsBeforeSplit;
+    /** Counts contended reservations per product number. */
+    protected final HeavyHitterSketch<String> mContendedReservations;
+
+    /**
+     * Creates a policy splitting the stock of products into the supplied number of buckets.
+     *
+     * @param inBucketCount Number of buckets the stock of products is split into.
+     * @param inProductNumbers Product numbers of products which stock is always split.
+     * @param inContendedLockWait Minimum time waited for the lock of a product for the reservation to
+     * count as contended.
+     * @param inContendedReservationsBeforeSplit Number of contended reservations of a product after which
+     * its stock is split. Zero disables splitting the stock of products based on contention.
+     */
+    public StockBucketPolicy(final int inBucketCount,
+                             final Collection<String> inProductNumbers,
+                             final Duration inContendedLockWait,
+                             final int inContendedReservationsBeforeSplit) {
+        Assert.isTrue(inBucketCount > 1, "The stock must be split into at least two buckets");
+        Assert.notNull(inProductNumbers, "Product numbers are required");
+        Assert.notNull(inContendedLockWait, "A contended lock wait is required");
+        Assert.isTrue(inContendedReservationsBeforeSplit >= 0,
+            "The number of contended reservations before splitting must not be negative");
+        mBucketCount = inBucketCount;
+        mProductNumbers = Set.copyOf(inProductNumbers);
+        mContendedLockWaitNanos = inContendedLockWait.toNanos();
+        mContendedReservationsBeforeSplit = inContendedReservationsBeforeSplit;
+        mContendedReservations =
+            new HeavyHitterSketch<>(1, CONTENTION_SKETCH_WIDTH, CONTENTION_SKETCH_SAMPLE_SIZE);
+    }
+
+    /**
+     * Retrieves the number of buckets the stock of products is split into.
+     *
+     * @return Number of stock buckets.
+     */
+    public int bucketCount() {
+        return mBucketCount;
+    }
+
+    /**
+     * Determines whether the stock of the product with the supplied product number is to be split into buckets
+     * after a reservation of the product waited the supplied time for the lock of the product.
+     *
+     * @param inProductNumber Product number of reserved product.
+     * @param inLockWaitNanos Time waited for the lock of the product in nanoseconds.
+     * @return True if the stock of the product is to be split, false otherwise.
+     */
+    public boolean isSplitWarranted(final String inProductNumber, final long inLockWaitNanos) {
+        if (mProductNumbers.contains(inProductNumber)) {
+            return true;
+        }
+        return mContendedReservationsBeforeSplit > 0
+            && inLockWaitNanos >= mContendedLockWaitNanos
+            && mContendedReservations.add(inProductNumber) >= mContendedReservationsBeforeSplit;
+    }
+}
@@ -0,0 +1,43 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+/**
+ * Listener that is notified of changes to the state of the warehouse.
+ * Listeners are invoked in the transaction in which the change is made. Listeners that are to
+ * act on committed changes only are responsible for deferring their actions until the transaction
+ * has been committed.
+ *
+ * @author Ivan Krizsan
+ */
+public interface WarehouseChangeListener {
+
+    /**
+     * Invoked when the stock of a product has been increased.
+     *
+     * @param inProductNumber Product number of product which stock was increased.
+     * @param inAmount Amount with which the product stock was increased.
+     */
+    default void onStockIncreased(final String inProductNumber, final double inAmount) {
+    }
+
+    /**
+     * Invoked when an amount of a product has been reserved.
+     *
+     * @param inProductNumber Product number of reserved product.
+     * @param inAmount Reserved amount.
+     * @param inReservationId Id of the new product reservation.
+     */
+    default void onProductReserved(final String inProductNumber, final double inAmount, final Long inReservationId) {
+    }
+
+    /**
+     * Invoked when a product reservation has been removed, consuming the reserved amount of the product.
+     *
+     * @param inProductNumber Product number of product which reservation was removed.
+     * @param inAmount Reserved amount that was consumed.
+     * @param inReservationId Id of the removed product reservation.
+     */
+    default void onProductReservationRemoved(final String inProductNumber,
+                                             final double inAmount,
+                                             final Long inReservationId) {
+    }
+}
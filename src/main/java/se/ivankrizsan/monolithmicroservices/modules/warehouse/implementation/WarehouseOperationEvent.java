@@ -0,0 +1,118 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JDK Flight Recorder event recording an operation of the warehouse service with the product number,
+ * product amount and outcome of the operation, allowing stalls in a recording to be attributed to products.
+ * The duration of the event is the time spent executing the operation, excluding the transaction commit.
+ * When the event is not enabled in the recording, or no recording is running, emitting the event has
+ * no cost beyond an allocation that the JIT compiler eliminates.
+ * By default, only operations taking at least the threshold duration are recorded.
+ *
+ * @author Ivan Krizsan
+ */
+@Name(WarehouseOperationEvent.NAME)
+@Label("Warehouse Operation")
+@Category({ "Monolith Microservices", "Warehouse" })
+@Description("Operation of the warehouse service concerning a product")
+@StackTrace(false)
+@Threshold("10 ms")
+public class WarehouseOperationEvent extends Event {
+    /* Constant(s): */
+    /** Name of warehouse operation events. */
+    public static final String NAME = "se.ivankrizsan.monolithmicroservices.WarehouseOperation";
+    /** Outcome of operations that completed successfully. */
+    public static final String OUTCOME_SUCCESS = "SUCCESS";
+    /** Outcome of reservations refused due to insufficient available amount of the product. */
+    public static final String OUTCOME_INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+    /** Outcome of operations concerning a product or product reservation that was not found. */
+    public static final String OUTCOME_NOT_FOUND = "NOT_FOUND";
+    /** Outcome of operations that failed with an exception. */
+    public static final String OUTCOME_FAILED = "FAILED";
+
+    /* Instance variable(s): */
+    @Label("Operation")
+    @Description("Name of the warehouse service operation")
+    protected String operation;
+    @Label("Product Number")
+    protected String productNumber;
+    @Label("Amount")
+    @Description("Product amount reserved, consumed, stocked or retrieved by the operation")
+    protected double amount;
+    @Label("Reservation Id")
+    @Description("Id of the product reservation concerned, zero if not applicable")
+    protected long reservationId;
+    @Label("Outcome")
+    protected String outcome = OUTCOME_FAILED;
+
+    /**
+     * Creates an event of the warehouse operation with the supplied name concerning the product with
+     * the supplied number and begins timing the operation.
+     * The outcome of the operation is failed until another outcome is set.
+     *
+     * @param inOperation Name of warehouse operation.
+     * @param inProductNumber Product number of product concerned or null if not yet known.
+     * @return Event that has begun.
+     */
+    public static WarehouseOperationEvent start(final String inOperation, final String inProductNumber) {
+        final WarehouseOperationEvent theEvent = new WarehouseOperationEvent();
+        if (theEvent.isEnabled()) {
+            theEvent.operation = inOperation;
+            theEvent.productNumber = inProductNumber;
+            theEvent.begin();
+        }
+        return theEvent;
+    }
+
+    /**
+     * Sets the product concerned by the operation, for operations where the product is not known
+     * when the operation begins.
+     *
+     * @param inProductNumber Product number of product concerned.
+     * @return This event.
+     */
+    public WarehouseOperationEvent productNumber(final String inProductNumber) {
+        productNumber = inProductNumber;
+        return this;
+    }
+
+    /**
+     * Sets the product amount of the operation.
+     *
+     * @param inAmount Product amount.
+     * @return This event.
+     */
+    public WarehouseOperationEvent amount(final double inAmount) {
+        amount = inAmount;
+        return this;
+    }
+
+    /**
+     * Sets the id of the product reservation concerned by the operation.
+     *
+     * @param inReservationId Product reservation id.
+     * @return This event.
+     */
+    public WarehouseOperationEvent reservationId(final long inReservationId) {
+        reservationId = inReservationId;
+        return this;
+    }
+
+    /**
+     * Sets the outcome of the operation.
+     *
+     * @param inOutcome Outcome of the operation.
+     * @return This event.
+     */
+    public WarehouseOperationEvent outcome(final String inOutcome) {
+        outcome = inOutcome;
+        return this;
+    }
+}
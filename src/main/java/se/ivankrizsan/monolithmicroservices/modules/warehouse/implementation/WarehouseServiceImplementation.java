@@ -1,81 +1,229 @@
 package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
 
-import jakarta.transaction.Transactional;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservation;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservationTotals;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductStockBucket;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductStockBucketRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implementation of the {@link WarehouseService}.
+ * Operations that only read are executed in read-only transactions, allowing them to be routed
+ * to a replica datasource.
+ * Operations that modify the amounts of a product lock the product for the duration of the transaction,
+ * so that concurrent reservations cannot oversell the product.
+ * Operations concerning a single product emit {@link WarehouseOperationEvent}s to JDK Flight Recorder.
+ * If a stock bucket policy is set, the stock of products selected by the policy is split into stock buckets
+ * when the product is reserved. Reservations of such products lock one stock bucket instead of the product,
+ * falling back to the neighbouring buckets when the bucket is insufficient, so that reservations of one product
+ * can be made concurrently. If none of the buckets is sufficient but their total is, the available amounts
+ * of the buckets are gathered into one bucket.
  *
  * @author Ivan Krizsan
  */
 @RequiredArgsConstructor
 public class WarehouseServiceImplementation implements WarehouseService {
     /* Constant(s): */
+    /**
+     * Maximum number of products created in one batch when creating multiple products.
+     * Should match the JDBC batch size configured for Hibernate.
+     */
+    public static final int PRODUCT_CREATION_BATCH_SIZE = 50;
+    /** Key of the transaction resource holding the stock buckets reserved from in the transaction. */
+    protected static final Object RESERVED_STOCK_BUCKETS_KEY =
+        WarehouseServiceImplementation.class.getName() + ".reservedStockBuckets";
 
     /* Instance variable(s): */
     @NonNull
     protected ProductRepository mProductRepository;
     @NonNull
     protected ProductReservationRepository mProductReservationRepository;
+    @NonNull
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @NonNull
+    protected ProductStockBucketRepository mProductStockBucketRepository;
+    /** Policy selecting products which stock to split into buckets, null if stock is not to be split. */
+    protected StockBucketPolicy mStockBucketPolicy;
+    /** Listeners notified of changes to the state of the warehouse. */
+    protected final List<WarehouseChangeListener> mWarehouseChangeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Adds the supplied listener that is to be notified of changes to the state of the warehouse.
+     *
+     * @param inWarehouseChangeListener Listener to add.
+     */
+    public void addWarehouseChangeListener(final WarehouseChangeListener inWarehouseChangeListener) {
+        Assert.notNull(inWarehouseChangeListener, "A warehouse change listener is required");
+        mWarehouseChangeListeners.add(inWarehouseChangeListener);
+    }
+
+    /**
+     * Sets the policy selecting the products which stock is to be split into stock buckets.
+     *
+     * @param inStockBucketPolicy Stock bucket policy.
+     */
+    public void setStockBucketPolicy(final StockBucketPolicy inStockBucketPolicy) {
+        mStockBucketPolicy = inStockBucketPolicy;
+    }
 
     @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
     public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
         Assert.hasText(inProductNumber, "A product number is required");
-        final Optional<Product> theProductOptional = mProductRepository.findByProductNumber(inProductNumber);
-        if (theProductOptional.isEmpty()) {
-            throw new ProductNotInWarehouseException(inProductNumber);
+        final WarehouseOperationEvent theEvent =
+            WarehouseOperationEvent.start("retrieveProductAvailableAmount", inProductNumber);
+        try {
+            final Optional<Product> theProductOptional = mProductRepository.findByProductNumber(inProductNumber);
+            if (theProductOptional.isEmpty()) {
+                theEvent.outcome(WarehouseOperationEvent.OUTCOME_NOT_FOUND);
+                throw new ProductNotInWarehouseException(inProductNumber);
+            }
+            final double theAvailableAmount = calculateAvailableAmount(theProductOptional.get());
+            theEvent
+                .amount(theAvailableAmount)
+                .outcome(WarehouseOperationEvent.OUTCOME_SUCCESS);
+            return Optional.of(theAvailableAmount);
+        } finally {
+            theEvent.commit();
         }
-        return theProductOptional.map(Product::availableAmount);
     }
 
     @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
     public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
         Assert.hasText(inProductNumber, "A product number is required");
-        final Optional<Product> theProductOptional = mProductRepository.findByProductNumber(inProductNumber);
-        if (theProductOptional.isEmpty()) {
-            throw new ProductNotInWarehouseException(inProductNumber);
+        final WarehouseOperationEvent theEvent =
+            WarehouseOperationEvent.start("retrieveProductUnitPrice", inProductNumber);
+        try {
+            final Optional<Product> theProductOptional = mProductRepository.findByProductNumber(inProductNumber);
+            if (theProductOptional.isEmpty()) {
+                theEvent.outcome(WarehouseOperationEvent.OUTCOME_NOT_FOUND);
+                throw new ProductNotInWarehouseException(inProductNumber);
+            }
+            theEvent.outcome(WarehouseOperationEvent.OUTCOME_SUCCESS);
+            return theProductOptional.map(Product::unitPrice);
+        } finally {
+            theEvent.commit();
+        }
+    }
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        Assert.notNull(inProductNumbers, "Product numbers are required");
+        if (inProductNumbers.isEmpty()) {
+            return Map.of();
         }
-        return theProductOptional.map(Product::unitPrice);
+        final Map<String, Double> theUnitPrices = new HashMap<>();
+        for (Product theProduct : mProductRepository.findAllByProductNumberIn(inProductNumbers)) {
+            theUnitPrices.put(theProduct.productNumber(), theProduct.unitPrice());
+        }
+        return theUnitPrices;
     }
 
     @Override
-    @Transactional
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER)
     public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount) {
         Assert.hasText(inProductNumber, "A product number is required");
 
-        final Optional<Product> theProductOptional = mProductRepository.findByProductNumber(inProductNumber);
+        final WarehouseOperationEvent theEvent =
+            WarehouseOperationEvent.start("reserveProduct", inProductNumber).amount(inAmount);
+        try {
+            return reserveProduct(inProductNumber, inAmount, theEvent);
+        } finally {
+            theEvent.commit();
+        }
+    }
+
+    /**
+     * Reserves the supplied amount of the product with the supplied product number, recording the outcome
+     * of the reservation in the supplied event.
+     *
+     * @param inProductNumber Product number of product to reserve.
+     * @param inAmount Amount of product to reserve.
+     * @param inEvent Event of the reservation operation.
+     * @return Id of the new product reservation or empty if insufficient product amount available.
+     */
+    protected Optional<Long> reserveProduct(final String inProductNumber,
+                                            final double inAmount,
+                                            final WarehouseOperationEvent inEvent) {
+        if (mStockBucketPolicy != null) {
+            /* Reserve from the stock buckets without locking the product if its stock has been split. */
+            final int theStockBucketCount =
+                mProductRepository.findStockBucketCountByProductNumber(inProductNumber).orElse(0);
+            if (theStockBucketCount > 0) {
+                return reserveFromStockBuckets(inProductNumber, inAmount, theStockBucketCount, inEvent);
+            }
+        }
+
+        final long theLockStartTime = System.nanoTime();
+        final Optional<Product> theProductOptional = mProductRepository.findAndLockByProductNumber(inProductNumber);
+        final long theLockWaitNanos = System.nanoTime() - theLockStartTime;
         if (theProductOptional.isEmpty()) {
+            inEvent.outcome(WarehouseOperationEvent.OUTCOME_NOT_FOUND);
             throw new ProductNotInWarehouseException(inProductNumber);
-        } else if (theProductOptional.get().availableAmount() < inAmount) {
+        }
+        final Product theProduct = theProductOptional.get();
+        if (theProduct.stockBucketCount() == 0
+            && mStockBucketPolicy != null
+            && mStockBucketPolicy.isSplitWarranted(inProductNumber, theLockWaitNanos)) {
+            splitProductStock(theProduct, mStockBucketPolicy.bucketCount());
+        }
+        if (theProduct.stockBucketCount() > 0) {
+            return reserveFromStockBuckets(inProductNumber, inAmount, theProduct.stockBucketCount(), inEvent);
+        }
+
+        if (theProduct.availableAmount() < inAmount) {
             /* Insufficient product amount available - cannot reserve. */
+            inEvent.outcome(WarehouseOperationEvent.OUTCOME_INSUFFICIENT_STOCK);
             return Optional.empty();
         } else {
             /* Reduce the available amount and increase the reserved amount. */
-            Product theProductToReserve = theProductOptional.get();
-            final double theNewAvailableAmount = theProductToReserve.availableAmount() - inAmount;
-            final double theNewReservedAmount = theProductToReserve.reservedAmount() + inAmount;
-            theProductToReserve.availableAmount(theNewAvailableAmount);
-            theProductToReserve.reservedAmount(theNewReservedAmount);
+            final double theNewAvailableAmount = theProduct.availableAmount() - inAmount;
+            final double theNewReservedAmount = theProduct.reservedAmount() + inAmount;
+            theProduct.availableAmount(theNewAvailableAmount);
+            theProduct.reservedAmount(theNewReservedAmount);
 
             /* Create a product reservation for the amount. */
             final ProductReservation theProductReservation = new ProductReservation(inProductNumber, inAmount);
             mProductReservationRepository.save(theProductReservation);
+            addReservationToTotals(inProductNumber, inAmount);
+            for (WarehouseChangeListener theListener : mWarehouseChangeListeners) {
+                theListener.onProductReserved(inProductNumber, inAmount, theProductReservation.getId());
+            }
 
+            inEvent.reservationId(theProductReservation.getId()).outcome(WarehouseOperationEvent.OUTCOME_SUCCESS);
             return Optional.of(theProductReservation.getId());
         }
     }
 
     @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
     public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
         final Optional<ProductReservation> theProductReservationOptional =
             mProductReservationRepository.findById(inProductReservationId);
@@ -83,18 +231,109 @@ public class WarehouseServiceImplementation implements WarehouseService {
     }
 
     @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        Assert.notNull(inProductReservationIds, "Product reservation ids are required");
+        if (inProductReservationIds.isEmpty()) {
+            return Map.of();
+        }
+        final List<ProductReservation> theProductReservations =
+            mProductReservationRepository.findAllById(inProductReservationIds);
+        final Map<Long, Double> theReservationAmounts = new HashMap<>();
+        for (ProductReservation theProductReservation : theProductReservations) {
+            theReservationAmounts.put(theProductReservation.getId(), theProductReservation.getReservedAmount());
+        }
+        return theReservationAmounts;
+    }
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER)
     public boolean removeProductReservation(final Long inProductReservationId) {
+        final WarehouseOperationEvent theEvent = WarehouseOperationEvent.start("removeProductReservation", null);
+        try {
+            final boolean theRemovedFlag = removeProductReservation(inProductReservationId, theEvent);
+            theEvent.outcome(theRemovedFlag
+                ? WarehouseOperationEvent.OUTCOME_SUCCESS : WarehouseOperationEvent.OUTCOME_NOT_FOUND);
+            return theRemovedFlag;
+        } finally {
+            theEvent.commit();
+        }
+    }
+
+    /**
+     * Removes the product reservation with the supplied id, consuming the reserved amount, recording
+     * the product and amount of the reservation in the supplied event.
+     *
+     * @param inProductReservationId Id of product reservation to remove.
+     * @param inEvent Event of the removal operation.
+     * @return True if the product reservation was found and removed, false otherwise.
+     */
+    protected boolean removeProductReservation(final Long inProductReservationId,
+                                               final WarehouseOperationEvent inEvent) {
+        if (inProductReservationId != null) {
+            inEvent.reservationId(inProductReservationId);
+        }
         final Optional<ProductReservation> theProductReservationOptional =
             mProductReservationRepository.findById(inProductReservationId);
 
         if (theProductReservationOptional.isPresent()) {
+            final ProductReservation theProductReservation = theProductReservationOptional.get();
+            final String theProductNumber = theProductReservation.getProductNumber();
+            final double theReservedAmount = theProductReservation.getReservedAmount();
+            inEvent.productNumber(theProductNumber).amount(theReservedAmount);
             mProductReservationRepository.deleteById(inProductReservationId);
+
+            /* The reserved amount is consumed and thus no longer reserved nor available. */
+            if (theProductReservation.getStockBucket() != null) {
+                mProductStockBucketRepository.consumeReservation(
+                    theProductNumber, theProductReservation.getStockBucket(), theReservedAmount);
+            } else {
+                mProductRepository
+                    .findAndLockByProductNumber(theProductNumber)
+                    .ifPresent(inProduct -> inProduct.reservedAmount(inProduct.reservedAmount() - theReservedAmount));
+                consumeReservationInTotals(theProductNumber, theReservedAmount);
+            }
+
+            for (WarehouseChangeListener theListener : mWarehouseChangeListeners) {
+                theListener.onProductReservationRemoved(theProductNumber, theReservedAmount, inProductReservationId);
+            }
         }
 
         return theProductReservationOptional.isPresent();
     }
 
     @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        Assert.hasText(inProductNumber, "A product number is required");
+        final ProductReservationSummary theSummary = mProductReservationTotalsRepository
+            .findSummaryByProductNumber(inProductNumber)
+            .orElseGet(() -> {
+                if (!mProductRepository.existsByProductNumber(inProductNumber)) {
+                    throw new ProductNotInWarehouseException(inProductNumber);
+                }
+                final ProductReservationTotals theReservationTotals = calculateReservationTotals(inProductNumber);
+                return new ProductReservationSummary(
+                    inProductNumber,
+                    theReservationTotals.getReservationCount(),
+                    theReservationTotals.getReservedAmount(),
+                    theReservationTotals.getConsumedAmount());
+            });
+
+        /* Add the reservations made from stock buckets, if the stock of the product has been split. */
+        return mProductStockBucketRepository
+            .sumReservationTotals(inProductNumber)
+            .map(inBucketTotals -> new ProductReservationSummary(
+                inProductNumber,
+                theSummary.reservationCount() + inBucketTotals.reservationCount(),
+                theSummary.reservedAmount() + inBucketTotals.reservedAmount(),
+                theSummary.consumedAmount() + inBucketTotals.consumedAmount()))
+            .orElse(theSummary);
+    }
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER)
     public void createProductInWarehouse(final String inProductNumber,
                                          final String inProductName,
                                          final Double inProductUnitPrice) {
@@ -102,28 +341,296 @@ public class WarehouseServiceImplementation implements WarehouseService {
         Assert.hasText(inProductName, "A product name is required");
         Assert.notNull(inProductUnitPrice, "A product unit price is required");
         if (!mProductRepository.existsByProductNumber(inProductNumber)) {
-            final Product theNewProduct = new Product()
-                .productNumber(inProductNumber)
-                .name(inProductName)
-                .availableAmount(0)
-                .reservedAmount(0)
-                .unitPrice(inProductUnitPrice);
+            final Product theNewProduct = createNewProduct(inProductNumber, inProductName, inProductUnitPrice);
             mProductRepository.save(theNewProduct);
+            mProductReservationTotalsRepository.save(new ProductReservationTotals(inProductNumber, 0L, 0.0));
+        }
+    }
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER)
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        Assert.notNull(inProductDefinitions, "Product definitions are required");
+
+        /* Discard product definitions with duplicate product numbers keeping the first occurrence. */
+        final Map<String, ProductDefinition> theProductDefinitions = new LinkedHashMap<>();
+        for (ProductDefinition theProductDefinition : inProductDefinitions) {
+            Assert.notNull(theProductDefinition, "Product definitions may not be null");
+            Assert.hasText(theProductDefinition.productNumber(), "A product number is required");
+            Assert.hasText(theProductDefinition.productName(), "A product name is required");
+            Assert.notNull(theProductDefinition.unitPrice(), "A product unit price is required");
+            theProductDefinitions.putIfAbsent(theProductDefinition.productNumber(), theProductDefinition);
+        }
+
+        /* Create the products in batches to bound the size of the existence queries and insert batches. */
+        int theCreatedProductsCount = 0;
+        final List<ProductDefinition> theProductDefinitionsBatch = new ArrayList<>(PRODUCT_CREATION_BATCH_SIZE);
+        for (ProductDefinition theProductDefinition : theProductDefinitions.values()) {
+            theProductDefinitionsBatch.add(theProductDefinition);
+            if (theProductDefinitionsBatch.size() == PRODUCT_CREATION_BATCH_SIZE) {
+                theCreatedProductsCount += createProductsBatch(theProductDefinitionsBatch);
+                theProductDefinitionsBatch.clear();
+            }
         }
+        if (!theProductDefinitionsBatch.isEmpty()) {
+            theCreatedProductsCount += createProductsBatch(theProductDefinitionsBatch);
+        }
+
+        return theCreatedProductsCount;
     }
 
     @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER)
     public void increaseProductStock(final String inProductNumber, final double inAmount)
         throws ProductNotInWarehouseException {
-        final Optional<Product> theProductOptional = mProductRepository.findByProductNumber(inProductNumber);
-        if (theProductOptional.isEmpty()) {
-            throw new ProductNotInWarehouseException(inProductNumber);
+        final WarehouseOperationEvent theEvent =
+            WarehouseOperationEvent.start("increaseProductStock", inProductNumber).amount(inAmount);
+        try {
+            final int theStockBucketCount = mStockBucketPolicy != null
+                ? mProductRepository.findStockBucketCountByProductNumber(inProductNumber).orElse(0)
+                : 0;
+            if (theStockBucketCount > 0) {
+                /* Spread the increase evenly over the stock buckets without locking the product. */
+                mProductStockBucketRepository.increaseAvailableAmount(
+                    inProductNumber, inAmount / theStockBucketCount);
+            } else {
+                final Optional<Product> theProductOptional =
+                    mProductRepository.findAndLockByProductNumber(inProductNumber);
+                if (theProductOptional.isEmpty()) {
+                    theEvent.outcome(WarehouseOperationEvent.OUTCOME_NOT_FOUND);
+                    throw new ProductNotInWarehouseException(inProductNumber);
+                }
+
+                final Product theProduct = theProductOptional.get();
+                if (theProduct.stockBucketCount() > 0) {
+                    mProductStockBucketRepository.increaseAvailableAmount(
+                        inProductNumber, inAmount / theProduct.stockBucketCount());
+                } else {
+                    /* Increase the product's available amount. */
+                    final double theNewProductAmount = theProduct.availableAmount() + inAmount;
+                    theProduct.availableAmount(theNewProductAmount);
+                    mProductRepository.save(theProduct);
+                }
+            }
+            for (WarehouseChangeListener theListener : mWarehouseChangeListeners) {
+                theListener.onStockIncreased(inProductNumber, inAmount);
+            }
+            theEvent.outcome(WarehouseOperationEvent.OUTCOME_SUCCESS);
+        } finally {
+            theEvent.commit();
         }
+    }
 
-        /* Increase the product's available amount. */
-        final Product theProduct = theProductOptional.get();
-        final double theNewProductAmount = theProduct.availableAmount() + inAmount;
-        theProduct.availableAmount(theNewProductAmount);
-        mProductRepository.save(theProduct);
+    /**
+     * Reserves the supplied amount of the product with the supplied product number from one of the product's
+     * stock buckets, recording the outcome of the reservation in the supplied event.
+     * The first bucket is the bucket reserved from earlier in the current transaction, if any, otherwise it is
+     * chosen randomly. If the available amount of the first bucket is insufficient, the following buckets are tried
+     * in turn. Trying a bucket only keeps the lock of the bucket if the amount is reserved from it.
+     * If no single bucket is sufficient, the available amounts of all buckets are gathered into the first
+     * bucket provided that their total available amount is sufficient, locking the buckets in the order of their
+     * index. A transaction making one reservation holds no bucket lock while waiting for another, except in index
+     * order, so such reservations cannot deadlock with each other or with stock increases.
+     * A transaction started by the caller that makes several reservations of a product first tries the bucket
+     * it already holds, but if that bucket is insufficient it waits for other buckets while holding it and may
+     * deadlock, as may transactions reserving several products in different orders. The database then rolls back
+     * the transaction of the caller, which is not retried and must be retried by the caller.
+     *
+     * @param inProductNumber Product number of product to reserve.
+     * @param inAmount Amount of product to reserve.
+     * @param inStockBucketCount Number of stock buckets of the product.
+     * @param inEvent Event of the reservation operation.
+     * @return Id of the new product reservation or empty if insufficient product amount available.
+     */
+    protected Optional<Long> reserveFromStockBuckets(final String inProductNumber,
+                                                     final double inAmount,
+                                                     final int inStockBucketCount,
+                                                     final WarehouseOperationEvent inEvent) {
+        final Map<String, Integer> theReservedStockBuckets = reservedStockBucketsOfTransaction();
+        final int theFirstBucket = theReservedStockBuckets.getOrDefault(
+            inProductNumber, ThreadLocalRandom.current().nextInt(inStockBucketCount)) % inStockBucketCount;
+        Optional<Integer> theReservedBucket = Optional.empty();
+        for (int i = 0; i < inStockBucketCount && theReservedBucket.isEmpty(); i++) {
+            final int theBucket = (theFirstBucket + i) % inStockBucketCount;
+            if (mProductStockBucketRepository.tryReserve(inProductNumber, theBucket, inAmount)) {
+                theReservedBucket = Optional.of(theBucket);
+            }
+        }
+        if (theReservedBucket.isEmpty()
+            && mProductStockBucketRepository.sumAvailableAmount(inProductNumber) >= inAmount) {
+            theReservedBucket =
+                mProductStockBucketRepository.gatherAndReserve(inProductNumber, inAmount, theFirstBucket);
+        }
+        if (theReservedBucket.isEmpty()) {
+            /* Insufficient product amount available in the buckets - cannot reserve. */
+            inEvent.outcome(WarehouseOperationEvent.OUTCOME_INSUFFICIENT_STOCK);
+            return Optional.empty();
+        }
+        theReservedStockBuckets.put(inProductNumber, theReservedBucket.get());
+
+        final ProductReservation theProductReservation =
+            new ProductReservation(inProductNumber, inAmount, theReservedBucket.get());
+        mProductReservationRepository.save(theProductReservation);
+        for (WarehouseChangeListener theListener : mWarehouseChangeListeners) {
+            theListener.onProductReserved(inProductNumber, inAmount, theProductReservation.getId());
+        }
+
+        inEvent.reservationId(theProductReservation.getId()).outcome(WarehouseOperationEvent.OUTCOME_SUCCESS);
+        return Optional.of(theProductReservation.getId());
+    }
+
+    /**
+     * Retrieves the indexes of the stock buckets reserved from in the current transaction, keyed by product number.
+     * The map is bound to the current transaction and discarded when the transaction completes.
+     *
+     * @return Indexes of reserved stock buckets keyed by product number.
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<String, Integer> reservedStockBucketsOfTransaction() {
+        Map<String, Integer> theReservedStockBuckets =
+            (Map<String, Integer>) TransactionSynchronizationManager.getResource(RESERVED_STOCK_BUCKETS_KEY);
+        if (theReservedStockBuckets == null) {
+            theReservedStockBuckets = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(RESERVED_STOCK_BUCKETS_KEY, theReservedStockBuckets);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int inStatus) {
+                    TransactionSynchronizationManager.unbindResource(RESERVED_STOCK_BUCKETS_KEY);
+                }
+            });
+        }
+        return theReservedStockBuckets;
+    }
+
+    /**
+     * Splits the available amount of the supplied product evenly into the supplied number of stock buckets.
+     * The product must be locked. Outstanding reservations of the product remain with the product.
+     *
+     * @param inProduct Product which stock to split.
+     * @param inStockBucketCount Number of stock buckets.
+     */
+    protected void splitProductStock(final Product inProduct, final int inStockBucketCount) {
+        final double theAvailableAmountPerBucket = inProduct.availableAmount() / inStockBucketCount;
+        final List<ProductStockBucket> theBuckets = new ArrayList<>(inStockBucketCount);
+        for (int theBucketIndex = 0; theBucketIndex < inStockBucketCount; theBucketIndex++) {
+            theBuckets.add(
+                new ProductStockBucket(inProduct.productNumber(), theBucketIndex, theAvailableAmountPerBucket));
+        }
+        mProductStockBucketRepository.saveAll(theBuckets);
+        inProduct
+            .availableAmount(0)
+            .stockBucketCount(inStockBucketCount);
+    }
+
+    /**
+     * Calculates the available amount of the supplied product, including the available amounts of its
+     * stock buckets if the stock of the product has been split.
+     *
+     * @param inProduct Product which available amount to calculate.
+     * @return Available amount.
+     */
+    protected double calculateAvailableAmount(final Product inProduct) {
+        return inProduct.stockBucketCount() > 0
+            ? inProduct.availableAmount() + mProductStockBucketRepository.sumAvailableAmount(inProduct.productNumber())
+            : inProduct.availableAmount();
+    }
+
+    /**
+     * Creates the products with the supplied definitions that do not already exist in the warehouse.
+     * Existing products are found using one single query and the new products are inserted
+     * using one JDBC batch.
+     *
+     * @param inProductDefinitions Definitions of products to create. Product numbers must be unique.
+     * @return Number of products created.
+     */
+    protected int createProductsBatch(final List<ProductDefinition> inProductDefinitions) {
+        final List<String> theProductNumbers = inProductDefinitions
+            .stream()
+            .map(ProductDefinition::productNumber)
+            .toList();
+        final Set<String> theExistingProductNumbers = mProductRepository.findExistingProductNumbers(theProductNumbers);
+
+        final List<Product> theNewProducts = inProductDefinitions
+            .stream()
+            .filter(inProductDefinition -> !theExistingProductNumbers.contains(inProductDefinition.productNumber()))
+            .map(inProductDefinition -> createNewProduct(
+                inProductDefinition.productNumber(),
+                inProductDefinition.productName(),
+                inProductDefinition.unitPrice()))
+            .toList();
+        if (!theNewProducts.isEmpty()) {
+            mProductRepository.saveAll(theNewProducts);
+            mProductReservationTotalsRepository.saveAll(theNewProducts
+                .stream()
+                .map(inProduct -> new ProductReservationTotals(inProduct.productNumber(), 0L, 0.0))
+                .toList());
+            mProductRepository.flush();
+        }
+
+        return theNewProducts.size();
+    }
+
+    /**
+     * Adds a reservation of the supplied amount to the reservation totals of the product with
+     * the supplied product number, initializing the totals if there are none for the product.
+     * Must be invoked after the product reservation has been saved.
+     *
+     * @param inProductNumber Product number of reserved product.
+     * @param inAmount Reserved amount.
+     */
+    protected void addReservationToTotals(final String inProductNumber, final double inAmount) {
+        if (mProductReservationTotalsRepository.addReservation(inProductNumber, inAmount) == 0) {
+            mProductReservationTotalsRepository.save(calculateReservationTotals(inProductNumber));
+        }
+    }
+
+    /**
+     * Moves a reservation of the supplied amount from the outstanding reservations to the consumed amount
+     * in the reservation totals of the product with the supplied product number, initializing the totals
+     * if there are none for the product.
+     * Must be invoked after the product reservation has been deleted.
+     *
+     * @param inProductNumber Product number of product which reservation was consumed.
+     * @param inAmount Consumed amount.
+     */
+    protected void consumeReservationInTotals(final String inProductNumber, final double inAmount) {
+        if (mProductReservationTotalsRepository.consumeReservation(inProductNumber, inAmount) == 0) {
+            final ProductReservationTotals theReservationTotals = calculateReservationTotals(inProductNumber);
+            theReservationTotals.setConsumedAmount(inAmount);
+            mProductReservationTotalsRepository.save(theReservationTotals);
+        }
+    }
+
+    /**
+     * Calculates the reservation totals of the product with the supplied product number from the
+     * product reservations. Used for products created before reservation totals were maintained.
+     *
+     * @param inProductNumber Product number of product which reservation totals to calculate.
+     * @return Reservation totals. Not persisted.
+     */
+    protected ProductReservationTotals calculateReservationTotals(final String inProductNumber) {
+        return mProductReservationTotalsRepository
+            .calculateReservationTotals(inProductNumber)
+            .orElseGet(() -> new ProductReservationTotals(inProductNumber, 0L, 0.0));
+    }
+
+    /**
+     * Creates a new product entity having the supplied product number, name and unit price with zero
+     * available and reserved amounts.
+     *
+     * @param inProductNumber Product number of new product.
+     * @param inProductName Name of new product.
+     * @param inProductUnitPrice Unit price of new product.
+     * @return New product entity. Not persisted.
+     */
+    protected Product createNewProduct(final String inProductNumber,
+                                       final String inProductName,
+                                       final Double inProductUnitPrice) {
+        return new Product()
+            .productNumber(inProductNumber)
+            .name(inProductName)
+            .availableAmount(0)
+            .reservedAmount(0)
+            .unitPrice(inProductUnitPrice);
     }
 }
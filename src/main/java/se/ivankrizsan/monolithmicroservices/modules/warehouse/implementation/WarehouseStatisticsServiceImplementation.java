@@ -0,0 +1,113 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.NaturalIdStatistics;
+import org.hibernate.stat.Statistics;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiter;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiterStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.LookupCoalescingStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCacheStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ReservationAdmissionStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox.OutboxRelay;
+
+import java.time.Duration;
+
+/**
+ * Implementation of the {@link WarehouseStatisticsService} which retrieves cache statistics
+ * from Hibernate, lookup coalescing statistics from the coalescing warehouse service, if any, and
+ * outbox statistics from the outbox relay, if any, and reservation admission statistics from the
+ * reservation concurrency limiter, if any.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class WarehouseStatisticsServiceImplementation implements WarehouseStatisticsService {
+    /* Constant(s): */
+
+    /* Instance variable(s): */
+    @NonNull
+    protected EntityManagerFactory mEntityManagerFactory;
+    /** Coalescing warehouse service or null if lookup coalescing is disabled. */
+    protected CoalescingWarehouseService mCoalescingWarehouseService;
+    /** Outbox relay or null if the transactional outbox is disabled. */
+    protected OutboxRelay mOutboxRelay;
+    /** Concurrency limiter admitting product reservations or null if reservation admission control is disabled. */
+    protected ConcurrencyLimiter mReservationLimiter;
+
+    /**
+     * Sets the coalescing warehouse service which lookup coalescing statistics are to be retrieved.
+     *
+     * @param inCoalescingWarehouseService Coalescing warehouse service.
+     */
+    public void setCoalescingWarehouseService(final CoalescingWarehouseService inCoalescingWarehouseService) {
+        mCoalescingWarehouseService = inCoalescingWarehouseService;
+    }
+
+    /**
+     * Sets the outbox relay which statistics are to be retrieved.
+     *
+     * @param inOutboxRelay Outbox relay.
+     */
+    public void setOutboxRelay(final OutboxRelay inOutboxRelay) {
+        mOutboxRelay = inOutboxRelay;
+    }
+
+    /**
+     * Sets the concurrency limiter admitting product reservations which statistics are to be retrieved.
+     *
+     * @param inReservationLimiter Reservation concurrency limiter.
+     */
+    public void setReservationLimiter(final ConcurrencyLimiter inReservationLimiter) {
+        mReservationLimiter = inReservationLimiter;
+    }
+
+    @Override
+    public ProductCacheStatistics retrieveProductCacheStatistics() {
+        final Statistics theStatistics = mEntityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        final NaturalIdStatistics theNaturalIdStatistics = theStatistics.getNaturalIdStatistics(Product.class.getName());
+        final EntityStatistics theProductStatistics = theStatistics.getEntityStatistics(Product.class.getName());
+
+        return new ProductCacheStatistics(
+            theNaturalIdStatistics.getCacheHitCount(),
+            theNaturalIdStatistics.getCacheMissCount(),
+            theNaturalIdStatistics.getCachePutCount(),
+            theNaturalIdStatistics.getExecutionCount(),
+            theProductStatistics.getCacheHitCount(),
+            theProductStatistics.getCacheMissCount(),
+            theProductStatistics.getCachePutCount());
+    }
+
+    @Override
+    public LookupCoalescingStatistics retrieveLookupCoalescingStatistics() {
+        return mCoalescingWarehouseService != null
+            ? mCoalescingWarehouseService.retrieveLookupCoalescingStatistics()
+            : new LookupCoalescingStatistics(0, 0, 0, 0);
+    }
+
+    @Override
+    public OutboxStatistics retrieveOutboxStatistics() {
+        return mOutboxRelay != null
+            ? mOutboxRelay.retrieveOutboxStatistics()
+            : new OutboxStatistics(0, 0, 0, 0, 0.0, Duration.ZERO, Duration.ZERO);
+    }
+
+    @Override
+    public ReservationAdmissionStatistics retrieveReservationAdmissionStatistics() {
+        if (mReservationLimiter == null) {
+            return new ReservationAdmissionStatistics(0, 0, 0, 0);
+        }
+        final ConcurrencyLimiterStatistics theStatistics = mReservationLimiter.retrieveStatistics();
+        return new ReservationAdmissionStatistics(
+            theStatistics.limit(),
+            theStatistics.inFlightCalls(),
+            theStatistics.admittedCallCount(),
+            theStatistics.rejectedCallCount());
+    }
+}
@@ -0,0 +1,33 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.journal;
+
+/**
+ * Amounts of a product as recorded by the reservation journal.
+ *
+ * @param availableAmount Amount of the product available for reservation.
+ * @param reservedAmount Amount of the product that is reserved.
+ * @param consumedAmount Amount of the product that has been consumed by removed reservations.
+ * @author Ivan Krizsan
+ */
+public record ProductAmounts(double availableAmount, double reservedAmount, double consumedAmount) {
+    /* Constant(s): */
+    /** Amounts of a product for which nothing has been recorded. */
+    public static final ProductAmounts NONE = new ProductAmounts(0, 0, 0);
+
+    /**
+     * Applies a change of the supplied type and amount to these product amounts.
+     *
+     * @param inEntryType Type of change.
+     * @param inAmount Amount of change.
+     * @return New product amounts after the change.
+     */
+    public ProductAmounts apply(final ReservationJournalEntryType inEntryType, final double inAmount) {
+        return switch (inEntryType) {
+            case STOCK_INCREASED -> new ProductAmounts(
+                availableAmount + inAmount, reservedAmount, consumedAmount);
+            case PRODUCT_RESERVED -> new ProductAmounts(
+                availableAmount - inAmount, reservedAmount + inAmount, consumedAmount);
+            case RESERVATION_CONSUMED -> new ProductAmounts(
+                availableAmount, reservedAmount - inAmount, consumedAmount + inAmount);
+        };
+    }
+}
@@ -0,0 +1,789 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.journal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.Assert;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only, file-backed journal recording changes of the reservation state of products.
+ * Entries are appended sequentially to journal segment files by one single writer thread which
+ * writes all entries appended concurrently in one write and forces them to disk together,
+ * so called group commit.
+ * The journal maintains the amounts of each product resulting from the journal entries. These
+ * are periodically written to a compact snapshot, after which a new journal segment is started.
+ * When the journal is opened, the product amounts are recovered by loading the snapshot and
+ * replaying the journal entries appended after the snapshot was written.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class ReservationJournal implements Closeable {
+    /* Constant(s): */
+    /** Prefix of journal segment file names. The prefix is followed by the first sequence number of the segment. */
+    public static final String SEGMENT_FILE_PREFIX = "journal-";
+    /** Suffix of journal segment file names. */
+    public static final String SEGMENT_FILE_SUFFIX = ".log";
+    /** Name of file containing the latest snapshot of product amounts. */
+    public static final String SNAPSHOT_FILE_NAME = "snapshot.dat";
+    /** Name of file to which snapshots are written before replacing the previous snapshot. */
+    protected static final String SNAPSHOT_TEMPORARY_FILE_NAME = "snapshot.tmp";
+    /** Marker identifying snapshot files. */
+    protected static final int SNAPSHOT_MAGIC = 0x524A534E;
+    /** Version of the snapshot file format. */
+    protected static final int SNAPSHOT_FORMAT_VERSION = 1;
+    /** Size of journal record header consisting of payload length and payload checksum. */
+    protected static final int RECORD_HEADER_SIZE = Integer.BYTES + Integer.BYTES;
+    /**
+     * Size of the fixed-size part of a journal record payload consisting of sequence number, timestamp,
+     * entry type, reservation id, amount and product number length.
+     */
+    protected static final int RECORD_FIXED_PAYLOAD_SIZE =
+        Long.BYTES + Long.BYTES + Byte.BYTES + Long.BYTES + Double.BYTES + Short.BYTES;
+    /** Maximum length, in bytes, of a UTF-8 encoded product number in a journal record. */
+    public static final int MAX_PRODUCT_NUMBER_BYTES = 0xFFFF;
+    /** Reservation id written to journal records for entries that do not concern a product reservation. */
+    protected static final long NO_RESERVATION_ID = -1L;
+    /** Size of buffers used when reading and writing journal segments and snapshots. */
+    protected static final int IO_BUFFER_SIZE = 128 * 1024;
+    /** Number of digits of the sequence number in journal segment file names. */
+    protected static final int SEGMENT_FILE_SEQUENCE_DIGITS = 20;
+
+    /* Instance variable(s): */
+    /** Directory containing journal segments and snapshot. */
+    protected final Path mJournalDirectory;
+    /** Number of entries after which a new snapshot is written. */
+    protected final int mSnapshotInterval;
+    /** Maximum number of entries written in one group commit. */
+    protected final int mMaxBatchSize;
+    /** Whether entries are forced to the storage device before appends are acknowledged. */
+    protected final boolean mForceWrites;
+    /** Whether journal segments covered by a snapshot are retained. */
+    protected final boolean mRetainCompactedSegments;
+    /** Commands waiting to be processed by the writer thread. */
+    protected final BlockingQueue<JournalCommand> mCommands = new LinkedBlockingQueue<>();
+    /** Product amounts, keyed by product number, resulting from the entries in the journal. */
+    protected final Map<String, ProductAmounts> mProductAmounts = new ConcurrentHashMap<>();
+    /** Thread writing entries to the journal. */
+    protected final Thread mWriterThread;
+    /** Checksum calculator used by the writer thread. */
+    protected final CRC32C mChecksum = new CRC32C();
+    /** Buffer in which the writer thread encodes entries to be written in one group commit. */
+    protected ByteBuffer mWriteBuffer = ByteBuffer.allocateDirect(IO_BUFFER_SIZE);
+    /** Channel of the journal segment that entries currently are appended to. */
+    protected FileChannel mSegmentChannel;
+    /** Sequence number of the first entry in the current journal segment. */
+    protected long mSegmentFirstSequenceNumber;
+    /** Sequence number that will be assigned to the next entry. Only accessed by the writer thread. */
+    protected long mNextSequenceNumber;
+    /** Sequence number of the last entry that has been durably appended to the journal. */
+    protected volatile long mLastSequenceNumber;
+    /** Sequence number of the last entry included in the latest snapshot. */
+    protected volatile long mSnapshotSequenceNumber;
+    /** Whether the journal has been closed. */
+    protected volatile boolean mClosed;
+
+    /**
+     * Opens the reservation journal in the supplied directory, recovering the product amounts from
+     * any existing snapshot and journal segments in the directory.
+     *
+     * @param inJournalDirectory Directory containing the journal. Created if it does not exist.
+     * @param inSnapshotInterval Number of entries after which a snapshot of the product amounts is written.
+     * @param inMaxBatchSize Maximum number of entries written in one group commit.
+     * @param inForceWrites True if appended entries are to be forced to the storage device before
+     * appends are acknowledged.
+     * @param inRetainCompactedSegments True if journal segments covered by a snapshot are to be retained
+     * as audit trail, false if they are to be deleted.
+     * @throws IOException If an error occurs recovering the journal.
+     */
+    public ReservationJournal(final Path inJournalDirectory,
+                              final int inSnapshotInterval,
+                              final int inMaxBatchSize,
+                              final boolean inForceWrites,
+                              final boolean inRetainCompactedSegments) throws IOException {
+        Assert.notNull(inJournalDirectory, "A journal directory is required");
+        Assert.isTrue(inSnapshotInterval > 0, "The snapshot interval must be positive");
+        Assert.isTrue(inMaxBatchSize > 0, "The maximum batch size must be positive");
+
+        mJournalDirectory = inJournalDirectory;
+        mSnapshotInterval = inSnapshotInterval;
+        mMaxBatchSize = inMaxBatchSize;
+        mForceWrites = inForceWrites;
+        mRetainCompactedSegments = inRetainCompactedSegments;
+
+        recover();
+
+        mWriterThread = new Thread(this::runWriter, "reservation-journal-writer");
+        mWriterThread.setDaemon(true);
+        mWriterThread.start();
+    }
+
+    /**
+     * Appends an entry with the supplied information to the journal.
+     * The entry is written asynchronously together with other entries appended concurrently.
+     *
+     * @param inEntryType Type of change to record.
+     * @param inProductNumber Product number of product which reservation state changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of the product reservation concerned or null if not applicable.
+     * @return Future that is completed with the sequence number of the entry when the entry has
+     * been durably appended to the journal.
+     */
+    public CompletableFuture<Long> append(final ReservationJournalEntryType inEntryType,
+                                          final String inProductNumber,
+                                          final double inAmount,
+                                          final Long inReservationId) {
+        Assert.notNull(inEntryType, "An entry type is required");
+        Assert.hasText(inProductNumber, "A product number is required");
+        Assert.isTrue(inProductNumber.length() * 3 <= MAX_PRODUCT_NUMBER_BYTES
+                || inProductNumber.getBytes(StandardCharsets.UTF_8).length <= MAX_PRODUCT_NUMBER_BYTES,
+            "The product number is too long");
+
+        return submit(new JournalCommand(JournalCommandType.APPEND, inEntryType, inProductNumber,
+            inAmount, inReservationId));
+    }
+
+    /**
+     * Requests a snapshot of the product amounts to be written after all entries appended
+     * before this request.
+     *
+     * @return Future that is completed with the sequence number of the last entry included in the
+     * snapshot when the snapshot has been written.
+     */
+    public CompletableFuture<Long> snapshot() {
+        return submit(new JournalCommand(JournalCommandType.SNAPSHOT, null, null, 0, null));
+    }
+
+    /**
+     * Retrieves the amounts of the product with the supplied product number resulting from the
+     * entries durably appended to the journal.
+     *
+     * @param inProductNumber Product number of product which amounts to retrieve.
+     * @return Product amounts or empty if there are no entries for the product in the journal.
+     */
+    public Optional<ProductAmounts> productAmounts(final String inProductNumber) {
+        return Optional.ofNullable(mProductAmounts.get(inProductNumber));
+    }
+
+    /**
+     * Retrieves the sequence number of the last entry durably appended to the journal.
+     *
+     * @return Last sequence number or zero if the journal is empty.
+     */
+    public long lastSequenceNumber() {
+        return mLastSequenceNumber;
+    }
+
+    /**
+     * Retrieves the sequence number of the last entry included in the latest snapshot.
+     *
+     * @return Snapshot sequence number or zero if no snapshot has been written.
+     */
+    public long snapshotSequenceNumber() {
+        return mSnapshotSequenceNumber;
+    }
+
+    /**
+     * Reads the entries in the retained journal segments, in sequence number order, starting at the
+     * supplied sequence number. Entries that have been compacted into a snapshot and which segments
+     * have been deleted are not available.
+     *
+     * @param inFromSequenceNumber Sequence number of first entry to read.
+     * @param inEntryConsumer Consumer receiving the entries read.
+     * @throws IOException If an error occurs reading the journal.
+     */
+    public void readEntries(final long inFromSequenceNumber,
+                            final Consumer<ReservationJournalEntry> inEntryConsumer) throws IOException {
+        for (Path theSegment : listSegments()) {
+            readSegment(theSegment, inFromSequenceNumber, inEntryConsumer);
+        }
+    }
+
+    /**
+     * Closes the journal after all previously appended entries have been written.
+     */
+    @Override
+    public void close() {
+        if (mClosed) {
+            return;
+        }
+        mClosed = true;
+        mCommands.add(new JournalCommand(JournalCommandType.CLOSE, null, null, 0, null));
+        try {
+            mWriterThread.join();
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Submits the supplied command to the writer thread.
+     *
+     * @param inCommand Command to submit.
+     * @return Future that is completed when the command has been processed.
+     */
+    protected CompletableFuture<Long> submit(final JournalCommand inCommand) {
+        if (mClosed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("The reservation journal is closed"));
+        }
+        mCommands.add(inCommand);
+        return inCommand.mResult;
+    }
+
+    /**
+     * Main loop of the writer thread, processing commands in batches until the journal is closed.
+     */
+    protected void runWriter() {
+        final List<JournalCommand> theBatch = new ArrayList<>(mMaxBatchSize);
+        boolean theClosedFlag = false;
+        while (!theClosedFlag) {
+            theBatch.clear();
+            try {
+                theBatch.add(mCommands.take());
+            } catch (final InterruptedException theException) {
+                break;
+            }
+            mCommands.drainTo(theBatch, mMaxBatchSize - 1);
+
+            try {
+                theClosedFlag = processBatch(theBatch);
+            } catch (final IOException | RuntimeException theException) {
+                log.error("Error writing to reservation journal in {}", mJournalDirectory, theException);
+                /* Discard entries of the failed batch that have been encoded but not written. */
+                mWriteBuffer.clear();
+                mNextSequenceNumber = mLastSequenceNumber + 1;
+                for (JournalCommand theCommand : theBatch) {
+                    theCommand.mResult.completeExceptionally(theException);
+                }
+            }
+        }
+
+        /* Fail commands submitted concurrently with closing the journal. */
+        final IllegalStateException theClosedException = new IllegalStateException("The reservation journal is closed");
+        JournalCommand theCommand;
+        while ((theCommand = mCommands.poll()) != null) {
+            theCommand.mResult.completeExceptionally(theClosedException);
+        }
+        closeSegmentChannel();
+    }
+
+    /**
+     * Processes the supplied batch of commands. Entries to append are written in one group commit
+     * that is completed before any snapshot or close command in the batch is processed.
+     *
+     * @param inBatch Commands to process.
+     * @return True if the journal is to be closed, false otherwise.
+     * @throws IOException If an error occurs writing to the journal.
+     */
+    protected boolean processBatch(final List<JournalCommand> inBatch) throws IOException {
+        final List<JournalCommand> theAppendCommands = new ArrayList<>(inBatch.size());
+        for (JournalCommand theCommand : inBatch) {
+            switch (theCommand.mCommandType) {
+                case APPEND -> {
+                    encodeEntry(theCommand);
+                    theAppendCommands.add(theCommand);
+                }
+                case SNAPSHOT -> {
+                    writeAppendedEntries(theAppendCommands);
+                    writeSnapshot();
+                    theCommand.mResult.complete(mSnapshotSequenceNumber);
+                }
+                case CLOSE -> {
+                    writeAppendedEntries(theAppendCommands);
+                    theCommand.mResult.complete(mLastSequenceNumber);
+                    return true;
+                }
+            }
+        }
+        writeAppendedEntries(theAppendCommands);
+
+        if (mLastSequenceNumber - mSnapshotSequenceNumber >= mSnapshotInterval) {
+            writeSnapshot();
+        }
+        return false;
+    }
+
+    /**
+     * Encodes the entry of the supplied append command into the write buffer, assigning the entry
+     * the next sequence number.
+     * A journal record consists of the payload length, a checksum of the payload and the payload.
+     *
+     * @param inAppendCommand Command containing entry to encode.
+     */
+    protected void encodeEntry(final JournalCommand inAppendCommand) {
+        final byte[] theProductNumberBytes = inAppendCommand.mProductNumber.getBytes(StandardCharsets.UTF_8);
+        final int thePayloadLength = RECORD_FIXED_PAYLOAD_SIZE + theProductNumberBytes.length;
+        ensureWriteBufferCapacity(RECORD_HEADER_SIZE + thePayloadLength);
+
+        inAppendCommand.mSequenceNumber = mNextSequenceNumber++;
+        final int theRecordStart = mWriteBuffer.position();
+        final int thePayloadStart = theRecordStart + RECORD_HEADER_SIZE;
+        mWriteBuffer
+            .putInt(thePayloadLength)
+            .putInt(0)
+            .putLong(inAppendCommand.mSequenceNumber)
+            .putLong(inAppendCommand.mTimestamp)
+            .put(inAppendCommand.mEntryType.code())
+            .putLong(inAppendCommand.mReservationId != null ? inAppendCommand.mReservationId : NO_RESERVATION_ID)
+            .putDouble(inAppendCommand.mAmount)
+            .putShort((short) theProductNumberBytes.length)
+            .put(theProductNumberBytes);
+
+        mChecksum.reset();
+        mChecksum.update(mWriteBuffer.slice(thePayloadStart, thePayloadLength));
+        mWriteBuffer.putInt(theRecordStart + Integer.BYTES, (int) mChecksum.getValue());
+    }
+
+    /**
+     * Writes the entries encoded in the write buffer to the current journal segment, forcing them
+     * to the storage device if so configured, after which the product amounts are updated and the
+     * supplied append commands are completed.
+     *
+     * @param inAppendCommands Append commands which entries are in the write buffer. Cleared when written.
+     * @throws IOException If an error occurs writing the entries.
+     */
+    protected void writeAppendedEntries(final List<JournalCommand> inAppendCommands) throws IOException {
+        if (inAppendCommands.isEmpty()) {
+            return;
+        }
+
+        final long theSegmentSizeBefore = mSegmentChannel.position();
+        mWriteBuffer.flip();
+        try {
+            while (mWriteBuffer.hasRemaining()) {
+                mSegmentChannel.write(mWriteBuffer);
+            }
+            if (mForceWrites) {
+                mSegmentChannel.force(false);
+            }
+        } catch (final IOException theException) {
+            /* Discard any partially written entries so that the segment remains consistent. */
+            mSegmentChannel.truncate(theSegmentSizeBefore);
+            mSegmentChannel.position(theSegmentSizeBefore);
+            throw theException;
+        } finally {
+            mWriteBuffer.clear();
+        }
+
+        for (JournalCommand theAppendCommand : inAppendCommands) {
+            applyEntry(theAppendCommand.mEntryType, theAppendCommand.mProductNumber, theAppendCommand.mAmount);
+            mLastSequenceNumber = theAppendCommand.mSequenceNumber;
+            theAppendCommand.mResult.complete(theAppendCommand.mSequenceNumber);
+        }
+        inAppendCommands.clear();
+    }
+
+    /**
+     * Applies a change with the supplied type and amount to the amounts of the product with
+     * the supplied product number.
+     *
+     * @param inEntryType Type of change.
+     * @param inProductNumber Product number of product which amounts to change.
+     * @param inAmount Amount of change.
+     */
+    protected void applyEntry(final ReservationJournalEntryType inEntryType,
+                              final String inProductNumber,
+                              final double inAmount) {
+        mProductAmounts.compute(inProductNumber, (inKey, inProductAmounts) ->
+            (inProductAmounts != null ? inProductAmounts : ProductAmounts.NONE).apply(inEntryType, inAmount));
+    }
+
+    /**
+     * Ensures that the write buffer has room for at least the supplied number of additional bytes,
+     * replacing it with a larger buffer if necessary.
+     *
+     * @param inRequiredBytes Number of bytes that need to fit in the write buffer.
+     */
+    protected void ensureWriteBufferCapacity(final int inRequiredBytes) {
+        if (mWriteBuffer.remaining() < inRequiredBytes) {
+            final int theNewCapacity = Math.max(mWriteBuffer.capacity() * 2, mWriteBuffer.position() + inRequiredBytes);
+            final ByteBuffer theNewWriteBuffer = ByteBuffer.allocateDirect(theNewCapacity);
+            mWriteBuffer.flip();
+            theNewWriteBuffer.put(mWriteBuffer);
+            mWriteBuffer = theNewWriteBuffer;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the current product amounts and starts a new journal segment.
+     * The snapshot is written to a temporary file that atomically replaces any previous snapshot.
+     * Snapshot format: magic, format version, last sequence number, product count, for each product
+     * the product number length, the product number and the amounts, and finally a checksum.
+     *
+     * @throws IOException If an error occurs writing the snapshot.
+     */
+    protected void writeSnapshot() throws IOException {
+        final long theSnapshotSequenceNumber = mLastSequenceNumber;
+        final Path theTemporarySnapshotFile = mJournalDirectory.resolve(SNAPSHOT_TEMPORARY_FILE_NAME);
+        final Map<String, ProductAmounts> theProductAmounts = Map.copyOf(mProductAmounts);
+
+        try (FileChannel theChannel = FileChannel.open(theTemporarySnapshotFile,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer theBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            final CRC32C theChecksum = new CRC32C();
+            theBuffer
+                .putInt(SNAPSHOT_MAGIC)
+                .putInt(SNAPSHOT_FORMAT_VERSION)
+                .putLong(theSnapshotSequenceNumber)
+                .putInt(theProductAmounts.size());
+
+            for (Map.Entry<String, ProductAmounts> theProductAmountsEntry : theProductAmounts.entrySet()) {
+                final byte[] theProductNumberBytes = theProductAmountsEntry.getKey().getBytes(StandardCharsets.UTF_8);
+                if (theBuffer.remaining() < Short.BYTES + theProductNumberBytes.length + 3 * Double.BYTES) {
+                    writeSnapshotBuffer(theChannel, theBuffer, theChecksum);
+                }
+                final ProductAmounts theAmounts = theProductAmountsEntry.getValue();
+                theBuffer
+                    .putShort((short) theProductNumberBytes.length)
+                    .put(theProductNumberBytes)
+                    .putDouble(theAmounts.availableAmount())
+                    .putDouble(theAmounts.reservedAmount())
+                    .putDouble(theAmounts.consumedAmount());
+            }
+            writeSnapshotBuffer(theChannel, theBuffer, theChecksum);
+
+            theBuffer.putInt((int) theChecksum.getValue());
+            theBuffer.flip();
+            while (theBuffer.hasRemaining()) {
+                theChannel.write(theBuffer);
+            }
+            theChannel.force(true);
+        }
+        Files.move(theTemporarySnapshotFile, mJournalDirectory.resolve(SNAPSHOT_FILE_NAME),
+            StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        mSnapshotSequenceNumber = theSnapshotSequenceNumber;
+        log.debug("Wrote reservation journal snapshot at sequence number {} containing {} products",
+            theSnapshotSequenceNumber, theProductAmounts.size());
+
+        /* Entries after the snapshot are appended to a new segment, making older segments redundant. */
+        if (mSegmentFirstSequenceNumber <= theSnapshotSequenceNumber) {
+            closeSegmentChannel();
+            openSegment(theSnapshotSequenceNumber + 1, 0);
+        }
+        if (!mRetainCompactedSegments) {
+            deleteCompactedSegments();
+        }
+    }
+
+    /**
+     * Writes the contents of the supplied snapshot buffer to the supplied channel, updating the supplied
+     * checksum with the written bytes, and clears the buffer.
+     *
+     * @param inChannel Channel to write snapshot data to.
+     * @param inBuffer Buffer containing snapshot data.
+     * @param inChecksum Snapshot checksum.
+     * @throws IOException If an error occurs writing the snapshot data.
+     */
+    protected void writeSnapshotBuffer(final FileChannel inChannel,
+                                       final ByteBuffer inBuffer,
+                                       final CRC32C inChecksum) throws IOException {
+        inBuffer.flip();
+        inChecksum.update(inBuffer.duplicate());
+        while (inBuffer.hasRemaining()) {
+            inChannel.write(inBuffer);
+        }
+        inBuffer.clear();
+    }
+
+    /**
+     * Deletes the journal segments that precede the current segment. All entries in such segments
+     * are included in the latest snapshot.
+     *
+     * @throws IOException If an error occurs deleting a segment.
+     */
+    protected void deleteCompactedSegments() throws IOException {
+        for (Path theSegment : listSegments()) {
+            if (segmentFirstSequenceNumber(theSegment) < mSegmentFirstSequenceNumber) {
+                Files.delete(theSegment);
+            }
+        }
+    }
+
+    /**
+     * Recovers the product amounts by loading the latest snapshot, if any, and replaying the journal
+     * entries appended after the snapshot. A partially written record at the end of the last segment,
+     * resulting from an interrupted write, is discarded.
+     * Prepares the journal for appending entries to the last segment.
+     *
+     * @throws IOException If an error occurs recovering the journal.
+     */
+    protected void recover() throws IOException {
+        Files.createDirectories(mJournalDirectory);
+        mSnapshotSequenceNumber = loadSnapshot();
+        mLastSequenceNumber = mSnapshotSequenceNumber;
+
+        final List<Path> theSegments = listSegments();
+        long theLastSegmentValidLength = 0;
+        for (int theSegmentIndex = 0; theSegmentIndex < theSegments.size(); theSegmentIndex++) {
+            final boolean theLastSegmentFlag = theSegmentIndex == theSegments.size() - 1;
+            if (!theLastSegmentFlag
+                && segmentFirstSequenceNumber(theSegments.get(theSegmentIndex + 1)) <= mSnapshotSequenceNumber + 1) {
+                /* All entries in the segment are included in the snapshot. */
+                continue;
+            }
+
+            final Path theSegment = theSegments.get(theSegmentIndex);
+            final long theValidLength = readSegment(theSegment, mSnapshotSequenceNumber + 1, inEntry -> {
+                applyEntry(inEntry.type(), inEntry.productNumber(), inEntry.amount());
+                mLastSequenceNumber = inEntry.sequenceNumber();
+            });
+            if (theLastSegmentFlag) {
+                theLastSegmentValidLength = theValidLength;
+            } else if (theValidLength < Files.size(theSegment)) {
+                throw new IOException("Corrupt reservation journal segment: " + theSegment);
+            }
+        }
+        mNextSequenceNumber = mLastSequenceNumber + 1;
+
+        if (theSegments.isEmpty()) {
+            openSegment(mNextSequenceNumber, 0);
+        } else {
+            final Path theLastSegment = theSegments.get(theSegments.size() - 1);
+            if (theLastSegmentValidLength < Files.size(theLastSegment)) {
+                log.warn("Discarding partially written record at end of reservation journal segment {}",
+                    theLastSegment);
+            }
+            openSegment(segmentFirstSequenceNumber(theLastSegment), theLastSegmentValidLength);
+        }
+        log.info("Recovered reservation journal in {} at sequence number {} with snapshot at sequence number {}",
+            mJournalDirectory, mLastSequenceNumber, mSnapshotSequenceNumber);
+    }
+
+    /**
+     * Loads the latest snapshot of product amounts, if any.
+     *
+     * @return Sequence number of the last entry included in the snapshot or zero if there is no snapshot.
+     * @throws IOException If an error occurs reading the snapshot or the snapshot is corrupt.
+     */
+    protected long loadSnapshot() throws IOException {
+        final Path theSnapshotFile = mJournalDirectory.resolve(SNAPSHOT_FILE_NAME);
+        if (!Files.exists(theSnapshotFile)) {
+            return 0;
+        }
+
+        final ByteBuffer theSnapshot = ByteBuffer.wrap(Files.readAllBytes(theSnapshotFile));
+        final CRC32C theChecksum = new CRC32C();
+        final int theChecksumPosition = theSnapshot.limit() - Integer.BYTES;
+        if (theChecksumPosition < 0) {
+            throw new IOException("Corrupt reservation journal snapshot: " + theSnapshotFile);
+        }
+        theChecksum.update(theSnapshot.array(), 0, theChecksumPosition);
+        if (theSnapshot.getInt() != SNAPSHOT_MAGIC
+            || theSnapshot.getInt() != SNAPSHOT_FORMAT_VERSION
+            || theSnapshot.getInt(theChecksumPosition) != (int) theChecksum.getValue()) {
+            throw new IOException("Corrupt reservation journal snapshot: " + theSnapshotFile);
+        }
+
+        final long theSnapshotSequenceNumber = theSnapshot.getLong();
+        final int theProductCount = theSnapshot.getInt();
+        for (int i = 0; i < theProductCount; i++) {
+            final byte[] theProductNumberBytes = new byte[Short.toUnsignedInt(theSnapshot.getShort())];
+            theSnapshot.get(theProductNumberBytes);
+            mProductAmounts.put(
+                new String(theProductNumberBytes, StandardCharsets.UTF_8),
+                new ProductAmounts(theSnapshot.getDouble(), theSnapshot.getDouble(), theSnapshot.getDouble()));
+        }
+        return theSnapshotSequenceNumber;
+    }
+
+    /**
+     * Reads the journal records in the supplied segment, passing entries with a sequence number
+     * equal to or greater than the supplied sequence number to the supplied consumer.
+     * Reading stops at the end of the segment or at the first incomplete or corrupt record.
+     *
+     * @param inSegment Journal segment to read.
+     * @param inFromSequenceNumber Sequence number of first entry to pass to the consumer.
+     * @param inEntryConsumer Consumer receiving the entries read.
+     * @return Length, in bytes, of the part of the segment consisting of complete, valid records.
+     * @throws IOException If an error occurs reading the segment.
+     */
+    protected long readSegment(final Path inSegment,
+                               final long inFromSequenceNumber,
+                               final Consumer<ReservationJournalEntry> inEntryConsumer) throws IOException {
+        long theValidLength = 0;
+        try (FileChannel theChannel = FileChannel.open(inSegment, StandardOpenOption.READ)) {
+            final ByteBuffer theBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+            final CRC32C theChecksum = new CRC32C();
+            boolean theEndOfSegmentFlag = false;
+            while (true) {
+                theEndOfSegmentFlag = theChannel.read(theBuffer) < 0;
+                theBuffer.flip();
+
+                while (theBuffer.remaining() >= RECORD_HEADER_SIZE) {
+                    final int theRecordStart = theBuffer.position();
+                    final int thePayloadLength = theBuffer.getInt(theRecordStart);
+                    if (thePayloadLength < RECORD_FIXED_PAYLOAD_SIZE
+                        || thePayloadLength > RECORD_FIXED_PAYLOAD_SIZE + MAX_PRODUCT_NUMBER_BYTES) {
+                        return theValidLength;
+                    }
+                    if (theBuffer.remaining() < RECORD_HEADER_SIZE + thePayloadLength) {
+                        break;
+                    }
+
+                    final ByteBuffer thePayload = theBuffer.slice(theRecordStart + RECORD_HEADER_SIZE, thePayloadLength);
+                    theChecksum.reset();
+                    theChecksum.update(thePayload.duplicate());
+                    if (theBuffer.getInt(theRecordStart + Integer.BYTES) != (int) theChecksum.getValue()) {
+                        return theValidLength;
+                    }
+
+                    final ReservationJournalEntry theEntry = decodeEntry(thePayload);
+                    theBuffer.position(theRecordStart + RECORD_HEADER_SIZE + thePayloadLength);
+                    theValidLength += RECORD_HEADER_SIZE + thePayloadLength;
+                    if (theEntry.sequenceNumber() >= inFromSequenceNumber) {
+                        inEntryConsumer.accept(theEntry);
+                    }
+                }
+
+                if (theEndOfSegmentFlag) {
+                    return theValidLength;
+                }
+                theBuffer.compact();
+            }
+        }
+    }
+
+    /**
+     * Decodes a journal entry from the supplied record payload.
+     *
+     * @param inPayload Buffer containing record payload.
+     * @return Journal entry.
+     */
+    protected static ReservationJournalEntry decodeEntry(final ByteBuffer inPayload) {
+        final long theSequenceNumber = inPayload.getLong();
+        final long theTimestamp = inPayload.getLong();
+        final ReservationJournalEntryType theEntryType = ReservationJournalEntryType.fromCode(inPayload.get());
+        final long theReservationId = inPayload.getLong();
+        final double theAmount = inPayload.getDouble();
+        final byte[] theProductNumberBytes = new byte[Short.toUnsignedInt(inPayload.getShort())];
+        inPayload.get(theProductNumberBytes);
+
+        return new ReservationJournalEntry(
+            theSequenceNumber,
+            Instant.ofEpochMilli(theTimestamp),
+            theEntryType,
+            new String(theProductNumberBytes, StandardCharsets.UTF_8),
+            theAmount,
+            theReservationId != NO_RESERVATION_ID ? theReservationId : null);
+    }
+
+    /**
+     * Opens the journal segment starting with the supplied sequence number for appending, creating it
+     * if it does not exist and truncating it to the supplied length.
+     *
+     * @param inFirstSequenceNumber Sequence number of first entry in the segment.
+     * @param inValidLength Length of the part of the segment consisting of valid records.
+     * @throws IOException If an error occurs opening the segment.
+     */
+    protected void openSegment(final long inFirstSequenceNumber, final long inValidLength) throws IOException {
+        final Path theSegment = mJournalDirectory.resolve(
+            SEGMENT_FILE_PREFIX
+                + String.format("%0" + SEGMENT_FILE_SEQUENCE_DIGITS + "d", inFirstSequenceNumber)
+                + SEGMENT_FILE_SUFFIX);
+        mSegmentChannel = FileChannel.open(theSegment, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        mSegmentChannel.truncate(inValidLength);
+        mSegmentChannel.position(inValidLength);
+        mSegmentFirstSequenceNumber = inFirstSequenceNumber;
+    }
+
+    /**
+     * Closes the channel of the current journal segment, if any.
+     */
+    protected void closeSegmentChannel() {
+        if (mSegmentChannel != null) {
+            try {
+                mSegmentChannel.close();
+            } catch (final IOException theException) {
+                log.warn("Error closing reservation journal segment", theException);
+            }
+            mSegmentChannel = null;
+        }
+    }
+
+    /**
+     * Lists the journal segments in the journal directory ordered by their first sequence number.
+     *
+     * @return Journal segment files.
+     * @throws IOException If an error occurs listing the journal directory.
+     */
+    protected List<Path> listSegments() throws IOException {
+        try (Stream<Path> theFiles = Files.list(mJournalDirectory)) {
+            return theFiles
+                .filter(inFile -> {
+                    final String theFileName = inFile.getFileName().toString();
+                    return theFileName.startsWith(SEGMENT_FILE_PREFIX) && theFileName.endsWith(SEGMENT_FILE_SUFFIX);
+                })
+                .sorted((inFirstSegment, inSecondSegment) -> Long.compare(
+                    segmentFirstSequenceNumber(inFirstSegment), segmentFirstSequenceNumber(inSecondSegment)))
+                .toList();
+        }
+    }
+
+    /**
+     * Determines the sequence number of the first entry in the supplied journal segment from
+     * the segment file name.
+     *
+     * @param inSegment Journal segment file.
+     * @return Sequence number of first entry in segment.
+     */
+    protected static long segmentFirstSequenceNumber(final Path inSegment) {
+        final String theFileName = inSegment.getFileName().toString();
+        return Long.parseLong(theFileName.substring(
+            SEGMENT_FILE_PREFIX.length(), theFileName.length() - SEGMENT_FILE_SUFFIX.length()));
+    }
+
+    /**
+     * Types of commands processed by the writer thread.
+     */
+    protected enum JournalCommandType {
+        APPEND,
+        SNAPSHOT,
+        CLOSE
+    }
+
+    /**
+     * Command processed by the writer thread.
+     */
+    protected static final class JournalCommand {
+        protected final JournalCommandType mCommandType;
+        protected final ReservationJournalEntryType mEntryType;
+        protected final String mProductNumber;
+        protected final double mAmount;
+        protected final Long mReservationId;
+        protected final long mTimestamp = System.currentTimeMillis();
+        protected final CompletableFuture<Long> mResult = new CompletableFuture<>();
+        protected long mSequenceNumber;
+
+        JournalCommand(final JournalCommandType inCommandType,
+                       final ReservationJournalEntryType inEntryType,
+                       final String inProductNumber,
+                       final double inAmount,
+                       final Long inReservationId) {
+            mCommandType = inCommandType;
+            mEntryType = inEntryType;
+            mProductNumber = inProductNumber;
+            mAmount = inAmount;
+            mReservationId = inReservationId;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.journal;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.WarehouseChangeListener;
+
+/**
+ * Warehouse change listener that records changes of the reservation state of products in
+ * the reservation journal.
+ * Changes made in a transaction are appended to the journal after the transaction has been committed,
+ * so that the journal only contains changes that also have been committed to the database.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReservationJournalChangeListener implements WarehouseChangeListener {
+    /* Dependencies: */
+    @NonNull
+    protected final ReservationJournal mReservationJournal;
+
+    @Override
+    public void onStockIncreased(final String inProductNumber, final double inAmount) {
+        appendAfterCommit(ReservationJournalEntryType.STOCK_INCREASED, inProductNumber, inAmount, null);
+    }
+
+    @Override
+    public void onProductReserved(final String inProductNumber, final double inAmount, final Long inReservationId) {
+        appendAfterCommit(ReservationJournalEntryType.PRODUCT_RESERVED, inProductNumber, inAmount, inReservationId);
+    }
+
+    @Override
+    public void onProductReservationRemoved(final String inProductNumber,
+                                            final double inAmount,
+                                            final Long inReservationId) {
+        appendAfterCommit(
+            ReservationJournalEntryType.RESERVATION_CONSUMED, inProductNumber, inAmount, inReservationId);
+    }
+
+    /**
+     * Appends an entry with the supplied information to the reservation journal when the current
+     * transaction has been committed or immediately if there is no current transaction.
+     *
+     * @param inEntryType Type of change.
+     * @param inProductNumber Product number of product which reservation state changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     */
+    protected void appendAfterCommit(final ReservationJournalEntryType inEntryType,
+                                     final String inProductNumber,
+                                     final double inAmount,
+                                     final Long inReservationId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(inEntryType, inProductNumber, inAmount, inReservationId);
+                }
+            });
+        } else {
+            append(inEntryType, inProductNumber, inAmount, inReservationId);
+        }
+    }
+
+    /**
+     * Appends an entry with the supplied information to the reservation journal.
+     * Failures to append are logged but not propagated, since the change has already been committed.
+     *
+     * @param inEntryType Type of change.
+     * @param inProductNumber Product number of product which reservation state changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     */
+    protected void append(final ReservationJournalEntryType inEntryType,
+                          final String inProductNumber,
+                          final double inAmount,
+                          final Long inReservationId) {
+        mReservationJournal
+            .append(inEntryType, inProductNumber, inAmount, inReservationId)
+            .whenComplete((inSequenceNumber, inException) -> {
+                if (inException != null) {
+                    log.error("Failed to append {} of product {} to the reservation journal",
+                        inEntryType, inProductNumber, inException);
+                }
+            });
+    }
+}
@@ -0,0 +1,23 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.journal;
+
+import java.time.Instant;
+
+/**
+ * Entry in the reservation journal recording one change of the reservation state of a product.
+ *
+ * @param sequenceNumber Sequence number of the entry. Sequence numbers are consecutive, starting at one.
+ * @param timestamp Time at which the entry was appended to the journal.
+ * @param type Type of change.
+ * @param productNumber Product number of product which reservation state changed.
+ * @param amount Product amount of the change.
+ * @param reservationId Id of the product reservation or null if the change does not concern a reservation.
+ * @author Ivan Krizsan
+ */
+public record ReservationJournalEntry(
+    long sequenceNumber,
+    Instant timestamp,
+    ReservationJournalEntryType type,
+    String productNumber,
+    double amount,
+    Long reservationId) {
+}
@@ -0,0 +1,48 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.journal;
+
+/**
+ * Types of entries in the reservation journal.
+ *
+ * @author Ivan Krizsan
+ */
+public enum ReservationJournalEntryType {
+    /** Stock of a product was increased, increasing the available amount. */
+    STOCK_INCREASED((byte) 1),
+    /** An amount of a product was reserved, moving the amount from available to reserved. */
+    PRODUCT_RESERVED((byte) 2),
+    /** A product reservation was removed, consuming the reserved amount. */
+    RESERVATION_CONSUMED((byte) 3);
+
+    /* Instance variable(s): */
+    /** Code identifying the entry type in journal records. */
+    private final byte mCode;
+
+    ReservationJournalEntryType(final byte inCode) {
+        mCode = inCode;
+    }
+
+    /**
+     * Retrieves the code identifying the entry type in journal records.
+     *
+     * @return Entry type code.
+     */
+    public byte code() {
+        return mCode;
+    }
+
+    /**
+     * Finds the entry type with the supplied code.
+     *
+     * @param inCode Entry type code.
+     * @return Entry type.
+     * @throws IllegalArgumentException If there is no entry type with the supplied code.
+     */
+    public static ReservationJournalEntryType fromCode(final byte inCode) {
+        for (ReservationJournalEntryType theEntryType : values()) {
+            if (theEntryType.mCode == inCode) {
+                return theEntryType;
+            }
+        }
+        throw new IllegalArgumentException("Unknown reservation journal entry type code: " + inCode);
+    }
+}
@@ -0,0 +1,61 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox;
+
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEventType;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.OutboxEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation.WarehouseChangeListener;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.OutboxEventRepository;
+
+import java.time.Clock;
+
+/**
+ * Warehouse change listener that records changes of the stock and reservations of products in
+ * the transactional outbox.
+ * Outbox events are written in the transaction in which the change is made, so that an outbox event
+ * is committed if and only if the change is committed. Failure to write an outbox event thus causes
+ * the change to be rolled back.
+ *
+ * @author Ivan Krizsan
+ */
+@RequiredArgsConstructor
+public class OutboxChangeListener implements WarehouseChangeListener {
+    /* Dependencies: */
+    @NonNull
+    protected final OutboxEventRepository mOutboxEventRepository;
+    @NonNull
+    protected final Clock mClock;
+
+    @Override
+    public void onStockIncreased(final String inProductNumber, final double inAmount) {
+        record(WarehouseEventType.STOCK_INCREASED, inProductNumber, inAmount, null);
+    }
+
+    @Override
+    public void onProductReserved(final String inProductNumber, final double inAmount, final Long inReservationId) {
+        record(WarehouseEventType.RESERVATION_CREATED, inProductNumber, inAmount, inReservationId);
+    }
+
+    @Override
+    public void onProductReservationRemoved(final String inProductNumber,
+                                            final double inAmount,
+                                            final Long inReservationId) {
+        record(WarehouseEventType.RESERVATION_CONSUMED, inProductNumber, inAmount, inReservationId);
+    }
+
+    /**
+     * Writes an outbox event with the supplied information in the current transaction.
+     *
+     * @param inEventType Type of change.
+     * @param inProductNumber Product number of product which stock or reservations changed.
+     * @param inAmount Product amount of the change.
+     * @param inReservationId Id of product reservation concerned or null if not applicable.
+     */
+    protected void record(final WarehouseEventType inEventType,
+                          final String inProductNumber,
+                          final double inAmount,
+                          final Long inReservationId) {
+        mOutboxEventRepository.save(
+            new OutboxEvent(inEventType, inProductNumber, inAmount, inReservationId, mClock.instant()));
+    }
+}
@@ -0,0 +1,215 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxMessage;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxMessageSink;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.OutboxEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.OutboxEventRepository;
+
+import java.io.Closeable;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Relays events from the warehouse transactional outbox to an outbox message sink.
+ * A relay thread polls the outbox for the oldest events and, in one transaction, dispatches them to
+ * the sink as one ordered batch and deletes them from the outbox. As long as full batches are found,
+ * the outbox is polled again immediately. Otherwise the relay waits for the poll interval.
+ * If dispatching a batch fails, the transaction is rolled back and the batch is retried after the
+ * poll interval, which gives at-least-once delivery.
+ * Only one relay may relay events from an outbox at a time.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class OutboxRelay implements Closeable {
+    /* Instance variable(s): */
+    protected final OutboxEventRepository mOutboxEventRepository;
+    protected final OutboxMessageSink mOutboxMessageSink;
+    protected final TransactionTemplate mTransactionTemplate;
+    protected final Clock mClock;
+    protected final int mBatchSize;
+    protected final Duration mPollInterval;
+    protected final Thread mRelayThread;
+    protected final Object mPollMonitor = new Object();
+    protected final Instant mStartTime;
+    protected final LongAdder mRelayedMessageCount = new LongAdder();
+    protected final LongAdder mRelayedBatchCount = new LongAdder();
+    protected final LongAdder mFailedBatchCount = new LongAdder();
+    protected final AtomicReference<Duration> mLastBatchLag = new AtomicReference<>(Duration.ZERO);
+    protected final AtomicLong mMaxLagNanos = new AtomicLong();
+    protected volatile boolean mClosed;
+
+    /**
+     * Creates and starts a relay relaying events from the supplied outbox to the supplied sink.
+     *
+     * @param inOutboxEventRepository Repository containing the outbox events.
+     * @param inOutboxMessageSink Sink to which outbox events are dispatched.
+     * @param inTransactionManager Transaction manager of the persistence unit containing the outbox.
+     * @param inClock Clock used to calculate relay lag.
+     * @param inBatchSize Maximum number of events relayed in one batch.
+     * @param inPollInterval Time to wait before polling the outbox again when it has been found empty.
+     */
+    public OutboxRelay(final OutboxEventRepository inOutboxEventRepository,
+                       final OutboxMessageSink inOutboxMessageSink,
+                       final PlatformTransactionManager inTransactionManager,
+                       final Clock inClock,
+                       final int inBatchSize,
+                       final Duration inPollInterval) {
+        Assert.notNull(inOutboxEventRepository, "An outbox event repository is required");
+        Assert.notNull(inOutboxMessageSink, "An outbox message sink is required");
+        Assert.notNull(inTransactionManager, "A transaction manager is required");
+        Assert.notNull(inClock, "A clock is required");
+        Assert.isTrue(inBatchSize > 0, "The batch size must be positive");
+        Assert.isTrue(inPollInterval != null && !inPollInterval.isNegative(), "A poll interval is required");
+
+        mOutboxEventRepository = inOutboxEventRepository;
+        mOutboxMessageSink = inOutboxMessageSink;
+        mTransactionTemplate = new TransactionTemplate(inTransactionManager);
+        mClock = inClock;
+        mBatchSize = inBatchSize;
+        mPollInterval = inPollInterval;
+        mStartTime = inClock.instant();
+
+        mRelayThread = new Thread(this::runRelay, "warehouse-outbox-relay");
+        mRelayThread.setDaemon(true);
+        mRelayThread.start();
+    }
+
+    /**
+     * Retrieves the statistics of the relay.
+     *
+     * @return Outbox relay statistics.
+     */
+    public OutboxStatistics retrieveOutboxStatistics() {
+        final long theRelayedMessageCount = mRelayedMessageCount.sum();
+        final double theElapsedSeconds = Duration.between(mStartTime, mClock.instant()).toNanos() / 1e9;
+        return new OutboxStatistics(
+            theRelayedMessageCount,
+            mRelayedBatchCount.sum(),
+            mFailedBatchCount.sum(),
+            mOutboxEventRepository.count(),
+            theElapsedSeconds > 0 ? theRelayedMessageCount / theElapsedSeconds : 0.0,
+            mLastBatchLag.get(),
+            Duration.ofNanos(mMaxLagNanos.get()));
+    }
+
+    /**
+     * Stops the relay, waiting for any batch being relayed to complete.
+     * Events remaining in the outbox are relayed when the relay is started again.
+     */
+    @Override
+    public void close() {
+        mClosed = true;
+        synchronized (mPollMonitor) {
+            mPollMonitor.notifyAll();
+        }
+        try {
+            mRelayThread.join();
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Relays batches of outbox events until the relay is closed.
+     */
+    protected void runRelay() {
+        while (!mClosed) {
+            int theRelayedCount;
+            try {
+                theRelayedCount = relayBatch();
+            } catch (final Exception theException) {
+                mFailedBatchCount.increment();
+                log.warn("Failed to relay warehouse outbox events, will retry", theException);
+                theRelayedCount = 0;
+            }
+            if (theRelayedCount < mBatchSize) {
+                awaitPollInterval();
+            }
+        }
+    }
+
+    /**
+     * Relays one batch of the oldest outbox events in one transaction.
+     *
+     * @return Number of relayed events.
+     */
+    protected int relayBatch() {
+        final Integer theRelayedCount = mTransactionTemplate.execute(inStatus -> {
+            final List<OutboxEvent> theOutboxEvents =
+                mOutboxEventRepository.findAllByOrderByIdAsc(PageRequest.ofSize(mBatchSize));
+            if (theOutboxEvents.isEmpty()) {
+                return 0;
+            }
+
+            final List<OutboxMessage> theMessages = new ArrayList<>(theOutboxEvents.size());
+            final List<Long> theOutboxEventIds = new ArrayList<>(theOutboxEvents.size());
+            for (OutboxEvent theOutboxEvent : theOutboxEvents) {
+                theMessages.add(new OutboxMessage(
+                    theOutboxEvent.getId(),
+                    theOutboxEvent.getEventType(),
+                    theOutboxEvent.getProductNumber(),
+                    theOutboxEvent.getAmount(),
+                    theOutboxEvent.getReservationId(),
+                    theOutboxEvent.getCreatedAt()));
+                theOutboxEventIds.add(theOutboxEvent.getId());
+            }
+            try {
+                mOutboxMessageSink.dispatch(theMessages);
+            } catch (final RuntimeException theException) {
+                throw theException;
+            } catch (final Exception theException) {
+                throw new IllegalStateException("Outbox message sink failed to dispatch batch", theException);
+            }
+            mOutboxEventRepository.deleteAllByIdInBatch(theOutboxEventIds);
+            recordBatchLag(theOutboxEvents.get(0).getCreatedAt());
+            return theOutboxEvents.size();
+        });
+
+        final int theCount = theRelayedCount != null ? theRelayedCount : 0;
+        if (theCount > 0) {
+            mRelayedMessageCount.add(theCount);
+            mRelayedBatchCount.increment();
+        }
+        return theCount;
+    }
+
+    /**
+     * Records the lag of a batch which oldest event was recorded at the supplied time.
+     *
+     * @param inOldestEventTime Time at which the oldest event in the batch was recorded.
+     */
+    protected void recordBatchLag(final Instant inOldestEventTime) {
+        final Duration theLag = Duration.between(inOldestEventTime, mClock.instant());
+        mLastBatchLag.set(theLag);
+        mMaxLagNanos.accumulateAndGet(theLag.toNanos(), Math::max);
+    }
+
+    /**
+     * Waits for the poll interval or until the relay is closed.
+     */
+    protected void awaitPollInterval() {
+        synchronized (mPollMonitor) {
+            if (!mClosed) {
+                try {
+                    mPollMonitor.wait(Math.max(1, mPollInterval.toMillis()));
+                } catch (final InterruptedException theException) {
+                    Thread.currentThread().interrupt();
+                    mClosed = true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Repository containing the warehouse outbox events that have not yet been relayed.
+ *
+ * @author Ivan Krizsan
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    /**
+     * Finds the oldest outbox events, in the order in which they were recorded.
+     *
+     * @param inPageable Determines maximum number of outbox events to find.
+     * @return Outbox events ordered by id, or empty list.
+     */
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable inPageable);
+}
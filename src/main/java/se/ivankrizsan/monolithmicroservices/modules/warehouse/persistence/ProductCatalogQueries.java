@@ -0,0 +1,25 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogQuery;
+
+import java.util.List;
+
+/**
+ * Repository fragment that finds products for the product catalog using keyset pagination.
+ *
+ * @author Ivan Krizsan
+ */
+public interface ProductCatalogQueries {
+
+    /**
+     * Finds the products matching the supplied catalog query, starting after the last product of the previous
+     * page of the query, if any, using one single query.
+     * The available amount of a product includes the available amounts of its stock buckets.
+     *
+     * @param inQuery Catalog query.
+     * @param inMaxResults Maximum number of products to find.
+     * @return Matching products in the sort order of the query.
+     */
+    List<ProductCatalogEntry> findCatalogEntries(ProductCatalogQuery inQuery, int inMaxResults);
+}
@@ -0,0 +1,120 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link ProductCatalogQueries} repository fragment building a JPQL query containing
+ * only the conditions of the criteria present in the catalog query.
+ * The keyset condition and the ordering of each sort order match the indexes on product name and unit price
+ * of {@link se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product}, so that the database can
+ * start reading at the first product of a page instead of reading and discarding all preceding products.
+ * Each keyset condition repeats the condition on the leading index column outside of the disjunction, since
+ * the database can only use a range condition on the leading column to find the start of the page.
+ *
+ * @author Ivan Krizsan
+ */
+public class ProductCatalogQueriesImpl implements ProductCatalogQueries {
+    /* Constant(s): */
+    /** Available amount of a product, including the available amounts of its stock buckets. */
+    protected static final String AVAILABLE_AMOUNT = "(p.availableAmount + coalesce((select sum(b.availableAmount)"
+        + " from ProductStockBucket b where b.productNumber = p.productNumber), 0))";
+    /** Escape character of wildcard characters in name prefixes. */
+    protected static final char LIKE_ESCAPE_CHARACTER = '\\';
+
+    /* Dependencies: */
+    @PersistenceContext(unitName = WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY)
+    protected EntityManager mEntityManager;
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
+    public List<ProductCatalogEntry> findCatalogEntries(final ProductCatalogQuery inQuery, final int inMaxResults) {
+        final StringBuilder theJpql = new StringBuilder()
+            .append("select new ")
+            .append(ProductCatalogEntry.class.getName())
+            .append("(p.productNumber, p.name, p.unitPrice, ")
+            .append(AVAILABLE_AMOUNT)
+            .append(") from Product p where 1 = 1");
+        final Map<String, Object> theParameters = new HashMap<>();
+
+        if (inQuery.namePrefix() != null && !inQuery.namePrefix().isEmpty()) {
+            theJpql.append(" and p.name like :namePrefix escape '").append(LIKE_ESCAPE_CHARACTER).append("'");
+            theParameters.put("namePrefix", escapeLikeWildcards(inQuery.namePrefix()) + "%");
+        }
+        if (inQuery.minimumUnitPrice() != null) {
+            theJpql.append(" and p.unitPrice >= :minimumUnitPrice");
+            theParameters.put("minimumUnitPrice", inQuery.minimumUnitPrice());
+        }
+        if (inQuery.maximumUnitPrice() != null) {
+            theJpql.append(" and p.unitPrice <= :maximumUnitPrice");
+            theParameters.put("maximumUnitPrice", inQuery.maximumUnitPrice());
+        }
+        if (inQuery.minimumAvailableAmount() != null) {
+            theJpql.append(" and ").append(AVAILABLE_AMOUNT).append(" >= :minimumAvailableAmount");
+            theParameters.put("minimumAvailableAmount", inQuery.minimumAvailableAmount());
+        }
+
+        final ProductCatalogEntry theAfter = inQuery.after();
+        switch (inQuery.sortOrder()) {
+            case NAME -> {
+                if (theAfter != null) {
+                    theJpql.append(" and p.name >= :afterName and (p.name > :afterName"
+                        + " or (p.name = :afterName and p.productNumber > :afterProductNumber))");
+                    theParameters.put("afterName", theAfter.productName());
+                }
+                theJpql.append(" order by p.name, p.productNumber");
+            }
+            case UNIT_PRICE_ASCENDING -> {
+                if (theAfter != null) {
+                    theJpql.append(" and p.unitPrice >= :afterUnitPrice and (p.unitPrice > :afterUnitPrice"
+                        + " or (p.unitPrice = :afterUnitPrice and p.productNumber > :afterProductNumber))");
+                    theParameters.put("afterUnitPrice", theAfter.unitPrice());
+                }
+                theJpql.append(" order by p.unitPrice, p.productNumber");
+            }
+            case UNIT_PRICE_DESCENDING -> {
+                if (theAfter != null) {
+                    theJpql.append(" and p.unitPrice <= :afterUnitPrice and (p.unitPrice < :afterUnitPrice"
+                        + " or (p.unitPrice = :afterUnitPrice and p.productNumber < :afterProductNumber))");
+                    theParameters.put("afterUnitPrice", theAfter.unitPrice());
+                }
+                theJpql.append(" order by p.unitPrice desc, p.productNumber desc");
+            }
+        }
+        if (theAfter != null) {
+            theParameters.put("afterProductNumber", theAfter.productNumber());
+        }
+
+        final TypedQuery<ProductCatalogEntry> theQuery =
+            mEntityManager.createQuery(theJpql.toString(), ProductCatalogEntry.class);
+        theParameters.forEach(theQuery::setParameter);
+        return theQuery
+            .setMaxResults(inMaxResults)
+            .getResultList();
+    }
+
+    /**
+     * Escapes the wildcard characters of LIKE patterns in the supplied string.
+     *
+     * @param inString String to escape.
+     * @return Escaped string.
+     */
+    protected String escapeLikeWildcards(final String inString) {
+        final StringBuilder theEscaped = new StringBuilder(inString.length());
+        for (char theCharacter : inString.toCharArray()) {
+            if (theCharacter == '%' || theCharacter == '_' || theCharacter == LIKE_ESCAPE_CHARACTER) {
+                theEscaped.append(LIKE_ESCAPE_CHARACTER);
+            }
+            theEscaped.append(theCharacter);
+        }
+        return theEscaped.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment that finds products by their natural id, the product number.
+ * As opposed to a query, natural-id lookups are able to use the natural-id and second-level caches.
+ *
+ * @author Ivan Krizsan
+ */
+public interface ProductNaturalIdLookup {
+
+    /**
+     * Finds the product in the warehouse with the supplied product number.
+     *
+     * @param inProductNumber Product number of product to find.
+     * @return Matching product or empty if no matching product found.
+     */
+    Optional<Product> findByProductNumber(String inProductNumber);
+}
@@ -0,0 +1,32 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link ProductNaturalIdLookup} repository fragment using the Hibernate
+ * natural-id API.
+ *
+ * @author Ivan Krizsan
+ */
+public class ProductNaturalIdLookupImpl implements ProductNaturalIdLookup {
+    /* Constant(s): */
+
+    /* Dependencies: */
+    @PersistenceContext(unitName = WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY)
+    protected EntityManager mEntityManager;
+
+    @Override
+    @Transactional(transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER, readOnly = true)
+    public Optional<Product> findByProductNumber(final String inProductNumber) {
+        return mEntityManager
+            .unwrap(Session.class)
+            .bySimpleNaturalId(Product.class)
+            .loadOptional(inProductNumber);
+    }
+}
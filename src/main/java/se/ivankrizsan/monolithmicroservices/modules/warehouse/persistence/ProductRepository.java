@@ -1,32 +1,77 @@
 package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repository containing products in the warehouse.
+ * Products are found by product number using the natural-id lookup in {@link ProductNaturalIdLookup}.
+ * Products which amounts are to be modified are instead found and locked using
+ * {@link #findAndLockByProductNumber(String)}.
+ * Products are browsed in the product catalog using {@link ProductCatalogQueries}.
  *
  * @author Ivan Krizsan
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, String> {
+public interface ProductRepository
+    extends JpaRepository<Product, String>, ProductNaturalIdLookup, ProductCatalogQueries {
 
     /**
-     * Finds the product in the warehouse with the supplied product number.
+     * Determines whether a product with the supplied product number exists in the repository.
+     *
+     * @param inProductNumber Product number of product to check whether present in the repository.
+     * @return True if a product with the product number exists in the repository, false otherwise.
+     */
+    boolean existsByProductNumber(String inProductNumber);
+
+    /**
+     * Finds which of the supplied product numbers belong to products that exist in the repository
+     * using one single query.
+     *
+     * @param inProductNumbers Product numbers to check whether present in the repository.
+     * @return Product numbers of the supplied product numbers that exist in the repository.
+     */
+    @Query("select p.productNumber from Product p where p.productNumber in :productNumbers")
+    Set<String> findExistingProductNumbers(@Param("productNumbers") Collection<String> inProductNumbers);
+
+    /**
+     * Finds the products with the supplied product numbers using one single query.
+     *
+     * @param inProductNumbers Product numbers of products to find.
+     * @return Products with the supplied product numbers that exist in the repository.
+     */
+    List<Product> findAllByProductNumberIn(Collection<String> inProductNumbers);
+
+    /**
+     * Finds the product with the supplied product number, locking the product for update until the end of
+     * the current transaction.
+     * As opposed to the natural-id lookup, the product state is always read from the database once the lock
+     * has been acquired, so that concurrent modifications of the product amounts are not lost.
      *
-     * @param inProductNumber Product number of product to find.
+     * @param inProductNumber Product number of product to find and lock.
      * @return Matching product or empty if no matching product found.
      */
-    Optional<Product> findByProductNumber(String inProductNumber);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.productNumber = :productNumber")
+    Optional<Product> findAndLockByProductNumber(@Param("productNumber") String inProductNumber);
 
     /**
-     * Determines whether a product with the supplied product number exists in the repository.
+     * Finds the number of buckets the stock of the product with the supplied product number has been split
+     * into, without locking the product or loading it into the persistence context.
      *
-     * @param inProductNumber Product number of product to check whether present in the repository.
-     * @return True if a product with the product number exists in the repository, false otherwise.
+     * @param inProductNumber Product number of product.
+     * @return Number of stock buckets, zero if the stock has not been split, or empty if no matching product.
      */
-    boolean existsByProductNumber(String inProductNumber);
+    @Query("select p.stockBucketCount from Product p where p.productNumber = :productNumber")
+    Optional<Integer> findStockBucketCountByProductNumber(@Param("productNumber") String inProductNumber);
 }
@@ -0,0 +1,104 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservationTotals;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository containing the reservation totals of products in the warehouse.
+ * Totals are updated using atomic increments in the database so that concurrent reservations
+ * of the same product do not overwrite each other's updates. The increments are native queries since
+ * Hibernate renders arithmetic on parameters in update statements using a cast that H2 rejects.
+ * The increments declare the table they update as their query space, since Hibernate otherwise assumes
+ * that a native update may have modified any table and invalidates all second-level cache regions,
+ * including the natural-id and product caches.
+ *
+ * @author Ivan Krizsan
+ */
+@Repository
+public interface ProductReservationTotalsRepository extends JpaRepository<ProductReservationTotals, String> {
+
+    /* Constant(s): */
+    /** Query space of the native updates, which is the table they update. */
+    String QUERY_SPACE = "product_reservation_totals";
+
+    /**
+     * Finds the reservation summary of the product with the supplied product number.
+     * The summary is read as scalar values, as opposed to an entity, so that increments made
+     * earlier in the same transaction are included.
+     *
+     * @param inProductNumber Product number of product which reservation summary to find.
+     * @return Reservation summary or empty if there are no reservation totals for the product.
+     */
+    @Query("select new se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary("
+        + "t.productNumber, t.reservationCount, t.reservedAmount, t.consumedAmount)"
+        + " from ProductReservationTotals t where t.productNumber = :productNumber")
+    Optional<ProductReservationSummary> findSummaryByProductNumber(@Param("productNumber") String inProductNumber);
+
+    /**
+     * Adds one reservation of the supplied amount to the reservation totals of the product with
+     * the supplied product number.
+     *
+     * @param inProductNumber Product number of product which reservation totals to update.
+     * @param inAmount Reserved amount.
+     * @return Number of updated reservation totals. Zero if there are no totals for the product.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "update product_reservation_totals"
+        + " set reservation_count = reservation_count + 1, reserved_amount = reserved_amount + :amount"
+        + " where product_number = :productNumber", nativeQuery = true)
+    int addReservation(@Param("productNumber") String inProductNumber, @Param("amount") double inAmount);
+
+    /**
+     * Removes one reservation of the supplied amount from the outstanding reservations in the reservation
+     * totals of the product with the supplied product number, adding the amount to the consumed amount.
+     *
+     * @param inProductNumber Product number of product which reservation totals to update.
+     * @param inAmount Consumed amount.
+     * @return Number of updated reservation totals. Zero if there are no totals for the product.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "update product_reservation_totals"
+        + " set reservation_count = reservation_count - 1, reserved_amount = reserved_amount - :amount,"
+        + " consumed_amount = consumed_amount + :amount"
+        + " where product_number = :productNumber", nativeQuery = true)
+    int consumeReservation(@Param("productNumber") String inProductNumber, @Param("amount") double inAmount);
+
+    /**
+     * Calculates the reservation totals of the product with the supplied product number from the
+     * outstanding product reservations. Used to initialize the reservation totals of products
+     * for which there are no reservation totals. The consumed amount cannot be calculated and is zero.
+     *
+     * @param inProductNumber Product number of product which reservation totals to calculate.
+     * @return Calculated reservation totals, not persisted, or empty if there are no outstanding
+     * reservations of the product.
+     */
+    @Query("select new se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservationTotals("
+        + "r.productNumber, count(r), sum(r.reservedAmount))"
+        + " from ProductReservation r where r.productNumber = :productNumber group by r.productNumber")
+    Optional<ProductReservationTotals> calculateReservationTotals(@Param("productNumber") String inProductNumber);
+
+    /**
+     * Finds the product numbers of the products with the highest demand, that is the largest sum of the
+     * outstanding and consumed reserved amounts, in order of decreasing demand.
+     *
+     * @param inPageable Page of product numbers to find.
+     * @return Product numbers of products in order of decreasing demand.
+     */
+    @Query("select t.productNumber from ProductReservationTotals t"
+        + " order by (t.reservedAmount + t.consumedAmount) desc, t.reservationCount desc")
+    List<String> findProductNumbersByDemand(Pageable inPageable);
+}
@@ -0,0 +1,73 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductStockBucket;
+
+import java.util.Optional;
+
+/**
+ * Repository containing the stock buckets of products which stock has been split into buckets.
+ * Reservations and stock increases modify buckets using atomic updates in the database, so that
+ * a reservation only locks the one bucket from which the product is reserved, see {@link ProductStockBucketUpdates}.
+ * As in {@link ProductReservationTotalsRepository}, the updates are native queries that declare the table they
+ * update as their query space, so that they do not invalidate the product caches.
+ *
+ * @author Ivan Krizsan
+ */
+@Repository
+public interface ProductStockBucketRepository
+    extends JpaRepository<ProductStockBucket, Long>, ProductStockBucketUpdates {
+
+    /* Constant(s): */
+    /** Query space of the native updates, which is the table they update. */
+    String QUERY_SPACE = "product_stock_bucket";
+
+    /**
+     * Consumes one reservation of the supplied amount made from the bucket with the supplied index of the
+     * product with the supplied product number.
+     *
+     * @param inProductNumber Product number of product which reservation was consumed.
+     * @param inBucketIndex Index of bucket from which the reservation was made.
+     * @param inAmount Consumed amount.
+     * @return Number of updated buckets. Zero if there is no such bucket.
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QUERY_SPACE))
+    @Query(value = "update product_stock_bucket"
+        + " set reserved_amount = reserved_amount - :amount, reservation_count = reservation_count - 1,"
+        + " consumed_amount = consumed_amount + :amount"
+        + " where product_number = :productNumber and bucket_index = :bucketIndex", nativeQuery = true)
+    int consumeReservation(@Param("productNumber") String inProductNumber,
+                           @Param("bucketIndex") int inBucketIndex,
+                           @Param("amount") double inAmount);
+
+    /**
+     * Calculates the total available amount of the buckets of the product with the supplied product number.
+     *
+     * @param inProductNumber Product number of product.
+     * @return Total available amount, zero if the product has no buckets.
+     */
+    @Query("select coalesce(sum(b.availableAmount), 0) from ProductStockBucket b"
+        + " where b.productNumber = :productNumber")
+    double sumAvailableAmount(@Param("productNumber") String inProductNumber);
+
+    /**
+     * Calculates the reservation totals of the buckets of the product with the supplied product number.
+     * The totals are read as scalar values, so that updates made earlier in the same transaction are included.
+     *
+     * @param inProductNumber Product number of product.
+     * @return Reservation totals of the buckets or empty if the product has no buckets.
+     */
+    @Query("select new se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary("
+        + "b.productNumber, sum(b.reservationCount), sum(b.reservedAmount), sum(b.consumedAmount))"
+        + " from ProductStockBucket b where b.productNumber = :productNumber group by b.productNumber")
+    Optional<ProductReservationSummary> sumReservationTotals(@Param("productNumber") String inProductNumber);
+}
@@ -0,0 +1,58 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import java.util.Optional;
+
+/**
+ * Repository fragment that updates the stock buckets of products such that an operation never waits for
+ * the lock of a bucket while holding the lock of another bucket of the product, except when locking buckets
+ * in the order of their index. Transactions performing one operation each thus cannot deadlock on the buckets
+ * of a product. A transaction performing several operations holds the locks taken by its earlier operations
+ * and may deadlock with other transactions, see {@code WarehouseServiceImplementation}.
+ * Buckets are only read and updated using atomic updates or rows locked by the operation, never using buckets
+ * managed by the persistence context, which do not reflect atomic updates made earlier in the transaction.
+ *
+ * @author Ivan Krizsan
+ */
+public interface ProductStockBucketUpdates {
+
+    /**
+     * Reserves the supplied amount from the bucket with the supplied index of the product with the supplied
+     * product number, provided that the available amount of the bucket is sufficient.
+     * Holds the lock of the bucket until the end of the current transaction only if the amount was reserved.
+     * Must be invoked in a transaction.
+     *
+     * @param inProductNumber Product number of product to reserve.
+     * @param inBucketIndex Index of bucket to reserve from.
+     * @param inAmount Amount to reserve.
+     * @return True if the amount was reserved, false if the available amount of the bucket is insufficient.
+     */
+    boolean tryReserve(String inProductNumber, int inBucketIndex, double inAmount);
+
+    /**
+     * Locks the buckets of the product with the supplied product number in the order of their index and increases
+     * the available amount of each of the buckets by the supplied amount.
+     * Must be invoked in a transaction.
+     *
+     * @param inProductNumber Product number of product which stock to increase.
+     * @param inAmountPerBucket Amount added to each bucket.
+     * @return Number of updated buckets.
+     */
+    int increaseAvailableAmount(String inProductNumber, double inAmountPerBucket);
+
+    /**
+     * Locks the buckets of the product with the supplied product number in the order of their index and, provided
+     * that the total available amount of the buckets is sufficient, gathers their available amounts into one bucket
+     * and reserves the supplied amount from that bucket.
+     * Available amounts are gathered, rather than redistributed evenly, since no single bucket being sufficient
+     * means that the product is running low and later reservations would otherwise also need to lock all buckets.
+     * Must be invoked in a transaction.
+     *
+     * @param inProductNumber Product number of product to reserve.
+     * @param inAmount Amount to reserve.
+     * @param inPreferredBucket Index of bucket to gather the available amounts into and reserve from, modulo
+     * the number of buckets.
+     * @return Index of the bucket the amount was reserved from or empty if the total available amount
+     * of the buckets is insufficient.
+     */
+    Optional<Integer> gatherAndReserve(String inProductNumber, double inAmount, int inPreferredBucket);
+}
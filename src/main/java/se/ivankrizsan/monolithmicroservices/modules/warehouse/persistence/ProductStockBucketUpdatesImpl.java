@@ -0,0 +1,142 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link ProductStockBucketUpdates} repository fragment.
+ * A conditional update of a bucket that waited for the lock of the bucket may keep the lock although the
+ * available amount of the bucket turned out to be insufficient, which is the case with H2. Reservations
+ * therefore attempt each bucket within a savepoint which is rolled back if the amount was not reserved,
+ * releasing any lock taken by the attempt.
+ * As in {@link ProductStockBucketRepository}, updates are native queries declaring the table they update
+ * as their query space.
+ *
+ * @author Ivan Krizsan
+ */
+public class ProductStockBucketUpdatesImpl implements ProductStockBucketUpdates {
+    /* Constant(s): */
+    /** Reserves an amount from a bucket, provided that the available amount of the bucket is sufficient. */
+    protected static final String RESERVE_SQL = "update product_stock_bucket"
+        + " set available_amount = available_amount - :amount, reserved_amount = reserved_amount + :amount,"
+        + " reservation_count = reservation_count + 1"
+        + " where product_number = :productNumber and bucket_index = :bucketIndex and available_amount >= :amount";
+    /** Locks the buckets of a product in the order of their index, reading their indexes and available amounts. */
+    protected static final String LOCK_IN_INDEX_ORDER_SQL = "select bucket_index, available_amount"
+        + " from product_stock_bucket where product_number = :productNumber order by bucket_index for update";
+    /** Increases the available amount of the buckets of a product. */
+    protected static final String INCREASE_AVAILABLE_AMOUNT_SQL = "update product_stock_bucket"
+        + " set available_amount = available_amount + :amount where product_number = :productNumber";
+    /** Sets the available amount of the buckets of a product to zero. */
+    protected static final String EMPTY_AVAILABLE_AMOUNT_SQL = "update product_stock_bucket"
+        + " set available_amount = 0 where product_number = :productNumber";
+    /** Sets the available amount of a bucket and reserves an amount from it. */
+    protected static final String RESERVE_GATHERED_SQL = "update product_stock_bucket"
+        + " set available_amount = :availableAmount, reserved_amount = reserved_amount + :amount,"
+        + " reservation_count = reservation_count + 1"
+        + " where product_number = :productNumber and bucket_index = :bucketIndex";
+
+    /* Dependencies: */
+    @PersistenceContext(unitName = WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY)
+    protected EntityManager mEntityManager;
+
+    @Override
+    @Transactional(
+        transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER,
+        propagation = Propagation.MANDATORY)
+    public boolean tryReserve(final String inProductNumber, final int inBucketIndex, final double inAmount) {
+        final Session theSession = mEntityManager.unwrap(Session.class);
+        /* Flush pending changes before the savepoint, so that rolling back only undoes the reservation attempt. */
+        theSession.flush();
+        final Savepoint theSavepoint = theSession.doReturningWork(Connection::setSavepoint);
+
+        final boolean theReservedFlag = mEntityManager
+            .createNativeQuery(RESERVE_SQL)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, ProductStockBucketRepository.QUERY_SPACE)
+            .setParameter("productNumber", inProductNumber)
+            .setParameter("bucketIndex", inBucketIndex)
+            .setParameter("amount", inAmount)
+            .executeUpdate() > 0;
+        theSession.doWork(inConnection -> {
+            if (theReservedFlag) {
+                inConnection.releaseSavepoint(theSavepoint);
+            } else {
+                inConnection.rollback(theSavepoint);
+            }
+        });
+        return theReservedFlag;
+    }
+
+    @Override
+    @Transactional(
+        transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER,
+        propagation = Propagation.MANDATORY)
+    public int increaseAvailableAmount(final String inProductNumber, final double inAmountPerBucket) {
+        lockInIndexOrder(inProductNumber);
+        return mEntityManager
+            .createNativeQuery(INCREASE_AVAILABLE_AMOUNT_SQL)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, ProductStockBucketRepository.QUERY_SPACE)
+            .setParameter("productNumber", inProductNumber)
+            .setParameter("amount", inAmountPerBucket)
+            .executeUpdate();
+    }
+
+    @Override
+    @Transactional(
+        transactionManager = WarehousePersistenceUnit.TRANSACTION_MANAGER,
+        propagation = Propagation.MANDATORY)
+    public Optional<Integer> gatherAndReserve(final String inProductNumber,
+                                              final double inAmount,
+                                              final int inPreferredBucket) {
+        final List<Object[]> theBuckets = lockInIndexOrder(inProductNumber);
+        final double theTotalAvailableAmount = theBuckets
+            .stream()
+            .mapToDouble(inBucket -> ((Number) inBucket[1]).doubleValue())
+            .sum();
+        if (theBuckets.isEmpty() || theTotalAvailableAmount < inAmount) {
+            return Optional.empty();
+        }
+
+        final int theReservedBucket = ((Number) theBuckets.get(inPreferredBucket % theBuckets.size())[0]).intValue();
+        mEntityManager
+            .createNativeQuery(EMPTY_AVAILABLE_AMOUNT_SQL)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, ProductStockBucketRepository.QUERY_SPACE)
+            .setParameter("productNumber", inProductNumber)
+            .executeUpdate();
+        mEntityManager
+            .createNativeQuery(RESERVE_GATHERED_SQL)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, ProductStockBucketRepository.QUERY_SPACE)
+            .setParameter("productNumber", inProductNumber)
+            .setParameter("bucketIndex", theReservedBucket)
+            .setParameter("availableAmount", theTotalAvailableAmount - inAmount)
+            .setParameter("amount", inAmount)
+            .executeUpdate();
+        return Optional.of(theReservedBucket);
+    }
+
+    /**
+     * Locks the buckets of the product with the supplied product number in the order of their index.
+     * Pending changes are flushed first, so that buckets created earlier in the transaction are locked.
+     *
+     * @param inProductNumber Product number of product which buckets to lock.
+     * @return Index and available amount of each bucket, in the order of the bucket indexes.
+     */
+    @SuppressWarnings("unchecked")
+    protected List<Object[]> lockInIndexOrder(final String inProductNumber) {
+        mEntityManager.flush();
+        return mEntityManager
+            .createNativeQuery(LOCK_IN_INDEX_ORDER_SQL)
+            .setHint(HibernateHints.HINT_NATIVE_SPACES, ProductStockBucketRepository.QUERY_SPACE)
+            .setParameter("productNumber", inProductNumber)
+            .getResultList();
+    }
+}
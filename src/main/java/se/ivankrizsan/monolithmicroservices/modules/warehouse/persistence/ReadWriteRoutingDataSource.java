@@ -0,0 +1,123 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Datasource that routes read-only transactions to a replica datasource and all other database access
+ * to a primary datasource, subject to a {@link ReplicaStalenessPolicy}.
+ * The datasource to use is determined when the first connection is obtained in a transaction, thus this
+ * datasource must be wrapped in a lazy connection datasource proxy for the read-only flag of the
+ * transaction to be known when the connection is obtained.
+ * The read-your-writes staleness policy is applied per thread, as the time of the last committed write
+ * is recorded for the thread that committed the write. See {@link ReplicaStalenessPolicy#READ_YOUR_WRITES}.
+ *
+ * @author Ivan Krizsan
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    /**
+     * Roles of the datasources that connections are routed to.
+     */
+    public enum DataSourceRole {
+        PRIMARY,
+        REPLICA
+    }
+
+    /* Instance variable(s): */
+    /** Policy determining whether read-only transactions may use the replica datasource. */
+    protected final ReplicaStalenessPolicy mStalenessPolicy;
+    /** Period after a committed write during which the writing thread reads from the primary datasource. */
+    protected final Duration mReadYourWritesWindow;
+    /** Clock used to determine the time of committed writes. */
+    protected final Clock mClock;
+    /** Time at which the current thread last committed a write transaction. */
+    protected final ThreadLocal<Instant> mLastWriteCommitTime = new ThreadLocal<>();
+
+    /**
+     * Creates a routing datasource routing to the supplied primary and replica datasources.
+     *
+     * @param inPrimaryDataSource Datasource to which writes and non-transactional access is routed.
+     * @param inReplicaDataSource Datasource to which read-only transactions may be routed.
+     * @param inStalenessPolicy Policy determining whether read-only transactions may use the replica.
+     * @param inReadYourWritesWindow Period after a committed write during which the writing thread
+     * reads from the primary datasource. Only used with the read-your-writes staleness policy.
+     * @param inClock Clock used to determine the time of committed writes.
+     */
+    public ReadWriteRoutingDataSource(final DataSource inPrimaryDataSource,
+                                      final DataSource inReplicaDataSource,
+                                      final ReplicaStalenessPolicy inStalenessPolicy,
+                                      final Duration inReadYourWritesWindow,
+                                      final Clock inClock) {
+        Assert.notNull(inPrimaryDataSource, "A primary datasource is required");
+        Assert.notNull(inReplicaDataSource, "A replica datasource is required");
+        Assert.notNull(inStalenessPolicy, "A staleness policy is required");
+        Assert.notNull(inReadYourWritesWindow, "A read-your-writes window is required");
+        Assert.notNull(inClock, "A clock is required");
+
+        mStalenessPolicy = inStalenessPolicy;
+        mReadYourWritesWindow = inReadYourWritesWindow;
+        mClock = inClock;
+        setTargetDataSources(Map.of(
+            DataSourceRole.PRIMARY, inPrimaryDataSource,
+            DataSourceRole.REPLICA, inReplicaDataSource));
+        setDefaultTargetDataSource(inPrimaryDataSource);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return determineDataSourceRole();
+    }
+
+    /**
+     * Determines the role of the datasource to use for the current transaction.
+     * Write transactions register to record the time of their commit, for the benefit of
+     * the read-your-writes staleness policy. Non-transactional access, such as metadata lookups,
+     * uses the primary datasource without being regarded as a write.
+     *
+     * @return Datasource role.
+     */
+    protected DataSourceRole determineDataSourceRole() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return isReplicaAllowed() ? DataSourceRole.REPLICA : DataSourceRole.PRIMARY;
+        }
+
+        if (mStalenessPolicy == ReplicaStalenessPolicy.READ_YOUR_WRITES
+            && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mLastWriteCommitTime.set(mClock.instant());
+                }
+            });
+        }
+        return DataSourceRole.PRIMARY;
+    }
+
+    /**
+     * Determines whether the current read-only transaction may use the replica datasource
+     * according to the staleness policy.
+     *
+     * @return True if the replica datasource may be used, false if the primary datasource is to be used.
+     */
+    protected boolean isReplicaAllowed() {
+        return switch (mStalenessPolicy) {
+            case PRIMARY_ONLY -> false;
+            case ALLOW_STALE_READS -> true;
+            case READ_YOUR_WRITES -> {
+                final Instant theLastWriteCommitTime = mLastWriteCommitTime.get();
+                yield theLastWriteCommitTime == null
+                    || !mClock.instant().isBefore(theLastWriteCommitTime.plus(mReadYourWritesWindow));
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * JPA dialect for a persistence unit whose read-only transactions may be routed to a replica datasource
+ * by a {@link ReadWriteRoutingDataSource}.
+ * Read-only transactions read from, but never put into, the second-level and natural-id caches.
+ * Data read from a replica lagging behind the primary datasource thus never enters the caches, from which
+ * it would otherwise be read by all later transactions, including write transactions and transactions
+ * that the staleness policy directs to the primary datasource.
+ * Cached data originates from the primary datasource and is at least as recent as the data on the replica.
+ *
+ * @author Ivan Krizsan
+ */
+public class ReplicaReadJpaDialect extends HibernateJpaDialect {
+    @Override
+    public Object beginTransaction(final EntityManager inEntityManager, final TransactionDefinition inDefinition)
+        throws PersistenceException, SQLException {
+        final Object theTransactionData = super.beginTransaction(inEntityManager, inDefinition);
+        if (inDefinition.isReadOnly()) {
+            inEntityManager.unwrap(Session.class).setCacheMode(CacheMode.GET);
+        }
+        return theTransactionData;
+    }
+}
@@ -0,0 +1,22 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+/**
+ * Policies determining to what extent read-only transactions may observe data on the replica
+ * datasource that is older than the data on the primary datasource.
+ *
+ * @author Ivan Krizsan
+ */
+public enum ReplicaStalenessPolicy {
+    /** All transactions use the primary datasource. No stale data is ever read. */
+    PRIMARY_ONLY,
+    /**
+     * Read-only transactions use the replica datasource unless the current thread committed a write
+     * transaction within the read-your-writes window, in which case the primary datasource is used.
+     * Writes are thus only guaranteed to be read by later transactions on the same thread. A caller
+     * whose requests are served by different threads, for example a remote client served by a pool of
+     * threads or a caller using one virtual thread per request, may read stale data after its writes.
+     */
+    READ_YOUR_WRITES,
+    /** All read-only transactions use the replica datasource regardless of replication lag. */
+    ALLOW_STALE_READS
+}
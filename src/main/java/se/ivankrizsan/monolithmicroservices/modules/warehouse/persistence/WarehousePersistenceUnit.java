@@ -0,0 +1,26 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+/**
+ * Names of the beans making up the persistence unit containing the warehouse entities.
+ * By default, the warehouse entities are part of the persistence unit of the application and the names
+ * are aliases of the datasource, entity manager factory and transaction manager of the application.
+ * If read/write routing is enabled, the warehouse has a persistence unit of its own and the names are
+ * those of the beans of that persistence unit.
+ *
+ * @author Ivan Krizsan
+ */
+public final class WarehousePersistenceUnit {
+    /* Constant(s): */
+    /** Name of the datasource of the warehouse persistence unit. */
+    public static final String DATA_SOURCE = "warehouseDataSource";
+    /**
+     * Name of the entity manager factory of the warehouse persistence unit.
+     * Also used as the unit name of persistence contexts, which are looked up by bean name.
+     */
+    public static final String ENTITY_MANAGER_FACTORY = "warehouseEntityManagerFactory";
+    /** Name of the transaction manager of the warehouse persistence unit. */
+    public static final String TRANSACTION_MANAGER = "warehouseTransactionManager";
+
+    private WarehousePersistenceUnit() {
+    }
+}
@@ -0,0 +1,100 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.remote;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MessageBufferPool;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClient;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.SchemaRemoteInvoker;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of the {@link WarehouseService} that invokes the warehouse service of a remote
+ * warehouse using a {@link RemoteClient}, encoding requests as specified by the {@link WarehouseServiceSchema}.
+ * Exceptions thrown by the remote warehouse service are re-thrown by this client.
+ *
+ * @author Ivan Krizsan
+ */
+public class WarehouseServiceRemoteClient implements WarehouseService {
+    /* Instance variable(s): */
+    /** Invoker invoking methods of the remote warehouse service. */
+    protected final SchemaRemoteInvoker mInvoker;
+
+    /**
+     * Creates a client invoking the warehouse service of a remote warehouse using the supplied remote client.
+     *
+     * @param inRemoteClient Remote client connected to the remote warehouse.
+     */
+    public WarehouseServiceRemoteClient(final RemoteClient inRemoteClient) {
+        Assert.notNull(inRemoteClient, "A remote client is required");
+        mInvoker = new SchemaRemoteInvoker(inRemoteClient, WarehouseServiceSchema.SCHEMA, new MessageBufferPool());
+    }
+
+    @Override
+    public Optional<Double> retrieveProductAvailableAmount(final String inProductNumber) {
+        return mInvoker.invoke(WarehouseServiceSchema.RETRIEVE_PRODUCT_AVAILABLE_AMOUNT, inProductNumber);
+    }
+
+    @Override
+    public Optional<Double> retrieveProductUnitPrice(final String inProductNumber) {
+        return mInvoker.invoke(WarehouseServiceSchema.RETRIEVE_PRODUCT_UNIT_PRICE, inProductNumber);
+    }
+
+    @Override
+    public Map<String, Double> retrieveProductUnitPrices(final Collection<String> inProductNumbers) {
+        Assert.notNull(inProductNumbers, "Product numbers are required");
+        return mInvoker.invoke(WarehouseServiceSchema.RETRIEVE_PRODUCT_UNIT_PRICES, inProductNumbers);
+    }
+
+    @Override
+    public Optional<Long> reserveProduct(final String inProductNumber, final double inAmount) {
+        return mInvoker.invoke(WarehouseServiceSchema.RESERVE_PRODUCT, inProductNumber, inAmount);
+    }
+
+    @Override
+    public boolean removeProductReservation(final Long inProductReservationId) {
+        return mInvoker.invoke(WarehouseServiceSchema.REMOVE_PRODUCT_RESERVATION, inProductReservationId);
+    }
+
+    @Override
+    public Optional<Double> retrieveReservationAmount(final Long inProductReservationId) {
+        return mInvoker.invoke(WarehouseServiceSchema.RETRIEVE_RESERVATION_AMOUNT, inProductReservationId);
+    }
+
+    @Override
+    public Map<Long, Double> retrieveReservationAmounts(final Collection<Long> inProductReservationIds) {
+        Assert.notNull(inProductReservationIds, "Product reservation ids are required");
+        return mInvoker.invoke(WarehouseServiceSchema.RETRIEVE_RESERVATION_AMOUNTS, inProductReservationIds);
+    }
+
+    @Override
+    public ProductReservationSummary retrieveProductReservationSummary(final String inProductNumber)
+        throws ProductNotInWarehouseException {
+        return mInvoker.invoke(WarehouseServiceSchema.RETRIEVE_PRODUCT_RESERVATION_SUMMARY, inProductNumber);
+    }
+
+    @Override
+    public void createProductInWarehouse(final String inProductNumber,
+                                         final String inProductName,
+                                         final Double inUnitPrice) {
+        mInvoker.invoke(
+            WarehouseServiceSchema.CREATE_PRODUCT_IN_WAREHOUSE, inProductNumber, inProductName, inUnitPrice);
+    }
+
+    @Override
+    public int createProductsInWarehouse(final Collection<ProductDefinition> inProductDefinitions) {
+        Assert.notNull(inProductDefinitions, "Product definitions are required");
+        return mInvoker.invoke(WarehouseServiceSchema.CREATE_PRODUCTS_IN_WAREHOUSE, inProductDefinitions);
+    }
+
+    @Override
+    public void increaseProductStock(final String inProductNumber, final double inAmount)
+        throws ProductNotInWarehouseException {
+        mInvoker.invoke(WarehouseServiceSchema.INCREASE_PRODUCT_STOCK, inProductNumber, inAmount);
+    }
+}
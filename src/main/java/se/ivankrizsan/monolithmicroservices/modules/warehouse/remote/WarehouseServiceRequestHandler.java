@@ -0,0 +1,59 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.remote;
+
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MessageBufferPool;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.SchemaRequestDispatcher;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+
+import java.util.Collection;
+
+import static se.ivankrizsan.monolithmicroservices.modules.warehouse.remote.WarehouseServiceSchema.*;
+
+/**
+ * Remote request handler that handles requests from a {@link WarehouseServiceRemoteClient} by invoking
+ * the local warehouse service.
+ *
+ * @author Ivan Krizsan
+ */
+public class WarehouseServiceRequestHandler extends SchemaRequestDispatcher {
+
+    /**
+     * Creates a request handler invoking the supplied warehouse service.
+     *
+     * @param inWarehouseService Local warehouse service.
+     */
+    @SuppressWarnings("unchecked")
+    public WarehouseServiceRequestHandler(final WarehouseService inWarehouseService) {
+        super(SCHEMA, new MessageBufferPool());
+        Assert.notNull(inWarehouseService, "A warehouse service is required");
+
+        bind(RETRIEVE_PRODUCT_AVAILABLE_AMOUNT,
+            inArguments -> inWarehouseService.retrieveProductAvailableAmount((String) inArguments[0]));
+        bind(RETRIEVE_PRODUCT_UNIT_PRICE,
+            inArguments -> inWarehouseService.retrieveProductUnitPrice((String) inArguments[0]));
+        bind(RETRIEVE_PRODUCT_UNIT_PRICES,
+            inArguments -> inWarehouseService.retrieveProductUnitPrices((Collection<String>) inArguments[0]));
+        bind(RESERVE_PRODUCT,
+            inArguments -> inWarehouseService.reserveProduct((String) inArguments[0], (Double) inArguments[1]));
+        bind(REMOVE_PRODUCT_RESERVATION,
+            inArguments -> inWarehouseService.removeProductReservation((Long) inArguments[0]));
+        bind(RETRIEVE_RESERVATION_AMOUNT,
+            inArguments -> inWarehouseService.retrieveReservationAmount((Long) inArguments[0]));
+        bind(RETRIEVE_RESERVATION_AMOUNTS,
+            inArguments -> inWarehouseService.retrieveReservationAmounts((Collection<Long>) inArguments[0]));
+        bind(RETRIEVE_PRODUCT_RESERVATION_SUMMARY,
+            inArguments -> inWarehouseService.retrieveProductReservationSummary((String) inArguments[0]));
+        bind(CREATE_PRODUCT_IN_WAREHOUSE, inArguments -> {
+            inWarehouseService.createProductInWarehouse(
+                (String) inArguments[0], (String) inArguments[1], (Double) inArguments[2]);
+            return null;
+        });
+        bind(CREATE_PRODUCTS_IN_WAREHOUSE, inArguments -> inWarehouseService.createProductsInWarehouse(
+            (Collection<ProductDefinition>) inArguments[0]));
+        bind(INCREASE_PRODUCT_STOCK, inArguments -> {
+            inWarehouseService.increaseProductStock((String) inArguments[0], (Double) inArguments[1]);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,138 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.remote;
+
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.ExceptionMapping;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MethodSchema;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.ServiceSchema;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.ValueCodec;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ReservationRejectedException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static se.ivankrizsan.monolithmicroservices.modules.remoting.api.ValueCodecs.*;
+
+/**
+ * Schema of the remote {@code WarehouseService} binding, specifying how the arguments and results of
+ * the warehouse service methods and the exceptions they throw are encoded.
+ * Method ids and exception codes must not be changed once clients and servers have been deployed.
+ *
+ * @author Ivan Krizsan
+ */
+public final class WarehouseServiceSchema {
+    /* Constant(s): */
+    /** Codec of product reservation summaries. */
+    public static final ValueCodec<ProductReservationSummary> PRODUCT_RESERVATION_SUMMARY = ValueCodec.of(
+        (inWriter, inSummary) -> {
+            NULLABLE_STRING.write(inWriter, inSummary.productNumber());
+            inWriter
+                .writeVarLong(inSummary.reservationCount())
+                .writeDouble(inSummary.reservedAmount())
+                .writeDouble(inSummary.consumedAmount());
+        },
+        inReader -> new ProductReservationSummary(
+            NULLABLE_STRING.read(inReader),
+            inReader.readVarLong(),
+            inReader.readDouble(),
+            inReader.readDouble()));
+    /** Codec of product definitions. */
+    public static final ValueCodec<ProductDefinition> PRODUCT_DEFINITION = ValueCodec.of(
+        (inWriter, inProductDefinition) -> {
+            NULLABLE_STRING.write(inWriter, inProductDefinition.productNumber());
+            NULLABLE_STRING.write(inWriter, inProductDefinition.productName());
+            NULLABLE_DOUBLE.write(inWriter, inProductDefinition.unitPrice());
+        },
+        inReader -> new ProductDefinition(
+            NULLABLE_STRING.read(inReader),
+            NULLABLE_STRING.read(inReader),
+            NULLABLE_DOUBLE.read(inReader)));
+    /** Codec of collections of product definitions. */
+    public static final ValueCodec<Collection<ProductDefinition>> PRODUCT_DEFINITIONS =
+        collection(PRODUCT_DEFINITION);
+
+    /** Codec of collections of product numbers. */
+    public static final ValueCodec<Collection<String>> PRODUCT_NUMBERS = collection(STRING);
+    /** Codec of collections of product reservation ids. */
+    public static final ValueCodec<Collection<Long>> PRODUCT_RESERVATION_IDS = collection(LONG);
+
+    /** Schema of the {@code retrieveProductAvailableAmount} method. */
+    public static final MethodSchema<Optional<Double>> RETRIEVE_PRODUCT_AVAILABLE_AMOUNT =
+        MethodSchema.of(1, "retrieveProductAvailableAmount", OPTIONAL_DOUBLE, NULLABLE_STRING);
+    /** Schema of the {@code retrieveProductUnitPrice} method. */
+    public static final MethodSchema<Optional<Double>> RETRIEVE_PRODUCT_UNIT_PRICE =
+        MethodSchema.of(2, "retrieveProductUnitPrice", OPTIONAL_DOUBLE, NULLABLE_STRING);
+    /** Schema of the {@code reserveProduct} method. */
+    public static final MethodSchema<Optional<Long>> RESERVE_PRODUCT =
+        MethodSchema.of(3, "reserveProduct", OPTIONAL_LONG, NULLABLE_STRING, DOUBLE);
+    /** Schema of the {@code removeProductReservation} method. */
+    public static final MethodSchema<Boolean> REMOVE_PRODUCT_RESERVATION =
+        MethodSchema.of(4, "removeProductReservation", BOOLEAN, NULLABLE_LONG);
+    /** Schema of the {@code retrieveReservationAmount} method. */
+    public static final MethodSchema<Optional<Double>> RETRIEVE_RESERVATION_AMOUNT =
+        MethodSchema.of(5, "retrieveReservationAmount", OPTIONAL_DOUBLE, NULLABLE_LONG);
+    /** Schema of the {@code retrieveProductReservationSummary} method. */
+    public static final MethodSchema<ProductReservationSummary> RETRIEVE_PRODUCT_RESERVATION_SUMMARY =
+        MethodSchema.of(6, "retrieveProductReservationSummary", PRODUCT_RESERVATION_SUMMARY, NULLABLE_STRING);
+    /** Schema of the {@code createProductInWarehouse} method. */
+    public static final MethodSchema<Void> CREATE_PRODUCT_IN_WAREHOUSE =
+        MethodSchema.of(7, "createProductInWarehouse", VOID, NULLABLE_STRING, NULLABLE_STRING, NULLABLE_DOUBLE);
+    /** Schema of the {@code createProductsInWarehouse} method. */
+    public static final MethodSchema<Integer> CREATE_PRODUCTS_IN_WAREHOUSE =
+        MethodSchema.of(8, "createProductsInWarehouse", INT, PRODUCT_DEFINITIONS);
+    /** Schema of the {@code increaseProductStock} method. */
+    public static final MethodSchema<Void> INCREASE_PRODUCT_STOCK =
+        MethodSchema.of(9, "increaseProductStock", VOID, NULLABLE_STRING, DOUBLE);
+    /** Schema of the {@code retrieveProductUnitPrices} method. */
+    public static final MethodSchema<Map<String, Double>> RETRIEVE_PRODUCT_UNIT_PRICES =
+        MethodSchema.of(10, "retrieveProductUnitPrices", map(STRING, DOUBLE), PRODUCT_NUMBERS);
+    /** Schema of the {@code retrieveReservationAmounts} method. */
+    public static final MethodSchema<Map<Long, Double>> RETRIEVE_RESERVATION_AMOUNTS =
+        MethodSchema.of(11, "retrieveReservationAmounts", map(LONG, DOUBLE), PRODUCT_RESERVATION_IDS);
+
+    /** Mapping of exceptions indicating that a product does not exist in the warehouse. */
+    public static final ExceptionMapping<ProductNotInWarehouseException> PRODUCT_NOT_IN_WAREHOUSE =
+        new ExceptionMapping<>(1, ProductNotInWarehouseException.class, ValueCodec.of(
+            (inWriter, inException) -> NULLABLE_STRING.write(inWriter, inException.getProductNumber()),
+            inReader -> {
+                final String theProductNumber = NULLABLE_STRING.read(inReader);
+                return theProductNumber != null
+                    ? new ProductNotInWarehouseException(theProductNumber)
+                    : new ProductNotInWarehouseException();
+            }));
+    /** Mapping of exceptions indicating that a method rejected its arguments. */
+    public static final ExceptionMapping<IllegalArgumentException> ILLEGAL_ARGUMENT =
+        ExceptionMapping.withMessage(2, IllegalArgumentException.class, IllegalArgumentException::new);
+    /** Mapping of exceptions indicating that a product reservation was rejected by admission control. */
+    public static final ExceptionMapping<ReservationRejectedException> RESERVATION_REJECTED =
+        new ExceptionMapping<>(3, ReservationRejectedException.class, ValueCodec.of(
+            (inWriter, inException) -> NULLABLE_STRING.write(inWriter, inException.getProductNumber()),
+            inReader -> {
+                final String theProductNumber = NULLABLE_STRING.read(inReader);
+                return theProductNumber != null
+                    ? new ReservationRejectedException(theProductNumber)
+                    : new ReservationRejectedException();
+            }));
+
+    /** Schema of the warehouse service. */
+    public static final ServiceSchema SCHEMA = new ServiceSchema("WarehouseService",
+        List.of(
+            RETRIEVE_PRODUCT_AVAILABLE_AMOUNT,
+            RETRIEVE_PRODUCT_UNIT_PRICE,
+            RESERVE_PRODUCT,
+            REMOVE_PRODUCT_RESERVATION,
+            RETRIEVE_RESERVATION_AMOUNT,
+            RETRIEVE_PRODUCT_RESERVATION_SUMMARY,
+            CREATE_PRODUCT_IN_WAREHOUSE,
+            CREATE_PRODUCTS_IN_WAREHOUSE,
+            INCREASE_PRODUCT_STOCK,
+            RETRIEVE_PRODUCT_UNIT_PRICES,
+            RETRIEVE_RESERVATION_AMOUNTS),
+        List.of(PRODUCT_NOT_IN_WAREHOUSE, ILLEGAL_ARGUMENT, RESERVATION_REJECTED));
+
+    private WarehouseServiceSchema() {
+    }
+}
@@ -0,0 +1,147 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.warmup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Warms up the warehouse when the application has started, before live traffic arrives.
+ * The products with the highest demand are loaded, populating the product caches and opening database
+ * connections, after which the lookup and reservation code paths of the warehouse service are exercised
+ * for these products in order to have them compiled by the JIT compiler.
+ * Reservations are made in transactions that are rolled back, so that the warm-up does not change
+ * the state of the warehouse and no warehouse change notifications are sent.
+ * Spring Boot signals that the application is ready to accept traffic only after all application runners
+ * have completed, so readiness remains false until the warm-up is done.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class WarehouseWarmUp implements ApplicationRunner {
+    /* Constant(s): */
+    /** Amount reserved when exercising reservations, which does not require the product to be in stock. */
+    protected static final double WARM_UP_RESERVATION_AMOUNT = 0.0;
+
+    /* Dependencies: */
+    protected final WarehouseService mWarehouseService;
+    protected final ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    protected final TransactionTemplate mRollbackTransactionTemplate;
+    protected final ApplicationEventPublisher mApplicationEventPublisher;
+
+    /* Instance variable(s): */
+    protected final int mHotProductCount;
+    protected final int mIterations;
+    protected final Duration mMaxDuration;
+
+    /**
+     * Creates a warehouse warm-up.
+     *
+     * @param inWarehouseService Warehouse service to exercise.
+     * @param inProductReservationTotalsRepository Repository used to find the products with the highest demand.
+     * @param inTransactionManager Transaction manager of the persistence unit containing the warehouse.
+     * @param inApplicationEventPublisher Publisher of readiness state changes.
+     * @param inHotProductCount Number of products with the highest demand to warm up.
+     * @param inIterations Number of times the code paths are exercised for each product.
+     * @param inMaxDuration Maximum duration of the warm-up.
+     */
+    public WarehouseWarmUp(final WarehouseService inWarehouseService,
+                           final ProductReservationTotalsRepository inProductReservationTotalsRepository,
+                           final PlatformTransactionManager inTransactionManager,
+                           final ApplicationEventPublisher inApplicationEventPublisher,
+                           final int inHotProductCount,
+                           final int inIterations,
+                           final Duration inMaxDuration) {
+        Assert.notNull(inWarehouseService, "A warehouse service is required");
+        Assert.notNull(inProductReservationTotalsRepository, "A product reservation totals repository is required");
+        Assert.notNull(inTransactionManager, "A transaction manager is required");
+        Assert.notNull(inApplicationEventPublisher, "An application event publisher is required");
+        Assert.isTrue(inHotProductCount > 0, "The hot product count must be positive");
+        Assert.isTrue(inIterations > 0, "The number of iterations must be positive");
+        Assert.notNull(inMaxDuration, "A maximum duration is required");
+
+        mWarehouseService = inWarehouseService;
+        mProductReservationTotalsRepository = inProductReservationTotalsRepository;
+        mRollbackTransactionTemplate = new TransactionTemplate(inTransactionManager);
+        mRollbackTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        mApplicationEventPublisher = inApplicationEventPublisher;
+        mHotProductCount = inHotProductCount;
+        mIterations = inIterations;
+        mMaxDuration = inMaxDuration;
+    }
+
+    @Override
+    public void run(final ApplicationArguments inApplicationArguments) {
+        AvailabilityChangeEvent.publish(mApplicationEventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        warmUp();
+    }
+
+    /**
+     * Warms up the warehouse using the products with the highest demand.
+     * Failures are logged and end the warm-up, since the warehouse is usable also when not warmed up.
+     *
+     * @return Number of products used in the warm-up.
+     */
+    public int warmUp() {
+        final long theStartTime = System.nanoTime();
+        final long theDeadline = theStartTime + mMaxDuration.toNanos();
+        int theIterationsDone = 0;
+        List<String> theHotProductNumbers = List.of();
+        try {
+            theHotProductNumbers =
+                mProductReservationTotalsRepository.findProductNumbersByDemand(PageRequest.of(0, mHotProductCount));
+            /* Loads the hot products into the product caches. */
+            mWarehouseService.retrieveProductUnitPrices(theHotProductNumbers);
+
+            while (theIterationsDone < mIterations && !theHotProductNumbers.isEmpty()
+                && System.nanoTime() < theDeadline) {
+                for (String theProductNumber : theHotProductNumbers) {
+                    exerciseProduct(theProductNumber);
+                }
+                theIterationsDone++;
+            }
+        } catch (final RuntimeException theException) {
+            log.warn("Warehouse warm-up ended after {} iterations due to an error", theIterationsDone, theException);
+        }
+
+        log.info("Warehouse warm-up of {} products completed {} iterations in {} ms",
+            theHotProductNumbers.size(),
+            theIterationsDone,
+            Duration.ofNanos(System.nanoTime() - theStartTime).toMillis());
+        return theHotProductNumbers.size();
+    }
+
+    /**
+     * Exercises the lookup and pricing code paths of the warehouse service for the product with the supplied
+     * product number and reserves the product and removes the reservation in a transaction that is rolled back.
+     *
+     * @param inProductNumber Product number of product to exercise the warehouse service with.
+     */
+    protected void exerciseProduct(final String inProductNumber) {
+        mWarehouseService.retrieveProductUnitPrice(inProductNumber);
+        mWarehouseService.retrieveProductAvailableAmount(inProductNumber);
+        mWarehouseService.retrieveProductReservationSummary(inProductNumber);
+
+        mRollbackTransactionTemplate.executeWithoutResult(inTransactionStatus -> {
+            mWarehouseService
+                .reserveProduct(inProductNumber, WARM_UP_RESERVATION_AMOUNT)
+                .ifPresent(inProductReservationId -> {
+                    mWarehouseService.retrieveReservationAmount(inProductReservationId);
+                    mWarehouseService.removeProductReservation(inProductReservationId);
+                });
+            inTransactionStatus.setRollbackOnly();
+        });
+    }
+}
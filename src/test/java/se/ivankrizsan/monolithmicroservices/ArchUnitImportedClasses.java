@@ -0,0 +1,65 @@
+package se.ivankrizsan.monolithmicroservices;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.importer.ClassFileImporter;
+import com.tngtech.archunit.core.importer.ImportOption;
+import com.tngtech.archunit.core.importer.Location;
+
+/**
+ * Holds the application classes imported by ArchUnit, so that the classes are imported once
+ * and shared by all architecture tests rather than imported by each test.
+ * The classes are imported lazily when first requested.
+ *
+ * @author Ivan Krizsan
+ */
+public final class ArchUnitImportedClasses {
+    /* Constant(s): */
+    /** Root package of the application classes. */
+    public static final String APPLICATION_ROOT_PACKAGE = "se.ivankrizsan";
+    /** Predicate selecting classes that are not test classes. */
+    public static final DescribedPredicate<JavaClass> PRODUCTION_CLASSES =
+        DescribedPredicate.describe("are production classes", inJavaClass -> inJavaClass
+            .getSource()
+            .map(inSource -> ImportOption.Predefined.DO_NOT_INCLUDE_TESTS.includes(Location.of(inSource.getUri())))
+            .orElse(true));
+    /**
+     * Import option excluding the classes generated when processing the application context ahead-of-time,
+     * all of which have names containing a double underscore.
+     */
+    public static final ImportOption DO_NOT_INCLUDE_AOT_GENERATED =
+        inLocation -> !inLocation.contains("__");
+
+    private ArchUnitImportedClasses() {
+    }
+
+    /**
+     * Retrieves all the classes of the application, including test classes.
+     *
+     * @return Application classes.
+     */
+    public static JavaClasses applicationClasses() {
+        return ApplicationClassesHolder.APPLICATION_CLASSES;
+    }
+
+    /**
+     * Retrieves the classes of the application, excluding test classes.
+     *
+     * @return Application production classes.
+     */
+    public static JavaClasses productionClasses() {
+        return ApplicationClassesHolder.PRODUCTION_CLASSES;
+    }
+
+    /**
+     * Holder of the imported classes, initialized when first accessed.
+     */
+    private static final class ApplicationClassesHolder {
+        static final JavaClasses APPLICATION_CLASSES = new ClassFileImporter()
+            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
+            .withImportOption(DO_NOT_INCLUDE_AOT_GENERATED)
+            .importPackages(APPLICATION_ROOT_PACKAGE);
+        static final JavaClasses PRODUCTION_CLASSES = APPLICATION_CLASSES.that(ArchUnitImportedClasses.PRODUCTION_CLASSES);
+    }
+}
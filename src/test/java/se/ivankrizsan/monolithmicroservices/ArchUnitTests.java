@@ -5,8 +5,6 @@ import com.tngtech.archunit.core.domain.Dependency;
 import com.tngtech.archunit.core.domain.JavaClass;
 import com.tngtech.archunit.core.domain.JavaClasses;
 import com.tngtech.archunit.core.domain.PackageMatcher;
-import com.tngtech.archunit.core.importer.ClassFileImporter;
-import com.tngtech.archunit.core.importer.ImportOption;
 import com.tngtech.archunit.lang.ArchCondition;
 import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
 import com.tngtech.archunit.library.Architectures;
@@ -24,12 +22,13 @@ import java.util.function.Predicate;
 /**
  * Tests the application's adherence to the proposed structure which purpose
  * is to allow for easier refactoring into microservices.
+ * The classes checked are imported once and shared with the other architecture tests.
  *
  * @author Ivan Krizsan
  */
 @Slf4j
 public class ArchUnitTests {
-    public static final String APPLICATION_ROOT_PACKAGE = "se.ivankrizsan";
+    public static final String APPLICATION_ROOT_PACKAGE = ArchUnitImportedClasses.APPLICATION_ROOT_PACKAGE;
 
     /**
      * Lists the dependencies of the classes in this example application contained
@@ -37,9 +36,7 @@ public class ArchUnitTests {
      */
     @Test
     public void listClassDependenciesTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_TESTS)
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.productionClasses();
 
         for (JavaClass theJavaClass : theClassesToCheck) {
             final Set<Dependency> theClassDependencies = theJavaClass.getDirectDependenciesFromSelf();
@@ -60,8 +57,7 @@ public class ArchUnitTests {
      */
     @Test
     public void listClassSliceTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.applicationClasses();
 
         /* Maps Java classes to slices specifying which classes belong to a slice. */
         final SliceAssignment theClassToModulesSliceMapper = new ModulesSliceAssignment();
@@ -81,9 +77,7 @@ public class ArchUnitTests {
      */
     @Test
     public void accessRuleOneTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.applicationClasses();
 
         /* Maps Java classes to slices specifying which classes belong to a slice. */
         final SliceAssignment theClassToModulesSliceMapper = new ModulesSliceAssignment();
@@ -115,9 +109,7 @@ public class ArchUnitTests {
      */
     @Test
     public void accessRulesTwoAndThreeTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.applicationClasses();
 
         Architectures
             .layeredArchitecture()
@@ -139,9 +131,7 @@ public class ArchUnitTests {
      */
     @Test
     public void accessRuleThreeTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.applicationClasses();
 
         final ModulePublicDescribedPredicate resideInModulePublicPart = new ModulePublicDescribedPredicate();
         final ArchCondition<JavaClass> dependOnClassesInAnotherModulesNonPublicPart =
@@ -162,9 +152,7 @@ public class ArchUnitTests {
      */
     @Test
     public void nonPublicModuleClassesTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.applicationClasses();
 
         final Predicate<JavaClass> theModuleNonPublicPredicate = createModulesNonPublicClassesPredicate();
 
@@ -186,9 +174,7 @@ public class ArchUnitTests {
      */
     @Test
     public void listNonModuleClassesTest() {
-        final JavaClasses theClassesToCheck = new ClassFileImporter()
-            .withImportOption(ImportOption.Predefined.DO_NOT_INCLUDE_JARS)
-            .importPackages(APPLICATION_ROOT_PACKAGE);
+        final JavaClasses theClassesToCheck = ArchUnitImportedClasses.applicationClasses();
 
         final Predicate<JavaClass> theModuleNonPublicPredicate = createNonModulesClassesPredicate();
 
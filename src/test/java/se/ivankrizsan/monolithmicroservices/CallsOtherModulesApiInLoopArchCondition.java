@@ -0,0 +1,72 @@
+package se.ivankrizsan.monolithmicroservices;
+
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaCodeUnitAccess;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * An ArchUnit condition that checks whether classes invoke methods of the public interfaces
+ * of other modules from within loops.
+ * Such invocations cause one call into the other module per iteration, which becomes one remote call
+ * per iteration when the other module is deployed as a separate microservice, and should be replaced
+ * by a bulk operation.
+ * Loops are located using {@link LoopLineRanges}, which regards the bodies of lambdas passed to {@code forEach}
+ * or stream operations as loops. Method references to other modules' api passed to such operations are
+ * also detected.
+ *
+ * @author Ivan Krizsan
+ */
+public class CallsOtherModulesApiInLoopArchCondition extends ArchCondition<JavaClass> {
+    /* Constant(s): */
+    protected static final String MODULE_API_PACKAGE = "api";
+
+    /**
+     * Creates an instance of the arch condition with the supplied additional parameters.
+     *
+     * @param inParameters Additional parameters.
+     */
+    public CallsOtherModulesApiInLoopArchCondition(final Object... inParameters) {
+        super("call interfaces in other modules' api from within loops", inParameters);
+    }
+
+    @Override
+    public void check(final JavaClass inJavaClassToCheck, final ConditionEvents inConditionEvents) {
+        final Optional<String> theSourceModuleOptional = ArchUnitModuleUtils.moduleFromJavaClass(inJavaClassToCheck);
+        if (theSourceModuleOptional.isEmpty()) {
+            return;
+        }
+        final String theSourceModule = theSourceModuleOptional.get();
+        final LoopLineRanges theLoopLineRanges = LoopLineRanges.of(inJavaClassToCheck.getName());
+
+        final List<JavaCodeUnitAccess<?>> theMethodAccesses = new ArrayList<>();
+        theMethodAccesses.addAll(inJavaClassToCheck.getMethodCallsFromSelf());
+        theMethodAccesses.addAll(inJavaClassToCheck.getMethodReferencesFromSelf());
+        for (JavaCodeUnitAccess<?> theMethodAccess : theMethodAccesses) {
+            final JavaClass theTargetClass = theMethodAccess.getTargetOwner();
+            final Optional<String> theTargetModuleOptional = ArchUnitModuleUtils.moduleFromJavaClass(theTargetClass);
+            final boolean theTargetIsOtherModulesApiFlag = theTargetClass.isInterface()
+                && theTargetModuleOptional.isPresent()
+                && !theSourceModule.equalsIgnoreCase(theTargetModuleOptional.get())
+                && ArchUnitModuleUtils.moduleSubpackageFromJavaClass(theTargetClass)
+                    .map(MODULE_API_PACKAGE::equals)
+                    .orElse(false);
+
+            if (theTargetIsOtherModulesApiFlag && theLoopLineRanges.isInLoop(theMethodAccess.getLineNumber())) {
+                final String theViolationMessage = String.format(
+                    "The class %s in the module '%s' calls %s in the api of the module '%s' from within a loop in %s",
+                    inJavaClassToCheck.getName(),
+                    theSourceModule,
+                    theMethodAccess.getTarget().getFullName(),
+                    theTargetModuleOptional.get(),
+                    theMethodAccess.getSourceCodeLocation());
+                inConditionEvents.add(SimpleConditionEvent.satisfied(inJavaClassToCheck, theViolationMessage));
+            }
+        }
+    }
+}
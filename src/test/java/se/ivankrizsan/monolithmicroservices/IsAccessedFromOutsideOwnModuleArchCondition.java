@@ -0,0 +1,57 @@
+package se.ivankrizsan.monolithmicroservices;
+
+import com.tngtech.archunit.core.domain.Dependency;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+
+import java.util.Optional;
+
+/**
+ * An ArchUnit condition that checks whether production classes outside of the non-public part of the
+ * module containing a class have dependencies to the class.
+ * Used to ensure that repositories are only used by the module owning the data, so that queries
+ * against the data of a module are only issued by the module itself.
+ *
+ * @author Ivan Krizsan
+ */
+public class IsAccessedFromOutsideOwnModuleArchCondition extends ArchCondition<JavaClass> {
+
+    /**
+     * Creates an instance of the arch condition with the supplied additional parameters.
+     *
+     * @param inParameters Additional parameters.
+     */
+    public IsAccessedFromOutsideOwnModuleArchCondition(final Object... inParameters) {
+        super("be accessed from outside the non-public part of their own module", inParameters);
+    }
+
+    @Override
+    public void check(final JavaClass inJavaClassToCheck, final ConditionEvents inConditionEvents) {
+        final Optional<String> theOwnModuleOptional = ArchUnitModuleUtils.moduleFromJavaClass(inJavaClassToCheck);
+
+        for (Dependency theOriginDependency : inJavaClassToCheck.getDirectDependenciesToSelf()) {
+            final JavaClass theOriginClass = theOriginDependency.getOriginClass();
+            if (!ArchUnitImportedClasses.PRODUCTION_CLASSES.test(theOriginClass)) {
+                continue;
+            }
+            final Optional<String> theOriginModuleOptional = ArchUnitModuleUtils.moduleFromJavaClass(theOriginClass);
+            final boolean theSameModuleFlag = theOwnModuleOptional.isPresent()
+                && theOriginModuleOptional.isPresent()
+                && theOwnModuleOptional.get().equalsIgnoreCase(theOriginModuleOptional.get());
+            final boolean theOriginInApiFlag = ArchUnitModuleUtils.moduleSubpackageFromJavaClass(theOriginClass)
+                .map(CallsOtherModulesApiInLoopArchCondition.MODULE_API_PACKAGE::equals)
+                .orElse(false);
+
+            if (!theSameModuleFlag || theOriginInApiFlag) {
+                final String theViolationMessage = String.format(
+                    "The class %s is accessed from %s, which is not located in the non-public part of the module '%s'",
+                    inJavaClassToCheck.getName(),
+                    theOriginClass.getName(),
+                    theOwnModuleOptional.orElse("<none>"));
+                inConditionEvents.add(SimpleConditionEvent.satisfied(inJavaClassToCheck, theViolationMessage));
+            }
+        }
+    }
+}
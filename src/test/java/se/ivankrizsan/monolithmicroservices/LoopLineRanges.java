@@ -0,0 +1,317 @@
+package se.ivankrizsan.monolithmicroservices;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.Handle;
+import org.springframework.asm.Label;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.BaseStream;
+
+/**
+ * Source line ranges of the loops in a class, determined from the bytecode of the class.
+ * ArchUnit does not model control flow, so loops are found by reading the bytecode of the class and
+ * locating backward jumps, which the Java compiler only generates for loops. The lines of the loop
+ * are the lines of all the instructions from the jump target up to and including the backward jump.
+ * Lambdas and method references passed to {@code forEach} of an {@link Iterable} or a {@link Map}, or to
+ * an operation of a stream, are invoked once per element and are thus also regarded as loops. The lines of
+ * such a lambda are the lines of the instructions of the method the lambda body is compiled to, while the
+ * line of such a method reference is the line at which it is passed.
+ * Requires the class to be compiled with line number information, which is the default.
+ *
+ * @author Ivan Krizsan
+ */
+public final class LoopLineRanges {
+    /* Constant(s): */
+    /** Loop line ranges of analysed classes, keyed by class name. */
+    private static final Map<String, LoopLineRanges> LOOP_LINE_RANGES_CACHE = new ConcurrentHashMap<>();
+    /** Internal name of the class bootstrapping the invokedynamic instructions creating lambdas. */
+    private static final String LAMBDA_METAFACTORY = "java/lang/invoke/LambdaMetafactory";
+    /** Name of the iterating methods of {@link Iterable} and {@link Map}. */
+    private static final String FOR_EACH_METHOD_NAME = "forEach";
+
+    /* Instance variable(s): */
+    /** First and last line of each loop. */
+    private final List<int[]> mLoopLineRanges;
+
+    private LoopLineRanges(final List<int[]> inLoopLineRanges) {
+        mLoopLineRanges = inLoopLineRanges;
+    }
+
+    /**
+     * Retrieves the loop line ranges of the class with the supplied name.
+     *
+     * @param inClassName Fully qualified name of class.
+     * @return Loop line ranges of the class.
+     */
+    public static LoopLineRanges of(final String inClassName) {
+        return LOOP_LINE_RANGES_CACHE.computeIfAbsent(inClassName, LoopLineRanges::analyse);
+    }
+
+    /**
+     * Determines whether the supplied source line is located within a loop.
+     *
+     * @param inLineNumber Source line number.
+     * @return True if the line is located in a loop, false otherwise.
+     */
+    public boolean isInLoop(final int inLineNumber) {
+        for (int[] theLoopLineRange : mLoopLineRanges) {
+            if (inLineNumber >= theLoopLineRange[0] && inLineNumber <= theLoopLineRange[1]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finds the loop line ranges of the class with the supplied name by reading its bytecode.
+     *
+     * @param inClassName Fully qualified name of class.
+     * @return Loop line ranges of the class.
+     */
+    private static LoopLineRanges analyse(final String inClassName) {
+        final String theInternalClassName = inClassName.replace('.', '/');
+        final String theClassResource = theInternalClassName + ".class";
+        final List<int[]> theLoopLineRanges = new ArrayList<>();
+        /* First and last line of each method, keyed by method name and descriptor. */
+        final Map<String, int[]> theMethodLineRanges = new HashMap<>();
+        /* Names and descriptors of the methods of the class to which iterated lambdas are compiled. */
+        final Set<String> theIteratedLambdaMethods = new HashSet<>();
+        try (InputStream theClassBytes = LoopLineRanges.class.getClassLoader().getResourceAsStream(theClassResource)) {
+            if (theClassBytes == null) {
+                return new LoopLineRanges(theLoopLineRanges);
+            }
+            new ClassReader(theClassBytes).accept(new ClassVisitor(Opcodes.ASM9) {
+                @Override
+                public MethodVisitor visitMethod(final int inAccess,
+                                                 final String inName,
+                                                 final String inDescriptor,
+                                                 final String inSignature,
+                                                 final String[] inExceptions) {
+                    return new LoopFindingMethodVisitor(
+                        theInternalClassName,
+                        theLoopLineRanges,
+                        theIteratedLambdaMethods,
+                        inLineRange -> theMethodLineRanges.put(inName + inDescriptor, inLineRange));
+                }
+            }, ClassReader.SKIP_FRAMES);
+        } catch (final IOException theException) {
+            throw new UncheckedIOException("Unable to read class " + inClassName, theException);
+        }
+
+        for (String theIteratedLambdaMethod : theIteratedLambdaMethods) {
+            final int[] theLambdaLineRange = theMethodLineRanges.get(theIteratedLambdaMethod);
+            if (theLambdaLineRange != null) {
+                theLoopLineRanges.add(theLambdaLineRange);
+            }
+        }
+        return new LoopLineRanges(theLoopLineRanges);
+    }
+
+    /**
+     * Determines whether the method with the supplied name in the class with the supplied internal name invokes
+     * the lambdas and method references passed to it once per element, that is whether the method is
+     * {@code forEach} of an {@link Iterable} or a {@link Map} or an operation of a stream.
+     *
+     * @param inOwner Internal name of the class declaring the method.
+     * @param inName Name of the method.
+     * @return True if the method iterates, false otherwise.
+     */
+    private static boolean isIteratingMethod(final String inOwner, final String inName) {
+        try {
+            final Class<?> theOwnerClass =
+                Class.forName(inOwner.replace('/', '.'), false, LoopLineRanges.class.getClassLoader());
+            return BaseStream.class.isAssignableFrom(theOwnerClass)
+                || (FOR_EACH_METHOD_NAME.equals(inName)
+                    && (Iterable.class.isAssignableFrom(theOwnerClass) || Map.class.isAssignableFrom(theOwnerClass)));
+        } catch (final ClassNotFoundException | LinkageError theException) {
+            return false;
+        }
+    }
+
+    /**
+     * Method visitor that records the source line of each instruction of a method and finds the
+     * line ranges of the loops of the method when the method has been visited.
+     * Lambdas and method references created by the method are attributed to the next method invoked, which
+     * is the method they are passed to unless they are stored in a variable or passed on in another way.
+     */
+    private static final class LoopFindingMethodVisitor extends MethodVisitor {
+        private final String mInternalClassName;
+        private final List<int[]> mLoopLineRanges;
+        private final Set<String> mIteratedLambdaMethods;
+        /** Receives the first and last line of the method when the method has been visited. */
+        private final Consumer<int[]> mMethodLineRangeConsumer;
+        /** Implementation methods of the lambdas and method references created since the last method invocation. */
+        private final List<Handle> mPendingLambdaImplementations = new ArrayList<>();
+        /** Source line of each instruction, in instruction order. */
+        private final List<Integer> mInstructionLines = new ArrayList<>();
+        /** Index of the instruction following each visited label. */
+        private final Map<Label, Integer> mLabelInstructionIndexes = new HashMap<>();
+        /** Instruction index of jump target and jump of each backward jump. */
+        private final List<int[]> mBackwardJumps = new ArrayList<>();
+        private int mCurrentLine = -1;
+
+        LoopFindingMethodVisitor(final String inInternalClassName,
+                                 final List<int[]> inLoopLineRanges,
+                                 final Set<String> inIteratedLambdaMethods,
+                                 final Consumer<int[]> inMethodLineRangeConsumer) {
+            super(Opcodes.ASM9);
+            mInternalClassName = inInternalClassName;
+            mLoopLineRanges = inLoopLineRanges;
+            mIteratedLambdaMethods = inIteratedLambdaMethods;
+            mMethodLineRangeConsumer = inMethodLineRangeConsumer;
+        }
+
+        @Override
+        public void visitLabel(final Label inLabel) {
+            mLabelInstructionIndexes.put(inLabel, mInstructionLines.size());
+        }
+
+        @Override
+        public void visitLineNumber(final int inLine, final Label inStart) {
+            mCurrentLine = inLine;
+        }
+
+        @Override
+        public void visitJumpInsn(final int inOpcode, final Label inLabel) {
+            final Integer theTargetIndex = mLabelInstructionIndexes.get(inLabel);
+            if (theTargetIndex != null) {
+                mBackwardJumps.add(new int[] { theTargetIndex, mInstructionLines.size() });
+            }
+            recordInstruction();
+        }
+
+        @Override
+        public void visitInsn(final int inOpcode) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitIntInsn(final int inOpcode, final int inOperand) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitVarInsn(final int inOpcode, final int inVarIndex) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitTypeInsn(final int inOpcode, final String inType) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitFieldInsn(final int inOpcode,
+                                   final String inOwner,
+                                   final String inName,
+                                   final String inDescriptor) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitMethodInsn(final int inOpcode,
+                                    final String inOwner,
+                                    final String inName,
+                                    final String inDescriptor,
+                                    final boolean inInterfaceFlag) {
+            if (!mPendingLambdaImplementations.isEmpty() && isIteratingMethod(inOwner, inName)) {
+                for (Handle theLambdaImplementation : mPendingLambdaImplementations) {
+                    if (mInternalClassName.equals(theLambdaImplementation.getOwner())
+                        && theLambdaImplementation.getName().startsWith("lambda$")) {
+                        mIteratedLambdaMethods.add(
+                            theLambdaImplementation.getName() + theLambdaImplementation.getDesc());
+                    } else if (mCurrentLine >= 0) {
+                        mLoopLineRanges.add(new int[] { mCurrentLine, mCurrentLine });
+                    }
+                }
+            }
+            mPendingLambdaImplementations.clear();
+            recordInstruction();
+        }
+
+        @Override
+        public void visitInvokeDynamicInsn(final String inName,
+                                           final String inDescriptor,
+                                           final Handle inBootstrapMethodHandle,
+                                           final Object... inBootstrapMethodArguments) {
+            if (LAMBDA_METAFACTORY.equals(inBootstrapMethodHandle.getOwner())
+                && inBootstrapMethodArguments.length > 1
+                && inBootstrapMethodArguments[1] instanceof final Handle theLambdaImplementation) {
+                mPendingLambdaImplementations.add(theLambdaImplementation);
+            }
+            recordInstruction();
+        }
+
+        @Override
+        public void visitLdcInsn(final Object inValue) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitIincInsn(final int inVarIndex, final int inIncrement) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitTableSwitchInsn(final int inMin, final int inMax, final Label inDefault, final Label... inLabels) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitLookupSwitchInsn(final Label inDefault, final int[] inKeys, final Label[] inLabels) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitMultiANewArrayInsn(final String inDescriptor, final int inDimensions) {
+            recordInstruction();
+        }
+
+        @Override
+        public void visitEnd() {
+            int theMethodFirstLine = Integer.MAX_VALUE;
+            int theMethodLastLine = Integer.MIN_VALUE;
+            for (int theLine : mInstructionLines) {
+                if (theLine >= 0) {
+                    theMethodFirstLine = Math.min(theMethodFirstLine, theLine);
+                    theMethodLastLine = Math.max(theMethodLastLine, theLine);
+                }
+            }
+            if (theMethodFirstLine <= theMethodLastLine) {
+                mMethodLineRangeConsumer.accept(new int[] { theMethodFirstLine, theMethodLastLine });
+            }
+
+            for (int[] theBackwardJump : mBackwardJumps) {
+                int theFirstLine = Integer.MAX_VALUE;
+                int theLastLine = Integer.MIN_VALUE;
+                for (int i = theBackwardJump[0]; i <= theBackwardJump[1]; i++) {
+                    final int theLine = mInstructionLines.get(i);
+                    if (theLine >= 0) {
+                        theFirstLine = Math.min(theFirstLine, theLine);
+                        theLastLine = Math.max(theLastLine, theLine);
+                    }
+                }
+                if (theFirstLine <= theLastLine) {
+                    mLoopLineRanges.add(new int[] { theFirstLine, theLastLine });
+                }
+            }
+        }
+
+        private void recordInstruction() {
+            mInstructionLines.add(mCurrentLine);
+        }
+    }
+}
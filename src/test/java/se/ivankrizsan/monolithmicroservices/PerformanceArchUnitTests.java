@@ -0,0 +1,181 @@
+package se.ivankrizsan.monolithmicroservices;
+
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaClass;
+import com.tngtech.archunit.core.domain.JavaClasses;
+import com.tngtech.archunit.core.domain.JavaMethod;
+import com.tngtech.archunit.core.domain.JavaParameterizedType;
+import com.tngtech.archunit.core.domain.JavaType;
+import com.tngtech.archunit.core.domain.properties.HasName;
+import com.tngtech.archunit.lang.ArchCondition;
+import com.tngtech.archunit.lang.ArchRule;
+import com.tngtech.archunit.lang.ConditionEvents;
+import com.tngtech.archunit.lang.SimpleConditionEvent;
+import com.tngtech.archunit.lang.syntax.ArchRuleDefinition;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.repository.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Tests the application's adherence to rules guarding against constructs known to cause poor
+ * performance, in particular when modules are refactored into microservices and calls between
+ * modules become remote calls.
+ * Uses the classes imported once and shared with the other architecture tests.
+ *
+ * @author Ivan Krizsan
+ */
+public class PerformanceArchUnitTests {
+    /* Constant(s): */
+    /**
+     * Full names of module api methods using {@code Optional<Double>} that existed before the rule
+     * was introduced. New module api methods should use primitive or bulk result types.
+     */
+    protected static final Set<String> GRANDFATHERED_OPTIONAL_DOUBLE_METHODS = Set.of(
+        "se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService"
+            + ".retrieveProductAvailableAmount(java.lang.String)",
+        "se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService"
+            + ".retrieveProductUnitPrice(java.lang.String)",
+        "se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService"
+            + ".retrieveReservationAmount(java.lang.Long)");
+    /**
+     * Full name of the fixture calling the api of another module from lambdas. Referenced by name, since
+     * classes outside of modules may not depend on the non-public parts of modules.
+     */
+    protected static final String OTHER_MODULES_API_CALLS_IN_LAMBDAS_FIXTURE =
+        "se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation.OtherModulesApiCallsInLambdasFixture";
+
+    /**
+     * Ensures that implementation classes in modules do not call the api of other modules from within loops.
+     * Such calls should be replaced by one call to a bulk operation.
+     */
+    @Test
+    public void noOtherModulesApiCallsInLoopsTest() {
+        noOtherModulesApiCallsInLoopsRule().check(ArchUnitImportedClasses.productionClasses());
+    }
+
+    /**
+     * Tests the rule forbidding calls to the api of other modules from within loops on a fixture calling
+     * the api of another module from lambdas and method references passed to {@code forEach} and stream
+     * operations.
+     * Expected result:
+     * Each call from a lambda or method reference should be a violation of the rule, while the call outside
+     * of any loop should not.
+     */
+    @Test
+    public void otherModulesApiCallsInLambdasDetectedTest() {
+        final JavaClasses theFixtureClasses = ArchUnitImportedClasses
+            .applicationClasses()
+            .that(HasName.Predicates.name(OTHER_MODULES_API_CALLS_IN_LAMBDAS_FIXTURE));
+
+        final List<String> theViolations = noOtherModulesApiCallsInLoopsRule()
+            .evaluate(theFixtureClasses)
+            .getFailureReport()
+            .getDetails();
+
+        Assertions.assertEquals(4, theViolations.size(), String.join("\n", theViolations));
+        for (String theCalledMethod : List.of("retrieveProductUnitPrice(", "reserveProduct(",
+            "retrieveProductAvailableAmount(", "retrieveReservationAmount(")) {
+            Assertions.assertTrue(
+                theViolations.stream().anyMatch(inViolation -> inViolation.contains(theCalledMethod)),
+                "There should be a violation calling " + theCalledMethod);
+        }
+        Assertions.assertTrue(
+            theViolations.stream().noneMatch(inViolation -> inViolation.contains("retrieveProductUnitPrices(")),
+            "The bulk call outside of any loop should not be a violation");
+    }
+
+    /**
+     * Ensures that methods in the api of modules do not take or return {@code Optional<Double>},
+     * with the exception of grandfathered methods.
+     */
+    @Test
+    public void noBoxedOptionalDoubleInModuleApiTest() {
+        final DescribedPredicate<JavaMethod> theGrandfatheredPredicate = DescribedPredicate.describe(
+            "are grandfathered", inJavaMethod -> GRANDFATHERED_OPTIONAL_DOUBLE_METHODS.contains(inJavaMethod.getFullName()));
+
+        ArchRuleDefinition
+            .noMethods()
+            .that()
+            .areDeclaredInClassesThat()
+            .resideInAPackage("..modules.(*).api..")
+            .and(DescribedPredicate.not(theGrandfatheredPredicate))
+            .should(useOptionalDouble())
+            .because("each value is boxed twice and primitive or bulk result types should be used instead")
+            .check(ArchUnitImportedClasses.productionClasses());
+    }
+
+    /**
+     * Ensures that repositories are only accessed from the non-public part of the module they belong to.
+     */
+    @Test
+    public void repositoriesOnlyAccessedByOwnModuleTest() {
+        ArchRuleDefinition
+            .noClasses()
+            .that()
+            .areAssignableTo(Repository.class)
+            .and()
+            .areInterfaces()
+            .should(new IsAccessedFromOutsideOwnModuleArchCondition())
+            .because("queries against the data of a module should only be issued by the module itself")
+            .check(ArchUnitImportedClasses.productionClasses());
+    }
+
+    /**
+     * Creates the rule forbidding implementation classes in modules to call the api of other modules from
+     * within loops.
+     *
+     * @return Architecture rule.
+     */
+    protected static ArchRule noOtherModulesApiCallsInLoopsRule() {
+        return ArchRuleDefinition
+            .noClasses()
+            .that()
+            .resideInAPackage("..modules.(*).implementation..")
+            .should(new CallsOtherModulesApiInLoopArchCondition())
+            .because("each call may become a remote call and a bulk operation should be used instead");
+    }
+
+    /**
+     * Creates an ArchUnit condition that is satisfied by methods that have a parameter
+     * or return type that is {@code Optional<Double>}.
+     *
+     * @return Condition satisfied by methods using {@code Optional<Double>}.
+     */
+    protected static ArchCondition<JavaMethod> useOptionalDouble() {
+        return new ArchCondition<>("use Optional<Double> as parameter or return type") {
+            @Override
+            public void check(final JavaMethod inJavaMethod, final ConditionEvents inConditionEvents) {
+                final List<JavaType> theTypes = new ArrayList<>(inJavaMethod.getParameterTypes());
+                theTypes.add(inJavaMethod.getReturnType());
+                for (JavaType theType : theTypes) {
+                    if (isOptionalDouble(theType)) {
+                        inConditionEvents.add(SimpleConditionEvent.satisfied(inJavaMethod,
+                            String.format("The method %s uses Optional<Double>", inJavaMethod.getFullName())));
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Determines whether the supplied type is {@code Optional<Double>}.
+     *
+     * @param inType Type to examine.
+     * @return True if the type is {@code Optional<Double>}, false otherwise.
+     */
+    protected static boolean isOptionalDouble(final JavaType inType) {
+        if (inType instanceof final JavaParameterizedType theParameterizedType
+            && theParameterizedType.toErasure().isEquivalentTo(Optional.class)) {
+            final List<JavaType> theTypeArguments = theParameterizedType.getActualTypeArguments();
+            return theTypeArguments.size() == 1
+                && theTypeArguments.get(0) instanceof final JavaClass theTypeArgument
+                && theTypeArgument.isEquivalentTo(Double.class);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,107 @@
+package se.ivankrizsan.monolithmicroservices;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Benchmark measuring the time from starting the application with the fast-startup profile until
+ * the first product reservation has been made in the warehouse.
+ * Excluded from the default build and run in the fast-startup build, in which the ahead-of-time
+ * processed application context is used.
+ * The result of each run is appended to a CSV file, so that the startup time can be tracked between builds.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@Tag(StartupBenchmarkTest.STARTUP_BENCHMARK_TAG)
+class StartupBenchmarkTest {
+    /* Constant(s): */
+    public static final String STARTUP_BENCHMARK_TAG = "startup-benchmark";
+    protected static final String FAST_STARTUP_PROFILE = "fast-startup";
+    /** System property that, if true, makes the benchmark use the ahead-of-time processed application context. */
+    protected static final String AOT_ENABLED_BENCHMARK_PROPERTY = "startup.benchmark.aot";
+    /** System property specifying the CSV file to which benchmark results are appended. */
+    protected static final String RESULTS_FILE_PROPERTY = "startup.benchmark.results-file";
+    protected static final String DEFAULT_RESULTS_FILE = "target/startup-benchmark.csv";
+    protected static final String RESULTS_FILE_HEADER = "timestamp,aot,context-startup-millis,first-reservation-millis\n";
+    protected static final String SPRING_AOT_ENABLED_PROPERTY = "spring.aot.enabled";
+    protected static final String PRODUCT_NUMBER = "STARTUP-1";
+
+    /**
+     * Tests starting the application and reserving a product.
+     * Expected result:
+     * The product reservation should be successful.
+     * The time until the application context has been started and the time until the first reservation
+     * has been made should be appended to the results file.
+     */
+    @Test
+    void timeToFirstReservationTest() throws IOException {
+        final boolean theAotEnabledFlag = Boolean.getBoolean(AOT_ENABLED_BENCHMARK_PROPERTY);
+        if (theAotEnabledFlag) {
+            System.setProperty(SPRING_AOT_ENABLED_PROPERTY, "true");
+        }
+
+        final long theStartTime = System.nanoTime();
+        try (ConfigurableApplicationContext theApplicationContext =
+                 new SpringApplicationBuilder(MonolithMicroservicesApplication.class)
+                     /* Otherwise the main class is deduced from the stack, which is the test runner's main class. */
+                     .main(MonolithMicroservicesApplication.class)
+                     .profiles(FAST_STARTUP_PROFILE)
+                     .run()) {
+            final long theContextStartedTime = System.nanoTime();
+
+            final WarehouseService theWarehouseService = theApplicationContext.getBean(WarehouseService.class);
+            theWarehouseService.createProductInWarehouse(PRODUCT_NUMBER, "Startup benchmark product", 1.0);
+            theWarehouseService.increaseProductStock(PRODUCT_NUMBER, 10.0);
+            final Optional<Long> theProductReservationOptional = theWarehouseService.reserveProduct(PRODUCT_NUMBER, 1.0);
+            final long theFirstReservationTime = System.nanoTime();
+
+            Assertions.assertTrue(theProductReservationOptional.isPresent(), "The product reservation should succeed");
+            recordResult(
+                theAotEnabledFlag,
+                Duration.ofNanos(theContextStartedTime - theStartTime),
+                Duration.ofNanos(theFirstReservationTime - theStartTime));
+        } finally {
+            System.clearProperty(SPRING_AOT_ENABLED_PROPERTY);
+        }
+    }
+
+    /**
+     * Logs the supplied benchmark result and appends it to the results file.
+     *
+     * @param inAotEnabledFlag True if the ahead-of-time processed application context was used.
+     * @param inContextStartupTime Time until the application context had been started.
+     * @param inFirstReservationTime Time until the first product reservation had been made.
+     * @throws IOException If an error occurs writing to the results file.
+     */
+    protected void recordResult(final boolean inAotEnabledFlag,
+                                final Duration inContextStartupTime,
+                                final Duration inFirstReservationTime) throws IOException {
+        log.info("Startup benchmark (AOT {}): context started after {} ms, first reservation after {} ms",
+            inAotEnabledFlag, inContextStartupTime.toMillis(), inFirstReservationTime.toMillis());
+
+        final Path theResultsFile = Path.of(System.getProperty(RESULTS_FILE_PROPERTY, DEFAULT_RESULTS_FILE));
+        if (!Files.exists(theResultsFile)) {
+            Files.createDirectories(theResultsFile.toAbsolutePath().getParent());
+            Files.writeString(theResultsFile, RESULTS_FILE_HEADER);
+        }
+        Files.writeString(
+            theResultsFile,
+            String.format("%s,%s,%d,%d%n",
+                Instant.now(), inAotEnabledFlag, inContextStartupTime.toMillis(), inFirstReservationTime.toMillis()),
+            StandardOpenOption.APPEND);
+    }
+}
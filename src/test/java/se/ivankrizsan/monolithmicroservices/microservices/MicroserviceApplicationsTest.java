@@ -0,0 +1,53 @@
+package se.ivankrizsan.monolithmicroservices.microservices;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ConfigurableApplicationContext;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
+
+/**
+ * Tests the entry points of the modules deployed as microservices.
+ *
+ * @author Ivan Krizsan
+ */
+class MicroserviceApplicationsTest {
+    /* Constant(s): */
+    protected static final String REMOTE_SERVER_DISABLED_ARGUMENT =
+        "--" + WarehouseServiceApplication.REMOTE_SERVER_ENABLED_PROPERTY + "=false";
+
+    /**
+     * Tests starting the warehouse microservice.
+     * Expected result:
+     * The application context should contain the warehouse service but no shoppingcart service.
+     */
+    @Test
+    void warehouseServiceApplicationTest() {
+        try (ConfigurableApplicationContext theApplicationContext =
+                 WarehouseServiceApplication.createApplicationBuilder().run(REMOTE_SERVER_DISABLED_ARGUMENT)) {
+            Assertions.assertEquals(1, theApplicationContext.getBeanNamesForType(WarehouseStatisticsService.class).length,
+                "The warehouse module should be implemented in the warehouse microservice");
+            Assertions.assertNotNull(theApplicationContext.getBean(WarehouseService.class));
+            Assertions.assertEquals(0, theApplicationContext.getBeanNamesForType(ShoppingCartService.class).length,
+                "The shoppingcart module should not be booted in the warehouse microservice");
+        }
+    }
+
+    /**
+     * Tests starting the shoppingcart microservice.
+     * Expected result:
+     * The application context should contain the shoppingcart service and a warehouse service, but
+     * the warehouse module should not be implemented in the shoppingcart microservice.
+     */
+    @Test
+    void shoppingCartServiceApplicationTest() {
+        try (ConfigurableApplicationContext theApplicationContext =
+                 ShoppingCartServiceApplication.createApplicationBuilder().run()) {
+            Assertions.assertNotNull(theApplicationContext.getBean(ShoppingCartService.class));
+            Assertions.assertNotNull(theApplicationContext.getBean(WarehouseService.class));
+            Assertions.assertEquals(0, theApplicationContext.getBeanNamesForType(WarehouseStatisticsService.class).length,
+                "The warehouse module should only be accessed remotely from the shoppingcart microservice");
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package se.ivankrizsan.monolithmicroservices.modules.diagnostics.api;
+
+import org.junit.jupiter.api.Assertions;
+
+import java.util.function.Supplier;
+
+/**
+ * Test facility for declaring query budgets of use cases, that is the maximum number of SQL statements
+ * a use case may execute, for example:
+ * {@code QueryBudgets.assertWithinBudget("calculateCartPrice on a 20-line cart", 3, theCart::calculateCartPrice)}
+ * A use case exceeding its budget fails the test, listing the executed statements.
+ * Requires query counting to be enabled, which is done by the {@code DiagnosticsConfiguration}.
+ * Only statements executed on the thread invoking the use case are counted.
+ *
+ * @author Ivan Krizsan
+ */
+public final class QueryBudgets {
+
+    /**
+     * Hidden constructor; static methods only.
+     */
+    private QueryBudgets() {
+    }
+
+    /**
+     * Invokes the supplied use case and asserts that it executes at most the supplied number of SQL statements.
+     *
+     * @param inUseCaseName Name of use case, used in the failure message.
+     * @param inMaxStatementCount Maximum number of SQL statements the use case may execute.
+     * @param inUseCase Use case to invoke.
+     * @param <T> Type of use case result.
+     * @return Result of the use case.
+     */
+    public static <T> T assertWithinBudget(final String inUseCaseName,
+                                           final int inMaxStatementCount,
+                                           final Supplier<T> inUseCase) {
+        final T theResult;
+        final QueryCountScope theScope;
+        try (QueryCountScope theOpenScope = QueryCounting.openScope(inUseCaseName)) {
+            theResult = inUseCase.get();
+            theScope = theOpenScope;
+        }
+
+        if (theScope.statementCount() > inMaxStatementCount) {
+            Assertions.fail(inUseCaseName + " executed " + theScope.statementCount()
+                + " SQL statements, exceeding its budget of " + inMaxStatementCount + " statements:\n"
+                + String.join("\n", theScope.statements()));
+        }
+        return theResult;
+    }
+
+    /**
+     * Invokes the supplied use case and asserts that it executes at most the supplied number of SQL statements.
+     *
+     * @param inUseCaseName Name of use case, used in the failure message.
+     * @param inMaxStatementCount Maximum number of SQL statements the use case may execute.
+     * @param inUseCase Use case to invoke.
+     */
+    public static void assertWithinBudget(final String inUseCaseName,
+                                          final int inMaxStatementCount,
+                                          final Runnable inUseCase) {
+        assertWithinBudget(inUseCaseName, inMaxStatementCount, () -> {
+            inUseCase.run();
+            return null;
+        });
+    }
+}
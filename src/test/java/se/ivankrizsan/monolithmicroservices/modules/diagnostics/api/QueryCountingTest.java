@@ -0,0 +1,96 @@
+package se.ivankrizsan.monolithmicroservices.modules.diagnostics.api;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.configuration.DiagnosticsConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+/**
+ * Tests the counting of SQL statements executed by Hibernate using {@link QueryCounting}
+ * and the {@link QueryBudgets} test facility.
+ * The warehouse configuration is only used to provide a JPA setup.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { DiagnosticsConfiguration.class, WarehouseConfiguration.class })
+class QueryCountingTest {
+    /* Constant(s): */
+    protected static final String QUERY = "select 1";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected EntityManager mEntityManager;
+
+    /**
+     * Tests counting statements in nested scopes.
+     * Expected result:
+     * The outer scope should count the statements executed in both scopes.
+     * The inner scope should only count the statements executed while it was open.
+     * Statements executed after a scope has been closed should not be counted in the scope.
+     */
+    @Test
+    void nestedScopesTest() {
+        final QueryCountScope theInnerScope;
+        final QueryCountScope theOuterScope;
+        try (QueryCountScope theOpenOuterScope = QueryCounting.openScope("outer")) {
+            executeQuery();
+            try (QueryCountScope theOpenInnerScope = QueryCounting.openScope("inner")) {
+                executeQuery();
+                executeQuery();
+                theInnerScope = theOpenInnerScope;
+            }
+            theOuterScope = theOpenOuterScope;
+        }
+        executeQuery();
+
+        Assertions.assertEquals(2, theInnerScope.statementCount());
+        Assertions.assertEquals(3, theOuterScope.statementCount());
+        Assertions.assertEquals(3, theOuterScope.statements().size());
+        Assertions.assertTrue(theOuterScope.statements().get(0).contains(QUERY));
+    }
+
+    /**
+     * Tests a use case that executes fewer statements than its budget.
+     * Expected result:
+     * The result of the use case should be returned.
+     */
+    @Test
+    void withinBudgetTest() {
+        final Object theResult = QueryBudgets.assertWithinBudget("one query", 1, this::executeQuery);
+
+        Assertions.assertNotNull(theResult);
+    }
+
+    /**
+     * Tests a use case that executes more statements than its budget.
+     * Expected result:
+     * The assertion should fail with a message containing the executed statements.
+     */
+    @Test
+    void budgetExceededTest() {
+        final AssertionFailedError theError = Assertions.assertThrows(AssertionFailedError.class,
+            () -> QueryBudgets.assertWithinBudget("two queries", 1, () -> {
+                executeQuery();
+                executeQuery();
+            }));
+
+        Assertions.assertTrue(theError.getMessage().contains("two queries executed 2 SQL statements"),
+            theError.getMessage());
+        Assertions.assertTrue(theError.getMessage().contains(QUERY), theError.getMessage());
+    }
+
+    /**
+     * Executes a native query using Hibernate.
+     *
+     * @return Query result.
+     */
+    protected Object executeQuery() {
+        return mEntityManager.createNativeQuery(QUERY).getSingleResult();
+    }
+}
@@ -0,0 +1,251 @@
+package se.ivankrizsan.monolithmicroservices.modules.eventbus.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBus;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBusSettings;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventPublisher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests the {@link RingBufferEventBus}.
+ *
+ * @author Ivan Krizsan
+ */
+class RingBufferEventBusTest {
+    /* Constant(s): */
+    protected static final int PARTITION_COUNT = 4;
+
+    /**
+     * Tests publishing events with a number of partition keys concurrently from multiple threads,
+     * using a ring buffer much smaller than the number of events published.
+     * Expected result:
+     * All events should be delivered.
+     * The events of each partition key should be delivered in the order in which they were published.
+     */
+    @Test
+    void concurrentPublishingOrderedPerPartitionKeyTest() throws Exception {
+        final int theKeyCount = 16;
+        final int theEventsPerKey = 5000;
+        final Map<String, List<Integer>> theDeliveredValues = new ConcurrentHashMap<>();
+        final AtomicInteger theDeliveredCount = new AtomicInteger();
+
+        try (EventBus<TestEvent> theEventBus = createEventBus(64)) {
+            theEventBus.subscribe((inEvent, inSequence, inEndOfBatch) -> {
+                theDeliveredValues.computeIfAbsent(inEvent.key, inKey -> new ArrayList<>()).add(inEvent.value);
+                theDeliveredCount.incrementAndGet();
+            });
+
+            /* One publisher thread per key, so that the publishing order of each key is known. */
+            final List<Thread> theThreads = new ArrayList<>();
+            for (int k = 0; k < theKeyCount; k++) {
+                final String theKey = "key-" + k;
+                final Thread theThread = new Thread(() -> {
+                    for (int i = 0; i < theEventsPerKey; i++) {
+                        publish(theEventBus, theKey, i);
+                    }
+                });
+                theThreads.add(theThread);
+                theThread.start();
+            }
+            for (Thread theThread : theThreads) {
+                theThread.join();
+            }
+        }
+
+        Assertions.assertEquals(theKeyCount * theEventsPerKey, theDeliveredCount.get());
+        for (List<Integer> theValues : theDeliveredValues.values()) {
+            Assertions.assertEquals(theEventsPerKey, theValues.size());
+            for (int i = 0; i < theEventsPerKey; i++) {
+                Assertions.assertEquals(i, theValues.get(i), "Events of a key should be delivered in order");
+            }
+        }
+    }
+
+    /**
+     * Tests publishing events while the event handler is blocked.
+     * Expected result:
+     * The events published while the handler was blocked should be delivered in one batch, with
+     * only the last event of the batch being flagged as end of batch.
+     */
+    @Test
+    void batchDeliveryTest() throws Exception {
+        final CountDownLatch theHandlerBlockedLatch = new CountDownLatch(1);
+        final CountDownLatch theReleaseHandlerLatch = new CountDownLatch(1);
+        final List<Boolean> theEndOfBatchFlags = new ArrayList<>();
+
+        try (EventBus<TestEvent> theEventBus = createEventBus(64)) {
+            theEventBus.subscribe((inEvent, inSequence, inEndOfBatch) -> {
+                if (inSequence == 0) {
+                    theHandlerBlockedLatch.countDown();
+                    awaitUninterruptibly(theReleaseHandlerLatch);
+                } else {
+                    theEndOfBatchFlags.add(inEndOfBatch);
+                }
+            });
+
+            publish(theEventBus, "key", 0);
+            Assertions.assertTrue(theHandlerBlockedLatch.await(5, TimeUnit.SECONDS));
+            for (int i = 1; i <= 10; i++) {
+                publish(theEventBus, "key", i);
+            }
+            theReleaseHandlerLatch.countDown();
+        }
+
+        Assertions.assertEquals(10, theEndOfBatchFlags.size());
+        Assertions.assertTrue(theEndOfBatchFlags.get(9));
+        Assertions.assertFalse(theEndOfBatchFlags.subList(0, 9).contains(Boolean.TRUE));
+    }
+
+    /**
+     * Tests publishing an event after the event bus has been closed.
+     * Expected result:
+     * An exception should be thrown.
+     */
+    @Test
+    void publishAfterCloseTest() {
+        final EventBus<TestEvent> theEventBus = createEventBus(8);
+        theEventBus.close();
+
+        Assertions.assertThrows(IllegalStateException.class, () -> publish(theEventBus, "key", 1));
+    }
+
+    /**
+     * Tests closing the event bus while a publisher waits for room in the ring buffer, which is full
+     * since the first event claimed has not yet been published.
+     * Expected result:
+     * The waiting publisher should fail with an exception instead of waiting forever.
+     */
+    @Test
+    void closeWhilePublisherWaitsTest() throws Exception {
+        final EventBus<TestEvent> theEventBus = createEventBus(8);
+        final EventPublisher<TestEvent> thePublisher = theEventBus.publisherFor("key");
+        thePublisher.next();
+        for (int i = 1; i < 8; i++) {
+            publish(theEventBus, "key", i);
+        }
+        final CompletableFuture<Long> theWaitingPublisherFuture = CompletableFuture.supplyAsync(thePublisher::next);
+        Thread.sleep(100);
+        Assertions.assertFalse(theWaitingPublisherFuture.isDone(), "Publisher should wait for room");
+
+        theEventBus.close();
+
+        final ExecutionException theException = Assertions.assertThrows(ExecutionException.class,
+            () -> theWaitingPublisherFuture.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(IllegalStateException.class, theException.getCause());
+    }
+
+    /**
+     * Tests skipping events, including the last event of a batch.
+     * Expected result:
+     * Skipped events should not be delivered.
+     * The last event that was not skipped should be flagged as end of batch.
+     */
+    @Test
+    void skipEventsTest() throws Exception {
+        final CountDownLatch theHandlerBlockedLatch = new CountDownLatch(1);
+        final CountDownLatch theReleaseHandlerLatch = new CountDownLatch(1);
+        final List<String> theDeliveredEvents = new ArrayList<>();
+
+        try (EventBus<TestEvent> theEventBus = createEventBus(8)) {
+            theEventBus.subscribe((inEvent, inSequence, inEndOfBatch) -> {
+                if (inSequence == 0) {
+                    theHandlerBlockedLatch.countDown();
+                    awaitUninterruptibly(theReleaseHandlerLatch);
+                } else {
+                    theDeliveredEvents.add(inEvent.value + ":" + inEndOfBatch);
+                }
+            });
+
+            publish(theEventBus, "key", 0);
+            Assertions.assertTrue(theHandlerBlockedLatch.await(5, TimeUnit.SECONDS));
+            final EventPublisher<TestEvent> thePublisher = theEventBus.publisherFor("key");
+            publish(theEventBus, "key", 1);
+            thePublisher.skip(thePublisher.next());
+            publish(theEventBus, "key", 3);
+            thePublisher.skip(thePublisher.next());
+            theReleaseHandlerLatch.countDown();
+        }
+
+        Assertions.assertEquals(List.of("1:false", "3:true"), theDeliveredEvents);
+    }
+
+    /**
+     * Tests delivering events to an event handler that throws an exception.
+     * Expected result:
+     * The exception should not prevent delivery of subsequent events to the handler.
+     */
+    @Test
+    void failingEventHandlerTest() {
+        final AtomicInteger theDeliveredCount = new AtomicInteger();
+
+        try (EventBus<TestEvent> theEventBus = createEventBus(8)) {
+            theEventBus.subscribe((inEvent, inSequence, inEndOfBatch) -> {
+                theDeliveredCount.incrementAndGet();
+                throw new IllegalStateException("Handler failure");
+            });
+            for (int i = 0; i < 20; i++) {
+                publish(theEventBus, "key", i);
+            }
+        }
+
+        Assertions.assertEquals(20, theDeliveredCount.get());
+    }
+
+    /**
+     * Creates an event bus with the supplied partition capacity.
+     *
+     * @param inPartitionCapacity Number of events in each partition.
+     * @return Event bus.
+     */
+    protected EventBus<TestEvent> createEventBus(final int inPartitionCapacity) {
+        return new RingBufferEventBus<>(
+            new EventBusSettings("test-events", PARTITION_COUNT, inPartitionCapacity), TestEvent::new);
+    }
+
+    /**
+     * Publishes an event with the supplied key and value.
+     *
+     * @param inEventBus Event bus to publish on.
+     * @param inKey Event key, also used as partition key.
+     * @param inValue Event value.
+     */
+    protected void publish(final EventBus<TestEvent> inEventBus, final String inKey, final int inValue) {
+        final EventPublisher<TestEvent> thePublisher = inEventBus.publisherFor(inKey);
+        final long theSequence = thePublisher.next();
+        final TestEvent theEvent = thePublisher.get(theSequence);
+        theEvent.key = inKey;
+        theEvent.value = inValue;
+        thePublisher.publish(theSequence);
+    }
+
+    /**
+     * Waits for the supplied latch, ignoring interrupts.
+     *
+     * @param inLatch Latch to wait for.
+     */
+    protected static void awaitUninterruptibly(final CountDownLatch inLatch) {
+        try {
+            inLatch.await();
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Mutable event used in the tests.
+     */
+    protected static class TestEvent {
+        protected String key;
+        protected int value;
+    }
+}
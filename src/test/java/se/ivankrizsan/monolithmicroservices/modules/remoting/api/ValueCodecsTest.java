@@ -0,0 +1,146 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.api;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tests encoding and decoding values using the {@link ValueCodecs}, {@link MessageWriter}
+ * and {@link MessageReader}.
+ *
+ * @author Ivan Krizsan
+ */
+class ValueCodecsTest {
+    /* Constant(s): */
+    protected static final String ASCII_STRING = "12345-1";
+    protected static final String NON_ASCII_STRING = "Räksmörgås € 😀";
+
+    /**
+     * Tests encoding and decoding integers of different magnitudes, positive and negative.
+     * Expected result:
+     * Decoded integers should be equal to the encoded integers.
+     * Small integers should be encoded in one byte.
+     */
+    @Test
+    void varLongRoundTripTest() {
+        final long[] theValues = { 0, 1, -1, 63, -64, 64, 300, -300, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            Long.MAX_VALUE, Long.MIN_VALUE };
+        for (long theValue : theValues) {
+            Assertions.assertEquals(theValue, roundTrip(ValueCodecs.LONG, theValue));
+        }
+        Assertions.assertEquals(1, new MessageWriter().writeVarLong(-64).size());
+    }
+
+    /**
+     * Tests encoding and decoding ASCII, non-ASCII, empty and null strings.
+     * Expected result:
+     * Decoded strings should be equal to the encoded strings.
+     */
+    @Test
+    void stringRoundTripTest() {
+        Assertions.assertEquals(ASCII_STRING, roundTrip(ValueCodecs.STRING, ASCII_STRING));
+        Assertions.assertEquals(NON_ASCII_STRING, roundTrip(ValueCodecs.STRING, NON_ASCII_STRING));
+        Assertions.assertEquals("", roundTrip(ValueCodecs.STRING, ""));
+        Assertions.assertEquals(ASCII_STRING, roundTrip(ValueCodecs.NULLABLE_STRING, ASCII_STRING));
+        Assertions.assertNull(roundTrip(ValueCodecs.NULLABLE_STRING, null));
+    }
+
+    /**
+     * Tests encoding and decoding nullable and optional values.
+     * Expected result:
+     * Decoded values should be equal to the encoded values.
+     */
+    @Test
+    void nullableAndOptionalRoundTripTest() {
+        Assertions.assertEquals(15.41, roundTrip(ValueCodecs.NULLABLE_DOUBLE, 15.41));
+        Assertions.assertNull(roundTrip(ValueCodecs.NULLABLE_DOUBLE, null));
+        Assertions.assertEquals(Optional.of(15.41), roundTrip(ValueCodecs.OPTIONAL_DOUBLE, Optional.of(15.41)));
+        Assertions.assertEquals(Optional.empty(), roundTrip(ValueCodecs.OPTIONAL_DOUBLE, Optional.empty()));
+        Assertions.assertEquals(Optional.of(42L), roundTrip(ValueCodecs.OPTIONAL_LONG, Optional.of(42L)));
+        Assertions.assertNull(roundTrip(ValueCodecs.NULLABLE_LONG, null));
+        Assertions.assertEquals(true, roundTrip(ValueCodecs.BOOLEAN, true));
+        Assertions.assertNull(roundTrip(ValueCodecs.VOID, null));
+    }
+
+    /**
+     * Tests encoding and decoding collections.
+     * Expected result:
+     * Decoded collections should contain the encoded elements in the same order.
+     */
+    @Test
+    void collectionRoundTripTest() {
+        final ValueCodec<Collection<String>> theCodec = ValueCodecs.collection(ValueCodecs.NULLABLE_STRING);
+        final List<String> theStrings = Arrays.asList(ASCII_STRING, null, NON_ASCII_STRING);
+
+        Assertions.assertEquals(theStrings, roundTrip(theCodec, theStrings));
+        Assertions.assertEquals(List.of(), roundTrip(theCodec, List.of()));
+    }
+
+    /**
+     * Tests encoding a message larger than the buffers of the buffer pool from which the writer was acquired
+     * and releasing the writer.
+     * Expected result:
+     * The message should be decoded correctly.
+     * The original buffer of the writer should have been returned to the pool.
+     */
+    @Test
+    void pooledWriterGrowthTest() {
+        final MessageBufferPool theBufferPool = new MessageBufferPool(64, 4);
+        final MessageWriter theWriter = theBufferPool.acquireWriter();
+        for (int i = 0; i < 100; i++) {
+            theWriter.writeString(ASCII_STRING);
+        }
+        final ByteBuffer theMessage = theWriter.finish();
+        Assertions.assertEquals(1, theBufferPool.availableBufferCount(),
+            "The original buffer should be returned to the pool when the writer grows");
+
+        final MessageReader theReader = new MessageReader(theMessage);
+        for (int i = 0; i < 100; i++) {
+            Assertions.assertEquals(ASCII_STRING, theReader.readString());
+        }
+        theWriter.release();
+        Assertions.assertEquals(1, theBufferPool.availableBufferCount(),
+            "Buffers not of the pool buffer size should not be pooled");
+    }
+
+    /**
+     * Tests reusing pooled buffers.
+     * Expected result:
+     * A writer acquired after a writer has been released should use the released buffer.
+     */
+    @Test
+    void pooledBufferReuseTest() {
+        final MessageBufferPool theBufferPool = new MessageBufferPool(64, 4);
+        final MessageWriter theWriter = theBufferPool.acquireWriter();
+        final ByteBuffer theBuffer = theWriter.writeString(ASCII_STRING).finish();
+        theWriter.release();
+
+        final ByteBuffer theReusedBuffer = theBufferPool.acquireWriter().writeString(NON_ASCII_STRING).finish();
+
+        Assertions.assertSame(theBuffer, theReusedBuffer);
+        Assertions.assertEquals(NON_ASCII_STRING, new MessageReader(theReusedBuffer).readString());
+    }
+
+    /**
+     * Encodes the supplied value using the supplied codec and decodes it again, verifying that
+     * the complete message was read.
+     *
+     * @param inCodec Codec to encode and decode with.
+     * @param inValue Value to encode.
+     * @param <T> Value type.
+     * @return Decoded value.
+     */
+    protected static <T> T roundTrip(final ValueCodec<T> inCodec, final T inValue) {
+        final MessageWriter theWriter = new MessageWriter();
+        inCodec.write(theWriter, inValue);
+        final MessageReader theReader = new MessageReader(theWriter.finish());
+        final T theValue = inCodec.read(theReader);
+        Assertions.assertEquals(0, theReader.remaining(), "The complete message should be read");
+        return theValue;
+    }
+}
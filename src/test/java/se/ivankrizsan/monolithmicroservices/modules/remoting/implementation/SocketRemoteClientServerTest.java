@@ -0,0 +1,392 @@
+package se.ivankrizsan.monolithmicroservices.modules.remoting.implementation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClient;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClientSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteInvocationException;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteRequestHandler;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServer;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServerSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.Remoting;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the {@link SocketRemoteClient} and {@link SocketRemoteServer} communicating over loopback.
+ *
+ * @author Ivan Krizsan
+ */
+class SocketRemoteClientServerTest {
+    /* Constant(s): */
+    protected static final String LOOPBACK_ADDRESS = "127.0.0.1";
+    protected static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    protected static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+
+    /* Instance variable(s): */
+    protected RemoteServer mRemoteServer;
+    protected RemoteClient mRemoteClient;
+
+    /**
+     * Closes the client and server after each test.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        if (mRemoteClient != null) {
+            mRemoteClient.close();
+        }
+        if (mRemoteServer != null) {
+            mRemoteServer.close();
+        }
+    }
+
+    /**
+     * Tests sending one request.
+     * Expected result:
+     * The response created by the request handler should be received.
+     */
+    @Test
+    void singleRequestTest() throws Exception {
+        startServerAndClient(inRequest -> StandardCharsets.UTF_8.encode("Hello " + StandardCharsets.UTF_8.decode(inRequest)), 1);
+
+        final ByteBuffer theResponse = mRemoteClient.invoke(StandardCharsets.UTF_8.encode("remote")).get();
+
+        Assertions.assertEquals("Hello remote", StandardCharsets.UTF_8.decode(theResponse).toString());
+    }
+
+    /**
+     * Tests sending many requests concurrently from multiple threads over one single connection.
+     * Expected result:
+     * Each request should receive the response to that request.
+     */
+    @Test
+    void concurrentPipelinedRequestsTest() throws Exception {
+        final int theThreadCount = 16;
+        final int theRequestsPerThread = 500;
+        startServerAndClient(inRequest -> {
+            final long theValue = inRequest.getLong();
+            return ByteBuffer.allocate(Long.BYTES).putLong(theValue * 2).flip();
+        }, 1);
+
+        final List<Thread> theThreads = new ArrayList<>();
+        final List<Throwable> theFailures = new ArrayList<>();
+        for (int theThreadIndex = 0; theThreadIndex < theThreadCount; theThreadIndex++) {
+            final int theThreadOffset = theThreadIndex * theRequestsPerThread;
+            final Thread theThread = new Thread(() -> {
+                final List<CompletableFuture<ByteBuffer>> theResponses = new ArrayList<>();
+                for (int i = 0; i < theRequestsPerThread; i++) {
+                    theResponses.add(mRemoteClient.invoke(
+                        ByteBuffer.allocate(Long.BYTES).putLong(theThreadOffset + i).flip()));
+                }
+                for (int i = 0; i < theRequestsPerThread; i++) {
+                    final long theResponseValue = theResponses.get(i).join().getLong();
+                    if (theResponseValue != (theThreadOffset + i) * 2L) {
+                        synchronized (theFailures) {
+                            theFailures.add(new AssertionError("Unexpected response " + theResponseValue));
+                        }
+                    }
+                }
+            });
+            theThreads.add(theThread);
+            theThread.start();
+        }
+        for (Thread theThread : theThreads) {
+            theThread.join();
+        }
+
+        Assertions.assertTrue(theFailures.isEmpty(), "Each request should receive its own response");
+    }
+
+    /**
+     * Tests sending a request and a response that are larger than the initial read buffer.
+     * Expected result:
+     * The complete response should be received.
+     */
+    @Test
+    void largeMessageTest() throws Exception {
+        startServerAndClient(inRequest -> inRequest, 1);
+        final byte[] theRequest = new byte[FrameReader.INITIAL_BUFFER_SIZE * 3 + 17];
+        Arrays.fill(theRequest, (byte) 42);
+
+        final ByteBuffer theResponse = mRemoteClient.invoke(ByteBuffer.wrap(theRequest)).get();
+
+        Assertions.assertEquals(ByteBuffer.wrap(theRequest), theResponse);
+    }
+
+    /**
+     * Tests releasing request and response buffers after they have been written.
+     * Expected result:
+     * The request release callback should be invoked with the client.
+     * The response buffer should be released to the request handler.
+     */
+    @Test
+    void releaseBuffersTest() throws Exception {
+        final CountDownLatch theRequestReleasedLatch = new CountDownLatch(1);
+        final CountDownLatch theResponseReleasedLatch = new CountDownLatch(1);
+        final ByteBuffer theResponse = ByteBuffer.wrap(new byte[] { 2 });
+        startServerAndClient(new RemoteRequestHandler() {
+            @Override
+            public ByteBuffer handleRequest(final ByteBuffer inRequest) {
+                return theResponse;
+            }
+
+            @Override
+            public void releaseResponse(final ByteBuffer inResponse) {
+                if (inResponse == theResponse) {
+                    theResponseReleasedLatch.countDown();
+                }
+            }
+        }, 1);
+
+        mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 }), theRequestReleasedLatch::countDown).get();
+
+        Assertions.assertTrue(theRequestReleasedLatch.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(theResponseReleasedLatch.await(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests sending a request that the request handler fails to handle.
+     * Expected result:
+     * The request should fail with a remote invocation exception.
+     * Subsequent requests on the same connection should succeed.
+     */
+    @Test
+    void requestHandlerFailureTest() throws Exception {
+        startServerAndClient(inRequest -> {
+            if (!inRequest.hasRemaining()) {
+                throw new IllegalStateException("Empty request");
+            }
+            return inRequest;
+        }, 1);
+
+        final CompletionException theException = Assertions.assertThrows(CompletionException.class,
+            () -> mRemoteClient.invoke(ByteBuffer.allocate(0)).join());
+        Assertions.assertInstanceOf(RemoteInvocationException.class, theException.getCause());
+        Assertions.assertEquals(
+            ByteBuffer.wrap(new byte[] { 1 }), mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).get());
+    }
+
+    /**
+     * Tests sending a request which response is not received within the request timeout.
+     * Expected result:
+     * The request should fail with a remote invocation exception.
+     */
+    @Test
+    void requestTimeoutTest() throws Exception {
+        final CountDownLatch theReleaseLatch = new CountDownLatch(1);
+        mRemoteServer = Remoting.startServer(new RemoteServerSettings(LOOPBACK_ADDRESS, 0, 2, 16), inRequest -> {
+            theReleaseLatch.await(10, TimeUnit.SECONDS);
+            return inRequest;
+        });
+        mRemoteClient = Remoting.createClient(
+            new RemoteClientSettings(LOOPBACK_ADDRESS, mRemoteServer.port(), 1, 16, Duration.ofMillis(100), CONNECT_TIMEOUT));
+
+        final CompletionException theException = Assertions.assertThrows(CompletionException.class,
+            () -> mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).join());
+        theReleaseLatch.countDown();
+        Assertions.assertInstanceOf(RemoteInvocationException.class, theException.getCause());
+    }
+
+    /**
+     * Tests sending a request when there is no server listening.
+     * Expected result:
+     * The request should fail with a remote invocation exception.
+     */
+    @Test
+    void noServerTest() throws Exception {
+        final int theUnusedPort;
+        try (ServerSocket theServerSocket = new ServerSocket(0)) {
+            theUnusedPort = theServerSocket.getLocalPort();
+        }
+        mRemoteClient = Remoting.createClient(
+            new RemoteClientSettings(LOOPBACK_ADDRESS, theUnusedPort, 1, 16, REQUEST_TIMEOUT, CONNECT_TIMEOUT));
+
+        final CompletionException theException = Assertions.assertThrows(CompletionException.class,
+            () -> mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).join());
+        Assertions.assertInstanceOf(RemoteInvocationException.class, theException.getCause());
+    }
+
+    /**
+     * Tests sending a request to a server that does not complete new connections, since its queue of
+     * connections waiting to be accepted is full.
+     * Expected result:
+     * The request should fail with a remote invocation exception when the connect timeout has elapsed,
+     * well before the request timeout.
+     */
+    @Test
+    void connectTimeoutTest() throws Exception {
+        final List<Socket> theQueuedSockets = new ArrayList<>();
+        try (ServerSocket theServerSocket = new ServerSocket(0, 1, InetAddress.getByName(LOOPBACK_ADDRESS))) {
+            /* Fill the queue of connections waiting to be accepted, after which connection attempts hang. */
+            for (int i = 0; i < 8; i++) {
+                final Socket theSocket = new Socket();
+                theQueuedSockets.add(theSocket);
+                try {
+                    theSocket.connect(theServerSocket.getLocalSocketAddress(), 200);
+                } catch (final SocketTimeoutException theException) {
+                    break;
+                }
+            }
+            mRemoteClient = Remoting.createClient(new RemoteClientSettings(
+                LOOPBACK_ADDRESS, theServerSocket.getLocalPort(), 1, 16, REQUEST_TIMEOUT, Duration.ofMillis(200)));
+
+            final long theStartTime = System.nanoTime();
+            final CompletionException theException = Assertions.assertThrows(CompletionException.class,
+                () -> mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).join());
+            final Duration theDuration = Duration.ofNanos(System.nanoTime() - theStartTime);
+
+            Assertions.assertInstanceOf(RemoteInvocationException.class, theException.getCause());
+            Assertions.assertTrue(theDuration.compareTo(REQUEST_TIMEOUT.dividedBy(2)) < 0,
+                "Connecting took " + theDuration);
+        } finally {
+            for (Socket theSocket : theQueuedSockets) {
+                theSocket.close();
+            }
+        }
+    }
+
+    /**
+     * Tests sending many requests concurrently over one single connection that has not yet been established,
+     * to a server socket that accepts connections but never responds.
+     * Expected result:
+     * Only one connection should be established.
+     */
+    @Test
+    void concurrentRequestsConnectOnceTest() throws Exception {
+        final int theThreadCount = 16;
+        try (ServerSocket theServerSocket = new ServerSocket(0, 50, InetAddress.getByName(LOOPBACK_ADDRESS))) {
+            final List<Socket> theAcceptedSockets = acceptConnections(theServerSocket);
+            mRemoteClient = Remoting.createClient(new RemoteClientSettings(
+                LOOPBACK_ADDRESS, theServerSocket.getLocalPort(), 1, 16, Duration.ofMillis(500), CONNECT_TIMEOUT));
+
+            final CountDownLatch theStartLatch = new CountDownLatch(1);
+            final List<CompletableFuture<ByteBuffer>> theResponses = new ArrayList<>();
+            final List<Thread> theThreads = new ArrayList<>();
+            for (int i = 0; i < theThreadCount; i++) {
+                final Thread theThread = new Thread(() -> {
+                    try {
+                        theStartLatch.await();
+                    } catch (final InterruptedException theException) {
+                        return;
+                    }
+                    final CompletableFuture<ByteBuffer> theResponse =
+                        mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 }));
+                    synchronized (theResponses) {
+                        theResponses.add(theResponse);
+                    }
+                });
+                theThreads.add(theThread);
+                theThread.start();
+            }
+            theStartLatch.countDown();
+            for (Thread theThread : theThreads) {
+                theThread.join();
+            }
+            for (CompletableFuture<ByteBuffer> theResponse : theResponses) {
+                Assertions.assertThrows(CompletionException.class, theResponse::join);
+            }
+
+            synchronized (theAcceptedSockets) {
+                Assertions.assertEquals(1, theAcceptedSockets.size(), "Only one connection should be established");
+                for (Socket theSocket : theAcceptedSockets) {
+                    theSocket.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests sending a request when there is no server listening and then sending requests after
+     * a server has started listening on the port.
+     * Expected result:
+     * A request sent immediately after the failed connection attempt should fail without connecting.
+     * A request sent after the reconnect delay should connect to the server.
+     */
+    @Test
+    void reconnectDelayTest() throws Exception {
+        final InetAddress theLoopbackAddress = InetAddress.getByName(LOOPBACK_ADDRESS);
+        final int thePort;
+        try (ServerSocket theServerSocket = new ServerSocket(0, 50, theLoopbackAddress)) {
+            thePort = theServerSocket.getLocalPort();
+        }
+        mRemoteClient = Remoting.createClient(
+            new RemoteClientSettings(LOOPBACK_ADDRESS, thePort, 1, 16, Duration.ofMillis(500), CONNECT_TIMEOUT));
+        Assertions.assertThrows(CompletionException.class,
+            () -> mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).join());
+
+        try (ServerSocket theServerSocket = new ServerSocket(thePort, 50, theLoopbackAddress)) {
+            final List<Socket> theAcceptedSockets = acceptConnections(theServerSocket);
+            Assertions.assertThrows(CompletionException.class,
+                () -> mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).join());
+            synchronized (theAcceptedSockets) {
+                Assertions.assertTrue(theAcceptedSockets.isEmpty(), "No connection expected within reconnect delay");
+            }
+
+            Thread.sleep(SocketRemoteClient.INITIAL_RECONNECT_DELAY.multipliedBy(2).toMillis());
+            Assertions.assertThrows(CompletionException.class,
+                () -> mRemoteClient.invoke(ByteBuffer.wrap(new byte[] { 1 })).join());
+            synchronized (theAcceptedSockets) {
+                Assertions.assertEquals(1, theAcceptedSockets.size(), "Connection expected after reconnect delay");
+                for (Socket theSocket : theAcceptedSockets) {
+                    theSocket.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Accepts connections to the supplied server socket on a daemon thread until the server socket is closed,
+     * without ever reading from or writing to the connections.
+     *
+     * @param inServerSocket Server socket.
+     * @return List of accepted connections, which is to be synchronized on when accessed.
+     */
+    protected List<Socket> acceptConnections(final ServerSocket inServerSocket) {
+        final List<Socket> theAcceptedSockets = new ArrayList<>();
+        final Thread theAcceptorThread = new Thread(() -> {
+            try {
+                while (true) {
+                    final Socket theSocket = inServerSocket.accept();
+                    synchronized (theAcceptedSockets) {
+                        theAcceptedSockets.add(theSocket);
+                    }
+                }
+            } catch (final IOException theException) {
+                /* The server socket has been closed. */
+            }
+        });
+        theAcceptorThread.setDaemon(true);
+        theAcceptorThread.start();
+        return theAcceptedSockets;
+    }
+
+    /**
+     * Starts a server on an ephemeral loopback port using the supplied request handler and creates
+     * a client connecting to the server.
+     *
+     * @param inRequestHandler Request handler of the server.
+     * @param inConnectionCount Number of client connections.
+     * @throws IOException If an error occurs starting the server.
+     */
+    protected void startServerAndClient(final RemoteRequestHandler inRequestHandler,
+                                        final int inConnectionCount) throws IOException {
+        mRemoteServer = Remoting.startServer(new RemoteServerSettings(LOOPBACK_ADDRESS, 0, 4, 256), inRequestHandler);
+        mRemoteClient = Remoting.createClient(new RemoteClientSettings(
+            LOOPBACK_ADDRESS, mRemoteServer.port(), inConnectionCount, 256, REQUEST_TIMEOUT, CONNECT_TIMEOUT));
+    }
+}
@@ -0,0 +1,168 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.AimdLimitSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiter;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiterStatistics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tests the {@link AimdConcurrencyLimiter}.
+ * Latencies of calls are controlled using a fake clock.
+ *
+ * @author Ivan Krizsan
+ */
+class AimdConcurrencyLimiterTest {
+    /* Constant(s): */
+    protected static final Duration LATENCY_TARGET = Duration.ofMillis(50);
+    protected static final long FAST_CALL_NANOS = Duration.ofMillis(5).toNanos();
+    protected static final long SLOW_CALL_NANOS = Duration.ofMillis(200).toNanos();
+
+    /* Instance variable(s): */
+    protected final AtomicLong mNanoTime = new AtomicLong();
+
+    /**
+     * Tests acquiring permits when the limit has been reached.
+     * Expected result:
+     * Calls exceeding the limit should be rejected immediately.
+     * After a permit has been released, another call should be admitted.
+     * The statistics should show the admitted and rejected calls.
+     */
+    @Test
+    void rejectWhenLimitReachedTest() {
+        final ConcurrencyLimiter theLimiter = createLimiter(2, 1, 10);
+        final ConcurrencyLimiter.Permit theFirstPermit = theLimiter.tryAcquire().orElseThrow();
+        theLimiter.tryAcquire().orElseThrow();
+
+        Assertions.assertTrue(theLimiter.tryAcquire().isEmpty());
+        theFirstPermit.onIgnore();
+        Assertions.assertTrue(theLimiter.tryAcquire().isPresent());
+
+        final ConcurrencyLimiterStatistics theStatistics = theLimiter.retrieveStatistics();
+        Assertions.assertEquals("test", theStatistics.name());
+        Assertions.assertEquals(2, theStatistics.limit());
+        Assertions.assertEquals(2, theStatistics.inFlightCalls());
+        Assertions.assertEquals(3L, theStatistics.admittedCallCount());
+        Assertions.assertEquals(1L, theStatistics.rejectedCallCount());
+    }
+
+    /**
+     * Tests completing calls within the latency target while the limit is utilized.
+     * Expected result:
+     * The limit should be increased by one for each call, up to the maximum limit.
+     */
+    @Test
+    void increaseLimitOnFastCallsTest() {
+        final ConcurrencyLimiter theLimiter = createLimiter(4, 1, 6);
+
+        for (int i = 0; i < 5; i++) {
+            completeCalls(theLimiter, theLimiter.retrieveStatistics().limit(), FAST_CALL_NANOS);
+        }
+
+        Assertions.assertEquals(6, theLimiter.retrieveStatistics().limit());
+    }
+
+    /**
+     * Tests completing calls within the latency target while less than half of the limit is in use.
+     * Expected result:
+     * The limit should not be increased, since the limit is not what constrains the calls.
+     */
+    @Test
+    void keepLimitWhenUnderutilizedTest() {
+        final ConcurrencyLimiter theLimiter = createLimiter(10, 1, 100);
+
+        for (int i = 0; i < 10; i++) {
+            completeCalls(theLimiter, 1, FAST_CALL_NANOS);
+        }
+
+        Assertions.assertEquals(10, theLimiter.retrieveStatistics().limit());
+    }
+
+    /**
+     * Tests completing calls exceeding the latency target.
+     * Expected result:
+     * The limit should be multiplied by the backoff ratio for each call, down to the minimum limit.
+     */
+    @Test
+    void decreaseLimitOnSlowCallsTest() {
+        final ConcurrencyLimiter theLimiter = createLimiter(20, 5, 100);
+
+        completeCalls(theLimiter, 1, SLOW_CALL_NANOS);
+        Assertions.assertEquals(10, theLimiter.retrieveStatistics().limit());
+
+        completeCalls(theLimiter, 3, SLOW_CALL_NANOS);
+        Assertions.assertEquals(5, theLimiter.retrieveStatistics().limit());
+    }
+
+    /**
+     * Tests dropping a call and releasing a permit more than once.
+     * Expected result:
+     * The limit should be decreased once, since only the first release of a permit has an effect.
+     * No calls should be in flight.
+     */
+    @Test
+    void dropAndReleaseTwiceTest() {
+        final ConcurrencyLimiter theLimiter = createLimiter(8, 1, 100);
+        final ConcurrencyLimiter.Permit thePermit = theLimiter.tryAcquire().orElseThrow();
+
+        thePermit.onDropped();
+        thePermit.onDropped();
+        thePermit.onSuccess();
+
+        final ConcurrencyLimiterStatistics theStatistics = theLimiter.retrieveStatistics();
+        Assertions.assertEquals(4, theStatistics.limit());
+        Assertions.assertEquals(0, theStatistics.inFlightCalls());
+    }
+
+    /**
+     * Tests creating limiter settings with an initial limit outside of the minimum and maximum limits
+     * and with a backoff ratio that would not decrease the limit.
+     * Expected result:
+     * Creating the settings should fail.
+     */
+    @Test
+    void invalidSettingsTest() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new AimdLimitSettings("test", 1, 2, 10, LATENCY_TARGET, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new AimdLimitSettings("test", 5, 2, 10, LATENCY_TARGET, 1.0));
+    }
+
+    /**
+     * Creates a limiter using the fake clock and a backoff ratio of 0.5.
+     *
+     * @param inInitialLimit Initial limit.
+     * @param inMinLimit Minimum limit.
+     * @param inMaxLimit Maximum limit.
+     * @return New limiter.
+     */
+    protected ConcurrencyLimiter createLimiter(final int inInitialLimit, final int inMinLimit, final int inMaxLimit) {
+        return new AimdConcurrencyLimiter(
+            new AimdLimitSettings("test", inInitialLimit, inMinLimit, inMaxLimit, LATENCY_TARGET, 0.5),
+            mNanoTime::get);
+    }
+
+    /**
+     * Admits the supplied number of concurrent calls and completes them successfully after the supplied latency.
+     *
+     * @param inLimiter Limiter admitting the calls.
+     * @param inCallCount Number of concurrent calls.
+     * @param inLatencyNanos Latency of the calls in nanoseconds.
+     */
+    protected void completeCalls(final ConcurrencyLimiter inLimiter, final int inCallCount,
+                                 final long inLatencyNanos) {
+        final List<ConcurrencyLimiter.Permit> thePermits = new ArrayList<>();
+        for (int i = 0; i < inCallCount; i++) {
+            thePermits.add(inLimiter.tryAcquire().orElseThrow());
+        }
+        mNanoTime.addAndGet(inLatencyNanos);
+        for (ConcurrencyLimiter.Permit thePermit : thePermits) {
+            thePermit.onSuccess();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package se.ivankrizsan.monolithmicroservices.modules.resilience.implementation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.Bulkhead;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadFullException;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadRegistry;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadSettings;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.BulkheadStatistics;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the {@link SemaphoreBulkhead}.
+ *
+ * @author Ivan Krizsan
+ */
+class SemaphoreBulkheadTest {
+    /* Constant(s): */
+    protected static final int MAX_CONCURRENT_CALLS = 2;
+
+    /* Instance variable(s): */
+    protected final ExecutorService mExecutorService = Executors.newCachedThreadPool();
+    protected final CountDownLatch mReleaseCallsLatch = new CountDownLatch(1);
+
+    /**
+     * Releases any blocked calls and stops the executor after each test.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mReleaseCallsLatch.countDown();
+        mExecutorService.shutdownNow();
+    }
+
+    /**
+     * Tests making a call when the concurrency limit has been reached and queueing is disabled.
+     * Expected result:
+     * The call should be rejected immediately.
+     * The statistics should show a saturated bulkhead with one rejected call.
+     */
+    @Test
+    void rejectWhenSaturatedTest() throws Exception {
+        final Bulkhead theBulkhead = new SemaphoreBulkhead(
+            new BulkheadSettings("test", MAX_CONCURRENT_CALLS, 0, Duration.ZERO));
+        saturate(theBulkhead);
+
+        Assertions.assertThrows(BulkheadFullException.class, () -> theBulkhead.execute(() -> "rejected"));
+        final BulkheadStatistics theStatistics = theBulkhead.retrieveStatistics();
+        Assertions.assertEquals(MAX_CONCURRENT_CALLS, theStatistics.activeCalls());
+        Assertions.assertEquals(1.0, theStatistics.saturation());
+        Assertions.assertEquals(MAX_CONCURRENT_CALLS, theStatistics.permittedCallCount());
+        Assertions.assertEquals(1L, theStatistics.rejectedCallCount());
+    }
+
+    /**
+     * Tests making a call when the concurrency limit has been reached and a call is released
+     * while the call waits in the queue.
+     * Expected result:
+     * The queued call should execute once a call has been released.
+     */
+    @Test
+    void queuedCallExecutesWhenReleasedTest() throws Exception {
+        final Bulkhead theBulkhead = new SemaphoreBulkhead(
+            new BulkheadSettings("test", MAX_CONCURRENT_CALLS, 1, Duration.ofSeconds(10)));
+        saturate(theBulkhead);
+
+        final Future<String> theQueuedCall = mExecutorService.submit(() -> theBulkhead.execute(() -> "queued"));
+        awaitQueuedCalls(theBulkhead, 1);
+        mReleaseCallsLatch.countDown();
+
+        Assertions.assertEquals("queued", theQueuedCall.get(5, TimeUnit.SECONDS));
+        Assertions.assertEquals(0L, theBulkhead.retrieveStatistics().rejectedCallCount());
+    }
+
+    /**
+     * Tests making calls when the concurrency limit has been reached and the queue is full,
+     * as well as a queued call that is not released in time.
+     * Expected result:
+     * The call finding the queue full should be rejected immediately.
+     * The queued call should be rejected once the maximum queue wait has elapsed.
+     */
+    @Test
+    void rejectWhenQueueFullOrWaitExpiresTest() throws Exception {
+        final Bulkhead theBulkhead = new SemaphoreBulkhead(
+            new BulkheadSettings("test", MAX_CONCURRENT_CALLS, 1, Duration.ofMillis(200)));
+        saturate(theBulkhead);
+
+        final Future<String> theQueuedCall = mExecutorService.submit(() -> theBulkhead.execute(() -> "queued"));
+        awaitQueuedCalls(theBulkhead, 1);
+        Assertions.assertThrows(BulkheadFullException.class, () -> theBulkhead.execute(() -> "rejected"));
+
+        final Exception theException =
+            Assertions.assertThrows(Exception.class, () -> theQueuedCall.get(5, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(BulkheadFullException.class, theException.getCause());
+        Assertions.assertEquals(2L, theBulkhead.retrieveStatistics().rejectedCallCount());
+        Assertions.assertEquals(0, theBulkhead.retrieveStatistics().queuedCalls());
+    }
+
+    /**
+     * Tests making a call within one bulkhead in a registry while another bulkhead in the same
+     * registry is saturated.
+     * Expected result:
+     * The call should execute, since the bulkheads do not share any concurrency limits.
+     * The registry statistics should include both bulkheads.
+     */
+    @Test
+    void bulkheadsIsolatedTest() throws Exception {
+        final BulkheadRegistry theBulkheadRegistry = new ConfiguredBulkheadRegistry(inName ->
+            new BulkheadSettings(inName, MAX_CONCURRENT_CALLS, 0, Duration.ZERO));
+        saturate(theBulkheadRegistry.bulkhead("warehouse"));
+
+        Assertions.assertEquals("executed", theBulkheadRegistry.bulkhead("shoppingcart").execute(() -> "executed"));
+        final List<BulkheadStatistics> theStatistics = theBulkheadRegistry.retrieveBulkheadStatistics();
+        Assertions.assertEquals(List.of("shoppingcart", "warehouse"),
+            theStatistics.stream().map(BulkheadStatistics::name).toList());
+        Assertions.assertEquals(0.0, theStatistics.get(0).saturation());
+        Assertions.assertEquals(1.0, theStatistics.get(1).saturation());
+    }
+
+    /**
+     * Starts calls, blocked until the end of the test, that occupy the concurrency limit of the supplied bulkhead.
+     *
+     * @param inBulkhead Bulkhead to saturate.
+     */
+    protected void saturate(final Bulkhead inBulkhead) throws InterruptedException {
+        final CountDownLatch theStartedLatch = new CountDownLatch(MAX_CONCURRENT_CALLS);
+        final List<Future<?>> theCalls = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENT_CALLS; i++) {
+            theCalls.add(mExecutorService.submit(() -> inBulkhead.run(() -> {
+                theStartedLatch.countDown();
+                try {
+                    mReleaseCallsLatch.await();
+                } catch (final InterruptedException theException) {
+                    Thread.currentThread().interrupt();
+                }
+            })));
+        }
+        Assertions.assertTrue(theStartedLatch.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Waits until the supplied number of calls are queued in the supplied bulkhead.
+     *
+     * @param inBulkhead Bulkhead.
+     * @param inQueuedCalls Number of queued calls to wait for.
+     */
+    protected void awaitQueuedCalls(final Bulkhead inBulkhead, final int inQueuedCalls) throws InterruptedException {
+        final long theDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inBulkhead.retrieveStatistics().queuedCalls() < inQueuedCalls && System.nanoTime() < theDeadline) {
+            Thread.sleep(5);
+        }
+        Assertions.assertEquals(inQueuedCalls, inBulkhead.retrieveStatistics().queuedCalls());
+    }
+}
@@ -0,0 +1,36 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.domain.ShoppingCartItem;
+
+/**
+ * Tests the {@link ShoppingCartRuntimeHints}.
+ *
+ * @author Ivan Krizsan
+ */
+class ShoppingCartRuntimeHintsTest {
+
+    /**
+     * Tests registering the runtime hints of the shoppingcart module.
+     * Expected result:
+     * The fields, constructors and public methods of the shoppingcart entity should be reflectively accessible.
+     */
+    @Test
+    void registerHintsTest() {
+        final RuntimeHints theRuntimeHints = new RuntimeHints();
+
+        new ShoppingCartRuntimeHints().registerHints(theRuntimeHints, getClass().getClassLoader());
+
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(ShoppingCartItem.class)
+            .withMemberCategories(
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS)
+            .test(theRuntimeHints));
+    }
+}
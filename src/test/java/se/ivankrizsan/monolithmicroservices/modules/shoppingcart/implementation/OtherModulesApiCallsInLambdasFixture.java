@@ -0,0 +1,86 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation;
+
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Fixture for the architecture rule forbidding calls to the api of other modules from within loops.
+ * Calls the api of the warehouse module once per element from lambdas and method references passed to
+ * {@code forEach} and stream operations, which the rule is to detect, and once outside of any loop,
+ * which the rule is to allow.
+ *
+ * @author Ivan Krizsan
+ */
+public class OtherModulesApiCallsInLambdasFixture {
+    /* Dependencies: */
+    protected final WarehouseService mWarehouseService;
+
+    /**
+     * Creates a fixture calling the supplied warehouse service.
+     *
+     * @param inWarehouseService Warehouse service.
+     */
+    public OtherModulesApiCallsInLambdasFixture(final WarehouseService inWarehouseService) {
+        mWarehouseService = inWarehouseService;
+    }
+
+    /**
+     * Retrieves the unit price of each supplied product from a lambda passed to {@code Iterable.forEach}.
+     *
+     * @param inProductNumbers Product numbers of products.
+     */
+    public void retrieveUnitPricesInIterableForEach(final List<String> inProductNumbers) {
+        inProductNumbers.forEach(inProductNumber -> mWarehouseService.retrieveProductUnitPrice(inProductNumber));
+    }
+
+    /**
+     * Reserves the supplied amount of each supplied product from a lambda passed to {@code Map.forEach}.
+     *
+     * @param inProductAmounts Amounts to reserve keyed by product number.
+     */
+    public void reserveProductsInMapForEach(final Map<String, Double> inProductAmounts) {
+        inProductAmounts.forEach((inProductNumber, inAmount) -> {
+            mWarehouseService.reserveProduct(inProductNumber, inAmount);
+        });
+    }
+
+    /**
+     * Retrieves the available amount of each supplied product from a lambda passed to a stream operation.
+     *
+     * @param inProductNumbers Product numbers of products.
+     * @return Available amounts of the products.
+     */
+    public List<Optional<Double>> retrieveAvailableAmountsInStream(final List<String> inProductNumbers) {
+        return inProductNumbers
+            .stream()
+            .map(inProductNumber -> mWarehouseService.retrieveProductAvailableAmount(inProductNumber))
+            .toList();
+    }
+
+    /**
+     * Retrieves the reserved amount of each supplied reservation using a method reference passed to
+     * a stream operation.
+     *
+     * @param inReservationIds Reservation ids.
+     * @return Reserved amounts.
+     */
+    public List<Optional<Double>> retrieveReservationAmountsInStream(final List<Long> inReservationIds) {
+        return inReservationIds
+            .stream()
+            .map(mWarehouseService::retrieveReservationAmount)
+            .toList();
+    }
+
+    /**
+     * Retrieves the unit prices of the supplied products using one single call, outside of any loop.
+     *
+     * @param inProductNumbers Product numbers of products.
+     * @return Unit prices keyed by product number.
+     */
+    public Map<String, Double> retrieveUnitPricesInBulk(final List<String> inProductNumbers) {
+        return mWarehouseService.retrieveProductUnitPrices(inProductNumbers);
+    }
+}
@@ -0,0 +1,89 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests the {@link ShoppingCartOperationEvent}s emitted by the {@link ShoppingCartServiceImplementation}.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+class ShoppingCartOperationEventTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static double PRODUCTA_UNITPRICE = 15.0;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @TempDir
+    protected Path mRecordingDirectory;
+
+    /**
+     * Creates a product with available stock in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCTA_PRODUCTNUMBER, "Product A", PRODUCTA_UNITPRICE);
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 10.0);
+    }
+
+    /**
+     * Tests recording shopping cart operations with the flight recorder.
+     * Expected result:
+     * One event should be recorded for each shopping cart operation, identifying the cart and with
+     * the product number, amount and outcome of the operation.
+     */
+    @Test
+    void recordShoppingCartOperationsTest() throws Exception {
+        final ShoppingCartServiceImplementation theShoppingCart =
+            new ShoppingCartServiceImplementation(mWarehouseService);
+        final List<RecordedEvent> theEvents;
+        try (Recording theRecording = new Recording()) {
+            theRecording.enable(ShoppingCartOperationEvent.NAME).withThreshold(Duration.ZERO);
+            theRecording.start();
+
+            theShoppingCart.addItemToCart(PRODUCTA_PRODUCTNUMBER, 2.0);
+            theShoppingCart.addItemToCart(PRODUCTA_PRODUCTNUMBER, 100.0);
+            theShoppingCart.calculateCartPrice();
+
+            theRecording.stop();
+            final Path theRecordingFile = mRecordingDirectory.resolve("shoppingcart.jfr");
+            theRecording.dump(theRecordingFile);
+            theEvents = RecordingFile
+                .readAllEvents(theRecordingFile)
+                .stream()
+                .filter(inEvent -> ShoppingCartOperationEvent.NAME.equals(inEvent.getEventType().getName()))
+                .toList();
+        }
+
+        Assertions.assertEquals(3, theEvents.size(), "One event per shopping cart operation should be recorded");
+        for (RecordedEvent theEvent : theEvents) {
+            Assertions.assertEquals(theShoppingCart.mCartId, theEvent.getLong("cartId"));
+        }
+        Assertions.assertEquals("addItemToCart", theEvents.get(0).getString("operation"));
+        Assertions.assertEquals(PRODUCTA_PRODUCTNUMBER, theEvents.get(0).getString("productNumber"));
+        Assertions.assertEquals(2.0, theEvents.get(0).getDouble("amount"));
+        Assertions.assertEquals(ShoppingCartOperationEvent.OUTCOME_SUCCESS, theEvents.get(0).getString("outcome"));
+        Assertions.assertEquals(ShoppingCartOperationEvent.OUTCOME_NOT_ADDED, theEvents.get(1).getString("outcome"));
+        Assertions.assertEquals("calculateCartPrice", theEvents.get(2).getString("operation"));
+        Assertions.assertEquals(1, theEvents.get(2).getInt("lineCount"));
+        Assertions.assertEquals(2.0 * PRODUCTA_UNITPRICE, theEvents.get(2).getDouble("amount"));
+    }
+}
@@ -0,0 +1,87 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.api.QueryBudgets;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.configuration.DiagnosticsConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration.ShoppingCartConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+/**
+ * Query budget tests of the shopping cart use cases, failing when a use case executes more SQL statements
+ * than its budget, for example as a result of an N+1 query pattern.
+ * Tests are not run in a transaction, so that the statements of each use case are executed within the use case.
+ * The products created are not removed, since the warehouse repositories are not accessible from this module.
+ * Creating products is idempotent and no other test uses the same application context configuration.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = {
+    ShoppingCartConfiguration.class, WarehouseConfiguration.class, DiagnosticsConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShoppingCartQueryBudgetTest {
+    /* Constant(s): */
+    protected static final int CART_LINE_COUNT = 20;
+    protected static final String PRODUCT_NUMBER_PREFIX = "12345-";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected ShoppingCartService mShoppingCartService;
+
+    /**
+     * Empties the shopping cart and creates products in the warehouse, one for each cart line,
+     * before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mShoppingCartService.emptyCart();
+        for (int i = 0; i < CART_LINE_COUNT; i++) {
+            mWarehouseService.createProductInWarehouse(PRODUCT_NUMBER_PREFIX + i, "Product " + i, 10.0 + i);
+            mWarehouseService.increaseProductStock(PRODUCT_NUMBER_PREFIX + i, 100.0);
+        }
+    }
+
+    /**
+     * Tests the query budget of adding an item to the shopping cart.
+     * Expected result:
+     * Adding an item should not execute more SQL statements than the budget.
+     */
+    @Test
+    void addItemToCartBudgetTest() {
+        final boolean theAddedFlag = QueryBudgets.assertWithinBudget(
+            "addItemToCart", 5, () -> mShoppingCartService.addItemToCart(PRODUCT_NUMBER_PREFIX + 0, 1.0));
+
+        Assertions.assertTrue(theAddedFlag);
+    }
+
+    /**
+     * Tests the query budget of calculating the price of a shopping cart with 20 lines.
+     * Expected result:
+     * Calculating the price should not execute more than three SQL statements, regardless of the number
+     * of lines in the cart.
+     */
+    @Test
+    void calculateCartPriceBudgetTest() {
+        double theExpectedCartPrice = 0.0;
+        for (int i = 0; i < CART_LINE_COUNT; i++) {
+            mShoppingCartService.addItemToCart(PRODUCT_NUMBER_PREFIX + i, 2.0);
+            theExpectedCartPrice += (10.0 + i) * 2.0;
+        }
+
+        final Double theCartPrice = QueryBudgets.assertWithinBudget(
+            "calculateCartPrice on a " + CART_LINE_COUNT + "-line cart", 3, mShoppingCartService::calculateCartPrice);
+
+        Assertions.assertEquals(theExpectedCartPrice, theCartPrice, 0.0001);
+    }
+}
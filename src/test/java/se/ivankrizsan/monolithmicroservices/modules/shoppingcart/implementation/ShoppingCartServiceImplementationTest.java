@@ -3,18 +3,16 @@ package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ContextConfiguration;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
 import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration.ShoppingCartConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
-import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservation;
-import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
-import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
 
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,9 +37,7 @@ class ShoppingCartServiceImplementationTest {
     @Autowired
     protected ShoppingCartService mShoppingCartService;
     @Autowired
-    protected ProductRepository mProductRepository;
-    @Autowired
-    protected ProductReservationRepository mProductReservationsRepository;
+    protected ObjectProvider<ShoppingCartService> mShoppingCartServiceProvider;
 
     /**
      * Sets up products in warehouse before each test.
@@ -83,12 +79,11 @@ class ShoppingCartServiceImplementationTest {
         Assertions.assertEquals(0, theRemainingAvailableAmountOptional.get(),
             "There should be no remaining available stock of the product");
 
-        final List<ProductReservation> theProductAReservations =
-            mProductReservationsRepository.findAllByProductNumber(PRODUCTA_PRODUCTNUMBER);
-        Assertions.assertEquals(1, theProductAReservations.size(),
+        final ProductReservationSummary theProductAReservationSummary =
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER);
+        Assertions.assertEquals(1, theProductAReservationSummary.reservationCount(),
             "There should be a single product reservation");
-        final ProductReservation theProductAReservation = theProductAReservations.get(0);
-        Assertions.assertEquals(PRODUCTA_AVAILABLEAMOUNT, theProductAReservation.getReservedAmount(),
+        Assertions.assertEquals(PRODUCTA_AVAILABLEAMOUNT, theProductAReservationSummary.reservedAmount(),
             "All of the stock of the product should be reserved");
     }
 
@@ -112,9 +107,9 @@ class ShoppingCartServiceImplementationTest {
         Assertions.assertEquals(PRODUCTA_AVAILABLEAMOUNT, theRemainingAvailableAmountOptional.get(),
             "The available amount in the warehouse should remain unchanged");
 
-        final List<ProductReservation> theProductAReservations =
-            mProductReservationsRepository.findAllByProductNumber(PRODUCTA_PRODUCTNUMBER);
-        Assertions.assertEquals(0, theProductAReservations.size(),
+        final ProductReservationSummary theProductAReservationSummary =
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER);
+        Assertions.assertEquals(0, theProductAReservationSummary.reservationCount(),
             "There should be no reservations for the product");
     }
 
@@ -134,6 +129,28 @@ class ShoppingCartServiceImplementationTest {
                 "The total price of the products in the shopping cart should be correctly calculated");
     }
 
+    /**
+     * Tests obtaining shopping carts for two shoppers and adding a product to the shopping cart of one of them.
+     * Expected result:
+     * Each shopper should have obtained a shopping cart of its own.
+     * The product should be in the shopping cart of the shopper that added it only.
+     */
+    @Test
+    void shoppingCartPerShopperTest() {
+        final ShoppingCartService theFirstShoppingCart = mShoppingCartServiceProvider.getObject();
+        final ShoppingCartService theSecondShoppingCart = mShoppingCartServiceProvider.getObject();
+        Assertions.assertNotSame(theFirstShoppingCart, theSecondShoppingCart,
+            "Each shopper should have obtained a shopping cart of its own");
+
+        Assertions.assertTrue(theFirstShoppingCart.addItemToCart(PRODUCTB_PRODUCTNUMBER, 1),
+            "It should be possible to add Product B to the first shoppingcart");
+
+        Assertions.assertEquals(PRODUCTB_UNITPRICE, theFirstShoppingCart.calculateCartPrice(),
+            "Product B should be in the first shoppingcart");
+        Assertions.assertEquals(0.0, theSecondShoppingCart.calculateCartPrice(),
+            "The second shoppingcart should be empty");
+    }
+
     private void addTwoProductsToShoppingCart() {
         final boolean theAddItemASuccessFlag = mShoppingCartService.addItemToCart(
                 PRODUCTA_PRODUCTNUMBER, PRODUCTA_AVAILABLEAMOUNT);
@@ -0,0 +1,113 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration.ShoppingCartConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Tests adding a product which stock is split into stock buckets to shopping carts concurrently.
+ * Shopping carts add items in transactions of their own, in which failed reservations cannot be retried.
+ * Tests are not run in a transaction, so that each shopping cart operation is committed. The product created
+ * by the test is not removed, since no other test uses the application context with stock buckets enabled
+ * for shopping carts.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { ShoppingCartConfiguration.class, WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.stock-buckets.enabled=true",
+    "warehouse.stock-buckets.bucket-count=4",
+    "warehouse.stock-buckets.product-numbers=" + ShoppingCartStockBucketTest.FLASHSALE_PRODUCTNUMBER,
+    "warehouse.stock-buckets.contended-reservations-before-split=0"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShoppingCartStockBucketTest {
+    /* Constant(s): */
+    public final static String FLASHSALE_PRODUCTNUMBER = "FLASH-1";
+    protected static final int SHOPPER_COUNT = 8;
+    protected static final int ITEMS_PER_SHOPPER = 50;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected ObjectProvider<ShoppingCartService> mShoppingCartServiceProvider;
+
+    /**
+     * Tests shoppers concurrently adding the flash sale product to shopping carts of their own, while the
+     * product is restocked, until the product runs low and its stock buckets are gathered.
+     * Expected result:
+     * No shopping cart operation should fail.
+     * The amount of the product placed in shopping carts should be reserved and the available amount
+     * should be the stocked amount less the reserved amount, that is, the product should not have been oversold.
+     */
+    @Test
+    void concurrentAddItemsToCartsTest() throws InterruptedException {
+        mWarehouseService.createProductInWarehouse(FLASHSALE_PRODUCTNUMBER, "Flash sale product", 10.0);
+        final double theInitialStock = 400.0;
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, theInitialStock);
+        final DoubleAdder theStockedAmount = new DoubleAdder();
+        theStockedAmount.add(theInitialStock);
+        final DoubleAdder theAddedAmount = new DoubleAdder();
+        final List<Throwable> theErrors = new ArrayList<>();
+        final CountDownLatch theStartLatch = new CountDownLatch(1);
+
+        final List<Thread> theShoppers = new ArrayList<>();
+        for (int s = 0; s < SHOPPER_COUNT; s++) {
+            final Thread theShopper = new Thread(() -> {
+                try {
+                    final ShoppingCartService theShoppingCart = mShoppingCartServiceProvider.getObject();
+                    final ThreadLocalRandom theRandom = ThreadLocalRandom.current();
+                    theStartLatch.await();
+                    for (int i = 0; i < ITEMS_PER_SHOPPER; i++) {
+                        final double theAmount = 1 + theRandom.nextInt(3);
+                        if (theShoppingCart.addItemToCart(FLASHSALE_PRODUCTNUMBER, theAmount)) {
+                            theAddedAmount.add(theAmount);
+                        }
+                        if (i % 10 == 9) {
+                            mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 8.0);
+                            theStockedAmount.add(8.0);
+                        }
+                    }
+                } catch (final Throwable theException) {
+                    synchronized (theErrors) {
+                        theErrors.add(theException);
+                    }
+                }
+            }, "shopper-" + s);
+            theShoppers.add(theShopper);
+            theShopper.start();
+        }
+        theStartLatch.countDown();
+        for (Thread theShopper : theShoppers) {
+            theShopper.join();
+        }
+
+        Assertions.assertTrue(theErrors.isEmpty(), () -> "Shopping cart operations failed: " + theErrors);
+        final ProductReservationSummary theSummary =
+            mWarehouseService.retrieveProductReservationSummary(FLASHSALE_PRODUCTNUMBER);
+        Assertions.assertEquals(theAddedAmount.sum(), theSummary.reservedAmount(), 1e-9,
+            "The amount placed in shopping carts should be reserved");
+        Assertions.assertEquals(theStockedAmount.sum() - theAddedAmount.sum(),
+            mWarehouseService.retrieveProductAvailableAmount(FLASHSALE_PRODUCTNUMBER).orElseThrow(), 1e-9,
+            "The product should not have been oversold");
+    }
+}
@@ -0,0 +1,56 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.loadtest;
+
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+/**
+ * Settings of a shopping load test.
+ *
+ * @param shopperCount Number of concurrent shoppers.
+ * @param cartsPerShopper Number of shopping carts each shopper fills and prices.
+ * @param itemsPerCart Number of items each shopper adds to each cart.
+ * @param productCount Number of products in the warehouse.
+ * @param productPopularity Name of the product popularity distribution, {@code uniform} or {@code zipf}.
+ * @param zipfExponent Exponent of the Zipf product popularity distribution.
+ * @param maxDuration Maximum duration of the load test.
+ * @author Ivan Krizsan
+ */
+public record LoadTestSettings(int shopperCount,
+                               int cartsPerShopper,
+                               int itemsPerCart,
+                               int productCount,
+                               String productPopularity,
+                               double zipfExponent,
+                               Duration maxDuration) {
+    /* Constant(s): */
+    /** Prefix of the system properties from which settings are read. */
+    public static final String PROPERTY_PREFIX = "load.";
+
+    public LoadTestSettings {
+        Assert.isTrue(shopperCount > 0, "The shopper count must be positive");
+        Assert.isTrue(cartsPerShopper > 0, "The number of carts per shopper must be positive");
+        Assert.isTrue(itemsPerCart > 0, "The number of items per cart must be positive");
+        Assert.isTrue(productCount > 0, "The product count must be positive");
+        Assert.hasText(productPopularity, "A product popularity distribution is required");
+        Assert.notNull(maxDuration, "A maximum duration is required");
+    }
+
+    /**
+     * Creates load test settings from system properties with the {@code load.} prefix, using default
+     * values for settings without a corresponding system property. For example:
+     * {@code -Dload.shopper-count=5000 -Dload.product-popularity=uniform}.
+     *
+     * @return Load test settings.
+     */
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+            Integer.getInteger(PROPERTY_PREFIX + "shopper-count", 2000),
+            Integer.getInteger(PROPERTY_PREFIX + "carts-per-shopper", 5),
+            Integer.getInteger(PROPERTY_PREFIX + "items-per-cart", 3),
+            Integer.getInteger(PROPERTY_PREFIX + "product-count", 1000),
+            System.getProperty(PROPERTY_PREFIX + "product-popularity", "zipf"),
+            Double.parseDouble(System.getProperty(PROPERTY_PREFIX + "zipf-exponent", "1.0")),
+            Duration.parse(System.getProperty(PROPERTY_PREFIX + "max-duration", "PT5M")));
+    }
+}
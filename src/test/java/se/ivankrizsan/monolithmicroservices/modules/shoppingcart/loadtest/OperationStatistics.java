@@ -0,0 +1,45 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.loadtest;
+
+/**
+ * Statistics of one operation invoked during a load test.
+ *
+ * @param operation Name of operation.
+ * @param count Number of successful invocations.
+ * @param errorCount Number of invocations that failed with an exception.
+ * @param throughput Successful invocations per second over the duration of the load test.
+ * @param p50Nanos Median latency in nanoseconds.
+ * @param p99Nanos 99th percentile latency in nanoseconds.
+ * @param p999Nanos 99.9th percentile latency in nanoseconds.
+ * @param maxNanos Highest latency in nanoseconds.
+ * @author Ivan Krizsan
+ */
+public record OperationStatistics(String operation,
+                                  long count,
+                                  long errorCount,
+                                  double throughput,
+                                  long p50Nanos,
+                                  long p99Nanos,
+                                  long p999Nanos,
+                                  long maxNanos) {
+
+    /**
+     * Formats the statistics as a line of a report table, with latencies in milliseconds.
+     *
+     * @return Formatted statistics.
+     */
+    public String toReportLine() {
+        return String.format("%-28s %10d %8d %12.1f %10.3f %10.3f %10.3f %10.3f",
+            operation, count, errorCount, throughput,
+            p50Nanos / 1e6, p99Nanos / 1e6, p999Nanos / 1e6, maxNanos / 1e6);
+    }
+
+    /**
+     * Retrieves the header of the report table.
+     *
+     * @return Report table header.
+     */
+    public static String reportHeader() {
+        return String.format("%-28s %10s %8s %12s %10s %10s %10s %10s",
+            "operation", "count", "errors", "ops/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+    }
+}
@@ -0,0 +1,80 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.loadtest;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Distribution of the popularity of products, determining which product a shopper picks.
+ * Products are identified by their index, where index zero is the most popular product.
+ *
+ * @author Ivan Krizsan
+ */
+public interface ProductPopularity {
+
+    /**
+     * Picks a product.
+     *
+     * @param inRandom Source of randomness.
+     * @return Index of picked product.
+     */
+    int nextProductIndex(RandomGenerator inRandom);
+
+    /**
+     * Creates a distribution in which all products are equally popular.
+     *
+     * @param inProductCount Number of products.
+     * @return Product popularity distribution.
+     */
+    static ProductPopularity uniform(final int inProductCount) {
+        Assert.isTrue(inProductCount > 0, "The product count must be positive");
+        return inRandom -> inRandom.nextInt(inProductCount);
+    }
+
+    /**
+     * Creates a Zipf distribution, in which the popularity of the product with rank k, starting at one,
+     * is proportional to 1 / k^s where s is the supplied exponent.
+     * With an exponent of one, the most popular product is picked twice as often as the second most
+     * popular product and the popularity falls off with a long tail, as observed in web shop traffic.
+     *
+     * @param inProductCount Number of products.
+     * @param inExponent Exponent of the distribution. Must be positive.
+     * @return Product popularity distribution.
+     */
+    static ProductPopularity zipf(final int inProductCount, final double inExponent) {
+        Assert.isTrue(inProductCount > 0, "The product count must be positive");
+        Assert.isTrue(inExponent > 0.0, "The exponent must be positive");
+
+        /* Cumulative, unnormalized, probabilities of the products used to pick a product using binary search. */
+        final double[] theCumulativeWeights = new double[inProductCount];
+        double theTotalWeight = 0.0;
+        for (int i = 0; i < inProductCount; i++) {
+            theTotalWeight += 1.0 / Math.pow(i + 1, inExponent);
+            theCumulativeWeights[i] = theTotalWeight;
+        }
+        final double theFinalTotalWeight = theTotalWeight;
+
+        return inRandom -> {
+            final double theWeight = inRandom.nextDouble() * theFinalTotalWeight;
+            final int theIndex = Arrays.binarySearch(theCumulativeWeights, theWeight);
+            return Math.min(theIndex >= 0 ? theIndex : -theIndex - 1, inProductCount - 1);
+        };
+    }
+
+    /**
+     * Creates the product popularity distribution with the supplied name.
+     *
+     * @param inName Name of distribution, {@code uniform} or {@code zipf}.
+     * @param inProductCount Number of products.
+     * @param inZipfExponent Exponent of the Zipf distribution. Not used by other distributions.
+     * @return Product popularity distribution.
+     */
+    static ProductPopularity named(final String inName, final int inProductCount, final double inZipfExponent) {
+        return switch (inName) {
+            case "uniform" -> uniform(inProductCount);
+            case "zipf" -> zipf(inProductCount, inZipfExponent);
+            default -> throw new IllegalArgumentException("Unknown product popularity distribution: " + inName);
+        };
+    }
+}
@@ -0,0 +1,62 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.loadtest;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+/**
+ * Tests the {@link ProductPopularity} distributions.
+ *
+ * @author Ivan Krizsan
+ */
+class ProductPopularityTest {
+    /* Constant(s): */
+    protected static final int PRODUCT_COUNT = 100;
+    protected static final int PICK_COUNT = 200000;
+
+    /**
+     * Tests picking products using a Zipf distribution with exponent one.
+     * Expected result:
+     * All picked product indexes should be within range.
+     * The most popular product should be picked about twice as often as the second most popular product.
+     */
+    @Test
+    void zipfTest() {
+        final int[] thePickCounts = pick(ProductPopularity.zipf(PRODUCT_COUNT, 1.0));
+
+        final double theRatio = (double) thePickCounts[0] / thePickCounts[1];
+        Assertions.assertEquals(2.0, theRatio, 0.1, "The first product should be twice as popular as the second");
+        Assertions.assertTrue(thePickCounts[0] > thePickCounts[PRODUCT_COUNT - 1] * 50);
+    }
+
+    /**
+     * Tests picking products using a uniform distribution.
+     * Expected result:
+     * All products should be picked about equally often.
+     */
+    @Test
+    void uniformTest() {
+        final int[] thePickCounts = pick(ProductPopularity.uniform(PRODUCT_COUNT));
+
+        final double theExpectedCount = (double) PICK_COUNT / PRODUCT_COUNT;
+        for (int thePickCount : thePickCounts) {
+            Assertions.assertEquals(theExpectedCount, thePickCount, theExpectedCount * 0.15);
+        }
+    }
+
+    /**
+     * Picks products using the supplied distribution.
+     *
+     * @param inProductPopularity Product popularity distribution.
+     * @return Number of times each product was picked.
+     */
+    protected int[] pick(final ProductPopularity inProductPopularity) {
+        final SplittableRandom theRandom = new SplittableRandom(1);
+        final int[] thePickCounts = new int[PRODUCT_COUNT];
+        for (int i = 0; i < PICK_COUNT; i++) {
+            thePickCounts[inProductPopularity.nextProductIndex(theRandom)]++;
+        }
+        return thePickCounts;
+    }
+}
@@ -0,0 +1,225 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.util.Assert;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Harness simulating concurrent shoppers, each running on a thread of its own, filling shopping carts
+ * with products from the warehouse and calculating the cart prices.
+ * Shopping carts are obtained from a supplier, so that carts are created the way the application creates them.
+ * Shoppers run on virtual threads when available. Virtual threads are a preview feature in Java 19, so the
+ * harness falls back to platform threads unless the tests are run with preview features enabled or on
+ * a later Java version.
+ * Each shopper invokes the next operation as soon as the previous has completed, so latencies are
+ * measured without correction for coordinated omission.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+public class ShoppingLoadHarness {
+    /* Constant(s): */
+    public static final String RETRIEVE_PRODUCT_UNIT_PRICE = "retrieveProductUnitPrice";
+    public static final String RETRIEVE_PRODUCT_AVAILABLE_AMOUNT = "retrieveProductAvailableAmount";
+    public static final String ADD_ITEM_TO_CART = "addItemToCart";
+    public static final String CALCULATE_CART_PRICE = "calculateCartPrice";
+    protected static final String PRODUCT_NUMBER_PREFIX = "LOAD-";
+    protected static final double PRODUCT_STOCK = 1.0E9;
+    protected static final double PRODUCT_UNIT_PRICE = 9.95;
+    protected static final double ITEM_AMOUNT = 1.0;
+    protected static final long RANDOM_SEED = 4711L;
+    /** Number of significant decimal digits of recorded latencies. */
+    protected static final int LATENCY_SIGNIFICANT_DIGITS = 3;
+
+    /* Dependencies: */
+    protected final WarehouseService mWarehouseService;
+    protected final Supplier<ShoppingCartService> mShoppingCartSupplier;
+
+    /* Instance variable(s): */
+    protected final LoadTestSettings mSettings;
+    protected final ProductPopularity mProductPopularity;
+    protected final Map<String, Histogram> mLatencyHistograms = new LinkedHashMap<>();
+    protected final Map<String, LongAdder> mErrorCounts = new LinkedHashMap<>();
+
+    /**
+     * Creates a harness that applies load to the supplied warehouse service and to shopping carts obtained
+     * from the supplied supplier, according to the supplied settings.
+     *
+     * @param inWarehouseService Warehouse service.
+     * @param inShoppingCartSupplier Supplies a new shopping cart using the warehouse service each time invoked.
+     * @param inSettings Load test settings.
+     */
+    public ShoppingLoadHarness(final WarehouseService inWarehouseService,
+                               final Supplier<ShoppingCartService> inShoppingCartSupplier,
+                               final LoadTestSettings inSettings) {
+        Assert.notNull(inWarehouseService, "A warehouse service is required");
+        Assert.notNull(inShoppingCartSupplier, "A shopping cart supplier is required");
+        Assert.notNull(inSettings, "Load test settings are required");
+        mWarehouseService = inWarehouseService;
+        mShoppingCartSupplier = inShoppingCartSupplier;
+        mSettings = inSettings;
+        mProductPopularity = ProductPopularity.named(
+            inSettings.productPopularity(), inSettings.productCount(), inSettings.zipfExponent());
+        for (String theOperation
+            : List.of(RETRIEVE_PRODUCT_UNIT_PRICE, RETRIEVE_PRODUCT_AVAILABLE_AMOUNT, ADD_ITEM_TO_CART, CALCULATE_CART_PRICE)) {
+            mLatencyHistograms.put(theOperation, new ConcurrentHistogram(LATENCY_SIGNIFICANT_DIGITS));
+            mErrorCounts.put(theOperation, new LongAdder());
+        }
+    }
+
+    /**
+     * Creates the products used in the load test, runs the shoppers and collects the statistics
+     * of the operations invoked by the shoppers.
+     *
+     * @return Statistics of each operation.
+     * @throws InterruptedException If interrupted while waiting for the shoppers to finish.
+     */
+    public List<OperationStatistics> run() throws InterruptedException {
+        createProducts();
+
+        final CountDownLatch theStartLatch = new CountDownLatch(1);
+        final long theStartTime;
+        final long theEndTime;
+        final ExecutorService theShopperExecutor = createShopperExecutor();
+        try {
+            for (int i = 0; i < mSettings.shopperCount(); i++) {
+                final SplittableRandom theShopperRandom = new SplittableRandom(RANDOM_SEED + i);
+                theShopperExecutor.execute(() -> {
+                    try {
+                        theStartLatch.await();
+                        shop(theShopperRandom);
+                    } catch (final InterruptedException theException) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            theStartTime = System.nanoTime();
+            theStartLatch.countDown();
+            theShopperExecutor.shutdown();
+            if (!theShopperExecutor.awaitTermination(mSettings.maxDuration().toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Load test did not complete within {}, interrupting shoppers", mSettings.maxDuration());
+            }
+            theEndTime = System.nanoTime();
+        } finally {
+            theShopperExecutor.shutdownNow();
+        }
+
+        return collectStatistics((theEndTime - theStartTime) / 1e9);
+    }
+
+    /**
+     * Fills and prices the number of shopping carts specified in the settings, picking products
+     * according to the product popularity distribution.
+     *
+     * @param inRandom Source of randomness of the shopper.
+     */
+    protected void shop(final SplittableRandom inRandom) {
+        for (int theCart = 0; theCart < mSettings.cartsPerShopper() && !Thread.currentThread().isInterrupted(); theCart++) {
+            final ShoppingCartService theShoppingCart = mShoppingCartSupplier.get();
+            for (int theItem = 0; theItem < mSettings.itemsPerCart(); theItem++) {
+                final String theProductNumber = productNumber(mProductPopularity.nextProductIndex(inRandom));
+                invoke(RETRIEVE_PRODUCT_UNIT_PRICE, () -> mWarehouseService.retrieveProductUnitPrice(theProductNumber));
+                invoke(RETRIEVE_PRODUCT_AVAILABLE_AMOUNT,
+                    () -> mWarehouseService.retrieveProductAvailableAmount(theProductNumber));
+                invoke(ADD_ITEM_TO_CART, () -> theShoppingCart.addItemToCart(theProductNumber, ITEM_AMOUNT));
+            }
+            invoke(CALCULATE_CART_PRICE, theShoppingCart::calculateCartPrice);
+            theShoppingCart.emptyCart();
+        }
+    }
+
+    /**
+     * Invokes the supplied operation, recording its latency if successful and counting it as an error otherwise.
+     *
+     * @param inOperationName Name of operation.
+     * @param inOperation Operation to invoke.
+     */
+    protected void invoke(final String inOperationName, final Supplier<?> inOperation) {
+        final long theStartTime = System.nanoTime();
+        try {
+            inOperation.get();
+            mLatencyHistograms.get(inOperationName).recordValue(System.nanoTime() - theStartTime);
+        } catch (final RuntimeException theException) {
+            mErrorCounts.get(inOperationName).increment();
+            log.debug("Operation {} failed", inOperationName, theException);
+        }
+    }
+
+    /**
+     * Creates the products of the load test in the warehouse, each with a stock that will not run out.
+     */
+    protected void createProducts() {
+        final List<ProductDefinition> theProductDefinitions = new ArrayList<>();
+        for (int i = 0; i < mSettings.productCount(); i++) {
+            theProductDefinitions.add(new ProductDefinition(productNumber(i), "Load test product " + i, PRODUCT_UNIT_PRICE));
+        }
+        mWarehouseService.createProductsInWarehouse(theProductDefinitions);
+        for (ProductDefinition theProductDefinition : theProductDefinitions) {
+            mWarehouseService.increaseProductStock(theProductDefinition.productNumber(), PRODUCT_STOCK);
+        }
+    }
+
+    /**
+     * Collects the statistics of the operations invoked during the load test.
+     *
+     * @param inElapsedSeconds Duration of the load test in seconds.
+     * @return Statistics of each operation.
+     */
+    protected List<OperationStatistics> collectStatistics(final double inElapsedSeconds) {
+        final List<OperationStatistics> theStatistics = new ArrayList<>();
+        mLatencyHistograms.forEach((inOperation, inHistogram) -> {
+            final long theCount = inHistogram.getTotalCount();
+            theStatistics.add(new OperationStatistics(
+                inOperation,
+                theCount,
+                mErrorCounts.get(inOperation).sum(),
+                inElapsedSeconds > 0 ? theCount / inElapsedSeconds : 0.0,
+                inHistogram.getValueAtPercentile(50.0),
+                inHistogram.getValueAtPercentile(99.0),
+                inHistogram.getValueAtPercentile(99.9),
+                inHistogram.getMaxValue()));
+        });
+        return theStatistics;
+    }
+
+    /**
+     * Creates the executor running the shoppers, using one virtual thread per shopper if virtual threads
+     * are available and one platform thread per shopper otherwise.
+     *
+     * @return Shopper executor.
+     */
+    protected static ExecutorService createShopperExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException | UnsupportedOperationException theException) {
+            log.info("Virtual threads are not available, shoppers run on platform threads");
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Creates the product number of the product with the supplied index.
+     *
+     * @param inProductIndex Product index.
+     * @return Product number.
+     */
+    protected static String productNumber(final int inProductIndex) {
+        return PRODUCT_NUMBER_PREFIX + inProductIndex;
+    }
+}
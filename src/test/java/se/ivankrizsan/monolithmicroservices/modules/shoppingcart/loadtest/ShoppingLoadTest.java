@@ -0,0 +1,91 @@
+package se.ivankrizsan.monolithmicroservices.modules.shoppingcart.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.api.ShoppingCartService;
+import se.ivankrizsan.monolithmicroservices.modules.shoppingcart.configuration.ShoppingCartConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+import java.util.List;
+
+/**
+ * Load test simulating concurrent shoppers using the {@link ShoppingLoadHarness} against shopping carts and
+ * the warehouse service backed by an embedded H2 database, reporting throughput and latency percentiles per
+ * operation. Shopping carts are obtained from the application context, as configured by the application.
+ * Excluded from the default build. Run using for example:
+ * {@code mvn test -Dgroups=load -DexcludedGroups=none -Dtest=ShoppingLoadTest -Dload.shopper-count=5000}
+ * See {@link LoadTestSettings} for the available settings.
+ * The application context uses a JCache cache manager of its own, so that the many products the test leaves
+ * in the second-level cache are not seen by other tests and so that the application context can remain cached
+ * without closing a cache manager used by other application contexts.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@Tag(ShoppingLoadTest.LOAD_TEST_TAG)
+@DataJpaTest()
+@ContextConfiguration(classes = { ShoppingCartConfiguration.class, WarehouseConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ShoppingLoadTest {
+    /* Constant(s): */
+    public static final String LOAD_TEST_TAG = "load";
+    protected static final String CACHE_CONFIGURATION_RESOURCE = "/ehcache.xml";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected ObjectProvider<ShoppingCartService> mShoppingCartServiceProvider;
+
+    /**
+     * Makes Hibernate use a JCache cache manager of its own, configured by the same configuration as
+     * the application. The JCache provider keeps one cache manager per URI and the fragment of the URI
+     * distinguishes the URI from that of the application.
+     *
+     * @param inPropertyRegistry Registry in which to register properties.
+     */
+    @DynamicPropertySource
+    static void registerCacheManagerUri(final DynamicPropertyRegistry inPropertyRegistry) {
+        inPropertyRegistry.add("spring.jpa.properties.hibernate.javax.cache.uri",
+            () -> ShoppingLoadTest.class.getResource(CACHE_CONFIGURATION_RESOURCE) + "#"
+                + ShoppingLoadTest.class.getSimpleName());
+    }
+
+    /**
+     * Tests applying shopping load to the warehouse.
+     * Expected result:
+     * All operations should have been invoked without errors.
+     * A report with throughput and latency percentiles of each operation should be logged.
+     */
+    @Test
+    void shoppingLoadTest() throws InterruptedException {
+        final LoadTestSettings theSettings = LoadTestSettings.fromSystemProperties();
+        log.info("Running load test with settings {}", theSettings);
+
+        final List<OperationStatistics> theStatistics = new ShoppingLoadHarness(
+            mWarehouseService, mShoppingCartServiceProvider::getObject, theSettings).run();
+
+        final StringBuilder theReport = new StringBuilder(OperationStatistics.reportHeader());
+        theStatistics.forEach(inStatistics -> theReport.append('\n').append(inStatistics.toReportLine()));
+        log.info("Load test results:\n{}", theReport);
+
+        final long theExpectedCartCount = (long) theSettings.shopperCount() * theSettings.cartsPerShopper();
+        for (OperationStatistics theOperationStatistics : theStatistics) {
+            Assertions.assertEquals(0, theOperationStatistics.errorCount(),
+                "No invocations of " + theOperationStatistics.operation() + " should fail");
+            Assertions.assertTrue(theOperationStatistics.count() >= theExpectedCartCount,
+                "All shoppers should have completed their carts");
+        }
+    }
+}
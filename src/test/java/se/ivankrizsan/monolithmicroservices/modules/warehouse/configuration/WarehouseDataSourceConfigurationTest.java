@@ -0,0 +1,119 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * Tests the {@link WarehouseDataSourceConfiguration}, with read/write routing enabled.
+ * The replica datasource connects to the same database as the primary datasource, so that the
+ * replica contains the data written to the primary.
+ * Tests are not run in a transaction, so that each operation uses a transaction of its own.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    WarehouseDataSourceConfiguration.ROUTING_PROPERTIES_PREFIX + ".enabled=true",
+    WarehouseDataSourceConfiguration.ROUTING_PROPERTIES_PREFIX + ".staleness-policy=allow-stale-reads",
+    WarehouseDataSourceConfiguration.DATASOURCE_PROPERTIES_PREFIX + ".primary.url="
+        + WarehouseDataSourceConfigurationTest.WAREHOUSE_DATABASE_URL,
+    WarehouseDataSourceConfiguration.DATASOURCE_PROPERTIES_PREFIX + ".replica.url="
+        + WarehouseDataSourceConfigurationTest.WAREHOUSE_DATABASE_URL
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseDataSourceConfigurationTest {
+    /* Constant(s): */
+    public final static String WAREHOUSE_DATABASE_URL = "jdbc:h2:mem:warehouse-routing;DB_CLOSE_ON_EXIT=FALSE";
+    public final static String PRODUCT_NUMBER = "ROUTING-1";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected DataSource mApplicationDataSource;
+    @Autowired
+    protected EntityManagerFactory mApplicationEntityManagerFactory;
+    @Autowired
+    @Qualifier(WarehousePersistenceUnit.DATA_SOURCE)
+    protected DataSource mWarehouseDataSource;
+    @Autowired
+    @Qualifier(WarehousePersistenceUnit.ENTITY_MANAGER_FACTORY)
+    protected EntityManagerFactory mWarehouseEntityManagerFactory;
+    @Autowired
+    @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER)
+    protected PlatformTransactionManager mWarehouseTransactionManager;
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+
+    /**
+     * Tests the persistence units of the application and of the warehouse when routing is enabled.
+     * Expected result:
+     * The application datasource should not be the routing warehouse datasource.
+     * The warehouse entities should be in the warehouse persistence unit only.
+     */
+    @Test
+    void routingOnlyInWarehousePersistenceUnitTest() {
+        Assertions.assertNotSame(mApplicationDataSource, mWarehouseDataSource,
+            "The application datasource should not be the routing warehouse datasource");
+        Assertions.assertTrue(
+            mWarehouseEntityManagerFactory
+                .getMetamodel()
+                .getEntities()
+                .stream()
+                .map(EntityType::getJavaType)
+                .anyMatch(Product.class::equals),
+            "Products should be in the warehouse persistence unit");
+        Assertions.assertTrue(
+            mApplicationEntityManagerFactory
+                .getMetamodel()
+                .getEntities()
+                .stream()
+                .map(EntityType::getJavaType)
+                .noneMatch(Product.class::equals),
+            "Products should not be in the persistence unit of the application");
+    }
+
+    /**
+     * Tests reading a product that is not cached, first in a read-only transaction, which may be routed
+     * to the replica, and then in a read-write transaction, which uses the primary.
+     * Expected result:
+     * The product read in the read-only transaction should not have been put into the second-level cache.
+     * The product read in the read-write transaction should have been put into the second-level cache.
+     */
+    @Test
+    void readOnlyTransactionsDoNotPutIntoCacheTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCT_NUMBER, "Routing product", 1.0);
+        mWarehouseEntityManagerFactory.getCache().evictAll();
+        final TransactionTemplate theReadOnlyTransactionTemplate = new TransactionTemplate(mWarehouseTransactionManager);
+        theReadOnlyTransactionTemplate.setReadOnly(true);
+        final TransactionTemplate theReadWriteTransactionTemplate = new TransactionTemplate(mWarehouseTransactionManager);
+
+        final Long theProductId = theReadOnlyTransactionTemplate.execute(
+            inStatus -> mProductRepository.findByProductNumber(PRODUCT_NUMBER).orElseThrow().id());
+        Assertions.assertFalse(mWarehouseEntityManagerFactory.getCache().contains(Product.class, theProductId),
+            "A product read in a read-only transaction should not have been put into the cache");
+
+        theReadWriteTransactionTemplate.executeWithoutResult(
+            inStatus -> mProductRepository.findByProductNumber(PRODUCT_NUMBER).orElseThrow());
+        Assertions.assertTrue(mWarehouseEntityManagerFactory.getCache().contains(Product.class, theProductId),
+            "A product read in a read-write transaction should have been put into the cache");
+    }
+}
@@ -0,0 +1,49 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservation;
+
+/**
+ * Tests the {@link WarehouseRuntimeHints}.
+ *
+ * @author Ivan Krizsan
+ */
+class WarehouseRuntimeHintsTest {
+
+    /**
+     * Tests registering the runtime hints of the warehouse module.
+     * Expected result:
+     * The fields, constructors and public methods of the warehouse entities should be reflectively accessible.
+     * The constructors of query result types should be reflectively accessible.
+     * The cache configuration should be registered as a resource.
+     */
+    @Test
+    void registerHintsTest() {
+        final RuntimeHints theRuntimeHints = new RuntimeHints();
+
+        new WarehouseRuntimeHints().registerHints(theRuntimeHints, getClass().getClassLoader());
+
+        for (Class<?> theEntityClass : new Class<?>[] { Product.class, ProductReservation.class }) {
+            Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(theEntityClass)
+                .withMemberCategories(
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS)
+                .test(theRuntimeHints), "Reflection hints should be registered for " + theEntityClass.getName());
+        }
+        Assertions.assertTrue(RuntimeHintsPredicates.reflection()
+            .onType(ProductCatalogEntry.class)
+            .withMemberCategories(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+            .test(theRuntimeHints));
+        Assertions.assertTrue(RuntimeHintsPredicates.resource()
+            .forResource(WarehouseRuntimeHints.CACHE_CONFIGURATION_RESOURCE)
+            .test(theRuntimeHints));
+    }
+}
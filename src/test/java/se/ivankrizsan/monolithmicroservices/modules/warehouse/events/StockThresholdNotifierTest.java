@@ -0,0 +1,239 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdNotification;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.StockThresholdSubscription;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEventType;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tests notifications of products crossing stock thresholds by the {@link StockThresholdNotifier}.
+ * Tests are not run in a transaction, so that each warehouse service operation is committed and published.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StockThresholdNotifierTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    protected static final double OUT_OF_STOCK_THRESHOLD = 0.0;
+    protected static final double LOW_STOCK_THRESHOLD = 5.0;
+    protected static final long NOTIFICATION_TIMEOUT_SECONDS = 5;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected StockThresholdService mStockThresholdService;
+    @Autowired
+    @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER)
+    protected PlatformTransactionManager mTransactionManager;
+    protected final BlockingQueue<StockThresholdNotification> mNotifications = new LinkedBlockingQueue<>();
+    protected StockThresholdSubscription mSubscription;
+
+    /**
+     * Creates a product with available stock in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCTA_PRODUCTNUMBER, "Product A", 10.0);
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 10.0);
+    }
+
+    /**
+     * Cleans up after each test by cancelling the subscription and deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        if (mSubscription != null) {
+            mSubscription.cancel();
+        }
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests subscribing to the low stock and out of stock thresholds of a product and then reserving,
+     * removing reservations of and increasing the stock of the product.
+     * Expected result:
+     * The subscriber should first be notified of the current available amount, which is above all thresholds.
+     * The subscriber should then be notified each time the available amount crosses a threshold, but not when
+     * the available amount changes without crossing a threshold.
+     */
+    @Test
+    void thresholdCrossingNotificationsTest() throws Exception {
+        mSubscription = mStockThresholdService.subscribe(
+            PRODUCTA_PRODUCTNUMBER, List.of(LOW_STOCK_THRESHOLD, OUT_OF_STOCK_THRESHOLD), mNotifications::add);
+        assertNextNotification(10.0, null);
+
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 2.0);
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 4.0);
+        assertNextNotification(4.0, LOW_STOCK_THRESHOLD);
+
+        final Long theReservationId = mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 4.0).orElseThrow();
+        assertNextNotification(0.0, OUT_OF_STOCK_THRESHOLD);
+
+        /* Consuming a reservation does not change the available amount. */
+        mWarehouseService.removeProductReservation(theReservationId);
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 20.0);
+        assertNextNotification(20.0, null);
+        Assertions.assertNull(mNotifications.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Tests cancelling a subscription and then reserving all of the product.
+     * Expected result:
+     * No notification should be received after the initial notification.
+     */
+    @Test
+    void cancelSubscriptionTest() throws Exception {
+        mSubscription = mStockThresholdService.subscribe(
+            PRODUCTA_PRODUCTNUMBER, List.of(OUT_OF_STOCK_THRESHOLD), mNotifications::add);
+        assertNextNotification(10.0, null);
+
+        mSubscription.cancel();
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 10.0);
+
+        Assertions.assertNull(mNotifications.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Tests subscribing to the thresholds of a product while the product is being reserved, one unit at a time,
+     * until out of stock.
+     * Expected result:
+     * The last notification should be of the product being out of stock, regardless of whether the initial
+     * notification is created before, during or after the reservations.
+     */
+    @Test
+    void subscribeWhileReservingTest() throws Exception {
+        final Thread theReservingThread = new Thread(() -> {
+            for (int i = 0; i < 10; i++) {
+                mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 1.0);
+            }
+        });
+        theReservingThread.start();
+        mSubscription = mStockThresholdService.subscribe(
+            PRODUCTA_PRODUCTNUMBER, List.of(LOW_STOCK_THRESHOLD, OUT_OF_STOCK_THRESHOLD), mNotifications::add);
+        theReservingThread.join();
+
+        StockThresholdNotification theLastNotification =
+            mNotifications.poll(NOTIFICATION_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        StockThresholdNotification theNotification;
+        while ((theNotification = mNotifications.poll(500, TimeUnit.MILLISECONDS)) != null) {
+            theLastNotification = theNotification;
+        }
+        Assertions.assertEquals(
+            new StockThresholdNotification(PRODUCTA_PRODUCTNUMBER, 0.0, OUT_OF_STOCK_THRESHOLD), theLastNotification);
+    }
+
+    /**
+     * Tests delivering a large number of events of a subscribed product, each in a batch of its own,
+     * while the notifier thread is busy notifying a listener.
+     * Expected result:
+     * The checks of the product requested while the notifier thread was busy should be coalesced into one check.
+     */
+    @Test
+    void checksCoalescedWhileNotifierBusyTest() throws Exception {
+        final CountDownLatch theListenerBlockedLatch = new CountDownLatch(1);
+        final CountDownLatch theReleaseListenerLatch = new CountDownLatch(1);
+        final AtomicInteger theCheckCount = new AtomicInteger();
+        final StockThresholdNotifier theNotifier = new StockThresholdNotifier(mWarehouseService, mTransactionManager) {
+            @Override
+            protected void checkThresholds(final String inProductNumber) {
+                theCheckCount.incrementAndGet();
+                super.checkThresholds(inProductNumber);
+            }
+        };
+        try {
+            theNotifier.subscribe(PRODUCTA_PRODUCTNUMBER, List.of(OUT_OF_STOCK_THRESHOLD), inNotification -> {
+                theListenerBlockedLatch.countDown();
+                awaitUninterruptibly(theReleaseListenerLatch);
+            });
+            Assertions.assertTrue(theListenerBlockedLatch.await(NOTIFICATION_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+            final WarehouseEvent theEvent = new WarehouseEvent();
+            theEvent.setValues(WarehouseEventType.RESERVATION_CREATED, PRODUCTA_PRODUCTNUMBER, 1.0, 1L);
+            for (int i = 0; i < 100; i++) {
+                theNotifier.onEvent(theEvent, i, true);
+            }
+        } finally {
+            theReleaseListenerLatch.countDown();
+            theNotifier.close();
+        }
+
+        Assertions.assertEquals(2, theCheckCount.get(), "Initial check and one coalesced check expected");
+    }
+
+    /**
+     * Tests subscribing to the thresholds of a product that does not exist in the warehouse.
+     * Expected result:
+     * A product not in warehouse exception should be thrown.
+     */
+    @Test
+    void subscribeNonExistingProductTest() {
+        Assertions.assertThrows(ProductNotInWarehouseException.class, () -> mStockThresholdService.subscribe(
+            "no-such-product", List.of(OUT_OF_STOCK_THRESHOLD), mNotifications::add));
+    }
+
+    /**
+     * Asserts that the next notification received is of product A with the supplied available amount
+     * and threshold.
+     *
+     * @param inExpectedAvailableAmount Expected available amount.
+     * @param inExpectedThreshold Expected threshold, null if above all thresholds.
+     * @throws InterruptedException If interrupted while waiting for notification.
+     */
+    protected void assertNextNotification(final double inExpectedAvailableAmount, final Double inExpectedThreshold)
+        throws InterruptedException {
+        Assertions.assertEquals(
+            new StockThresholdNotification(PRODUCTA_PRODUCTNUMBER, inExpectedAvailableAmount, inExpectedThreshold),
+            mNotifications.poll(NOTIFICATION_TIMEOUT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Waits for the supplied latch, ignoring interrupts.
+     *
+     * @param inLatch Latch to wait for.
+     */
+    protected static void awaitUninterruptibly(final CountDownLatch inLatch) {
+        try {
+            inLatch.await();
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.events;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventBus;
+import se.ivankrizsan.monolithmicroservices.modules.eventbus.api.EventHandler;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEvent;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEventType;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests publishing of warehouse events by the {@link WarehouseEventPublishingChangeListener}.
+ * Tests are not run in a transaction, so that each warehouse service operation is committed.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseEventPublishingChangeListenerTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static double PRODUCTA_UNITPRICE = 15.41;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected EventBus<WarehouseEvent> mWarehouseEventBus;
+    @Autowired
+    @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER)
+    protected PlatformTransactionManager mWarehouseTransactionManager;
+    protected final BlockingQueue<String> mReceivedEvents = new LinkedBlockingQueue<>();
+    protected final EventHandler<WarehouseEvent> mEventHandler = (inEvent, inSequence, inEndOfBatch) ->
+        mReceivedEvents.add(inEvent.getType() + ":" + inEvent.getProductNumber() + ":" + inEvent.getAmount());
+
+    /**
+     * Creates a product in the warehouse and subscribes to warehouse events before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCTA_PRODUCTNUMBER, "Product A", PRODUCTA_UNITPRICE);
+        mWarehouseEventBus.subscribe(mEventHandler);
+    }
+
+    /**
+     * Cleans up after each test by unsubscribing and deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mWarehouseEventBus.unsubscribe(mEventHandler);
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests increasing the stock of a product, reserving an amount of it and removing the reservation.
+     * Expected result:
+     * Events for the stock increase, the reservation and the consumed reservation should be
+     * received in the order in which the changes were made.
+     */
+    @Test
+    void stockAndReservationEventsTest() throws Exception {
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 10.0);
+        final Long theReservationId = mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 3.0).orElseThrow();
+        mWarehouseService.removeProductReservation(theReservationId);
+
+        final List<String> theExpectedEvents = List.of(
+            WarehouseEventType.STOCK_INCREASED + ":" + PRODUCTA_PRODUCTNUMBER + ":10.0",
+            WarehouseEventType.RESERVATION_CREATED + ":" + PRODUCTA_PRODUCTNUMBER + ":3.0",
+            WarehouseEventType.RESERVATION_CONSUMED + ":" + PRODUCTA_PRODUCTNUMBER + ":3.0");
+        for (String theExpectedEvent : theExpectedEvents) {
+            Assertions.assertEquals(theExpectedEvent, mReceivedEvents.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    /**
+     * Tests increasing the stock of a product in a transaction that is rolled back, followed by
+     * increasing the stock of the product in a transaction that is committed.
+     * Expected result:
+     * Only the event of the committed stock increase should be received.
+     */
+    @Test
+    void rolledBackChangeNotPublishedTest() throws Exception {
+        final TransactionTemplate theTransactionTemplate = new TransactionTemplate(mWarehouseTransactionManager);
+        theTransactionTemplate.executeWithoutResult(inStatus -> {
+            mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 5.0);
+            inStatus.setRollbackOnly();
+        });
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 7.0);
+
+        Assertions.assertEquals(WarehouseEventType.STOCK_INCREASED + ":" + PRODUCTA_PRODUCTNUMBER + ":7.0",
+            mReceivedEvents.poll(5, TimeUnit.SECONDS));
+        Assertions.assertNull(mReceivedEvents.poll(100, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,195 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.export;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.InventorySnapshotService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.InventorySnapshotSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductStockBucketRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tests exporting inventory snapshots using the {@link InventorySnapshotExporter} and reading them
+ * using the {@link ColumnarSnapshotReader}.
+ * The row group size is small, so that snapshots contain several row groups of each table.
+ * Tests are not run in a transaction, so that the products and reservations are committed before exporting.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.export.row-group-size=" + InventorySnapshotExporterTest.ROW_GROUP_SIZE,
+    "warehouse.stock-buckets.enabled=true",
+    "warehouse.stock-buckets.bucket-count=4",
+    "warehouse.stock-buckets.product-numbers=" + InventorySnapshotExporterTest.FLASHSALE_PRODUCTNUMBER,
+    "warehouse.stock-buckets.contended-reservations-before-split=0"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InventorySnapshotExporterTest {
+    /* Constant(s): */
+    public final static int ROW_GROUP_SIZE = 16;
+    public final static String FLASHSALE_PRODUCTNUMBER = "FLASH-1";
+    protected static final int PRODUCT_COUNT = 50;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected ProductStockBucketRepository mProductStockBucketRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected InventorySnapshotService mInventorySnapshotService;
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+        mProductStockBucketRepository.deleteAll();
+    }
+
+    /**
+     * Tests exporting a snapshot of products, one of which has its stock split into stock buckets,
+     * and reservations of the products, and then reading the snapshot.
+     * Expected result:
+     * The summary should contain the number of products, reservations and bytes of the snapshot.
+     * The schema of the snapshot should contain the product and product reservation tables.
+     * The snapshot should contain all products ordered by product number, with available and reserved amounts
+     * including those of stock buckets, and all reservations ordered by id, with the stock bucket of
+     * reservations of products with stock buckets.
+     */
+    @Test
+    void exportAndReadSnapshotTest() throws Exception {
+        final List<ProductDefinition> theProductDefinitions = new ArrayList<>();
+        for (int theProduct = 0; theProduct < PRODUCT_COUNT; theProduct++) {
+            theProductDefinitions.add(
+                new ProductDefinition(productNumber(theProduct), "Product " + theProduct, 1.5 * theProduct));
+        }
+        theProductDefinitions.add(new ProductDefinition(FLASHSALE_PRODUCTNUMBER, "Flash sale product", 9.99));
+        mWarehouseService.createProductsInWarehouse(theProductDefinitions);
+
+        final List<Long> theRegularReservationIds = new ArrayList<>();
+        for (int theProduct = 0; theProduct < PRODUCT_COUNT; theProduct++) {
+            mWarehouseService.increaseProductStock(productNumber(theProduct), 10.0);
+            theRegularReservationIds.add(
+                mWarehouseService.reserveProduct(productNumber(theProduct), 3.0).orElseThrow());
+        }
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 100.0);
+        final Long theFlashSaleReservationId =
+            mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 20.0).orElseThrow();
+
+        final ByteArrayOutputStream theSnapshotBytes = new ByteArrayOutputStream();
+        final InventorySnapshotSummary theSummary =
+            mInventorySnapshotService.exportSnapshot(Channels.newChannel(theSnapshotBytes));
+
+        Assertions.assertEquals(
+            new InventorySnapshotSummary(PRODUCT_COUNT + 1, PRODUCT_COUNT + 1, theSnapshotBytes.size()),
+            theSummary);
+
+        final List<Object[]> theProductRows = new ArrayList<>();
+        final List<Object[]> theReservationRows = new ArrayList<>();
+        final ColumnarSnapshotReader theReader = readSnapshot(theSnapshotBytes.toByteArray());
+        Assertions.assertEquals(InventorySnapshotExporter.SNAPSHOT_TABLES, theReader.getTables());
+        theReader.readRows((inTable, inValues) ->
+            (inTable.name().equals("product") ? theProductRows : theReservationRows).add(inValues));
+
+        Assertions.assertEquals(PRODUCT_COUNT + 1, theProductRows.size());
+        for (int theProduct = 0; theProduct < PRODUCT_COUNT; theProduct++) {
+            Assertions.assertArrayEquals(
+                new Object[] { productNumber(theProduct), "Product " + theProduct, 1.5 * theProduct, 7.0, 3.0, 0 },
+                theProductRows.get(theProduct));
+        }
+        Assertions.assertArrayEquals(
+            new Object[] { FLASHSALE_PRODUCTNUMBER, "Flash sale product", 9.99, 80.0, 20.0, 4 },
+            theProductRows.get(PRODUCT_COUNT));
+
+        Assertions.assertEquals(PRODUCT_COUNT + 1, theReservationRows.size());
+        for (int theReservation = 0; theReservation < PRODUCT_COUNT; theReservation++) {
+            Assertions.assertArrayEquals(
+                new Object[] { theRegularReservationIds.get(theReservation), productNumber(theReservation), 3.0, null },
+                theReservationRows.get(theReservation));
+        }
+        final Object[] theFlashSaleReservation = theReservationRows.get(PRODUCT_COUNT);
+        Assertions.assertEquals(theFlashSaleReservationId, theFlashSaleReservation[0]);
+        Assertions.assertEquals(FLASHSALE_PRODUCTNUMBER, theFlashSaleReservation[1]);
+        Assertions.assertEquals(20.0, theFlashSaleReservation[2]);
+        Assertions.assertNotNull(theFlashSaleReservation[3]);
+    }
+
+    /**
+     * Tests exporting a snapshot of an empty warehouse and then reading the snapshot.
+     * Expected result:
+     * The snapshot should contain the schema but no rows.
+     */
+    @Test
+    void exportEmptySnapshotTest() throws Exception {
+        final ByteArrayOutputStream theSnapshotBytes = new ByteArrayOutputStream();
+        final InventorySnapshotSummary theSummary =
+            mInventorySnapshotService.exportSnapshot(Channels.newChannel(theSnapshotBytes));
+
+        Assertions.assertEquals(new InventorySnapshotSummary(0, 0, theSnapshotBytes.size()), theSummary);
+        final ColumnarSnapshotReader theReader = readSnapshot(theSnapshotBytes.toByteArray());
+        Assertions.assertEquals(InventorySnapshotExporter.SNAPSHOT_TABLES, theReader.getTables());
+        theReader.readRows((inTable, inValues) -> Assertions.fail("Unexpected row " + Arrays.toString(inValues)));
+    }
+
+    /**
+     * Tests reading bytes that are not an inventory snapshot.
+     * Expected result:
+     * An IO exception should be thrown.
+     */
+    @Test
+    void readNonSnapshotTest() {
+        Assertions.assertThrows(IOException.class, () -> readSnapshot("not a snapshot".getBytes()));
+    }
+
+    /**
+     * Creates a reader of the snapshot contained in the supplied bytes.
+     *
+     * @param inSnapshotBytes Snapshot bytes.
+     * @return Snapshot reader.
+     * @throws IOException If an error occurs reading the snapshot header.
+     */
+    protected ColumnarSnapshotReader readSnapshot(final byte[] inSnapshotBytes) throws IOException {
+        return new ColumnarSnapshotReader(Channels.newChannel(new ByteArrayInputStream(inSnapshotBytes)));
+    }
+
+    /**
+     * Creates the product number of the regular product with the supplied index, such that product numbers
+     * are ordered as their indexes.
+     *
+     * @param inProductIndex Product index.
+     * @return Product number.
+     */
+    protected static String productNumber(final int inProductIndex) {
+        return String.format("12345-%03d", inProductIndex);
+    }
+}
@@ -0,0 +1,107 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import se.ivankrizsan.monolithmicroservices.modules.resilience.api.ConcurrencyLimiter;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ReservationAdmissionStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ReservationRejectedException;
+
+import java.util.Optional;
+
+/**
+ * Tests the {@link AdmissionControlledWarehouseService} when reservation admission control is enabled
+ * with a concurrency limit of one reservation.
+ * The test occupies the only reservation permit by acquiring it from the reservation limiter.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.admission-control.enabled=true",
+    "warehouse.admission-control.initial-limit=1",
+    "warehouse.admission-control.min-limit=1",
+    "warehouse.admission-control.max-limit=1",
+    "warehouse.admission-control.latency-target=10s"
+})
+class AdmissionControlledWarehouseServiceTest {
+    /* Constant(s): */
+    public final static String PRODUCT_PRODUCTNUMBER = "12345-1";
+    public final static String NONEXISTING_PRODUCTNUMBER = "99999-9";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected WarehouseStatisticsService mWarehouseStatisticsService;
+    @Autowired
+    @Qualifier(WarehouseConfiguration.RESERVATION_LIMITER)
+    protected ConcurrencyLimiter mReservationLimiter;
+
+    /**
+     * Creates a product in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCT_PRODUCTNUMBER, "Product", 10.0);
+        mWarehouseService.increaseProductStock(PRODUCT_PRODUCTNUMBER, 100.0);
+    }
+
+    /**
+     * Tests reserving a product when the reservation concurrency limit has been reached.
+     * Expected result:
+     * The reservation should be rejected immediately with an exception containing the product number.
+     * The reservation admission statistics should show the rejected reservation.
+     * After the permit has been released, a reservation should be admitted and succeed.
+     */
+    @Test
+    void rejectReservationWhenLimitReachedTest() {
+        final long theRejectedCountBefore =
+            mWarehouseStatisticsService.retrieveReservationAdmissionStatistics().rejectedReservationCount();
+        final ConcurrencyLimiter.Permit thePermit = mReservationLimiter.tryAcquire().orElseThrow();
+
+        final ReservationRejectedException theException = Assertions.assertThrows(
+            ReservationRejectedException.class,
+            () -> mWarehouseService.reserveProduct(PRODUCT_PRODUCTNUMBER, 1.0));
+
+        Assertions.assertEquals(PRODUCT_PRODUCTNUMBER, theException.getProductNumber());
+        final ReservationAdmissionStatistics theStatistics =
+            mWarehouseStatisticsService.retrieveReservationAdmissionStatistics();
+        Assertions.assertEquals(1, theStatistics.concurrencyLimit());
+        Assertions.assertEquals(1, theStatistics.inFlightReservations());
+        Assertions.assertEquals(theRejectedCountBefore + 1, theStatistics.rejectedReservationCount());
+
+        thePermit.onIgnore();
+        final Optional<Long> theReservationId = mWarehouseService.reserveProduct(PRODUCT_PRODUCTNUMBER, 1.0);
+        Assertions.assertTrue(theReservationId.isPresent());
+        Assertions.assertEquals(0,
+            mWarehouseStatisticsService.retrieveReservationAdmissionStatistics().inFlightReservations());
+    }
+
+    /**
+     * Tests reserving a product that does not exist in the warehouse.
+     * Expected result:
+     * The exception of the underlying warehouse service should be thrown.
+     * The permit of the reservation should be released.
+     */
+    @Test
+    void releasePermitWhenReservationFailsTest() {
+        Assertions.assertThrows(ProductNotInWarehouseException.class,
+            () -> mWarehouseService.reserveProduct(NONEXISTING_PRODUCTNUMBER, 1.0));
+
+        final ReservationAdmissionStatistics theStatistics =
+            mWarehouseStatisticsService.retrieveReservationAdmissionStatistics();
+        Assertions.assertEquals(1, theStatistics.concurrencyLimit());
+        Assertions.assertEquals(0, theStatistics.inFlightReservations());
+    }
+}
@@ -0,0 +1,124 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+/**
+ * Tests the {@link HeavyHitterSketch}.
+ *
+ * @author Ivan Krizsan
+ */
+class HeavyHitterSketchTest {
+    /* Constant(s): */
+    protected static final int CAPACITY = 5;
+    protected static final int WIDTH = 1024;
+    protected static final int HOT_KEY_COUNT = 5;
+    protected static final int COLD_KEY_COUNT = 10_000;
+
+    /**
+     * Tests adding a stream in which a few hot keys are interleaved with a large number of cold keys.
+     * Expected result:
+     * The heavy hitters should be the hot keys, in descending order of their number of occurrences.
+     * The estimates of the hot keys should not be lower than their actual number of occurrences.
+     * Cold keys should not be heavy hitters.
+     */
+    @Test
+    void detectHotKeysTest() {
+        final HeavyHitterSketch<String> theSketch = new HeavyHitterSketch<>(CAPACITY, WIDTH, Long.MAX_VALUE);
+        final Random theRandom = new Random(42);
+        for (int i = 0; i < COLD_KEY_COUNT; i++) {
+            theSketch.add("cold-" + theRandom.nextInt(COLD_KEY_COUNT));
+            /* Hot key n occurs in (HOT_KEY_COUNT - n) of every HOT_KEY_COUNT cold keys. */
+            final int theHotKey = i % HOT_KEY_COUNT;
+            for (int n = 0; n <= theHotKey; n++) {
+                theSketch.add("hot-" + n);
+            }
+        }
+
+        final List<Map.Entry<String, Long>> theHeavyHitters = theSketch.heavyHitters();
+
+        Assertions.assertEquals(
+            List.of("hot-0", "hot-1", "hot-2", "hot-3", "hot-4"),
+            theHeavyHitters.stream().map(Map.Entry::getKey).toList());
+        for (int n = 0; n < HOT_KEY_COUNT; n++) {
+            final long theActualCount = (long) COLD_KEY_COUNT * (HOT_KEY_COUNT - n) / HOT_KEY_COUNT;
+            Assertions.assertTrue(theHeavyHitters.get(n).getValue() >= theActualCount);
+            Assertions.assertTrue(theSketch.isHeavyHitter("hot-" + n));
+        }
+        Assertions.assertFalse(theSketch.isHeavyHitter("cold-1"));
+    }
+
+    /**
+     * Tests adding more occurrences than the sample size.
+     * Expected result:
+     * All counts should have been halved, so that keys that no longer occur are replaced by keys
+     * that currently occur frequently.
+     */
+    @Test
+    void halveCountsAfterSampleSizeTest() {
+        final HeavyHitterSketch<String> theSketch = new HeavyHitterSketch<>(1, WIDTH, 100);
+        for (int i = 0; i < 99; i++) {
+            theSketch.add("old");
+        }
+        Assertions.assertEquals(99, theSketch.estimate("old"));
+
+        theSketch.add("new");
+        Assertions.assertEquals(49, theSketch.estimate("old"));
+        Assertions.assertEquals(0, theSketch.estimate("new"));
+
+        for (int i = 0; i < 99; i++) {
+            theSketch.add("new");
+        }
+        Assertions.assertEquals(List.of("new"),
+            theSketch.heavyHitters().stream().map(Map.Entry::getKey).toList());
+    }
+
+    /**
+     * Tests adding occurrences of the same keys from multiple threads concurrently.
+     * Expected result:
+     * No occurrences should be lost, so the estimates should equal the actual number of occurrences
+     * since no other keys collide with the keys.
+     */
+    @Test
+    void concurrentAddTest() throws InterruptedException {
+        final HeavyHitterSketch<String> theSketch = new HeavyHitterSketch<>(CAPACITY, WIDTH, Long.MAX_VALUE);
+        final int theThreadCount = 8;
+        final int theAddsPerThread = 10_000;
+        final Set<String> theKeys = Set.of("a", "b");
+        final CountDownLatch theStartLatch = new CountDownLatch(1);
+        final List<Thread> theThreads = new ArrayList<>();
+        for (int t = 0; t < theThreadCount; t++) {
+            final Thread theThread = new Thread(() -> {
+                try {
+                    theStartLatch.await();
+                } catch (final InterruptedException theException) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < theAddsPerThread; i++) {
+                    theKeys.forEach(theSketch::add);
+                }
+            });
+            theThreads.add(theThread);
+            theThread.start();
+        }
+        theStartLatch.countDown();
+        for (Thread theThread : theThreads) {
+            theThread.join();
+        }
+
+        final Map<String, Long> theHeavyHitters = theSketch.heavyHitters().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Assertions.assertEquals(
+            Map.of("a", (long) theThreadCount * theAddsPerThread, "b", (long) theThreadCount * theAddsPerThread),
+            theHeavyHitters);
+    }
+}
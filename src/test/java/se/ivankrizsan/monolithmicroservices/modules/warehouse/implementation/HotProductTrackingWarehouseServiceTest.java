@@ -0,0 +1,105 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.HotProduct;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.HotProductService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+import java.util.List;
+
+/**
+ * Tests the {@link HotProductTrackingWarehouseService} and the {@code HotProductService} detecting hot
+ * products from the accesses it records.
+ * The number of hot products is limited to two and counts are never halved.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.hot-products.hot-product-count=2",
+    "warehouse.hot-products.sample-size=" + Long.MAX_VALUE
+})
+class HotProductTrackingWarehouseServiceTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static String PRODUCTB_PRODUCTNUMBER = "12345-2";
+    public final static String PRODUCTC_PRODUCTNUMBER = "12345-3";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected HotProductService mHotProductService;
+
+    /**
+     * Creates three products in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        for (String theProductNumber
+            : new String[] { PRODUCTA_PRODUCTNUMBER, PRODUCTB_PRODUCTNUMBER, PRODUCTC_PRODUCTNUMBER }) {
+            mWarehouseService.createProductInWarehouse(theProductNumber, "Product " + theProductNumber, 10.0);
+            mWarehouseService.increaseProductStock(theProductNumber, 1000.0);
+        }
+    }
+
+    /**
+     * Tests looking up and reserving products of which product A is accessed the most,
+     * product B the second most and product C the least.
+     * Expected result:
+     * The hot products should be product A followed by product B, with estimated access counts
+     * not lower than their actual numbers of accesses.
+     * Product C should not be a hot product.
+     */
+    @Test
+    void detectHotProductsTest() {
+        final List<HotProduct> theHotProductsBefore = mHotProductService.retrieveHotProducts();
+        final long theProductAAccessesBefore = estimatedAccessCount(theHotProductsBefore, PRODUCTA_PRODUCTNUMBER);
+
+        for (int i = 0; i < 30; i++) {
+            mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+            mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 1.0);
+            if (i % 2 == 0) {
+                mWarehouseService.retrieveProductUnitPrices(List.of(PRODUCTB_PRODUCTNUMBER));
+                mWarehouseService.retrieveProductAvailableAmount(PRODUCTB_PRODUCTNUMBER);
+            }
+            if (i % 10 == 0) {
+                mWarehouseService.reserveProduct(PRODUCTC_PRODUCTNUMBER, 1.0);
+            }
+        }
+
+        final List<HotProduct> theHotProducts = mHotProductService.retrieveHotProducts();
+        Assertions.assertEquals(
+            List.of(PRODUCTA_PRODUCTNUMBER, PRODUCTB_PRODUCTNUMBER),
+            theHotProducts.stream().map(HotProduct::productNumber).toList());
+        Assertions.assertTrue(
+            estimatedAccessCount(theHotProducts, PRODUCTA_PRODUCTNUMBER) >= theProductAAccessesBefore + 60);
+        Assertions.assertTrue(mHotProductService.isHotProduct(PRODUCTA_PRODUCTNUMBER));
+        Assertions.assertFalse(mHotProductService.isHotProduct(PRODUCTC_PRODUCTNUMBER));
+    }
+
+    /**
+     * Finds the estimated access count of the product with the supplied product number among
+     * the supplied hot products.
+     *
+     * @param inHotProducts Hot products to search.
+     * @param inProductNumber Product number of product.
+     * @return Estimated access count, zero if the product is not a hot product.
+     */
+    protected long estimatedAccessCount(final List<HotProduct> inHotProducts, final String inProductNumber) {
+        return inHotProducts
+            .stream()
+            .filter(inHotProduct -> inHotProduct.productNumber().equals(inProductNumber))
+            .mapToLong(HotProduct::estimatedAccessCount)
+            .findFirst()
+            .orElse(0);
+    }
+}
@@ -0,0 +1,174 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogPage;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogQuery;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogSortOrder;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductStockBucket;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductStockBucketRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tests the {@link ProductCatalogServiceImplementation}.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+class ProductCatalogServiceImplementationTest {
+    /* Constant(s): */
+    protected static final String APPLE_JUICE_PRODUCTNUMBER = "A-1";
+    protected static final String APPLE_PIE_PRODUCTNUMBER = "A-2";
+    protected static final String APRICOT_JAM_PRODUCTNUMBER = "A-3";
+    protected static final String APPLE_CIDER_PRODUCTNUMBER = "A-4";
+    protected static final String BANANA_PRODUCTNUMBER = "B-1";
+    protected static final String DISCOUNTED_APPLE_PRODUCTNUMBER = "P-1";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected ProductCatalogService mProductCatalogService;
+    @Autowired
+    protected ProductStockBucketRepository mProductStockBucketRepository;
+
+    /**
+     * Creates the products of the catalog before each test.
+     * The stock of the apple cider has been split into one stock bucket.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        createProduct(APPLE_JUICE_PRODUCTNUMBER, "Apple juice", 3.0, 10.0);
+        createProduct(APPLE_PIE_PRODUCTNUMBER, "Apple pie", 8.0, 0.0);
+        createProduct(APRICOT_JAM_PRODUCTNUMBER, "Apricot jam", 5.0, 4.0);
+        createProduct(APPLE_CIDER_PRODUCTNUMBER, "Apple cider", 5.0, 0.0);
+        createProduct(BANANA_PRODUCTNUMBER, "Banana", 2.0, 20.0);
+        createProduct(DISCOUNTED_APPLE_PRODUCTNUMBER, "50% off Apple", 1.0, 1.0);
+        mProductStockBucketRepository.save(new ProductStockBucket(APPLE_CIDER_PRODUCTNUMBER, 0, 6.0));
+    }
+
+    /**
+     * Tests browsing the products which names start with a prefix in name order, two products per page.
+     * Expected result:
+     * The first page should contain the first two matching products and have a following page.
+     * The second page should contain the remaining two matching products and be the last page.
+     */
+    @Test
+    void browseByNamePrefixTest() {
+        final ProductCatalogPage theFirstPage = mProductCatalogService.browseProducts(
+            ProductCatalogQuery.firstPage("Ap", null, null, null, ProductCatalogSortOrder.NAME, 2));
+
+        Assertions.assertEquals(List.of(APPLE_CIDER_PRODUCTNUMBER, APPLE_JUICE_PRODUCTNUMBER),
+            productNumbers(theFirstPage));
+        Assertions.assertTrue(theFirstPage.nextPage().isPresent());
+
+        final ProductCatalogPage theSecondPage = mProductCatalogService.browseProducts(theFirstPage.nextPage().get());
+
+        Assertions.assertEquals(List.of(APPLE_PIE_PRODUCTNUMBER, APRICOT_JAM_PRODUCTNUMBER),
+            productNumbers(theSecondPage));
+        Assertions.assertTrue(theSecondPage.nextPage().isEmpty());
+    }
+
+    /**
+     * Tests browsing the available products in a price range in descending order of unit price.
+     * Expected result:
+     * The products in the price range having an available amount should be retrieved, ordered by descending
+     * unit price and, for the same unit price, descending product number.
+     * The available amount of the product which stock has been split should be the amount of its stock bucket.
+     */
+    @Test
+    void browseByAvailabilityAndPriceTest() {
+        final ProductCatalogPage thePage = mProductCatalogService.browseProducts(ProductCatalogQuery.firstPage(
+            null, 1.0, 3.0, 8.0, ProductCatalogSortOrder.UNIT_PRICE_DESCENDING, 10));
+
+        Assertions.assertEquals(
+            List.of(
+                new ProductCatalogEntry(APPLE_CIDER_PRODUCTNUMBER, "Apple cider", 5.0, 6.0),
+                new ProductCatalogEntry(APRICOT_JAM_PRODUCTNUMBER, "Apricot jam", 5.0, 4.0),
+                new ProductCatalogEntry(APPLE_JUICE_PRODUCTNUMBER, "Apple juice", 3.0, 10.0)),
+            thePage.products());
+        Assertions.assertTrue(thePage.nextPage().isEmpty());
+    }
+
+    /**
+     * Tests browsing all products in ascending order of unit price, one product per page.
+     * Expected result:
+     * Every product should be retrieved exactly once, including products having the same unit price,
+     * ordered by unit price and, for the same unit price, product number.
+     */
+    @Test
+    void browseAllPagesTest() {
+        final List<String> theProductNumbers = new ArrayList<>();
+        Optional<ProductCatalogQuery> theQuery = Optional.of(
+            ProductCatalogQuery.firstPage(null, null, null, null, ProductCatalogSortOrder.UNIT_PRICE_ASCENDING, 1));
+        while (theQuery.isPresent()) {
+            final ProductCatalogPage thePage = mProductCatalogService.browseProducts(theQuery.get());
+            theProductNumbers.addAll(productNumbers(thePage));
+            theQuery = thePage.nextPage();
+        }
+
+        Assertions.assertEquals(
+            List.of(DISCOUNTED_APPLE_PRODUCTNUMBER, BANANA_PRODUCTNUMBER, APPLE_JUICE_PRODUCTNUMBER,
+                APRICOT_JAM_PRODUCTNUMBER, APPLE_CIDER_PRODUCTNUMBER, APPLE_PIE_PRODUCTNUMBER),
+            theProductNumbers);
+    }
+
+    /**
+     * Tests browsing products by a name prefix containing a wildcard character.
+     * Expected result:
+     * The wildcard character should only match itself.
+     */
+    @Test
+    void browseByNamePrefixWithWildcardTest() {
+        Assertions.assertEquals(List.of(DISCOUNTED_APPLE_PRODUCTNUMBER),
+            productNumbers(mProductCatalogService.browseProducts(
+                ProductCatalogQuery.firstPage("50%", null, null, null, ProductCatalogSortOrder.NAME, 10))));
+        Assertions.assertEquals(List.of(),
+            productNumbers(mProductCatalogService.browseProducts(
+                ProductCatalogQuery.firstPage("5%", null, null, null, ProductCatalogSortOrder.NAME, 10))));
+    }
+
+    /**
+     * Creates a product with the supplied properties and available amount in the warehouse.
+     *
+     * @param inProductNumber Product number of product.
+     * @param inProductName Name of product.
+     * @param inUnitPrice Unit price of product.
+     * @param inAvailableAmount Available amount of product.
+     */
+    protected void createProduct(final String inProductNumber,
+                                 final String inProductName,
+                                 final double inUnitPrice,
+                                 final double inAvailableAmount) {
+        mWarehouseService.createProductInWarehouse(inProductNumber, inProductName, inUnitPrice);
+        if (inAvailableAmount > 0) {
+            mWarehouseService.increaseProductStock(inProductNumber, inAvailableAmount);
+        }
+    }
+
+    /**
+     * Retrieves the product numbers of the products of the supplied page.
+     *
+     * @param inPage Catalog page.
+     * @return Product numbers in page order.
+     */
+    protected List<String> productNumbers(final ProductCatalogPage inPage) {
+        return inPage
+            .products()
+            .stream()
+            .map(ProductCatalogEntry::productNumber)
+            .toList();
+    }
+}
@@ -0,0 +1,180 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Tests of the {@link SingleFlightGroup}.
+ *
+ * @author Ivan Krizsan
+ */
+class SingleFlightGroupTest {
+    /* Constant(s): */
+    protected static final String KEY = "12345-1";
+    protected static final int CALLER_COUNT = 8;
+
+    /**
+     * Tests concurrent calls with the same key while the first call is in progress.
+     * Expected result:
+     * The call should be executed once and all callers should receive its result.
+     */
+    @Test
+    void concurrentIdenticalCallsTest() throws Exception {
+        final SingleFlightGroup<String, Double> theGroup = new SingleFlightGroup<>(Duration.ofSeconds(10));
+        final CountDownLatch theReleaseLatch = new CountDownLatch(1);
+        final AtomicInteger theExecutionCount = new AtomicInteger();
+        final Supplier<Double> theCall = () -> {
+            theExecutionCount.incrementAndGet();
+            awaitQuietly(theReleaseLatch);
+            return 15.41;
+        };
+
+        final List<CompletableFuture<Double>> theResults = callConcurrently(theGroup, theCall);
+        awaitWaitingCallers(theGroup, CALLER_COUNT - 1);
+        theReleaseLatch.countDown();
+
+        for (CompletableFuture<Double> theResult : theResults) {
+            Assertions.assertEquals(15.41, theResult.get(10, TimeUnit.SECONDS));
+        }
+        Assertions.assertEquals(1, theExecutionCount.get());
+        Assertions.assertEquals(1, theGroup.executedCallCount());
+        Assertions.assertEquals(CALLER_COUNT - 1, theGroup.coalescedCallCount());
+    }
+
+    /**
+     * Tests concurrent calls with the same key when the first call fails.
+     * Expected result:
+     * All callers should receive the exception thrown by the call.
+     */
+    @Test
+    void sharedExceptionTest() throws Exception {
+        final SingleFlightGroup<String, Double> theGroup = new SingleFlightGroup<>(Duration.ofSeconds(10));
+        final CountDownLatch theReleaseLatch = new CountDownLatch(1);
+        final Supplier<Double> theCall = () -> {
+            awaitQuietly(theReleaseLatch);
+            throw new IllegalStateException("Lookup failed");
+        };
+
+        final List<CompletableFuture<Double>> theResults = callConcurrently(theGroup, theCall);
+        awaitWaitingCallers(theGroup, CALLER_COUNT - 1);
+        theReleaseLatch.countDown();
+
+        for (CompletableFuture<Double> theResult : theResults) {
+            final Throwable theException = Assertions.assertThrows(Exception.class,
+                () -> theResult.get(10, TimeUnit.SECONDS)).getCause();
+            Assertions.assertInstanceOf(IllegalStateException.class, theException);
+        }
+    }
+
+    /**
+     * Tests calls with the same key while the first call takes longer than the maximum wait time.
+     * Expected result:
+     * Waiting callers should give up waiting and execute the call themselves.
+     */
+    @Test
+    void maxWaitExceededTest() throws Exception {
+        final SingleFlightGroup<String, Double> theGroup = new SingleFlightGroup<>(Duration.ofMillis(50));
+        final CountDownLatch theReleaseLatch = new CountDownLatch(1);
+        final AtomicInteger theExecutionCount = new AtomicInteger();
+        final Supplier<Double> theCall = () -> {
+            if (theExecutionCount.incrementAndGet() == 1) {
+                awaitQuietly(theReleaseLatch);
+            }
+            return 15.41;
+        };
+
+        final CompletableFuture<Double> theFirstResult = CompletableFuture.supplyAsync(() -> theGroup.execute(KEY, theCall));
+        while (theExecutionCount.get() == 0) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertEquals(15.41, theGroup.execute(KEY, theCall));
+        Assertions.assertEquals(1, theGroup.waitTimeoutCount());
+        Assertions.assertEquals(2, theExecutionCount.get());
+        theReleaseLatch.countDown();
+        Assertions.assertEquals(15.41, theFirstResult.get(10, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests consecutive calls with the same key.
+     * Expected result:
+     * Each call should be executed, since no call is in progress when the next call is made.
+     */
+    @Test
+    void consecutiveCallsTest() {
+        final SingleFlightGroup<String, Integer> theGroup = new SingleFlightGroup<>(Duration.ofSeconds(10));
+        final AtomicInteger theExecutionCount = new AtomicInteger();
+
+        Assertions.assertEquals(1, theGroup.execute(KEY, theExecutionCount::incrementAndGet));
+        Assertions.assertEquals(2, theGroup.execute(KEY, theExecutionCount::incrementAndGet));
+        Assertions.assertEquals(0, theGroup.coalescedCallCount());
+    }
+
+    /**
+     * Makes calls with the test key from multiple threads, starting the first call before the others.
+     *
+     * @param inGroup Group to execute calls in.
+     * @param inCall Call to execute.
+     * @return Futures of the results of the calls.
+     */
+    protected List<CompletableFuture<Double>> callConcurrently(final SingleFlightGroup<String, Double> inGroup,
+                                                              final Supplier<Double> inCall) {
+        final List<CompletableFuture<Double>> theResults = new ArrayList<>();
+        for (int i = 0; i < CALLER_COUNT; i++) {
+            final CompletableFuture<Double> theResult = new CompletableFuture<>();
+            final Thread theThread = new Thread(() -> {
+                try {
+                    theResult.complete(inGroup.execute(KEY, inCall));
+                } catch (final Throwable theException) {
+                    theResult.completeExceptionally(theException);
+                }
+            });
+            theThread.setDaemon(true);
+            theThread.start();
+            theResults.add(theResult);
+            if (i == 0) {
+                while (inGroup.executedCallCount() == 0) {
+                    Thread.onSpinWait();
+                }
+            }
+        }
+        return theResults;
+    }
+
+    /**
+     * Waits until the supplied number of callers are waiting for the call in progress in the supplied group.
+     *
+     * @param inGroup Group with call in progress.
+     * @param inWaitingCallerCount Number of callers expected to wait.
+     */
+    protected void awaitWaitingCallers(final SingleFlightGroup<String, Double> inGroup,
+                                       final int inWaitingCallerCount) throws InterruptedException {
+        final CompletableFuture<Double> theExecution = inGroup.mExecutionsInProgress.get(KEY);
+        final long theDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (theExecution.getNumberOfDependents() < inWaitingCallerCount && System.nanoTime() < theDeadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * Waits for the supplied latch, ignoring interrupts.
+     *
+     * @param inLatch Latch to wait for.
+     */
+    protected static void awaitQuietly(final CountDownLatch inLatch) {
+        try {
+            inLatch.await(10, TimeUnit.SECONDS);
+        } catch (final InterruptedException theException) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Tests the {@link StockBucketPolicy}.
+ *
+ * @author Ivan Krizsan
+ */
+class StockBucketPolicyTest {
+    /* Constant(s): */
+    protected static final String CONFIGURED_PRODUCTNUMBER = "FLASH-1";
+    protected static final String OTHER_PRODUCTNUMBER = "12345-1";
+    protected static final Duration CONTENDED_LOCK_WAIT = Duration.ofMillis(5);
+    protected static final long CONTENDED_LOCK_WAIT_NANOS = CONTENDED_LOCK_WAIT.toNanos();
+
+    /**
+     * Tests whether the stock of a configured product is to be split.
+     * Expected result:
+     * The stock should be split regardless of the time waited for the lock of the product.
+     */
+    @Test
+    void splitConfiguredProductTest() {
+        final StockBucketPolicy thePolicy =
+            new StockBucketPolicy(4, List.of(CONFIGURED_PRODUCTNUMBER), CONTENDED_LOCK_WAIT, 0);
+
+        Assertions.assertTrue(thePolicy.isSplitWarranted(CONFIGURED_PRODUCTNUMBER, 0));
+        Assertions.assertFalse(thePolicy.isSplitWarranted(OTHER_PRODUCTNUMBER, CONTENDED_LOCK_WAIT_NANOS));
+        Assertions.assertEquals(4, thePolicy.bucketCount());
+    }
+
+    /**
+     * Tests whether the stock of a product which reservations wait for the lock of the product is to be split.
+     * Expected result:
+     * Reservations waiting less than the contended lock wait should not count.
+     * The stock should be split at the configured number of contended reservations.
+     */
+    @Test
+    void splitContendedProductTest() {
+        final StockBucketPolicy thePolicy = new StockBucketPolicy(4, List.of(), CONTENDED_LOCK_WAIT, 3);
+
+        for (int i = 0; i < 10; i++) {
+            Assertions.assertFalse(thePolicy.isSplitWarranted(OTHER_PRODUCTNUMBER, CONTENDED_LOCK_WAIT_NANOS - 1));
+        }
+        Assertions.assertFalse(thePolicy.isSplitWarranted(OTHER_PRODUCTNUMBER, CONTENDED_LOCK_WAIT_NANOS));
+        Assertions.assertFalse(thePolicy.isSplitWarranted(OTHER_PRODUCTNUMBER, CONTENDED_LOCK_WAIT_NANOS));
+        Assertions.assertTrue(thePolicy.isSplitWarranted(OTHER_PRODUCTNUMBER, CONTENDED_LOCK_WAIT_NANOS));
+    }
+}
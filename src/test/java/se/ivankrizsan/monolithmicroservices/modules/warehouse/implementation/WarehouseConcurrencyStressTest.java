@@ -0,0 +1,201 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Concurrency stress test of the warehouse service in which a number of threads concurrently reserve,
+ * release by consuming reservations and restock a few products, in order to detect overselling and lost
+ * updates.
+ * Tests are not run in a transaction, so that each warehouse service invocation is committed.
+ * The number of threads and operations can be increased using the {@code stress.thread-count} and
+ * {@code stress.operations-per-thread} system properties, for example when validating concurrency
+ * optimizations of the warehouse.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseConcurrencyStressTest {
+    /* Constant(s): */
+    protected static final List<String> PRODUCT_NUMBERS = List.of("12345-1", "12345-2", "12345-3");
+    protected static final double INITIAL_STOCK = 50.0;
+    protected static final int MAX_RESERVED_AMOUNT = 5;
+    protected static final int MAX_RESTOCKED_AMOUNT = 10;
+    protected static final int THREAD_COUNT = Integer.getInteger("stress.thread-count", 8);
+    protected static final int OPERATIONS_PER_THREAD = Integer.getInteger("stress.operations-per-thread", 250);
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    /** Total amount stocked per product number, including the initial stock. */
+    protected final Map<String, DoubleAdder> mStockedAmounts = new ConcurrentHashMap<>();
+    /** Amount of outstanding reservations per product number, as seen by the test threads. */
+    protected final Map<String, DoubleAdder> mOutstandingReservedAmounts = new ConcurrentHashMap<>();
+    protected final AtomicLong mReservationsCount = new AtomicLong();
+    protected final AtomicLong mRefusedReservationsCount = new AtomicLong();
+    protected final AtomicLong mReleasesCount = new AtomicLong();
+    protected final AtomicLong mRestocksCount = new AtomicLong();
+    protected final List<Throwable> mErrors = new ArrayList<>();
+
+    /**
+     * Creates the stressed products with an initial stock before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        for (String theProductNumber : PRODUCT_NUMBERS) {
+            mWarehouseService.createProductInWarehouse(theProductNumber, "Product " + theProductNumber, 10.0);
+            mWarehouseService.increaseProductStock(theProductNumber, INITIAL_STOCK);
+            mStockedAmounts.computeIfAbsent(theProductNumber, inKey -> new DoubleAdder()).add(INITIAL_STOCK);
+            mOutstandingReservedAmounts.put(theProductNumber, new DoubleAdder());
+        }
+    }
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests concurrently reserving, releasing and restocking a few products from multiple threads.
+     * Expected result:
+     * No operation should fail.
+     * For each product, the available, reserved and consumed amounts should add up to the stocked amount.
+     * No product should have a negative available amount, that is, no product should have been oversold.
+     * The reserved amount of each product should match the amount of outstanding reservations.
+     */
+    @Test
+    void concurrentReserveReleaseRestockTest() throws InterruptedException {
+        final CountDownLatch theStartLatch = new CountDownLatch(1);
+        final List<Thread> theThreads = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            final Thread theThread = new Thread(() -> {
+                try {
+                    theStartLatch.await();
+                    runOperations();
+                } catch (final Throwable theException) {
+                    synchronized (mErrors) {
+                        mErrors.add(theException);
+                    }
+                }
+            }, "warehouse-stress-" + i);
+            theThreads.add(theThread);
+            theThread.start();
+        }
+
+        final long theStartTime = System.nanoTime();
+        theStartLatch.countDown();
+        for (Thread theThread : theThreads) {
+            theThread.join();
+        }
+        final long theElapsedMillis = Math.max(1, (System.nanoTime() - theStartTime) / 1_000_000);
+
+        final long theOperationsCount = mReservationsCount.get() + mRefusedReservationsCount.get()
+            + mReleasesCount.get() + mRestocksCount.get();
+        log.info("{} threads performed {} operations in {} ms ({} operations/s): "
+                + "{} reservations, {} refused reservations, {} releases, {} restocks",
+            THREAD_COUNT, theOperationsCount, theElapsedMillis, theOperationsCount * 1000 / theElapsedMillis,
+            mReservationsCount.get(), mRefusedReservationsCount.get(), mReleasesCount.get(), mRestocksCount.get());
+
+        Assertions.assertTrue(mErrors.isEmpty(), () -> "Operations failed: " + mErrors);
+        for (String theProductNumber : PRODUCT_NUMBERS) {
+            final Product theProduct = mProductRepository.findByProductNumber(theProductNumber).orElseThrow();
+            final ProductReservationSummary theSummary =
+                mWarehouseService.retrieveProductReservationSummary(theProductNumber);
+            final double theStockedAmount = mStockedAmounts.get(theProductNumber).sum();
+
+            Assertions.assertTrue(theProduct.availableAmount() >= 0,
+                () -> "Product " + theProductNumber + " has been oversold: " + theProduct);
+            Assertions.assertEquals(theStockedAmount,
+                theProduct.availableAmount() + theProduct.reservedAmount() + theSummary.consumedAmount(),
+                () -> "Available, reserved and consumed amounts of product " + theProductNumber
+                    + " should add up to the stocked amount");
+            Assertions.assertEquals(mOutstandingReservedAmounts.get(theProductNumber).sum(),
+                theProduct.reservedAmount(),
+                () -> "Reserved amount of product " + theProductNumber + " should match outstanding reservations");
+            Assertions.assertEquals(theProduct.reservedAmount(), theSummary.reservedAmount(),
+                () -> "Reservation totals of product " + theProductNumber + " should match the product");
+        }
+    }
+
+    /**
+     * Performs a random sequence of reservations, releases and restocks of the stressed products.
+     * Each reservation is released only by the thread that made it.
+     */
+    protected void runOperations() {
+        final ThreadLocalRandom theRandom = ThreadLocalRandom.current();
+        final List<Long> theReservationIds = new ArrayList<>();
+        final Map<Long, String> theReservationProductNumbers = new HashMap<>();
+        final Map<Long, Double> theReservationAmounts = new HashMap<>();
+
+        for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+            final String theProductNumber = PRODUCT_NUMBERS.get(theRandom.nextInt(PRODUCT_NUMBERS.size()));
+            final int theOperation = theRandom.nextInt(10);
+            if (theOperation < 5) {
+                final double theAmount = 1 + theRandom.nextInt(MAX_RESERVED_AMOUNT);
+                final Optional<Long> theReservationId = mWarehouseService.reserveProduct(theProductNumber, theAmount);
+                if (theReservationId.isPresent()) {
+                    theReservationIds.add(theReservationId.get());
+                    theReservationProductNumbers.put(theReservationId.get(), theProductNumber);
+                    theReservationAmounts.put(theReservationId.get(), theAmount);
+                    mOutstandingReservedAmounts.get(theProductNumber).add(theAmount);
+                    mReservationsCount.incrementAndGet();
+                } else {
+                    mRefusedReservationsCount.incrementAndGet();
+                }
+            } else if (theOperation < 8 && !theReservationIds.isEmpty()) {
+                final Long theReservationId = theReservationIds.remove(theRandom.nextInt(theReservationIds.size()));
+                Assertions.assertTrue(mWarehouseService.removeProductReservation(theReservationId),
+                    "Reservation " + theReservationId + " should exist until released");
+                mOutstandingReservedAmounts
+                    .get(theReservationProductNumbers.get(theReservationId))
+                    .add(-theReservationAmounts.get(theReservationId));
+                mReleasesCount.incrementAndGet();
+            } else {
+                final double theAmount = 1 + theRandom.nextInt(MAX_RESTOCKED_AMOUNT);
+                mWarehouseService.increaseProductStock(theProductNumber, theAmount);
+                mStockedAmounts.get(theProductNumber).add(theAmount);
+                mRestocksCount.incrementAndGet();
+            }
+        }
+    }
+}
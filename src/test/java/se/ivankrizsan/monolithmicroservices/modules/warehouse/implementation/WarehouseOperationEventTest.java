@@ -0,0 +1,128 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Tests the {@link WarehouseOperationEvent}s emitted by the {@link WarehouseServiceImplementation}
+ * and the flight recorder settings preset.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+class WarehouseOperationEventTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static double PRODUCTA_AVAILABLEAMOUNT = 10;
+    public final static String FLIGHT_RECORDER_SETTINGS_RESOURCE = "/jfr/monolith-microservices.jfc";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @TempDir
+    protected Path mRecordingDirectory;
+
+    /**
+     * Creates a product with available stock in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCTA_PRODUCTNUMBER, "Product A", 15.0);
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, PRODUCTA_AVAILABLEAMOUNT);
+    }
+
+    /**
+     * Tests recording warehouse operations with the flight recorder.
+     * Expected result:
+     * One event should be recorded for each warehouse operation, with the product number, amount
+     * and outcome of the operation.
+     */
+    @Test
+    void recordWarehouseOperationsTest() throws Exception {
+        final List<RecordedEvent> theEvents;
+        try (Recording theRecording = new Recording()) {
+            theRecording.enable(WarehouseOperationEvent.NAME).withThreshold(Duration.ZERO);
+            theRecording.start();
+
+            final Long theReservationId =
+                mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 4.0).orElseThrow();
+            mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 100.0);
+            mWarehouseService.removeProductReservation(theReservationId);
+
+            theRecording.stop();
+            final Path theRecordingFile = mRecordingDirectory.resolve("warehouse.jfr");
+            theRecording.dump(theRecordingFile);
+            theEvents = RecordingFile
+                .readAllEvents(theRecordingFile)
+                .stream()
+                .filter(inEvent -> WarehouseOperationEvent.NAME.equals(inEvent.getEventType().getName()))
+                .toList();
+        }
+
+        Assertions.assertEquals(3, theEvents.size(), "One event per warehouse operation should be recorded");
+        assertEvent(theEvents.get(0), "reserveProduct", 4.0, WarehouseOperationEvent.OUTCOME_SUCCESS);
+        Assertions.assertTrue(theEvents.get(0).getLong("reservationId") > 0);
+        assertEvent(theEvents.get(1), "reserveProduct", 100.0, WarehouseOperationEvent.OUTCOME_INSUFFICIENT_STOCK);
+        assertEvent(theEvents.get(2), "removeProductReservation", 4.0, WarehouseOperationEvent.OUTCOME_SUCCESS);
+        Assertions.assertEquals(theEvents.get(0).getLong("reservationId"), theEvents.get(2).getLong("reservationId"));
+    }
+
+    /**
+     * Tests loading the flight recorder settings preset.
+     * Expected result:
+     * The preset should enable the warehouse and shopping cart operation events with a threshold.
+     */
+    @Test
+    void flightRecorderSettingsPresetTest() throws Exception {
+        final Configuration theConfiguration;
+        try (Reader theReader = new InputStreamReader(Objects.requireNonNull(
+            getClass().getResourceAsStream(FLIGHT_RECORDER_SETTINGS_RESOURCE)), StandardCharsets.UTF_8)) {
+            theConfiguration = Configuration.create(theReader);
+        }
+
+        final Map<String, String> theSettings = theConfiguration.getSettings();
+        Assertions.assertEquals("true", theSettings.get(WarehouseOperationEvent.NAME + "#enabled"));
+        Assertions.assertEquals("10 ms", theSettings.get(WarehouseOperationEvent.NAME + "#threshold"));
+        Assertions.assertEquals("true",
+            theSettings.get("se.ivankrizsan.monolithmicroservices.ShoppingCartOperation#enabled"));
+    }
+
+    /**
+     * Asserts that the supplied event is an event of the supplied warehouse operation on the test product.
+     *
+     * @param inEvent Recorded event.
+     * @param inExpectedOperation Expected operation name.
+     * @param inExpectedAmount Expected product amount.
+     * @param inExpectedOutcome Expected outcome.
+     */
+    protected void assertEvent(final RecordedEvent inEvent,
+                               final String inExpectedOperation,
+                               final double inExpectedAmount,
+                               final String inExpectedOutcome) {
+        Assertions.assertEquals(inExpectedOperation, inEvent.getString("operation"));
+        Assertions.assertEquals(PRODUCTA_PRODUCTNUMBER, inEvent.getString("productNumber"));
+        Assertions.assertEquals(inExpectedAmount, inEvent.getDouble("amount"));
+        Assertions.assertEquals(inExpectedOutcome, inEvent.getString("outcome"));
+    }
+}
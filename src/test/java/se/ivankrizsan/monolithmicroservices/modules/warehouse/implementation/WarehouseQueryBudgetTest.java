@@ -0,0 +1,255 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.api.QueryBudgets;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.api.QueryCountScope;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.api.QueryCounting;
+import se.ivankrizsan.monolithmicroservices.modules.diagnostics.configuration.DiagnosticsConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogEntry;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogPage;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogQuery;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCatalogSortOrder;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Query budget tests of the warehouse service use cases, failing when a use case executes more SQL statements
+ * than its budget, for example as a result of an N+1 query pattern.
+ * Tests are not run in a transaction, so that the statements of each use case are executed within the use case.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class, DiagnosticsConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseQueryBudgetTest {
+    /* Constant(s): */
+    protected static final int PRODUCT_COUNT = 20;
+    protected static final String PRODUCT_NUMBER_PREFIX = "12345-";
+    protected static final String PRODUCTA_PRODUCTNUMBER = PRODUCT_NUMBER_PREFIX + 0;
+    /** Matches the number of rows read from the product table in a plan produced by H2 EXPLAIN ANALYZE. */
+    protected static final Pattern PRODUCT_SCAN_COUNT_PATTERN =
+        Pattern.compile("\"PUBLIC\"\\.\"PRODUCT\" \"\\w+\"\\s+/\\*[^*]*\\*/\\s+/\\* scanCount: (\\d+) \\*/");
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected ProductCatalogService mProductCatalogService;
+    @Autowired
+    protected DataSource mDataSource;
+
+    /**
+     * Creates products with available stock in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            mWarehouseService.createProductInWarehouse(PRODUCT_NUMBER_PREFIX + i, "Product " + i, 10.0 + i);
+            mWarehouseService.increaseProductStock(PRODUCT_NUMBER_PREFIX + i, 100.0);
+        }
+    }
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests the query budgets of reserving a product and removing the reservation.
+     * Expected result:
+     * Neither use case should execute more SQL statements than its budget.
+     */
+    @Test
+    void reserveAndRemoveReservationBudgetTest() {
+        final Long theReservationId = QueryBudgets.assertWithinBudget(
+            "reserveProduct", 5, () -> mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 1.0))
+            .orElseThrow();
+
+        final boolean theRemovedFlag = QueryBudgets.assertWithinBudget(
+            "removeProductReservation", 5, () -> mWarehouseService.removeProductReservation(theReservationId));
+
+        Assertions.assertTrue(theRemovedFlag);
+    }
+
+    /**
+     * Tests the query budget of increasing the stock of a product.
+     * Expected result:
+     * Increasing the stock should not execute more SQL statements than the budget.
+     */
+    @Test
+    void increaseProductStockBudgetTest() {
+        QueryBudgets.assertWithinBudget(
+            "increaseProductStock", 2, () -> mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 1.0));
+    }
+
+    /**
+     * Tests the query budgets of retrieving the unit price of one product, which is expected to be cached,
+     * and of retrieving the unit prices of multiple products.
+     * Expected result:
+     * Retrieving the unit price of a cached product should not execute any SQL statements.
+     * Retrieving the unit prices of multiple products should execute one single SQL statement.
+     */
+    @Test
+    void retrieveProductUnitPricesBudgetTest() {
+        mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+        QueryBudgets.assertWithinBudget(
+            "retrieveProductUnitPrice of a cached product", 0,
+            () -> mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER));
+
+        final List<String> theProductNumbers = new ArrayList<>();
+        for (int i = 0; i < PRODUCT_COUNT; i++) {
+            theProductNumbers.add(PRODUCT_NUMBER_PREFIX + i);
+        }
+        final Map<String, Double> theUnitPrices = QueryBudgets.assertWithinBudget(
+            "retrieveProductUnitPrices of " + PRODUCT_COUNT + " products", 1,
+            () -> mWarehouseService.retrieveProductUnitPrices(theProductNumbers));
+
+        Assertions.assertEquals(PRODUCT_COUNT, theUnitPrices.size());
+    }
+
+    /**
+     * Tests the query budget of creating 100 products in the warehouse.
+     * Expected result:
+     * Creating the products should execute a constant number of SQL statements per batch of products,
+     * not a number of statements proportional to the number of products.
+     */
+    @Test
+    void createProductsInWarehouseBudgetTest() {
+        final List<ProductDefinition> theProductDefinitions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            theProductDefinitions.add(new ProductDefinition("54321-" + i, "Product " + i, 1.0));
+        }
+
+        final int theCreatedProductsCount = QueryBudgets.assertWithinBudget(
+            "createProductsInWarehouse of 100 products", 8,
+            () -> mWarehouseService.createProductsInWarehouse(theProductDefinitions));
+
+        Assertions.assertEquals(100, theCreatedProductsCount);
+    }
+
+    /**
+     * Tests the query budget of browsing the product catalog page by page.
+     * Expected result:
+     * Retrieving any page, including the last page, should execute one single SQL statement.
+     */
+    @Test
+    void browseProductsBudgetTest() {
+        ProductCatalogQuery theQuery = ProductCatalogQuery.firstPage(
+            "Product", 1.0, null, null, ProductCatalogSortOrder.UNIT_PRICE_ASCENDING, 3);
+        int theProductCount = 0;
+        while (theQuery != null) {
+            final ProductCatalogQuery theCurrentQuery = theQuery;
+            final ProductCatalogPage thePage = QueryBudgets.assertWithinBudget(
+                "browseProducts", 1, () -> mProductCatalogService.browseProducts(theCurrentQuery));
+            theProductCount += thePage.products().size();
+            theQuery = thePage.nextPageQuery();
+        }
+
+        Assertions.assertEquals(PRODUCT_COUNT, theProductCount);
+    }
+
+    /**
+     * Tests the number of product rows the database reads when retrieving a page following a product in the
+     * middle of the catalog, for each sort order.
+     * Expected result:
+     * The database should start reading at the product preceding the page, thus reading no more than the
+     * products of the page, the product preceding the page and the product that tells whether there is
+     * a following page, instead of reading and discarding all the products preceding the page.
+     */
+    @Test
+    void browseProductsScanBudgetTest() throws SQLException {
+        final ProductCatalogEntry theAfter =
+            new ProductCatalogEntry(PRODUCT_NUMBER_PREFIX + 15, "Product 15", 25.0, 100.0);
+        final int thePageSize = 3;
+
+        for (ProductCatalogSortOrder theSortOrder : ProductCatalogSortOrder.values()) {
+            final ProductCatalogQuery theQuery =
+                new ProductCatalogQuery(null, null, null, null, theSortOrder, thePageSize, theAfter);
+            final Object theLeadingColumnValue =
+                theSortOrder == ProductCatalogSortOrder.NAME ? theAfter.productName() : theAfter.unitPrice();
+
+            final int theScanCount = scannedProductCount(theQuery, theLeadingColumnValue, thePageSize + 1);
+
+            Assertions.assertTrue(theScanCount <= thePageSize + 2,
+                "Retrieving a page in " + theSortOrder + " order read " + theScanCount + " products");
+        }
+    }
+
+    /**
+     * Retrieves a page of the product catalog using the supplied query and analyzes the SQL statement
+     * executed by the catalog, determining the number of product rows read by the database.
+     * The parameters of the statement are, in order, the values of the leading column of the sort order,
+     * the product number of the product preceding the page and the maximum number of products to retrieve.
+     *
+     * @param inQuery Catalog query retrieving a page following a product.
+     * @param inLeadingColumnValue Value of the leading column of the sort order of the preceding product.
+     * @param inMaxResults Maximum number of products retrieved by the statement.
+     * @return Number of product rows read.
+     * @throws SQLException If analyzing the statement fails.
+     */
+    protected int scannedProductCount(final ProductCatalogQuery inQuery,
+                                      final Object inLeadingColumnValue,
+                                      final int inMaxResults) throws SQLException {
+        final String theSql;
+        try (QueryCountScope theScope = QueryCounting.openScope("browseProducts")) {
+            mProductCatalogService.browseProducts(inQuery);
+            Assertions.assertEquals(1, theScope.statementCount());
+            theSql = theScope.statements().get(0);
+        }
+
+        final int theParameterCount = (int) theSql.chars().filter(theCharacter -> theCharacter == '?').count();
+        try (Connection theConnection = mDataSource.getConnection();
+             PreparedStatement theStatement = theConnection.prepareStatement("EXPLAIN ANALYZE " + theSql)) {
+            for (int theIndex = 1; theIndex <= theParameterCount - 2; theIndex++) {
+                theStatement.setObject(theIndex, inLeadingColumnValue);
+            }
+            theStatement.setString(theParameterCount - 1, inQuery.after().productNumber());
+            theStatement.setInt(theParameterCount, inMaxResults);
+
+            try (ResultSet theResultSet = theStatement.executeQuery()) {
+                Assertions.assertTrue(theResultSet.next());
+                final String thePlan = theResultSet.getString(1);
+                final Matcher theMatcher = PRODUCT_SCAN_COUNT_PATTERN.matcher(thePlan);
+                Assertions.assertTrue(theMatcher.find(), "No product scan count in plan:\n" + thePlan);
+                return Integer.parseInt(theMatcher.group(1));
+            }
+        }
+    }
+}
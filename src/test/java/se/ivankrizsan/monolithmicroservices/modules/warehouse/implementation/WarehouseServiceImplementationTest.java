@@ -7,12 +7,19 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ContextConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
 import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,6 +36,9 @@ class WarehouseServiceImplementationTest {
     public final static double PRODUCTA_AVAILABLEAMOUNT = 100;
     public final static double PRODUCTA_RESERVEAMOUNT = 55;
     public final static double PRODUCTA_UNITPRICE = 15.41;
+    public final static String BULK_PRODUCTNUMBER_PREFIX = "BULK-";
+    public final static int BULK_PRODUCTS_COUNT = 120;
+    public final static double BULK_PRODUCTS_UNITPRICE = 9.95;
 
     /* Instance variable(s): */
     @Autowired
@@ -36,6 +46,8 @@ class WarehouseServiceImplementationTest {
     @Autowired
     protected ProductReservationRepository mProductReservationsRepository;
     @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
     protected WarehouseService mWarehouseService;
 
     /**
@@ -57,6 +69,7 @@ class WarehouseServiceImplementationTest {
     void cleanUpAfterEachTest() {
         mProductRepository.deleteAll();
         mProductReservationsRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
     }
 
     /**
@@ -70,6 +83,37 @@ class WarehouseServiceImplementationTest {
             "A product should have been created in the warehouse");
     }
 
+    /**
+     * Tests creating multiple products in the warehouse in one operation, where the products span multiple
+     * batches, one of the products already exists in the warehouse and one product number occurs twice.
+     * Expected result:
+     * All the products not previously in the warehouse should be created once.
+     * The product that already existed in the warehouse should not be modified.
+     */
+    @Test
+    void createProductsInWarehouseTest() {
+        final List<ProductDefinition> theProductDefinitions = new ArrayList<>();
+        theProductDefinitions.add(new ProductDefinition(PRODUCTA_PRODUCTNUMBER, "Product A renamed", 1.0));
+        for (int i = 0; i < BULK_PRODUCTS_COUNT; i++) {
+            theProductDefinitions.add(
+                new ProductDefinition(BULK_PRODUCTNUMBER_PREFIX + i, "Bulk product " + i, BULK_PRODUCTS_UNITPRICE));
+        }
+        theProductDefinitions.add(new ProductDefinition(BULK_PRODUCTNUMBER_PREFIX + 0, "Duplicate", 1.0));
+
+        final int theCreatedProductsCount = mWarehouseService.createProductsInWarehouse(theProductDefinitions);
+
+        Assertions.assertEquals(BULK_PRODUCTS_COUNT, theCreatedProductsCount,
+            "Only products not previously in the warehouse should have been created");
+        Assertions.assertEquals(BULK_PRODUCTS_COUNT + 1, mProductRepository.count(),
+            "Each product number should exist exactly once in the warehouse");
+        Assertions.assertEquals(Optional.of(BULK_PRODUCTS_UNITPRICE),
+            mWarehouseService.retrieveProductUnitPrice(BULK_PRODUCTNUMBER_PREFIX + 0),
+            "The first definition of a duplicated product number should have been used");
+        Assertions.assertEquals(Optional.of(PRODUCTA_UNITPRICE),
+            mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER),
+            "The product that already existed in the warehouse should not have been modified");
+    }
+
     /**
      * Tests increasing the stock of a product that exists in the warehouse.
      * Expected result:
@@ -155,6 +199,70 @@ class WarehouseServiceImplementationTest {
             "The available amount of the product should not change");
     }
 
+    /**
+     * Tests retrieving the reservation summary of a product after two reservations have been made
+     * and one of them has been removed.
+     * Expected result:
+     * The summary should contain one outstanding reservation with the amount of the remaining reservation.
+     * The consumed amount should be the amount of the removed reservation.
+     * The reserved amount of the product should be the amount of the remaining reservation.
+     */
+    @Test
+    void retrieveProductReservationSummaryTest() {
+        final Optional<Long> theFirstReservationOptional = mWarehouseService.reserveProduct(
+            PRODUCTA_PRODUCTNUMBER, PRODUCTA_RESERVEAMOUNT);
+        final Optional<Long> theSecondReservationOptional = mWarehouseService.reserveProduct(
+            PRODUCTA_PRODUCTNUMBER, 10);
+        Assertions.assertTrue(theFirstReservationOptional.isPresent());
+        Assertions.assertTrue(theSecondReservationOptional.isPresent());
+        mWarehouseService.removeProductReservation(theFirstReservationOptional.get());
+
+        final ProductReservationSummary theReservationSummary =
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER);
+
+        Assertions.assertEquals(
+            new ProductReservationSummary(PRODUCTA_PRODUCTNUMBER, 1, 10, PRODUCTA_RESERVEAMOUNT),
+            theReservationSummary,
+            "The reservation summary should reflect the remaining and the consumed reservation");
+        Assertions.assertEquals(10,
+            mProductRepository.findByProductNumber(PRODUCTA_PRODUCTNUMBER).map(Product::reservedAmount).orElseThrow(),
+            "The reserved amount of the product should match the remaining reservation");
+    }
+
+    /**
+     * Tests retrieving the reservation summary of a product for which no reservation totals are maintained.
+     * Expected result:
+     * The reservation summary should be calculated from the product reservations.
+     * Subsequent reservations should be included in the reservation summary.
+     */
+    @Test
+    void retrieveProductReservationSummaryWithoutTotalsTest() {
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, PRODUCTA_RESERVEAMOUNT);
+        mProductReservationTotalsRepository.deleteAll();
+
+        Assertions.assertEquals(
+            new ProductReservationSummary(PRODUCTA_PRODUCTNUMBER, 1, PRODUCTA_RESERVEAMOUNT, 0),
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER),
+            "The reservation summary should have been calculated from the product reservations");
+
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 10);
+        Assertions.assertEquals(
+            new ProductReservationSummary(PRODUCTA_PRODUCTNUMBER, 2, PRODUCTA_RESERVEAMOUNT + 10, 0),
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER),
+            "The reservation summary should include the subsequent reservation");
+    }
+
+    /**
+     * Tests retrieving the reservation summary of a product that does not exist.
+     * Expected result:
+     * An exception should be thrown.
+     */
+    @Test
+    void retrieveNonexistingProductReservationSummaryTest() {
+        Assertions.assertThrows(ProductNotInWarehouseException.class, () ->
+            mWarehouseService.retrieveProductReservationSummary(NONEXISTING_PRODUCTNUMBER));
+    }
+
     /**
      * Tests removing a non-existing product reservation.
      * Expected result:
@@ -219,4 +327,37 @@ class WarehouseServiceImplementationTest {
         Assertions.assertTrue(theProductPriceOptional.isPresent(),
             "The unit price of the product should be successfully retrieved");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests retrieving the unit prices of an existing and a nonexisting product in one call.
+     * Expected result:
+     * The unit price of the existing product should be retrieved.
+     * There should be no unit price for the nonexisting product.
+     */
+    @Test
+    void retrieveProductUnitPricesTest() {
+        final Map<String, Double> theProductPrices = mWarehouseService.retrieveProductUnitPrices(
+            List.of(PRODUCTA_PRODUCTNUMBER, NONEXISTING_PRODUCTNUMBER));
+
+        Assertions.assertEquals(Map.of(PRODUCTA_PRODUCTNUMBER, PRODUCTA_UNITPRICE), theProductPrices);
+    }
+
+    /**
+     * Tests retrieving the amounts of two product reservations in one call.
+     * Expected result:
+     * The amount of each product reservation should be retrieved.
+     */
+    @Test
+    void retrieveReservationAmountsTest() {
+        final Long theFirstReservationId =
+            mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, PRODUCTA_RESERVEAMOUNT).orElseThrow();
+        final Long theSecondReservationId = mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 1.0).orElseThrow();
+
+        final Map<Long, Double> theReservationAmounts =
+            mWarehouseService.retrieveReservationAmounts(List.of(theFirstReservationId, theSecondReservationId));
+
+        Assertions.assertEquals(
+            Map.of(theFirstReservationId, PRODUCTA_RESERVEAMOUNT, theSecondReservationId, 1.0),
+            theReservationAmounts);
+    }
+}
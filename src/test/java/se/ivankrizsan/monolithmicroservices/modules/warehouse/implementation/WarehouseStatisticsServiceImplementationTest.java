@@ -0,0 +1,158 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.LookupCoalescingStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCacheStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Tests the {@link WarehouseStatisticsServiceImplementation}.
+ * Tests are not run in a transaction, so that each warehouse service operation uses a transaction
+ * of its own, as is the case outside of tests.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseStatisticsServiceImplementationTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static double PRODUCTA_UNITPRICE = 15.41;
+    public final static String PRODUCTB_PRODUCTNUMBER = "12345-2";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected WarehouseStatisticsService mWarehouseStatisticsService;
+
+    /**
+     * Creates a product in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(
+            PRODUCTA_PRODUCTNUMBER,
+            "Product A",
+            PRODUCTA_UNITPRICE);
+        mWarehouseService.createProductInWarehouse(
+            PRODUCTB_PRODUCTNUMBER,
+            "Product B",
+            PRODUCTA_UNITPRICE);
+    }
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests reading the same product repeatedly in separate transactions.
+     * Expected result:
+     * Once the product has been read, subsequent reads should be served from the natural-id
+     * and second-level caches without querying the database.
+     */
+    @Test
+    void repeatedProductReadsHitCacheTest() {
+        /* First read of the product may or may not be served from the cache. */
+        mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+        final ProductCacheStatistics theStatisticsBefore = mWarehouseStatisticsService.retrieveProductCacheStatistics();
+
+        mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+        mWarehouseService.retrieveProductAvailableAmount(PRODUCTA_PRODUCTNUMBER);
+        final ProductCacheStatistics theStatisticsAfter = mWarehouseStatisticsService.retrieveProductCacheStatistics();
+
+        Assertions.assertEquals(2,
+            theStatisticsAfter.naturalIdCacheHitCount() - theStatisticsBefore.naturalIdCacheHitCount(),
+            "Product numbers should have been resolved using the natural-id cache");
+        Assertions.assertEquals(theStatisticsBefore.naturalIdQueryCount(), theStatisticsAfter.naturalIdQueryCount(),
+            "No queries should have been executed to resolve product numbers");
+        Assertions.assertEquals(2,
+            theStatisticsAfter.productCacheHitCount() - theStatisticsBefore.productCacheHitCount(),
+            "The product should have been retrieved from the second-level cache");
+    }
+
+    /**
+     * Tests reading a product after having reserved and removed a reservation of another product.
+     * Expected result:
+     * The reservation totals updates of the other product should not invalidate the cache regions,
+     * so the read should be served from the natural-id and second-level caches without querying the database.
+     */
+    @Test
+    void reservingOtherProductKeepsCachedProductTest() {
+        mWarehouseService.increaseProductStock(PRODUCTB_PRODUCTNUMBER, 10.0);
+        mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+        mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+        final ProductCacheStatistics theStatisticsBefore = mWarehouseStatisticsService.retrieveProductCacheStatistics();
+
+        final Long theReservationId = mWarehouseService.reserveProduct(PRODUCTB_PRODUCTNUMBER, 1.0).orElseThrow();
+        mWarehouseService.removeProductReservation(theReservationId);
+        mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER);
+        final ProductCacheStatistics theStatisticsAfter = mWarehouseStatisticsService.retrieveProductCacheStatistics();
+
+        Assertions.assertEquals(theStatisticsBefore.naturalIdCacheMissCount(),
+            theStatisticsAfter.naturalIdCacheMissCount(),
+            "Product A should still be in the natural-id cache");
+        Assertions.assertEquals(theStatisticsBefore.productCacheMissCount(), theStatisticsAfter.productCacheMissCount(),
+            "Product A should still be in the second-level cache");
+        Assertions.assertTrue(
+            theStatisticsAfter.productCacheHitCount() > theStatisticsBefore.productCacheHitCount(),
+            "Product A should have been retrieved from the second-level cache");
+    }
+
+    /**
+     * Tests retrieving the unit price of the same product concurrently from multiple threads outside
+     * of transactions, with lookup coalescing enabled by default.
+     * Expected result:
+     * All lookups should return the unit price of the product.
+     * Each lookup should have been either executed or coalesced with another lookup.
+     */
+    @Test
+    void concurrentLookupsCoalescingStatisticsTest() {
+        final LookupCoalescingStatistics theStatisticsBefore =
+            mWarehouseStatisticsService.retrieveLookupCoalescingStatistics();
+
+        final List<CompletableFuture<Optional<Double>>> theResults = IntStream
+            .range(0, 64)
+            .mapToObj(inIndex -> CompletableFuture.supplyAsync(
+                () -> mWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER)))
+            .toList();
+        theResults.forEach(inResult -> Assertions.assertEquals(Optional.of(PRODUCTA_UNITPRICE), inResult.join()));
+        final LookupCoalescingStatistics theStatisticsAfter =
+            mWarehouseStatisticsService.retrieveLookupCoalescingStatistics();
+
+        final long theExecutedCount =
+            theStatisticsAfter.executedLookupCount() - theStatisticsBefore.executedLookupCount();
+        final long theCoalescedCount =
+            theStatisticsAfter.coalescedLookupCount() - theStatisticsBefore.coalescedLookupCount();
+        Assertions.assertEquals(64, theExecutedCount + theCoalescedCount,
+            "Each lookup should either be executed or coalesced");
+        Assertions.assertTrue(theExecutedCount >= 1);
+    }
+}
@@ -0,0 +1,349 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductCacheStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.Product;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductReservation;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.domain.ProductStockBucket;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductStockBucketRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.WarehousePersistenceUnit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Tests splitting the stock of products into stock buckets in the {@link WarehouseServiceImplementation}.
+ * The stock of the flash sale product is split into four buckets when the product is first reserved.
+ * Tests are not run in a transaction, so that each warehouse service invocation is committed.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.stock-buckets.enabled=true",
+    "warehouse.stock-buckets.bucket-count=" + WarehouseStockBucketTest.BUCKET_COUNT,
+    "warehouse.stock-buckets.product-numbers=" + WarehouseStockBucketTest.FLASHSALE_PRODUCTNUMBER,
+    "warehouse.stock-buckets.contended-reservations-before-split=0"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseStockBucketTest {
+    /* Constant(s): */
+    public final static int BUCKET_COUNT = 4;
+    public final static String FLASHSALE_PRODUCTNUMBER = "FLASH-1";
+    public final static String REGULAR_PRODUCTNUMBER = "12345-1";
+    protected static final int THREAD_COUNT = 8;
+    protected static final int OPERATIONS_PER_THREAD = 100;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected ProductStockBucketRepository mProductStockBucketRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected WarehouseStatisticsService mWarehouseStatisticsService;
+    @Autowired
+    @Qualifier(WarehousePersistenceUnit.TRANSACTION_MANAGER)
+    protected PlatformTransactionManager mTransactionManager;
+
+    /**
+     * Creates the flash sale product and a regular product in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(FLASHSALE_PRODUCTNUMBER, "Flash sale product", 10.0);
+        mWarehouseService.createProductInWarehouse(REGULAR_PRODUCTNUMBER, "Regular product", 10.0);
+    }
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+        mProductStockBucketRepository.deleteAll();
+    }
+
+    /**
+     * Tests reserving the flash sale product for the first time.
+     * Expected result:
+     * The stock of the product should have been split into the configured number of buckets, holding
+     * the available amount and the new reservation.
+     * The available amount and reservation summary of the product should include the buckets.
+     */
+    @Test
+    void splitStockOnFirstReservationTest() {
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 100.0);
+
+        final Optional<Long> theReservationId = mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 10.0);
+
+        Assertions.assertTrue(theReservationId.isPresent());
+        final Product theProduct = mProductRepository.findByProductNumber(FLASHSALE_PRODUCTNUMBER).orElseThrow();
+        Assertions.assertEquals(BUCKET_COUNT, theProduct.stockBucketCount());
+        Assertions.assertEquals(0.0, theProduct.availableAmount());
+        final List<ProductStockBucket> theBuckets = mProductStockBucketRepository.findAll();
+        Assertions.assertEquals(BUCKET_COUNT, theBuckets.size());
+        Assertions.assertEquals(90.0, theBuckets.stream().mapToDouble(ProductStockBucket::getAvailableAmount).sum());
+        Assertions.assertEquals(10.0, theBuckets.stream().mapToDouble(ProductStockBucket::getReservedAmount).sum());
+
+        Assertions.assertEquals(Optional.of(90.0),
+            mWarehouseService.retrieveProductAvailableAmount(FLASHSALE_PRODUCTNUMBER));
+        Assertions.assertEquals(Optional.of(10.0), mWarehouseService.retrieveReservationAmount(theReservationId.get()));
+        Assertions.assertEquals(new ProductReservationSummary(FLASHSALE_PRODUCTNUMBER, 1, 10.0, 0.0),
+            mWarehouseService.retrieveProductReservationSummary(FLASHSALE_PRODUCTNUMBER));
+    }
+
+    /**
+     * Tests reserving, removing reservations of and restocking the flash sale product when no single
+     * bucket holds the reserved amount.
+     * Expected result:
+     * Reservations should succeed as long as the total available amount of the buckets is sufficient.
+     * A reservation exceeding the total available amount should be refused.
+     * Restocking should spread the amount over the buckets and consumed reservations should be included
+     * in the reservation summary.
+     */
+    @Test
+    void reserveAcrossBucketsTest() {
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 8.0);
+        final Long theFirstReservationId = mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 1.0).orElseThrow();
+
+        final Optional<Long> theSecondReservationId = mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 3.0);
+        final Optional<Long> theRefusedReservationId = mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 5.0);
+        final Optional<Long> theThirdReservationId = mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 4.0);
+
+        Assertions.assertTrue(theSecondReservationId.isPresent());
+        Assertions.assertTrue(theRefusedReservationId.isEmpty());
+        Assertions.assertTrue(theThirdReservationId.isPresent());
+        Assertions.assertEquals(Optional.of(0.0),
+            mWarehouseService.retrieveProductAvailableAmount(FLASHSALE_PRODUCTNUMBER));
+
+        Assertions.assertTrue(mWarehouseService.removeProductReservation(theFirstReservationId));
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 20.0);
+
+        Assertions.assertEquals(Optional.of(20.0),
+            mWarehouseService.retrieveProductAvailableAmount(FLASHSALE_PRODUCTNUMBER));
+        for (ProductStockBucket theBucket : mProductStockBucketRepository.findAll()) {
+            Assertions.assertTrue(theBucket.getAvailableAmount() >= 5.0, () -> "Bucket not restocked: " + theBucket);
+        }
+        Assertions.assertEquals(new ProductReservationSummary(FLASHSALE_PRODUCTNUMBER, 2, 7.0, 1.0),
+            mWarehouseService.retrieveProductReservationSummary(FLASHSALE_PRODUCTNUMBER));
+    }
+
+    /**
+     * Tests reserving and restocking the flash sale product several times in one single transaction, such that
+     * the available amounts of the buckets are gathered both before and after other reservations and restocking
+     * in the same transaction.
+     * Expected result:
+     * All reservations should succeed.
+     * The available amount of the product should be zero, that is, the product should not have been oversold.
+     */
+    @Test
+    void multipleReservationsInOneTransactionTest() {
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 8.0);
+
+        final List<Optional<Long>> theReservationIds = new TransactionTemplate(mTransactionManager).execute(
+            inTransactionStatus -> {
+                final List<Optional<Long>> theIds = new ArrayList<>();
+                /* Splits the stock into buckets of 2.0 and gathers them, since no bucket holds 7.0. */
+                theIds.add(mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 7.0));
+                theIds.add(mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 1.0));
+                mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 0.5);
+                /* No bucket holds 0.5, so the buckets are gathered again. */
+                theIds.add(mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 0.5));
+                return theIds;
+            });
+
+        Assertions.assertTrue(theReservationIds.stream().allMatch(Optional::isPresent));
+        Assertions.assertEquals(Optional.of(0.0),
+            mWarehouseService.retrieveProductAvailableAmount(FLASHSALE_PRODUCTNUMBER));
+        Assertions.assertEquals(new ProductReservationSummary(FLASHSALE_PRODUCTNUMBER, 3, 8.5, 0.0),
+            mWarehouseService.retrieveProductReservationSummary(FLASHSALE_PRODUCTNUMBER));
+    }
+
+    /**
+     * Tests reserving the flash sale product twice in one single transaction when each bucket holds
+     * the reserved amounts.
+     * Expected result:
+     * Both amounts should be reserved from the same bucket, so that the transaction only locks one bucket.
+     */
+    @Test
+    void reservationsInOneTransactionShareBucketTest() {
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 100.0);
+        mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 1.0);
+
+        final List<Long> theReservationIds = new TransactionTemplate(mTransactionManager).execute(
+            inTransactionStatus -> List.of(
+                mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 1.0).orElseThrow(),
+                mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 1.0).orElseThrow()));
+
+        final List<Integer> theStockBuckets = mProductReservationRepository
+            .findAllById(theReservationIds)
+            .stream()
+            .map(ProductReservation::getStockBucket)
+            .distinct()
+            .toList();
+        Assertions.assertEquals(1, theStockBuckets.size(), "Reservations should share one bucket");
+    }
+
+    /**
+     * Tests reserving a product that is neither configured nor contended.
+     * Expected result:
+     * The stock of the product should not be split.
+     */
+    @Test
+    void regularProductNotSplitTest() {
+        mWarehouseService.increaseProductStock(REGULAR_PRODUCTNUMBER, 100.0);
+
+        Assertions.assertTrue(mWarehouseService.reserveProduct(REGULAR_PRODUCTNUMBER, 10.0).isPresent());
+
+        final Product theProduct = mProductRepository.findByProductNumber(REGULAR_PRODUCTNUMBER).orElseThrow();
+        Assertions.assertEquals(0, theProduct.stockBucketCount());
+        Assertions.assertEquals(90.0, theProduct.availableAmount());
+        Assertions.assertTrue(mProductStockBucketRepository.findAll().isEmpty());
+    }
+
+    /**
+     * Tests reading the regular product after having reserved, removed a reservation of and restocked
+     * the flash sale product which stock has been split.
+     * Expected result:
+     * The stock bucket updates should not invalidate the cache regions, so the regular product should
+     * be served from the natural-id and second-level caches without querying the database.
+     */
+    @Test
+    void bucketUpdatesKeepCachedProductTest() {
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 100.0);
+        mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 1.0);
+        mWarehouseService.retrieveProductUnitPrice(REGULAR_PRODUCTNUMBER);
+        mWarehouseService.retrieveProductUnitPrice(REGULAR_PRODUCTNUMBER);
+        final ProductCacheStatistics theStatisticsBefore = mWarehouseStatisticsService.retrieveProductCacheStatistics();
+
+        final Long theReservationId = mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, 2.0).orElseThrow();
+        mWarehouseService.removeProductReservation(theReservationId);
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, 8.0);
+        mWarehouseService.retrieveProductUnitPrice(REGULAR_PRODUCTNUMBER);
+        final ProductCacheStatistics theStatisticsAfter = mWarehouseStatisticsService.retrieveProductCacheStatistics();
+
+        Assertions.assertEquals(theStatisticsBefore.naturalIdCacheMissCount(),
+            theStatisticsAfter.naturalIdCacheMissCount(),
+            "The regular product should still be in the natural-id cache");
+        Assertions.assertEquals(theStatisticsBefore.productCacheMissCount(), theStatisticsAfter.productCacheMissCount(),
+            "The regular product should still be in the second-level cache");
+    }
+
+    /**
+     * Tests concurrently reserving, removing reservations of and restocking the flash sale product
+     * from multiple threads.
+     * Expected result:
+     * No operation should fail.
+     * The available, reserved and consumed amounts of the product should add up to the stocked amount.
+     * No bucket should have a negative available amount, that is, the product should not have been oversold.
+     * The reserved amount of the product should match the amount of outstanding reservations.
+     */
+    @Test
+    void concurrentReservationsTest() throws InterruptedException {
+        final double theInitialStock = 200.0;
+        mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, theInitialStock);
+        final DoubleAdder theStockedAmount = new DoubleAdder();
+        theStockedAmount.add(theInitialStock);
+        final DoubleAdder theOutstandingReservedAmount = new DoubleAdder();
+        final AtomicLong theReservationsCount = new AtomicLong();
+        final List<Throwable> theErrors = new ArrayList<>();
+        final CountDownLatch theStartLatch = new CountDownLatch(1);
+
+        final List<Thread> theThreads = new ArrayList<>();
+        for (int t = 0; t < THREAD_COUNT; t++) {
+            final Thread theThread = new Thread(() -> {
+                try {
+                    theStartLatch.await();
+                    final ThreadLocalRandom theRandom = ThreadLocalRandom.current();
+                    final List<Long> theReservationIds = new ArrayList<>();
+                    final List<Double> theReservationAmounts = new ArrayList<>();
+                    for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                        final int theOperation = theRandom.nextInt(10);
+                        if (theOperation < 6) {
+                            final double theAmount = 1 + theRandom.nextInt(5);
+                            final Optional<Long> theReservationId =
+                                mWarehouseService.reserveProduct(FLASHSALE_PRODUCTNUMBER, theAmount);
+                            if (theReservationId.isPresent()) {
+                                theReservationIds.add(theReservationId.get());
+                                theReservationAmounts.add(theAmount);
+                                theOutstandingReservedAmount.add(theAmount);
+                                theReservationsCount.incrementAndGet();
+                            }
+                        } else if (theOperation < 9 && !theReservationIds.isEmpty()) {
+                            final int theIndex = theRandom.nextInt(theReservationIds.size());
+                            Assertions.assertTrue(
+                                mWarehouseService.removeProductReservation(theReservationIds.remove(theIndex)));
+                            theOutstandingReservedAmount.add(-theReservationAmounts.remove(theIndex));
+                        } else {
+                            final double theAmount = 4 * (1 + theRandom.nextInt(5));
+                            mWarehouseService.increaseProductStock(FLASHSALE_PRODUCTNUMBER, theAmount);
+                            theStockedAmount.add(theAmount);
+                        }
+                    }
+                } catch (final Throwable theException) {
+                    synchronized (theErrors) {
+                        theErrors.add(theException);
+                    }
+                }
+            }, "stock-bucket-stress-" + t);
+            theThreads.add(theThread);
+            theThread.start();
+        }
+        final long theStartTime = System.nanoTime();
+        theStartLatch.countDown();
+        for (Thread theThread : theThreads) {
+            theThread.join();
+        }
+        log.info("{} threads made {} reservations of one product split into {} buckets in {} ms",
+            THREAD_COUNT, theReservationsCount.get(), BUCKET_COUNT, (System.nanoTime() - theStartTime) / 1_000_000);
+
+        Assertions.assertTrue(theErrors.isEmpty(), () -> "Operations failed: " + theErrors);
+        final double theAvailableAmount =
+            mWarehouseService.retrieveProductAvailableAmount(FLASHSALE_PRODUCTNUMBER).orElseThrow();
+        final ProductReservationSummary theSummary =
+            mWarehouseService.retrieveProductReservationSummary(FLASHSALE_PRODUCTNUMBER);
+        Assertions.assertEquals(theStockedAmount.sum(),
+            theAvailableAmount + theSummary.reservedAmount() + theSummary.consumedAmount(),
+            "Available, reserved and consumed amounts should add up to the stocked amount");
+        Assertions.assertEquals(theOutstandingReservedAmount.sum(), theSummary.reservedAmount(),
+            "Reserved amount should match outstanding reservations");
+        for (ProductStockBucket theBucket : mProductStockBucketRepository.findAll()) {
+            Assertions.assertTrue(theBucket.getAvailableAmount() >= 0, () -> "Bucket oversold: " + theBucket);
+        }
+    }
+}
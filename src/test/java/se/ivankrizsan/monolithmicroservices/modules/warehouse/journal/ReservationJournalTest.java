@@ -0,0 +1,244 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.journal;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Tests of the {@link ReservationJournal}.
+ *
+ * @author Ivan Krizsan
+ */
+class ReservationJournalTest {
+    /* Constant(s): */
+    protected static final String PRODUCT_NUMBER = "12345-1";
+    protected static final String OTHER_PRODUCT_NUMBER = "12345-2";
+    protected static final int LARGE_SNAPSHOT_INTERVAL = 100000;
+    protected static final int MAX_BATCH_SIZE = 256;
+
+    /* Instance variable(s): */
+    @TempDir
+    protected Path mJournalDirectory;
+
+    /**
+     * Tests recovering product amounts from a journal to which entries have been appended.
+     * Expected result:
+     * The recovered product amounts should match the amounts before the journal was closed.
+     * The recovered last sequence number should match the sequence number of the last entry appended.
+     */
+    @Test
+    public void appendAndRecoverTest() throws Exception {
+        try (ReservationJournal theJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, true)) {
+            appendEntries(theJournal);
+            Assertions.assertEquals(4L, theJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                new ProductAmounts(7.0, 1.0, 2.0),
+                theJournal.productAmounts(PRODUCT_NUMBER).orElseThrow());
+        }
+
+        try (ReservationJournal theRecoveredJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, true)) {
+            Assertions.assertEquals(4L, theRecoveredJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                new ProductAmounts(7.0, 1.0, 2.0),
+                theRecoveredJournal.productAmounts(PRODUCT_NUMBER).orElseThrow());
+            Assertions.assertTrue(theRecoveredJournal.productAmounts(OTHER_PRODUCT_NUMBER).isEmpty());
+
+            /* Entries appended after recovery should continue the sequence. */
+            final long theSequenceNumber = theRecoveredJournal
+                .append(ReservationJournalEntryType.STOCK_INCREASED, OTHER_PRODUCT_NUMBER, 5.0, null)
+                .get();
+            Assertions.assertEquals(5L, theSequenceNumber);
+        }
+    }
+
+    /**
+     * Tests recovering product amounts from a snapshot followed by journal entries appended after the snapshot,
+     * with compacted journal segments deleted.
+     * Expected result:
+     * The recovered product amounts should include both the changes in the snapshot and the changes after it.
+     * Only the entries appended after the snapshot should remain in the journal segments.
+     */
+    @Test
+    public void snapshotAndRecoverTest() throws Exception {
+        try (ReservationJournal theJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, false)) {
+            appendEntries(theJournal);
+            Assertions.assertEquals(4L, theJournal.snapshot().get());
+            theJournal.append(ReservationJournalEntryType.PRODUCT_RESERVED, PRODUCT_NUMBER, 3.0, 3L).get();
+        }
+
+        Assertions.assertTrue(Files.exists(mJournalDirectory.resolve(ReservationJournal.SNAPSHOT_FILE_NAME)));
+        try (ReservationJournal theRecoveredJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, false)) {
+            Assertions.assertEquals(4L, theRecoveredJournal.snapshotSequenceNumber());
+            Assertions.assertEquals(5L, theRecoveredJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                new ProductAmounts(4.0, 4.0, 2.0),
+                theRecoveredJournal.productAmounts(PRODUCT_NUMBER).orElseThrow());
+
+            final List<ReservationJournalEntry> theEntries = new ArrayList<>();
+            theRecoveredJournal.readEntries(0, theEntries::add);
+            Assertions.assertEquals(1, theEntries.size());
+            Assertions.assertEquals(5L, theEntries.get(0).sequenceNumber());
+            Assertions.assertEquals(3L, theEntries.get(0).reservationId());
+        }
+    }
+
+    /**
+     * Tests automatic snapshots written when the snapshot interval has been reached, retaining
+     * compacted journal segments.
+     * Expected result:
+     * A snapshot should have been written and new journal segments started.
+     * All entries should remain readable from the retained journal segments.
+     */
+    @Test
+    public void automaticSnapshotRetainingSegmentsTest() throws Exception {
+        try (ReservationJournal theJournal = openJournal(2, true)) {
+            for (int i = 0; i < 10; i++) {
+                theJournal.append(ReservationJournalEntryType.STOCK_INCREASED, PRODUCT_NUMBER, 1.0, null).get();
+            }
+            Assertions.assertTrue(theJournal.snapshotSequenceNumber() >= 8L);
+        }
+
+        try (Stream<Path> theFiles = Files.list(mJournalDirectory)) {
+            Assertions.assertTrue(theFiles
+                .filter(inFile -> inFile.getFileName().toString().startsWith(ReservationJournal.SEGMENT_FILE_PREFIX))
+                .count() > 1);
+        }
+        try (ReservationJournal theRecoveredJournal = openJournal(2, true)) {
+            Assertions.assertEquals(10L, theRecoveredJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                new ProductAmounts(10.0, 0.0, 0.0),
+                theRecoveredJournal.productAmounts(PRODUCT_NUMBER).orElseThrow());
+
+            final List<ReservationJournalEntry> theEntries = new ArrayList<>();
+            theRecoveredJournal.readEntries(1, theEntries::add);
+            Assertions.assertEquals(10, theEntries.size());
+        }
+    }
+
+    /**
+     * Tests recovering a journal which last record was only partially written.
+     * Expected result:
+     * The partially written record should be discarded and the product amounts recovered from
+     * the complete records.
+     * Entries appended after recovery should be recovered when the journal is opened again.
+     */
+    @Test
+    public void recoverTornTailTest() throws Exception {
+        try (ReservationJournal theJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, true)) {
+            appendEntries(theJournal);
+        }
+
+        /* Remove the last bytes of the last record to simulate an interrupted write. */
+        final Path theSegment;
+        try (Stream<Path> theFiles = Files.list(mJournalDirectory)) {
+            theSegment = theFiles.filter(inFile -> inFile.getFileName().toString()
+                .startsWith(ReservationJournal.SEGMENT_FILE_PREFIX)).findFirst().orElseThrow();
+        }
+        try (FileChannel theChannel = FileChannel.open(theSegment, StandardOpenOption.WRITE)) {
+            theChannel.truncate(theChannel.size() - 3);
+        }
+
+        try (ReservationJournal theRecoveredJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, true)) {
+            Assertions.assertEquals(3L, theRecoveredJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                new ProductAmounts(7.0, 3.0, 0.0),
+                theRecoveredJournal.productAmounts(PRODUCT_NUMBER).orElseThrow());
+            Assertions.assertEquals(4L, theRecoveredJournal
+                .append(ReservationJournalEntryType.RESERVATION_CONSUMED, PRODUCT_NUMBER, 1.0, 2L)
+                .get());
+        }
+
+        try (ReservationJournal theRecoveredJournal = openJournal(LARGE_SNAPSHOT_INTERVAL, true)) {
+            Assertions.assertEquals(4L, theRecoveredJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                new ProductAmounts(7.0, 2.0, 1.0),
+                theRecoveredJournal.productAmounts(PRODUCT_NUMBER).orElseThrow());
+        }
+    }
+
+    /**
+     * Tests appending entries concurrently from multiple threads.
+     * Expected result:
+     * Each entry should be assigned a unique sequence number and all entries should be
+     * reflected in the product amounts, also after recovery.
+     */
+    @Test
+    public void concurrentAppendTest() throws Exception {
+        final int theThreadCount = 8;
+        final int theEntriesPerThread = 500;
+        try (ReservationJournal theJournal = openJournal(1000, true)) {
+            final List<CompletableFuture<Long>> theResults = new ArrayList<>();
+            final List<Thread> theThreads = new ArrayList<>();
+            for (int i = 0; i < theThreadCount; i++) {
+                final Thread theThread = new Thread(() -> {
+                    for (int j = 0; j < theEntriesPerThread; j++) {
+                        final CompletableFuture<Long> theResult =
+                            theJournal.append(ReservationJournalEntryType.STOCK_INCREASED, PRODUCT_NUMBER, 1.0, null);
+                        synchronized (theResults) {
+                            theResults.add(theResult);
+                        }
+                    }
+                });
+                theThreads.add(theThread);
+                theThread.start();
+            }
+            for (Thread theThread : theThreads) {
+                theThread.join();
+            }
+
+            final long theDistinctSequenceNumbersCount = theResults
+                .stream()
+                .map(CompletableFuture::join)
+                .distinct()
+                .count();
+            Assertions.assertEquals(theThreadCount * theEntriesPerThread, theDistinctSequenceNumbersCount);
+            Assertions.assertEquals(
+                theThreadCount * theEntriesPerThread,
+                theJournal.productAmounts(PRODUCT_NUMBER).orElseThrow().availableAmount());
+        }
+
+        try (ReservationJournal theRecoveredJournal = openJournal(1000, true)) {
+            Assertions.assertEquals(theThreadCount * theEntriesPerThread, theRecoveredJournal.lastSequenceNumber());
+            Assertions.assertEquals(
+                theThreadCount * theEntriesPerThread,
+                theRecoveredJournal.productAmounts(PRODUCT_NUMBER).orElseThrow().availableAmount());
+        }
+    }
+
+    /**
+     * Opens a reservation journal in the test journal directory.
+     *
+     * @param inSnapshotInterval Number of entries after which a snapshot is written.
+     * @param inRetainCompactedSegments Whether journal segments included in a snapshot are retained.
+     * @return Reservation journal.
+     * @throws IOException If an error occurs opening the journal.
+     */
+    protected ReservationJournal openJournal(final int inSnapshotInterval,
+                                             final boolean inRetainCompactedSegments) throws IOException {
+        return new ReservationJournal(
+            mJournalDirectory, inSnapshotInterval, MAX_BATCH_SIZE, false, inRetainCompactedSegments);
+    }
+
+    /**
+     * Appends entries increasing the stock of the test product with 10, reserving 2 and 1 and then
+     * consuming the reservation of 2, waiting for the last entry to be appended.
+     *
+     * @param inJournal Journal to append entries to.
+     */
+    protected void appendEntries(final ReservationJournal inJournal) throws Exception {
+        inJournal.append(ReservationJournalEntryType.STOCK_INCREASED, PRODUCT_NUMBER, 10.0, null);
+        inJournal.append(ReservationJournalEntryType.PRODUCT_RESERVED, PRODUCT_NUMBER, 2.0, 1L);
+        inJournal.append(ReservationJournalEntryType.PRODUCT_RESERVED, PRODUCT_NUMBER, 1.0, 2L);
+        inJournal.append(ReservationJournalEntryType.RESERVATION_CONSUMED, PRODUCT_NUMBER, 2.0, 1L).get();
+    }
+}
@@ -0,0 +1,72 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox;
+
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxMessage;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxMessageSink;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox message sink used in tests that retains dispatched messages in memory, allowing tests to wait for
+ * and inspect the messages relayed from the transactional outbox.
+ *
+ * @author Ivan Krizsan
+ */
+public class InMemoryOutboxMessageSink implements OutboxMessageSink {
+    /* Instance variable(s): */
+    protected final List<OutboxMessage> mMessages = new ArrayList<>();
+    protected int mBatchCount;
+
+    @Override
+    public synchronized void dispatch(final List<OutboxMessage> inMessages) {
+        mMessages.addAll(inMessages);
+        mBatchCount++;
+        notifyAll();
+    }
+
+    /**
+     * Retrieves the messages dispatched to the sink, in the order in which they were dispatched.
+     *
+     * @return Copy of dispatched messages.
+     */
+    public synchronized List<OutboxMessage> messages() {
+        return List.copyOf(mMessages);
+    }
+
+    /**
+     * Retrieves the number of batches dispatched to the sink.
+     *
+     * @return Batch count.
+     */
+    public synchronized int batchCount() {
+        return mBatchCount;
+    }
+
+    /**
+     * Waits until at least the supplied number of messages have been dispatched to the sink or
+     * until the supplied time has elapsed.
+     *
+     * @param inMessageCount Number of messages to wait for.
+     * @param inTimeoutMillis Maximum time to wait in milliseconds.
+     * @return Copy of dispatched messages.
+     * @throws InterruptedException If interrupted while waiting.
+     */
+    public synchronized List<OutboxMessage> awaitMessages(final int inMessageCount, final long inTimeoutMillis)
+        throws InterruptedException {
+        final long theDeadline = System.currentTimeMillis() + inTimeoutMillis;
+        long theRemainingMillis = inTimeoutMillis;
+        while (mMessages.size() < inMessageCount && theRemainingMillis > 0) {
+            wait(theRemainingMillis);
+            theRemainingMillis = theDeadline - System.currentTimeMillis();
+        }
+        return messages();
+    }
+
+    /**
+     * Discards all messages dispatched to the sink.
+     */
+    public synchronized void clear() {
+        mMessages.clear();
+        mBatchCount = 0;
+    }
+}
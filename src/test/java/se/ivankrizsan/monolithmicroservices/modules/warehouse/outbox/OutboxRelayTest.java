@@ -0,0 +1,160 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.outbox;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxMessage;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.OutboxStatistics;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseEventType;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseStatisticsService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.OutboxEventRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+import java.util.List;
+
+/**
+ * Tests the transactional outbox and the {@link OutboxRelay} relaying outbox messages to an in-memory sink.
+ * Tests are not run in a transaction, so that each warehouse service operation is committed.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class, OutboxRelayTest.OutboxTestConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.outbox.enabled=true",
+    "warehouse.outbox.poll-interval=20ms"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static double PRODUCTA_UNITPRICE = 15.41;
+    protected static final long RELAY_TIMEOUT_MILLIS = 5000;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected OutboxEventRepository mOutboxEventRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected WarehouseStatisticsService mWarehouseStatisticsService;
+    @Autowired
+    protected InMemoryOutboxMessageSink mOutboxMessageSink;
+
+    /**
+     * Creates a product in the warehouse before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mWarehouseService.createProductInWarehouse(PRODUCTA_PRODUCTNUMBER, "Product A", PRODUCTA_UNITPRICE);
+        mOutboxMessageSink.clear();
+    }
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+        /* Delete in one statement, since the relay may concurrently be deleting relayed events. */
+        mOutboxEventRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Tests increasing the stock of a product, reserving an amount of it and removing the reservation.
+     * Expected result:
+     * Messages for the stock increase, the reservation and the consumed reservation should be relayed
+     * to the sink in the order in which the changes were made.
+     * The outbox should be empty after the messages have been relayed.
+     * The outbox statistics should include the relayed messages.
+     */
+    @Test
+    void relayCommittedChangesTest() throws Exception {
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 10.0);
+        final Long theReservationId = mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 3.0).orElseThrow();
+        mWarehouseService.removeProductReservation(theReservationId);
+
+        final List<OutboxMessage> theMessages = mOutboxMessageSink.awaitMessages(3, RELAY_TIMEOUT_MILLIS);
+        Assertions.assertEquals(
+            List.of(
+                WarehouseEventType.STOCK_INCREASED,
+                WarehouseEventType.RESERVATION_CREATED,
+                WarehouseEventType.RESERVATION_CONSUMED),
+            theMessages.stream().map(OutboxMessage::type).toList());
+        Assertions.assertEquals(theReservationId, theMessages.get(1).reservationId());
+        Assertions.assertTrue(theMessages.get(0).sequenceNumber() < theMessages.get(1).sequenceNumber());
+        Assertions.assertTrue(theMessages.get(1).sequenceNumber() < theMessages.get(2).sequenceNumber());
+
+        final OutboxStatistics theStatistics = awaitRelayedMessageCount(3);
+        Assertions.assertEquals(0L, theStatistics.pendingMessageCount());
+        Assertions.assertTrue(theStatistics.relayedMessageCount() >= 3);
+        Assertions.assertTrue(theStatistics.relayedBatchCount() >= 1);
+    }
+
+    /**
+     * Tests increasing the stock of a product that is not in the warehouse, which rolls back the transaction.
+     * Expected result:
+     * No message should be recorded in the outbox nor relayed.
+     */
+    @Test
+    void rolledBackChangeNotRelayedTest() throws Exception {
+        Assertions.assertThrows(ProductNotInWarehouseException.class,
+            () -> mWarehouseService.increaseProductStock("no-such-product", 1.0));
+        mWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, 1.0);
+
+        final List<OutboxMessage> theMessages = mOutboxMessageSink.awaitMessages(1, RELAY_TIMEOUT_MILLIS);
+        Assertions.assertEquals(1, theMessages.size());
+        Assertions.assertEquals(PRODUCTA_PRODUCTNUMBER, theMessages.get(0).productNumber());
+    }
+
+    /**
+     * Waits until the outbox statistics include at least the supplied number of relayed messages or
+     * the relay timeout has expired. The statistics are updated when the transaction in which a batch
+     * was dispatched has been committed, which is after the sink has received the batch.
+     *
+     * @param inRelayedMessageCount Minimum number of relayed messages to wait for.
+     * @return Outbox statistics.
+     */
+    protected OutboxStatistics awaitRelayedMessageCount(final long inRelayedMessageCount) throws InterruptedException {
+        final long theDeadline = System.currentTimeMillis() + RELAY_TIMEOUT_MILLIS;
+        OutboxStatistics theStatistics = mWarehouseStatisticsService.retrieveOutboxStatistics();
+        while (theStatistics.relayedMessageCount() < inRelayedMessageCount && System.currentTimeMillis() < theDeadline) {
+            Thread.sleep(10);
+            theStatistics = mWarehouseStatisticsService.retrieveOutboxStatistics();
+        }
+        return theStatistics;
+    }
+
+    /**
+     * Configuration supplying the in-memory outbox message sink used in the tests.
+     */
+    @Configuration
+    static class OutboxTestConfiguration {
+        @Bean
+        InMemoryOutboxMessageSink outboxMessageSink() {
+            return new InMemoryOutboxMessageSink();
+        }
+    }
+}
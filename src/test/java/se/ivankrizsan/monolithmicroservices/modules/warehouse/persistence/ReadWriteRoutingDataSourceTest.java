@@ -0,0 +1,185 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Tests the {@link ReadWriteRoutingDataSource} using two embedded H2 databases as primary and replica.
+ * Each database contains a table with one row identifying the database.
+ *
+ * @author Ivan Krizsan
+ */
+class ReadWriteRoutingDataSourceTest {
+    /* Constant(s): */
+    protected static final String PRIMARY = "primary";
+    protected static final String REPLICA = "replica";
+    protected static final String DATABASE_NAME_QUERY = "select name from database_name";
+
+    /* Instance variable(s): */
+    protected EmbeddedDatabase mPrimaryDatabase;
+    protected EmbeddedDatabase mReplicaDatabase;
+
+    /**
+     * Creates the primary and replica databases before each test.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        mPrimaryDatabase = createDatabase(PRIMARY);
+        mReplicaDatabase = createDatabase(REPLICA);
+    }
+
+    /**
+     * Shuts down the primary and replica databases after each test.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mPrimaryDatabase.shutdown();
+        mReplicaDatabase.shutdown();
+    }
+
+    /**
+     * Tests reading in a read-only transaction when stale reads are allowed.
+     * Expected result:
+     * The replica database should be used.
+     */
+    @Test
+    void readOnlyTransactionAllowStaleReadsTest() {
+        final DataSource theDataSource = createRoutingDataSource(ReplicaStalenessPolicy.ALLOW_STALE_READS, Duration.ZERO);
+
+        Assertions.assertEquals(REPLICA, queryDatabaseName(theDataSource, true),
+            "Read-only transactions should use the replica");
+    }
+
+    /**
+     * Tests reading in a read-write transaction.
+     * Expected result:
+     * The primary database should be used.
+     */
+    @Test
+    void readWriteTransactionTest() {
+        final DataSource theDataSource = createRoutingDataSource(ReplicaStalenessPolicy.ALLOW_STALE_READS, Duration.ZERO);
+
+        Assertions.assertEquals(PRIMARY, queryDatabaseName(theDataSource, false),
+            "Read-write transactions should use the primary");
+    }
+
+    /**
+     * Tests reading outside of a transaction.
+     * Expected result:
+     * The primary database should be used.
+     */
+    @Test
+    void nonTransactionalAccessTest() {
+        final DataSource theDataSource = createRoutingDataSource(ReplicaStalenessPolicy.ALLOW_STALE_READS, Duration.ZERO);
+
+        Assertions.assertEquals(PRIMARY, new JdbcTemplate(theDataSource).queryForObject(DATABASE_NAME_QUERY, String.class),
+            "Non-transactional access should use the primary");
+    }
+
+    /**
+     * Tests reading in a read-only transaction with the primary-only staleness policy.
+     * Expected result:
+     * The primary database should be used.
+     */
+    @Test
+    void readOnlyTransactionPrimaryOnlyTest() {
+        final DataSource theDataSource = createRoutingDataSource(ReplicaStalenessPolicy.PRIMARY_ONLY, Duration.ZERO);
+
+        Assertions.assertEquals(PRIMARY, queryDatabaseName(theDataSource, true),
+            "Read-only transactions should use the primary with the primary-only policy");
+    }
+
+    /**
+     * Tests reading in a read-only transaction with the read-your-writes staleness policy before and
+     * after committing a write transaction, with a read-your-writes window that has not expired.
+     * Expected result:
+     * The replica database should be used before the write.
+     * The primary database should be used after the write.
+     */
+    @Test
+    void readYourWritesWithinWindowTest() {
+        final DataSource theDataSource =
+            createRoutingDataSource(ReplicaStalenessPolicy.READ_YOUR_WRITES, Duration.ofHours(1));
+
+        Assertions.assertEquals(REPLICA, queryDatabaseName(theDataSource, true),
+            "Read-only transactions should use the replica before any write");
+        queryDatabaseName(theDataSource, false);
+        Assertions.assertEquals(PRIMARY, queryDatabaseName(theDataSource, true),
+            "Read-only transactions should use the primary within the read-your-writes window");
+    }
+
+    /**
+     * Tests reading in a read-only transaction with the read-your-writes staleness policy after
+     * committing a write transaction, with a read-your-writes window that has expired.
+     * Expected result:
+     * The replica database should be used.
+     */
+    @Test
+    void readYourWritesWindowExpiredTest() {
+        final DataSource theDataSource = createRoutingDataSource(ReplicaStalenessPolicy.READ_YOUR_WRITES, Duration.ZERO);
+
+        queryDatabaseName(theDataSource, false);
+        Assertions.assertEquals(REPLICA, queryDatabaseName(theDataSource, true),
+            "Read-only transactions should use the replica when the read-your-writes window has expired");
+    }
+
+    /**
+     * Creates a routing datasource, wrapped in a lazy connection proxy, routing between the primary
+     * and replica databases.
+     *
+     * @param inStalenessPolicy Staleness policy of the routing datasource.
+     * @param inReadYourWritesWindow Read-your-writes window of the routing datasource.
+     * @return Routing datasource.
+     */
+    protected DataSource createRoutingDataSource(final ReplicaStalenessPolicy inStalenessPolicy,
+                                                 final Duration inReadYourWritesWindow) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+            mPrimaryDatabase, mReplicaDatabase, inStalenessPolicy, inReadYourWritesWindow, Clock.systemUTC()));
+    }
+
+    /**
+     * Queries the name of the database used in a transaction using the supplied datasource.
+     *
+     * @param inDataSource Datasource to query.
+     * @param inReadOnlyFlag True if the transaction is to be read-only, false otherwise.
+     * @return Name of database used.
+     */
+    protected String queryDatabaseName(final DataSource inDataSource, final boolean inReadOnlyFlag) {
+        final TransactionTemplate theTransactionTemplate =
+            new TransactionTemplate(new DataSourceTransactionManager(inDataSource));
+        theTransactionTemplate.setReadOnly(inReadOnlyFlag);
+        return theTransactionTemplate.execute(inStatus ->
+            new JdbcTemplate(inDataSource).queryForObject(DATABASE_NAME_QUERY, String.class));
+    }
+
+    /**
+     * Creates an embedded H2 database containing a table with one row containing the supplied name.
+     *
+     * @param inDatabaseName Name identifying the database.
+     * @return Embedded database.
+     */
+    protected EmbeddedDatabase createDatabase(final String inDatabaseName) {
+        final EmbeddedDatabase theDatabase = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .setName(inDatabaseName + "-" + UUID.randomUUID())
+            .build();
+        final JdbcTemplate theJdbcTemplate = new JdbcTemplate(theDatabase);
+        theJdbcTemplate.execute("create table database_name (name varchar(32))");
+        theJdbcTemplate.update("insert into database_name (name) values (?)", inDatabaseName);
+        return theDatabase;
+    }
+}
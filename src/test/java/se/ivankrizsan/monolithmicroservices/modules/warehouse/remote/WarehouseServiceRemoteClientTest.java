@@ -0,0 +1,178 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.remote;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClient;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteClientSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServer;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.RemoteServerSettings;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.Remoting;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+/**
+ * Tests the {@link WarehouseServiceRemoteClient} invoking the warehouse service over loopback using
+ * a server exposing the in-process warehouse service with the {@link WarehouseServiceRequestHandler}.
+ * Tests are not run in a transaction, since the warehouse service is invoked by the server threads.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseServiceRemoteClientTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static String NONEXISTING_PRODUCTNUMBER = "00000-0";
+    public final static double PRODUCTA_AVAILABLEAMOUNT = 100;
+    public final static double PRODUCTA_UNITPRICE = 15.41;
+    public final static String LOOPBACK_ADDRESS = "127.0.0.1";
+
+    /* Instance variable(s): */
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    protected RemoteServer mRemoteServer;
+    protected RemoteClient mRemoteClient;
+    protected WarehouseService mRemoteWarehouseService;
+
+    /**
+     * Exposes the warehouse service on a loopback port, creates a remote warehouse service client
+     * and creates a product with some stock using the remote warehouse service before each test.
+     *
+     * @throws IOException If an error occurs starting the server.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() throws IOException {
+        mRemoteServer = Remoting.startServer(
+            new RemoteServerSettings(LOOPBACK_ADDRESS, 0, 4, 256),
+            new WarehouseServiceRequestHandler(mWarehouseService));
+        mRemoteClient = Remoting.createClient(
+            new RemoteClientSettings(LOOPBACK_ADDRESS, mRemoteServer.port(), 2, 256, Duration.ofSeconds(10), Duration.ofSeconds(5)));
+        mRemoteWarehouseService = new WarehouseServiceRemoteClient(mRemoteClient);
+
+        mRemoteWarehouseService.createProductInWarehouse(PRODUCTA_PRODUCTNUMBER, "Product A", PRODUCTA_UNITPRICE);
+        mRemoteWarehouseService.increaseProductStock(PRODUCTA_PRODUCTNUMBER, PRODUCTA_AVAILABLEAMOUNT);
+    }
+
+    /**
+     * Closes the client and server and deletes information in database tables after each test.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mRemoteClient.close();
+        mRemoteServer.close();
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests retrieving product information using the remote warehouse service.
+     * Expected result:
+     * The available amount and unit price of the product created remotely should be retrieved.
+     */
+    @Test
+    void retrieveProductInformationTest() {
+        Assertions.assertEquals(Optional.of(PRODUCTA_AVAILABLEAMOUNT),
+            mRemoteWarehouseService.retrieveProductAvailableAmount(PRODUCTA_PRODUCTNUMBER));
+        Assertions.assertEquals(Optional.of(PRODUCTA_UNITPRICE),
+            mRemoteWarehouseService.retrieveProductUnitPrice(PRODUCTA_PRODUCTNUMBER));
+    }
+
+    /**
+     * Tests reserving a product and removing the reservation using the remote warehouse service.
+     * Expected result:
+     * The reservation should be made and removed and be reflected in the reservation summary.
+     */
+    @Test
+    void reserveAndRemoveReservationTest() {
+        final Optional<Long> theReservationIdOptional =
+            mRemoteWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 10);
+        Assertions.assertTrue(theReservationIdOptional.isPresent());
+        Assertions.assertEquals(Optional.of(10.0),
+            mRemoteWarehouseService.retrieveReservationAmount(theReservationIdOptional.get()));
+        Assertions.assertTrue(mRemoteWarehouseService.removeProductReservation(theReservationIdOptional.get()));
+        Assertions.assertFalse(mRemoteWarehouseService.removeProductReservation(theReservationIdOptional.get()));
+        Assertions.assertTrue(
+            mRemoteWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, PRODUCTA_AVAILABLEAMOUNT).isEmpty(),
+            "Reserving more than the available amount should fail");
+
+        Assertions.assertEquals(
+            new ProductReservationSummary(PRODUCTA_PRODUCTNUMBER, 0, 0, 10),
+            mRemoteWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER));
+    }
+
+    /**
+     * Tests creating multiple products using the remote warehouse service.
+     * Expected result:
+     * The products should be created in the warehouse.
+     */
+    @Test
+    void createProductsInWarehouseTest() {
+        final int theCreatedProductsCount = mRemoteWarehouseService.createProductsInWarehouse(List.of(
+            new ProductDefinition("REMOTE-1", "Remote product 1", 1.0),
+            new ProductDefinition("REMOTE-2", "Remote product 2", 2.0)));
+
+        Assertions.assertEquals(2, theCreatedProductsCount);
+        Assertions.assertEquals(Optional.of(2.0), mWarehouseService.retrieveProductUnitPrice("REMOTE-2"));
+    }
+
+    /**
+     * Tests invoking operations of the remote warehouse service that throw exceptions.
+     * Expected result:
+     * The exceptions thrown by the warehouse service should be re-thrown by the remote client.
+     */
+    @Test
+    void exceptionPropagationTest() {
+        final ProductNotInWarehouseException theException = Assertions.assertThrows(
+            ProductNotInWarehouseException.class,
+            () -> mRemoteWarehouseService.reserveProduct(NONEXISTING_PRODUCTNUMBER, 1));
+        Assertions.assertEquals(NONEXISTING_PRODUCTNUMBER, theException.getProductNumber());
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> mRemoteWarehouseService.retrieveProductUnitPrice(""));
+    }
+
+    /**
+     * Tests retrieving the available amount of a product concurrently from multiple threads.
+     * Expected result:
+     * All requests should be answered with the available amount of the product.
+     */
+    @Test
+    void concurrentRequestsTest() {
+        final List<CompletableFuture<Optional<Double>>> theResults = IntStream
+            .range(0, 200)
+            .mapToObj(i -> CompletableFuture.supplyAsync(
+                () -> mRemoteWarehouseService.retrieveProductAvailableAmount(PRODUCTA_PRODUCTNUMBER)))
+            .toList();
+
+        for (CompletableFuture<Optional<Double>> theResult : theResults) {
+            Assertions.assertEquals(Optional.of(PRODUCTA_AVAILABLEAMOUNT), theResult.join());
+        }
+    }
+}
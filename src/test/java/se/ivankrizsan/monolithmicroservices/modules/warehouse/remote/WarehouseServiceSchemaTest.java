@@ -0,0 +1,197 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MessageBufferPool;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MessageReader;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MessageWriter;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.MethodSchema;
+import se.ivankrizsan.monolithmicroservices.modules.remoting.api.ServiceSchema;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductDefinition;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ProductNotInWarehouseException;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.exceptions.ReservationRejectedException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tests encoding and decoding the arguments, results and exceptions of the warehouse service methods
+ * as specified by the {@link WarehouseServiceSchema}.
+ *
+ * @author Ivan Krizsan
+ */
+@Slf4j
+class WarehouseServiceSchemaTest {
+    /* Constant(s): */
+    protected static final String PRODUCT_NUMBER = "12345-1";
+    protected static final int THROUGHPUT_INVOCATION_COUNT = 1_000_000;
+
+    /**
+     * Tests encoding and decoding the arguments of warehouse service methods.
+     * Expected result:
+     * The decoded method should be the encoded method and the decoded arguments should be equal to
+     * the encoded arguments.
+     */
+    @Test
+    void argumentsRoundTripTest() {
+        Assertions.assertArrayEquals(new Object[] { PRODUCT_NUMBER, 2.5 },
+            roundTripArguments(WarehouseServiceSchema.RESERVE_PRODUCT, PRODUCT_NUMBER, 2.5));
+        Assertions.assertArrayEquals(new Object[] { null },
+            roundTripArguments(WarehouseServiceSchema.RETRIEVE_PRODUCT_UNIT_PRICE, (Object) null));
+        Assertions.assertArrayEquals(new Object[] { 4711L },
+            roundTripArguments(WarehouseServiceSchema.REMOVE_PRODUCT_RESERVATION, 4711L));
+        Assertions.assertArrayEquals(new Object[] { PRODUCT_NUMBER, "Product A", null },
+            roundTripArguments(
+                WarehouseServiceSchema.CREATE_PRODUCT_IN_WAREHOUSE, PRODUCT_NUMBER, "Product A", null));
+
+        final List<ProductDefinition> theProductDefinitions = List.of(
+            new ProductDefinition(PRODUCT_NUMBER, "Product A", 15.41),
+            new ProductDefinition("12345-2", "Produkt Ä", 7.0));
+        Assertions.assertArrayEquals(new Object[] { theProductDefinitions },
+            roundTripArguments(WarehouseServiceSchema.CREATE_PRODUCTS_IN_WAREHOUSE, theProductDefinitions));
+    }
+
+    /**
+     * Tests encoding and decoding the results of warehouse service methods.
+     * Expected result:
+     * The decoded results should be equal to the encoded results.
+     */
+    @Test
+    void resultsRoundTripTest() {
+        Assertions.assertEquals(Optional.of(100.0),
+            roundTripResult(WarehouseServiceSchema.RETRIEVE_PRODUCT_AVAILABLE_AMOUNT, Optional.of(100.0)));
+        Assertions.assertEquals(Optional.empty(),
+            roundTripResult(WarehouseServiceSchema.RETRIEVE_PRODUCT_UNIT_PRICE, Optional.empty()));
+        Assertions.assertEquals(Optional.of(4711L),
+            roundTripResult(WarehouseServiceSchema.RESERVE_PRODUCT, Optional.of(4711L)));
+        Assertions.assertEquals(true,
+            roundTripResult(WarehouseServiceSchema.REMOVE_PRODUCT_RESERVATION, true));
+        Assertions.assertEquals(3,
+            roundTripResult(WarehouseServiceSchema.CREATE_PRODUCTS_IN_WAREHOUSE, 3));
+
+        final ProductReservationSummary theSummary = new ProductReservationSummary(PRODUCT_NUMBER, 3, 7.5, 2.0);
+        Assertions.assertEquals(theSummary,
+            roundTripResult(WarehouseServiceSchema.RETRIEVE_PRODUCT_RESERVATION_SUMMARY, theSummary));
+    }
+
+    /**
+     * Tests encoding and decoding exceptions thrown by warehouse service methods.
+     * Expected result:
+     * The decoded exceptions should be of the same type and contain the same information as
+     * the encoded exceptions.
+     */
+    @Test
+    void exceptionsRoundTripTest() {
+        final MessageWriter theWriter = new MessageWriter();
+        final ProductNotInWarehouseException theException = new ProductNotInWarehouseException(PRODUCT_NUMBER);
+        WarehouseServiceSchema.SCHEMA.findExceptionMapping(theException).writeException(theWriter, theException);
+        final MessageReader theReader = new MessageReader(theWriter.finish());
+
+        final Object theDecodedException = WarehouseServiceSchema.PRODUCT_NOT_IN_WAREHOUSE.codec().read(theReader);
+
+        Assertions.assertInstanceOf(ProductNotInWarehouseException.class, theDecodedException);
+        Assertions.assertEquals(
+            PRODUCT_NUMBER, ((ProductNotInWarehouseException) theDecodedException).getProductNumber());
+
+        final MessageWriter theRejectionWriter = new MessageWriter();
+        final ReservationRejectedException theRejection = new ReservationRejectedException(PRODUCT_NUMBER);
+        WarehouseServiceSchema.SCHEMA.findExceptionMapping(theRejection)
+            .writeException(theRejectionWriter, theRejection);
+        final Object theDecodedRejection = WarehouseServiceSchema.RESERVATION_REJECTED.codec()
+            .read(new MessageReader(theRejectionWriter.finish()));
+
+        Assertions.assertInstanceOf(ReservationRejectedException.class, theDecodedRejection);
+        Assertions.assertEquals(
+            PRODUCT_NUMBER, ((ReservationRejectedException) theDecodedRejection).getProductNumber());
+        Assertions.assertSame(WarehouseServiceSchema.ILLEGAL_ARGUMENT,
+            WarehouseServiceSchema.SCHEMA.findExceptionMapping(new IllegalArgumentException("Negative amount")));
+        Assertions.assertNull(WarehouseServiceSchema.SCHEMA.findExceptionMapping(new IllegalStateException()));
+    }
+
+    /**
+     * Tests the throughput of encoding and decoding requests and responses of the most frequently
+     * invoked warehouse service method using pooled buffers.
+     * Expected result:
+     * All invocations should be encoded and decoded correctly well within the time limit.
+     * Only one pooled buffer should be needed, since each buffer is released before the next is acquired.
+     */
+    @Test
+    void encodingThroughputTest() {
+        final MessageBufferPool theBufferPool = new MessageBufferPool();
+        final MethodSchema<Optional<Long>> theMethod = WarehouseServiceSchema.RESERVE_PRODUCT;
+
+        final long theElapsedNanos = Assertions.assertTimeout(Duration.ofSeconds(30), () -> {
+            final long theStartTime = System.nanoTime();
+            for (int i = 0; i < THROUGHPUT_INVOCATION_COUNT; i++) {
+                final MessageWriter theRequestWriter = theBufferPool.acquireWriter();
+                theRequestWriter.writeVarInt(theMethod.id());
+                theMethod.writeArguments(theRequestWriter, PRODUCT_NUMBER, 1.0);
+                final MessageReader theRequestReader = new MessageReader(theRequestWriter.finish());
+                final Object[] theArguments = WarehouseServiceSchema.SCHEMA
+                    .findMethod(theRequestReader.readVarInt())
+                    .readArguments(theRequestReader);
+                theRequestWriter.release();
+
+                final MessageWriter theResponseWriter = theBufferPool.acquireWriter();
+                theResponseWriter.writeByte(ServiceSchema.RESPONSE_RESULT);
+                theMethod.resultCodec().write(theResponseWriter, Optional.of((long) i));
+                final MessageReader theResponseReader = new MessageReader(theResponseWriter.finish());
+                theResponseReader.readByte();
+                final Optional<Long> theResult = theMethod.resultCodec().read(theResponseReader);
+                theResponseWriter.release();
+
+                if (!PRODUCT_NUMBER.equals(theArguments[0]) || theResult.orElseThrow() != i) {
+                    Assertions.fail("Invocation " + i + " was not decoded correctly");
+                }
+            }
+            return System.nanoTime() - theStartTime;
+        });
+
+        log.info("Encoded and decoded {} warehouse invocations in {} ms ({} invocations/s)",
+            THROUGHPUT_INVOCATION_COUNT, theElapsedNanos / 1_000_000,
+            (long) (THROUGHPUT_INVOCATION_COUNT / (theElapsedNanos / 1e9)));
+        Assertions.assertEquals(1, theBufferPool.availableBufferCount());
+    }
+
+    /**
+     * Encodes a request with the supplied method and arguments and decodes it again, verifying that
+     * the complete request was read.
+     *
+     * @param inMethod Method to encode request of.
+     * @param inArguments Method arguments.
+     * @return Decoded arguments.
+     */
+    protected static Object[] roundTripArguments(final MethodSchema<?> inMethod, final Object... inArguments) {
+        final MessageWriter theWriter = new MessageWriter();
+        theWriter.writeVarInt(inMethod.id());
+        inMethod.writeArguments(theWriter, inArguments);
+        final MessageReader theReader = new MessageReader(theWriter.finish());
+
+        Assertions.assertSame(inMethod, WarehouseServiceSchema.SCHEMA.findMethod(theReader.readVarInt()));
+        final Object[] theArguments = inMethod.readArguments(theReader);
+        Assertions.assertEquals(0, theReader.remaining(), "The complete request should be read");
+        return theArguments;
+    }
+
+    /**
+     * Encodes the supplied result of the supplied method and decodes it again, verifying that
+     * the complete result was read.
+     *
+     * @param inMethod Method which result to encode.
+     * @param inResult Method result.
+     * @param <R> Method result type.
+     * @return Decoded result.
+     */
+    protected static <R> R roundTripResult(final MethodSchema<R> inMethod, final R inResult) {
+        final MessageWriter theWriter = new MessageWriter();
+        inMethod.resultCodec().write(theWriter, inResult);
+        final MessageReader theReader = new MessageReader(theWriter.finish());
+
+        final R theResult = inMethod.resultCodec().read(theReader);
+        Assertions.assertEquals(0, theReader.remaining(), "The complete result should be read");
+        return theResult;
+    }
+}
@@ -0,0 +1,118 @@
+package se.ivankrizsan.monolithmicroservices.modules.warehouse.warmup;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.ProductReservationSummary;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.api.WarehouseService;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.configuration.WarehouseConfiguration;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationRepository;
+import se.ivankrizsan.monolithmicroservices.modules.warehouse.persistence.ProductReservationTotalsRepository;
+
+import java.util.List;
+
+/**
+ * Tests the {@link WarehouseWarmUp}.
+ * Tests are not run in a transaction, so that the warehouse contents are committed before the warm-up.
+ *
+ * @author Ivan Krizsan
+ */
+@DataJpaTest()
+@ContextConfiguration(classes = { WarehouseConfiguration.class })
+@TestPropertySource(properties = {
+    "warehouse.warm-up.enabled=true",
+    "warehouse.warm-up.hot-product-count=2",
+    "warehouse.warm-up.iterations=3"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WarehouseWarmUpTest {
+    /* Constant(s): */
+    public final static String PRODUCTA_PRODUCTNUMBER = "12345-1";
+    public final static String PRODUCTB_PRODUCTNUMBER = "12345-2";
+    public final static String PRODUCTC_PRODUCTNUMBER = "12345-3";
+    public final static double PRODUCT_AVAILABLEAMOUNT = 100;
+
+    /* Instance variable(s): */
+    @Autowired
+    protected ProductRepository mProductRepository;
+    @Autowired
+    protected ProductReservationRepository mProductReservationRepository;
+    @Autowired
+    protected ProductReservationTotalsRepository mProductReservationTotalsRepository;
+    @Autowired
+    protected WarehouseService mWarehouseService;
+    @Autowired
+    protected WarehouseWarmUp mWarehouseWarmUp;
+
+    /**
+     * Creates three products in the warehouse before each test, of which product A has the highest demand,
+     * product B the second highest demand and product C has not been reserved.
+     */
+    @BeforeEach
+    void setUpBeforeEachTest() {
+        for (String theProductNumber
+            : new String[] { PRODUCTA_PRODUCTNUMBER, PRODUCTB_PRODUCTNUMBER, PRODUCTC_PRODUCTNUMBER }) {
+            mWarehouseService.createProductInWarehouse(theProductNumber, "Product " + theProductNumber, 10.0);
+            mWarehouseService.increaseProductStock(theProductNumber, PRODUCT_AVAILABLEAMOUNT);
+        }
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 10.0);
+        mWarehouseService.reserveProduct(PRODUCTA_PRODUCTNUMBER, 5.0);
+        mWarehouseService.reserveProduct(PRODUCTB_PRODUCTNUMBER, 1.0);
+    }
+
+    /**
+     * Cleans up after each test by deleting information in database tables.
+     */
+    @AfterEach
+    void cleanUpAfterEachTest() {
+        mProductRepository.deleteAll();
+        mProductReservationRepository.deleteAll();
+        mProductReservationTotalsRepository.deleteAll();
+    }
+
+    /**
+     * Tests warming up the warehouse.
+     * Expected result:
+     * The two products with the highest demand should be used in the warm-up.
+     * The state of the warehouse should not be changed by the warm-up.
+     */
+    @Test
+    void warmUpTest() {
+        final ProductReservationSummary theProductASummaryBefore =
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER);
+        final double theProductAAvailableAmountBefore =
+            mWarehouseService.retrieveProductAvailableAmount(PRODUCTA_PRODUCTNUMBER).orElseThrow();
+
+        final int theWarmedUpProductsCount = mWarehouseWarmUp.warmUp();
+
+        Assertions.assertEquals(2, theWarmedUpProductsCount, "The two products with the highest demand should be used");
+        Assertions.assertEquals(3, mProductReservationRepository.count(),
+            "Reservations made during the warm-up should have been rolled back");
+        Assertions.assertEquals(theProductASummaryBefore,
+            mWarehouseService.retrieveProductReservationSummary(PRODUCTA_PRODUCTNUMBER));
+        Assertions.assertEquals(theProductAAvailableAmountBefore,
+            mWarehouseService.retrieveProductAvailableAmount(PRODUCTA_PRODUCTNUMBER).orElseThrow());
+    }
+
+    /**
+     * Tests finding the products with the highest demand.
+     * Expected result:
+     * The product numbers should be ordered by decreasing demand, with the product without reservations last.
+     */
+    @Test
+    void findProductNumbersByDemandTest() {
+        Assertions.assertEquals(
+            List.of(PRODUCTA_PRODUCTNUMBER, PRODUCTB_PRODUCTNUMBER, PRODUCTC_PRODUCTNUMBER),
+            mProductReservationTotalsRepository.findProductNumbersByDemand(
+                PageRequest.of(0, 10)));
+    }
+}